@@ -0,0 +1,78 @@
+package com.example.demo.config;
+
+import com.example.demo.timing.ServerTimingAspect;
+import com.example.demo.timing.ServerTimingFilter;
+import com.example.demo.timing.TimedJacksonHttpMessageConverter;
+import com.example.demo.timing.TimingStatementInspector;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Per-request Server-Timing breakdown: when {@code app.server-timing.enabled=true}, every /api response
+ * reports the time spent in controllers, services, repositories and JSON serialization, and the number
+ * of SQL statements prepared.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.server-timing.enabled", havingValue = "true", matchIfMissing = true)
+public class ServerTimingConfig {
+
+    /**
+     * Registers the timing filter right after the tenant filter, so the total includes rate limiting
+     * and idempotency handling.
+     *
+     * @param logSampleRate fraction of requests logged
+     * @param slowThreshold duration above which a request is always logged
+     * @return the filter registration
+     */
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter(
+            @Value("${app.server-timing.log-sample-rate:0.01}") double logSampleRate,
+            @Value("${app.server-timing.slow-threshold:1s}") Duration slowThreshold) {
+        FilterRegistrationBean<ServerTimingFilter> registration =
+                new FilterRegistrationBean<>(new ServerTimingFilter(logSampleRate, slowThreshold));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    /**
+     * @return aspect timing controllers, services and repositories
+     */
+    @Bean
+    public ServerTimingAspect serverTimingAspect() {
+        return new ServerTimingAspect();
+    }
+
+    /**
+     * Replaces Spring Boot's JSON converter with one that also times serialization.
+     *
+     * @param objectMapper the application object mapper
+     * @param maxBufferSize largest body, in bytes, buffered per thread; larger bodies are streamed
+     * @return the converter
+     */
+    @Bean
+    public TimedJacksonHttpMessageConverter timedJacksonHttpMessageConverter(
+            ObjectMapper objectMapper,
+            @Value("${app.server-timing.max-buffer-size:65536}") int maxBufferSize) {
+        return new TimedJacksonHttpMessageConverter(objectMapper, maxBufferSize);
+    }
+
+    /**
+     * Registers the statement counting inspector with Hibernate.
+     *
+     * @return customizer of the Hibernate properties
+     */
+    @Bean
+    public HibernatePropertiesCustomizer timingStatementInspectorCustomizer() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                new TimingStatementInspector());
+    }
+}
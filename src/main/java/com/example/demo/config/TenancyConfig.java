@@ -0,0 +1,102 @@
+package com.example.demo.config;
+
+import com.example.demo.tenant.ShardMetadataCapture;
+import com.example.demo.tenant.ShardSchemaInitializer;
+import com.example.demo.tenant.TenancyProperties;
+import com.example.demo.tenant.TenantRegistry;
+import com.example.demo.tenant.TenantRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Primary;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tenant sharding: when {@code app.tenancy.enabled=true}, the application datasource routes every
+ * connection to the shard of the current tenant and missing tables are created on every shard.
+ */
+@Configuration
+@EnableConfigurationProperties(TenancyProperties.class)
+public class TenancyConfig {
+
+    /**
+     * Creates one pooled datasource per shard behind a routing datasource.
+     *
+     * @param properties the tenancy settings
+     * @param tenantRegistry registry resolving the current tenant
+     * @return the routing datasource
+     */
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "app.tenancy.enabled", havingValue = "true")
+    public TenantRoutingDataSource dataSource(TenancyProperties properties, TenantRegistry tenantRegistry) {
+        if (!properties.getShards().containsKey(properties.getDefaultTenant())) {
+            throw new IllegalStateException("No shard configured for the default tenant " + properties.getDefaultTenant());
+        }
+        Map<Object, Object> shards = new LinkedHashMap<>();
+        properties.getShards().forEach((tenantId, shard) -> {
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shard.getUrl())
+                    .username(shard.getUsername())
+                    .password(shard.getPassword())
+                    .build();
+            dataSource.setPoolName("shard-" + tenantId);
+            dataSource.setMaximumPoolSize(shard.getMaxPoolSize());
+            shards.put(tenantId, dataSource);
+        });
+        return new TenantRoutingDataSource(tenantRegistry, shards);
+    }
+
+    /**
+     * @return integrator keeping the mapping metadata for the shard schema initializer
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.tenancy.enabled", havingValue = "true")
+    public ShardMetadataCapture shardMetadataCapture() {
+        return new ShardMetadataCapture();
+    }
+
+    /**
+     * Registers the metadata capturing integrator with Hibernate.
+     *
+     * @param metadataCapture the integrator
+     * @return customizer of the Hibernate properties
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.tenancy.enabled", havingValue = "true")
+    public HibernatePropertiesCustomizer shardMetadataCustomizer(ShardMetadataCapture metadataCapture) {
+        return hibernateProperties -> hibernateProperties.put("hibernate.integrator_provider",
+                (IntegratorProvider) () -> Collections.singletonList(metadataCapture));
+    }
+
+    /**
+     * Creates missing tables on every shard once the entity manager factory is ready.
+     *
+     * @param entityManagerFactory the JPA entity manager factory
+     * @param metadataCapture integrator holding the mapping metadata
+     * @param tenantRegistry registry of the tenants
+     * @param properties the tenancy settings
+     * @return the initializer
+     */
+    @Bean
+    @Lazy(false)
+    @ConditionalOnProperty(name = "app.tenancy.enabled", havingValue = "true")
+    public ShardSchemaInitializer shardSchemaInitializer(EntityManagerFactory entityManagerFactory,
+                                                         ShardMetadataCapture metadataCapture,
+                                                         TenantRegistry tenantRegistry,
+                                                         TenancyProperties properties) {
+        return new ShardSchemaInitializer(entityManagerFactory, metadataCapture, tenantRegistry,
+                properties.isCreateSchema());
+    }
+}
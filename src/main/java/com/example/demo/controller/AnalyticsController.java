@@ -0,0 +1,51 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.AssetAggregate;
+import com.example.demo.dto.AssetAggregation;
+import com.example.demo.model.Asset;
+import com.example.demo.service.AssetAnalyticsService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * REST controller serving inventory aggregates for reporting.
+ */
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+    private final AssetAnalyticsService analyticsService;
+
+    /**
+     * Constructor-based dependency injection of AssetAnalyticsService.
+     *
+     * @param analyticsService the service answering aggregate queries
+     */
+    public AnalyticsController(AssetAnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    /**
+     * Endpoint to count assets grouped by category, status, purchase year and/or age bucket.
+     *
+     * @param groupBy comma-separated dimensions (CATEGORY, STATUS, PURCHASE_YEAR, AGE_BUCKET); a single total when omitted
+     * @param categoryId optional category filter
+     * @param employeeId optional filter on the employee holding the assets
+     * @param status optional assignment status filter
+     * @param asOf date against which ages are computed, default today
+     * @return ResponseEntity with the groups, their counts and average ages
+     */
+    @GetMapping("/assets")
+    public ResponseEntity<AssetAggregation> aggregateAssets(
+            @RequestParam(required = false) Set<AssetAggregate.Dimension> groupBy,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Long employeeId,
+            @RequestParam(required = false) Asset.AssignmentStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        return ResponseEntity.ok(analyticsService.aggregate(groupBy, categoryId, employeeId, status, asOf));
+    }
+}
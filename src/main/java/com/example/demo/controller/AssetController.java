@@ -1,11 +1,18 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.AssetChanges;
 import com.example.demo.model.Asset;
+import com.example.demo.service.AssetBatchLoader;
+import com.example.demo.service.AssetChangeFeed;
 import com.example.demo.service.AssetService;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * REST controller for managing Asset entities.
@@ -16,14 +23,20 @@ import java.util.List;
 public class AssetController {
 
     private final AssetService assetService;
+    private final AssetBatchLoader assetBatchLoader;
+    private final AssetChangeFeed assetChangeFeed;
 
     /**
-     * Constructor-based dependency injection of AssetService.
+     * Constructor-based dependency injection of AssetService, AssetBatchLoader and AssetChangeFeed.
      *
      * @param assetService the service handling asset business logic
+     * @param assetBatchLoader loader coalescing concurrent lookups by ID
+     * @param assetChangeFeed change feed answering delta syncs
      */
-    public AssetController(AssetService assetService) {
+    public AssetController(AssetService assetService, AssetBatchLoader assetBatchLoader, AssetChangeFeed assetChangeFeed) {
         this.assetService = assetService;
+        this.assetBatchLoader = assetBatchLoader;
+        this.assetChangeFeed = assetChangeFeed;
     }
 
     /**
@@ -41,22 +54,70 @@ public class AssetController {
     /**
      * Endpoint to retrieve all assets.
      *
+     * @param includeArchived whether archived assets are included
      * @return ResponseEntity with list of all Asset objects
      */
     @GetMapping
-    public ResponseEntity<List<Asset>> getAllAssets() {
-        return ResponseEntity.ok(assetService.getAllAssets());
+    public ResponseEntity<List<Asset>> getAllAssets(@RequestParam(defaultValue = "false") boolean includeArchived) {
+        return ResponseEntity.ok(assetService.getAllAssets(includeArchived));
+    }
+
+    /**
+     * Endpoint to retrieve several assets by ID, e.g. {@code /api/assets?ids=1,2,3}.
+     *
+     * @param ids the ids of the assets
+     * @param includeArchived whether archived assets are included
+     * @return ResponseEntity with the existing assets in request order; unknown ids are skipped
+     */
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<Asset>> getAssetsByIds(@RequestParam List<Long> ids,
+                                                      @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return ResponseEntity.ok(assetService.getAssetsByIds(ids, includeArchived));
+    }
+
+    /**
+     * Endpoint for delta sync: the assets changed and removed since a token returned by a previous call.
+     * Without a token, or with one the server no longer recognizes, every asset is returned with reset set.
+     *
+     * @param since token returned by the previous sync
+     * @param limit maximum number of changed assets to return
+     * @return ResponseEntity with the changes and the token for the next sync
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<AssetChanges> getChanges(@RequestParam(required = false) String since,
+                                                   @RequestParam(defaultValue = "1000") int limit) {
+        return ResponseEntity.ok(assetChangeFeed.getChanges(since, limit));
+    }
+
+    /**
+     * Endpoint to retrieve an asset by its id.
+     * Concurrent requests are answered from shared batched queries; lookups including the archive
+     * are answered directly.
+     *
+     * @param id the id of the asset
+     * @param includeArchived whether the archive is searched when the asset is not in the asset table
+     * @return future ResponseEntity containing the asset, or not found status
+     */
+    @GetMapping("/{id}")
+    public CompletableFuture<ResponseEntity<Asset>> getAssetById(@PathVariable Long id,
+                                                                 @RequestParam(defaultValue = "false") boolean includeArchived) {
+        CompletableFuture<Optional<Asset>> asset = includeArchived
+                ? CompletableFuture.completedFuture(assetService.getAssetById(id, true))
+                : assetBatchLoader.load(id);
+        return asset.thenApply(found -> found.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.notFound().build()));
     }
 
     /**
      * Endpoint to search assets by their name.
      *
      * @param name search query parameter for asset name
+     * @param includeArchived whether archived assets are included
      * @return ResponseEntity with list of matching assets
      */
     @GetMapping("/search")
-    public ResponseEntity<List<Asset>> searchAssets(@RequestParam String name) {
-        return ResponseEntity.ok(assetService.searchAssetsByName(name));
+    public ResponseEntity<List<Asset>> searchAssets(@RequestParam String name,
+                                                    @RequestParam(defaultValue = "false") boolean includeArchived) {
+        return ResponseEntity.ok(assetService.searchAssetsByName(name, includeArchived));
     }
 
     /**
@@ -72,6 +133,19 @@ public class AssetController {
         return ResponseEntity.ok(updated);
     }
 
+    /**
+     * Endpoint to partially update an asset with a JSON Merge Patch.
+     * Only the fields present in the body are changed; null clears a field.
+     *
+     * @param id the id of the asset to patch
+     * @param patch the merge patch document
+     * @return ResponseEntity containing the patched Asset object
+     */
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Asset> patchAsset(@PathVariable Long id, @RequestBody Map<String, Object> patch) {
+        return ResponseEntity.ok(assetService.patchAsset(id, patch));
+    }
+
     /**
      * Endpoint to delete an asset by its id.
      *
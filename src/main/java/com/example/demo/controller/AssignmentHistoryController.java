@@ -0,0 +1,91 @@
+package com.example.demo.controller;
+
+import com.example.demo.model.AssignmentHistory;
+import com.example.demo.service.AssignmentHistoryService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * REST controller answering audit questions from the assignment history:
+ * who held an asset at a given instant, and what an employee held during a period.
+ * Instants are ISO date-times, e.g. 2024-07-01T00:00:00.
+ */
+@RestController
+@RequestMapping("/api")
+public class AssignmentHistoryController {
+
+    private final AssignmentHistoryService historyService;
+
+    /**
+     * Constructor-based dependency injection of AssignmentHistoryService.
+     *
+     * @param historyService the service querying assignment history
+     */
+    public AssignmentHistoryController(AssignmentHistoryService historyService) {
+        this.historyService = historyService;
+    }
+
+    /**
+     * Endpoint to find who held an asset at a given instant.
+     *
+     * @param assetId id of the asset
+     * @param at the instant to look up
+     * @return ResponseEntity with the covering period, or 404 if the asset was not assigned then
+     */
+    @GetMapping("/assets/{assetId}/history/at")
+    public ResponseEntity<AssignmentHistory> getAssetHolderAt(
+            @PathVariable Long assetId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        return ResponseEntity.of(historyService.findAssetHolderAt(assetId, at));
+    }
+
+    /**
+     * Endpoint to list the holders of an asset during a period.
+     *
+     * @param assetId id of the asset
+     * @param from start of the period (inclusive)
+     * @param to end of the period (exclusive)
+     * @return ResponseEntity with the overlapping periods in start order
+     */
+    @GetMapping("/assets/{assetId}/history")
+    public ResponseEntity<List<AssignmentHistory>> getAssetHistory(
+            @PathVariable Long assetId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(historyService.findAssetHistory(assetId, from, to));
+    }
+
+    /**
+     * Endpoint to list the assets an employee held at a given instant.
+     *
+     * @param employeeId id of the employee
+     * @param at the instant to look up
+     * @return ResponseEntity with the covering periods
+     */
+    @GetMapping("/employees/{employeeId}/history/at")
+    public ResponseEntity<List<AssignmentHistory>> getEmployeeHoldingsAt(
+            @PathVariable Long employeeId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        return ResponseEntity.ok(historyService.findEmployeeHoldingsAt(employeeId, at));
+    }
+
+    /**
+     * Endpoint to list every asset an employee held during a period.
+     *
+     * @param employeeId id of the employee
+     * @param from start of the period (inclusive)
+     * @param to end of the period (exclusive)
+     * @return ResponseEntity with the overlapping periods in start order
+     */
+    @GetMapping("/employees/{employeeId}/history")
+    public ResponseEntity<List<AssignmentHistory>> getEmployeeHistory(
+            @PathVariable Long employeeId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(historyService.findEmployeeHistory(employeeId, from, to));
+    }
+}
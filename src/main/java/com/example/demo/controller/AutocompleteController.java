@@ -0,0 +1,42 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.Suggestion;
+import com.example.demo.service.AutocompleteService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller serving typeahead suggestions for asset, category and employee names.
+ */
+@RestController
+@RequestMapping("/api/autocomplete")
+public class AutocompleteController {
+
+    private final AutocompleteService autocompleteService;
+
+    /**
+     * Constructor-based dependency injection of AutocompleteService.
+     *
+     * @param autocompleteService the service answering prefix lookups
+     */
+    public AutocompleteController(AutocompleteService autocompleteService) {
+        this.autocompleteService = autocompleteService;
+    }
+
+    /**
+     * Endpoint to complete a name prefix.
+     *
+     * @param prefix the text typed so far
+     * @param type optional kind of entity to complete (ASSET, CATEGORY or EMPLOYEE); all kinds when omitted
+     * @param limit maximum number of suggestions
+     * @return ResponseEntity with the list of suggestions in name order
+     */
+    @GetMapping
+    public ResponseEntity<List<Suggestion>> complete(@RequestParam String prefix,
+                                                     @RequestParam(required = false) Suggestion.Type type,
+                                                     @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(autocompleteService.complete(prefix, type, limit));
+    }
+}
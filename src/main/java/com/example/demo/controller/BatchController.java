@@ -0,0 +1,37 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.BatchRequest;
+import com.example.demo.dto.BatchResult;
+import com.example.demo.service.BatchService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller running several operations in one request.
+ */
+@RestController
+@RequestMapping("/api/batch")
+public class BatchController {
+
+    private final BatchService batchService;
+
+    /**
+     * Constructor-based dependency injection of BatchService.
+     *
+     * @param batchService the service running batches
+     */
+    public BatchController(BatchService batchService) {
+        this.batchService = batchService;
+    }
+
+    /**
+     * Endpoint to run an ordered list of operations, atomically unless {@code "atomic": false}.
+     *
+     * @param request the operations
+     * @return ResponseEntity containing the outcome of every operation
+     */
+    @PostMapping
+    public ResponseEntity<BatchResult> executeBatch(@RequestBody BatchRequest request) {
+        return ResponseEntity.ok(batchService.execute(request));
+    }
+}
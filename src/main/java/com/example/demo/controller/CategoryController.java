@@ -1,6 +1,9 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.CategoryMergeResult;
+import com.example.demo.model.Asset;
 import com.example.demo.model.Category;
+import com.example.demo.service.AssetAllocationService;
 import com.example.demo.service.CategoryService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -9,21 +12,25 @@ import java.util.List;
 
 /**
  * REST controller for managing Category entities.
- * Provides endpoints to create, retrieve, update, and delete categories.
+ * Provides endpoints to create, retrieve, update, delete, and merge categories,
+ * and to allocate any available asset of a category.
  */
 @RestController
 @RequestMapping("/api/categories")
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final AssetAllocationService assetAllocationService;
 
     /**
-     * Constructor-based dependency injection of CategoryService.
+     * Constructor-based dependency injection of CategoryService and AssetAllocationService.
      *
      * @param categoryService the service handling category business logic
+     * @param assetAllocationService the service allocating available assets of a category
      */
-    public CategoryController(CategoryService categoryService) {
+    public CategoryController(CategoryService categoryService, AssetAllocationService assetAllocationService) {
         this.categoryService = categoryService;
+        this.assetAllocationService = assetAllocationService;
     }
 
     /**
@@ -72,4 +79,29 @@ public class CategoryController {
         categoryService.deleteCategory(id);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Endpoint to merge a category into another one.
+     * All assets of the category are moved to the target and the category is deleted.
+     *
+     * @param id the id of the category to merge and delete
+     * @param targetId the id of the category receiving the assets
+     * @return ResponseEntity with the number of moved assets
+     */
+    @PostMapping("/{id}/merge-into/{targetId}")
+    public ResponseEntity<CategoryMergeResult> mergeCategory(@PathVariable Long id, @PathVariable Long targetId) {
+        return ResponseEntity.ok(categoryService.mergeCategory(id, targetId));
+    }
+
+    /**
+     * Endpoint to assign any available asset of a category to an employee.
+     *
+     * @param id the id of the category to allocate from
+     * @param employeeId the id of the employee receiving the asset
+     * @return ResponseEntity containing the assigned Asset object
+     */
+    @PostMapping("/{id}/allocate/{employeeId}")
+    public ResponseEntity<Asset> allocateAsset(@PathVariable Long id, @PathVariable Long employeeId) {
+        return ResponseEntity.ok(assetAllocationService.allocate(id, employeeId));
+    }
 }
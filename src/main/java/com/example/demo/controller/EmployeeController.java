@@ -1,28 +1,38 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.EmployeeSyncResult;
 import com.example.demo.model.Employee;
-import com.example.demo.repository.EmployeeRepository;
+import com.example.demo.service.EmployeeService;
+import com.example.demo.service.EmployeeSyncService;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 /**
  * REST controller for managing Employee entities.
- * Provides endpoints to retrieve all employees and create new employees.
+ * Provides endpoints to retrieve all employees, create new employees and sync the HR directory.
  */
 @RestController
 @RequestMapping("/api/employees")
 public class EmployeeController {
 
-    private final EmployeeRepository employeeRepository;
+    private final EmployeeService employeeService;
+    private final EmployeeSyncService employeeSyncService;
 
     /**
-     * Constructor-based dependency injection of EmployeeRepository.
+     * Constructor-based dependency injection of EmployeeService.
      *
-     * @param employeeRepository the repository managing employee persistence
+     * @param employeeService the service handling employee business logic
+     * @param employeeSyncService the service synchronising employees in bulk
      */
-    public EmployeeController(EmployeeRepository employeeRepository) {
-        this.employeeRepository = employeeRepository;
+    public EmployeeController(EmployeeService employeeService, EmployeeSyncService employeeSyncService) {
+        this.employeeService = employeeService;
+        this.employeeSyncService = employeeSyncService;
     }
 
     /**
@@ -32,7 +42,7 @@ public class EmployeeController {
      */
     @GetMapping
     public List<Employee> getAllEmployees() {
-        return employeeRepository.findAll();
+        return employeeService.getAllEmployees();
     }
 
     /**
@@ -43,6 +53,32 @@ public class EmployeeController {
      */
     @PostMapping
     public Employee createEmployee(@RequestBody Employee employee) {
-        return employeeRepository.save(employee);
+        return employeeService.createEmployee(employee);
+    }
+
+    /**
+     * Endpoint to upsert employees from a UTF-8 CSV export with the header id,fullName,designation.
+     * The body is streamed; unchanged employees are skipped.
+     *
+     * @param body the CSV request body
+     * @return counts of received, inserted, updated and unchanged employees
+     * @throws IOException if the body cannot be read
+     */
+    @PostMapping(value = "/sync", consumes = "text/csv")
+    public EmployeeSyncResult syncEmployeesCsv(InputStream body) throws IOException {
+        return employeeSyncService.syncCsv(new InputStreamReader(body, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Endpoint to upsert employees from a JSON array of employee objects.
+     * The body is streamed; unchanged employees are skipped.
+     *
+     * @param body the JSON request body
+     * @return counts of received, inserted, updated and unchanged employees
+     * @throws IOException if the body cannot be read
+     */
+    @PostMapping(value = "/sync", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public EmployeeSyncResult syncEmployeesJson(InputStream body) throws IOException {
+        return employeeSyncService.syncJson(body);
     }
 }
@@ -0,0 +1,146 @@
+package com.example.demo.controller;
+
+import com.example.demo.job.BulkJobService;
+import com.example.demo.job.JobProgress;
+import com.example.demo.model.Asset;
+import com.example.demo.service.AssetBulkOperations;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * REST controller for starting bulk asset jobs in the background,
+ * following their progress, cancelling them and downloading their result.
+ */
+@RestController
+@RequestMapping("/api/jobs")
+public class JobController {
+
+    private static final String RETRY_AFTER_SECONDS = "5";
+
+    private final BulkJobService bulkJobService;
+    private final AssetBulkOperations assetBulkOperations;
+
+    /**
+     * Constructor-based dependency injection of the job service and the bulk asset operations.
+     *
+     * @param bulkJobService service running the jobs
+     * @param assetBulkOperations the bulk operations over assets
+     */
+    public JobController(BulkJobService bulkJobService, AssetBulkOperations assetBulkOperations) {
+        this.bulkJobService = bulkJobService;
+        this.assetBulkOperations = assetBulkOperations;
+    }
+
+    /**
+     * Endpoint to start a job adding many assets.
+     *
+     * @param assets the assets to add
+     * @return ResponseEntity with accepted status and the progress of the queued job
+     */
+    @PostMapping("/assets/import")
+    public ResponseEntity<JobProgress> importAssets(@RequestBody List<Asset> assets) {
+        return accepted(() -> assetBulkOperations.importAssets(assets));
+    }
+
+    /**
+     * Endpoint to start a job moving every asset held by one employee to another.
+     *
+     * @param fromEmployeeId id of the employee giving up the assets
+     * @param toEmployeeId id of the employee receiving the assets
+     * @return ResponseEntity with accepted status and the progress of the queued job
+     */
+    @PostMapping("/assets/reassign")
+    public ResponseEntity<JobProgress> reassignAssets(@RequestParam Long fromEmployeeId, @RequestParam Long toEmployeeId) {
+        return accepted(() -> assetBulkOperations.reassignAssets(fromEmployeeId, toEmployeeId));
+    }
+
+    /**
+     * Endpoint to start a job exporting every asset as CSV.
+     *
+     * @param includeArchived whether archived assets are exported too
+     * @return ResponseEntity with accepted status and the progress of the queued job
+     */
+    @PostMapping("/assets/export")
+    public ResponseEntity<JobProgress> exportAssets(@RequestParam(defaultValue = "false") boolean includeArchived) {
+        return accepted(() -> assetBulkOperations.exportAssets(includeArchived));
+    }
+
+    /**
+     * Endpoint to list the retained jobs of the request's tenant.
+     *
+     * @return ResponseEntity with the progress of every job, oldest first
+     */
+    @GetMapping
+    public ResponseEntity<List<JobProgress>> getJobs() {
+        return ResponseEntity.ok(bulkJobService.getJobs());
+    }
+
+    /**
+     * Endpoint to retrieve the progress of a job.
+     *
+     * @param id the id of the job
+     * @return ResponseEntity containing the progress
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<JobProgress> getProgress(@PathVariable String id) {
+        return ResponseEntity.ok(bulkJobService.getProgress(id));
+    }
+
+    /**
+     * Endpoint to retrieve the result of a completed job: its file as a download if it wrote one,
+     * otherwise its summary.
+     *
+     * @param id the id of the job
+     * @return ResponseEntity with the result, or conflict status if the job has not completed
+     */
+    @GetMapping("/{id}/result")
+    public ResponseEntity<?> getResult(@PathVariable String id) {
+        if (bulkJobService.getProgress(id).getStatus() != JobProgress.Status.DONE) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        Path file = bulkJobService.getResultFile(id);
+        if (file == null) {
+            return ResponseEntity.ok(bulkJobService.getResult(id));
+        }
+        Resource body = new FileSystemResource(file);
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getFileName() + "\"")
+                .body(body);
+    }
+
+    /**
+     * Endpoint to cancel a queued or running job.
+     *
+     * @param id the id of the job
+     * @return ResponseEntity containing the progress after cancellation was requested
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<JobProgress> cancelJob(@PathVariable String id) {
+        return ResponseEntity.ok(bulkJobService.cancel(id));
+    }
+
+    /**
+     * Submits a job, answering 503 with Retry-After when the job queue is full.
+     */
+    private static ResponseEntity<JobProgress> accepted(Supplier<JobProgress> submit) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(submit.get());
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                    .build();
+        }
+    }
+}
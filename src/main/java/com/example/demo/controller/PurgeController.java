@@ -0,0 +1,54 @@
+package com.example.demo.controller;
+
+import com.example.demo.job.AssetPurgeJob;
+import com.example.demo.job.PurgeProgress;
+import com.example.demo.tenant.TenantContext;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for triggering and monitoring the purge of long-recovered assets.
+ */
+@RestController
+@RequestMapping("/api/admin/purge")
+public class PurgeController {
+
+    private final AssetPurgeJob assetPurgeJob;
+    private final TaskExecutor taskExecutor;
+
+    /**
+     * Constructor-based dependency injection of the purge job and the executor running it.
+     *
+     * @param assetPurgeJob the purge job
+     * @param taskExecutor executor used to run on-demand purges in the background
+     */
+    public PurgeController(AssetPurgeJob assetPurgeJob, @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor) {
+        this.assetPurgeJob = assetPurgeJob;
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * Endpoint to retrieve the progress of the current or last purge run of the request's tenant.
+     *
+     * @return ResponseEntity containing the purge progress
+     */
+    @GetMapping
+    public ResponseEntity<PurgeProgress> getProgress() {
+        return ResponseEntity.ok(assetPurgeJob.getProgress());
+    }
+
+    /**
+     * Endpoint to start a purge run of the request's tenant in the background.
+     *
+     * @return ResponseEntity with accepted status and the progress at submission time
+     */
+    @PostMapping
+    public ResponseEntity<PurgeProgress> startPurge() {
+        String tenantId = TenantContext.getTenantId();
+        taskExecutor.execute(() -> TenantContext.runAs(tenantId, assetPurgeJob::purge));
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(assetPurgeJob.getProgress());
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.demo.controller;
+
+import com.example.demo.report.DepreciationReportEngine;
+import com.example.demo.report.ReportProgress;
+import com.example.demo.tenant.TenantContext;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+
+/**
+ * REST controller for running depreciation reports in the background,
+ * following their progress and downloading their result as CSV.
+ */
+@RestController
+@RequestMapping("/api/reports/depreciation")
+public class ReportController {
+
+    private final DepreciationReportEngine reportEngine;
+    private final TaskExecutor taskExecutor;
+
+    /**
+     * Constructor-based dependency injection of the report engine and the executor running reports.
+     *
+     * @param reportEngine the depreciation report engine
+     * @param taskExecutor executor used to run reports in the background
+     */
+    public ReportController(DepreciationReportEngine reportEngine,
+                            @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor) {
+        this.reportEngine = reportEngine;
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * Endpoint to start a depreciation report over a range of months.
+     *
+     * @param from first month, e.g. 2024-01
+     * @param to last month, e.g. 2024-12
+     * @return ResponseEntity with accepted status and the progress of the queued run
+     */
+    @PostMapping
+    public ResponseEntity<ReportProgress> startReport(@RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth from,
+                                                      @RequestParam @DateTimeFormat(pattern = "yyyy-MM") YearMonth to) {
+        ReportProgress progress = reportEngine.submit(from, to);
+        String tenantId = TenantContext.getTenantId();
+        taskExecutor.execute(() -> TenantContext.runAs(tenantId, () -> reportEngine.run(progress.getId())));
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(progress);
+    }
+
+    /**
+     * Endpoint to retrieve the progress of a report run.
+     *
+     * @param id the id of the run
+     * @return ResponseEntity containing the progress
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ReportProgress> getProgress(@PathVariable String id) {
+        return ResponseEntity.ok(reportEngine.getProgress(id));
+    }
+
+    /**
+     * Endpoint to download the result of a completed report run as CSV.
+     *
+     * @param id the id of the run
+     * @return ResponseEntity streaming the CSV, or conflict status if the run has not completed
+     */
+    @GetMapping("/{id}/csv")
+    public ResponseEntity<StreamingResponseBody> downloadCsv(@PathVariable String id) {
+        if (reportEngine.getProgress(id).getStatus() != ReportProgress.Status.DONE) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        String tenantId = TenantContext.getTenantId();
+        StreamingResponseBody body = out -> {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            try {
+                TenantContext.runAs(tenantId, () -> {
+                    try {
+                        reportEngine.writeCsv(id, writer);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"depreciation-" + id + ".csv\"")
+                .body(body);
+    }
+
+    /**
+     * Endpoint to cancel a queued or running report.
+     *
+     * @param id the id of the run
+     * @return ResponseEntity containing the progress after cancellation was requested
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<ReportProgress> cancelReport(@PathVariable String id) {
+        return ResponseEntity.ok(reportEngine.cancel(id));
+    }
+}
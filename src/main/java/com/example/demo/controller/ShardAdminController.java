@@ -0,0 +1,37 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.ShardStats;
+import com.example.demo.service.ShardStatsService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller exposing the state of the tenant shards to operators.
+ */
+@RestController
+@RequestMapping("/api/admin/shards")
+public class ShardAdminController {
+
+    private final ShardStatsService shardStatsService;
+
+    /**
+     * Constructor-based dependency injection of ShardStatsService.
+     *
+     * @param shardStatsService the service collecting shard statistics
+     */
+    public ShardAdminController(ShardStatsService shardStatsService) {
+        this.shardStatsService = shardStatsService;
+    }
+
+    /**
+     * Endpoint to retrieve row counts and connection pool state of every shard.
+     *
+     * @return ResponseEntity containing the statistics of each shard
+     */
+    @GetMapping
+    public ResponseEntity<List<ShardStats>> getShards() {
+        return ResponseEntity.ok(shardStatsService.getStats());
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.demo.controller;
+
+import com.example.demo.dto.SnapshotResult;
+import com.example.demo.snapshot.DatabaseSnapshotService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller letting operators snapshot the database of the current tenant on demand.
+ */
+@RestController
+@RequestMapping("/api/admin/snapshot")
+public class SnapshotController {
+
+    private final DatabaseSnapshotService snapshotService;
+
+    /**
+     * Constructor-based dependency injection of DatabaseSnapshotService.
+     *
+     * @param snapshotService the service writing snapshots
+     */
+    public SnapshotController(DatabaseSnapshotService snapshotService) {
+        this.snapshotService = snapshotService;
+    }
+
+    /**
+     * Endpoint to write the snapshot of the current tenant now.
+     *
+     * @return ResponseEntity containing the row counts and size of the snapshot
+     */
+    @PostMapping
+    public ResponseEntity<SnapshotResult> snapshot() {
+        return ResponseEntity.ok(snapshotService.snapshot());
+    }
+}
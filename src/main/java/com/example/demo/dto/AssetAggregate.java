@@ -0,0 +1,77 @@
+package com.example.demo.dto;
+
+import com.example.demo.model.Asset;
+import lombok.Value;
+
+/**
+ * One group of an asset aggregation.
+ * Dimensions that were not grouped by are null.
+ */
+@Value
+public class AssetAggregate {
+
+    /**
+     * Category of the group.
+     */
+    Long categoryId;
+
+    /**
+     * Assignment status of the group.
+     */
+    Asset.AssignmentStatus status;
+
+    /**
+     * Purchase year of the group; null also for assets without a purchase date.
+     */
+    Integer purchaseYear;
+
+    /**
+     * Age bucket of the group.
+     */
+    AgeBucket ageBucket;
+
+    /**
+     * Number of assets in the group.
+     */
+    long count;
+
+    /**
+     * Average age in days of the assets in the group that have a purchase date; null if none has one.
+     */
+    Double averageAgeDays;
+
+    /**
+     * Enum representing the dimensions assets can be grouped by.
+     */
+    public enum Dimension {
+        CATEGORY,
+        STATUS,
+        PURCHASE_YEAR,
+        AGE_BUCKET
+    }
+
+    /**
+     * Enum representing asset age ranges, by days since purchase.
+     */
+    public enum AgeBucket {
+        UNDER_1_YEAR(365),
+        YEARS_1_TO_2(730),
+        YEARS_2_TO_3(1095),
+        YEARS_3_TO_5(1826),
+        OVER_5_YEARS(Integer.MAX_VALUE),
+        UNKNOWN(Integer.MAX_VALUE);
+
+        private final int maxDaysExclusive;
+
+        AgeBucket(int maxDaysExclusive) {
+            this.maxDaysExclusive = maxDaysExclusive;
+        }
+
+        /**
+         * @return the first age in days that no longer belongs to the bucket
+         */
+        public int getMaxDaysExclusive() {
+            return maxDaysExclusive;
+        }
+    }
+}
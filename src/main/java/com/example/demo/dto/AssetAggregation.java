@@ -0,0 +1,27 @@
+package com.example.demo.dto;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Result of an asset aggregation over the in-memory snapshot.
+ */
+@Value
+public class AssetAggregation {
+
+    /**
+     * Number of assets scanned.
+     */
+    int scannedRows;
+
+    /**
+     * Time spent scanning and grouping, in microseconds.
+     */
+    long tookMicros;
+
+    /**
+     * The groups, ordered by their dimensions.
+     */
+    List<AssetAggregate> groups;
+}
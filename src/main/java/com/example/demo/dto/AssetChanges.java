@@ -0,0 +1,39 @@
+package com.example.demo.dto;
+
+import com.example.demo.model.Asset;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Assets changed and removed since a sync token, with the token to pass on the next sync.
+ */
+@Value
+public class AssetChanges {
+
+    /**
+     * Token to pass as {@code since} on the next sync.
+     */
+    String token;
+
+    /**
+     * Whether the client must drop its local copy first: the response then starts a full sync, listing
+     * the assets in ID order page by page, because the given token was missing or not issued by this server run.
+     */
+    boolean reset;
+
+    /**
+     * Whether more changes are waiting; the client should sync again with the new token right away.
+     */
+    boolean hasMore;
+
+    /**
+     * Assets created or changed since the token, in change order.
+     */
+    List<Asset> changed;
+
+    /**
+     * IDs of the assets deleted, purged or archived since the token.
+     */
+    List<Long> removed;
+}
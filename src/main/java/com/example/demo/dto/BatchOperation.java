@@ -0,0 +1,71 @@
+package com.example.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * One operation of a batch request.
+ *
+ * ID arguments, and {@code id}/{@code ...Id} fields inside the body, may reference the entity created or
+ * changed by an earlier operation of the same batch as {@code "$n"}, where n is its 0-based position,
+ * e.g. {@code {"op":"ASSIGN_ASSET","assetId":"$2","employeeId":"$0"}}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOperation {
+
+    /**
+     * The operation to perform.
+     */
+    private Type op;
+
+    /**
+     * ID of the asset to act on, or a reference to an earlier operation.
+     */
+    private String assetId;
+
+    /**
+     * ID of the employee to act on, or a reference to an earlier operation.
+     */
+    private String employeeId;
+
+    /**
+     * ID of the category to act on, or a reference to an earlier operation.
+     */
+    private String categoryId;
+
+    /**
+     * Request body of the operation, as it would be sent to the corresponding endpoint.
+     */
+    private Map<String, Object> body;
+
+    /**
+     * Enum listing the supported operations and the endpoint each one corresponds to.
+     */
+    public enum Type {
+        /** POST /api/employees with body. */
+        CREATE_EMPLOYEE,
+        /** POST /api/categories with body. */
+        CREATE_CATEGORY,
+        /** PUT /api/categories/{categoryId} with body. */
+        UPDATE_CATEGORY,
+        /** DELETE /api/categories/{categoryId}. */
+        DELETE_CATEGORY,
+        /** POST /api/assets with body. */
+        CREATE_ASSET,
+        /** PUT /api/assets/{assetId} with body. */
+        UPDATE_ASSET,
+        /** PATCH /api/assets/{assetId} with a merge patch body. */
+        PATCH_ASSET,
+        /** DELETE /api/assets/{assetId}. */
+        DELETE_ASSET,
+        /** POST /api/assets/{assetId}/assign/{employeeId}. */
+        ASSIGN_ASSET,
+        /** POST /api/assets/{assetId}/recover. */
+        RECOVER_ASSET
+    }
+}
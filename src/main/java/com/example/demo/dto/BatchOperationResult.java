@@ -0,0 +1,54 @@
+package com.example.demo.dto;
+
+import lombok.Value;
+
+/**
+ * Outcome of one operation of a batch.
+ */
+@Value
+public class BatchOperationResult {
+
+    /**
+     * Position of the operation in the request.
+     */
+    int index;
+
+    /**
+     * The operation performed.
+     */
+    BatchOperation.Type op;
+
+    /**
+     * Whether the operation took effect.
+     */
+    Status status;
+
+    /**
+     * ID of the entity created or changed, which later operations can reference; null unless OK.
+     */
+    Long id;
+
+    /**
+     * Entity returned by the operation, as the corresponding endpoint would return it; null unless OK.
+     */
+    Object result;
+
+    /**
+     * Reason the operation failed; null unless FAILED.
+     */
+    String error;
+
+    /**
+     * Enum representing the outcome of an operation.
+     */
+    public enum Status {
+        /** The operation succeeded and was committed. */
+        OK,
+        /** The operation failed. */
+        FAILED,
+        /** The operation succeeded but was rolled back because the atomic batch failed. */
+        ROLLED_BACK,
+        /** The operation was not attempted because an earlier operation of the atomic batch failed. */
+        SKIPPED
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.demo.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ordered list of operations submitted to the batch endpoint.
+ */
+@Data
+public class BatchRequest {
+
+    /**
+     * Whether all operations run in one transaction that is rolled back if any of them fails.
+     * When false each operation commits on its own and later operations still run after a failure.
+     */
+    private boolean atomic = true;
+
+    /**
+     * Operations in execution order.
+     */
+    private List<BatchOperation> operations = new ArrayList<>();
+}
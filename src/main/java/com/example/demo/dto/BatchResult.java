@@ -0,0 +1,32 @@
+package com.example.demo.dto;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Combined response of a batch request.
+ */
+@Value
+public class BatchResult {
+
+    /**
+     * Whether the operations ran in a single transaction.
+     */
+    boolean atomic;
+
+    /**
+     * Whether every operation succeeded.
+     */
+    boolean succeeded;
+
+    /**
+     * Reason the atomic transaction could not be committed, if it failed after all operations ran.
+     */
+    String error;
+
+    /**
+     * Outcome of each operation, in request order.
+     */
+    List<BatchOperationResult> results;
+}
@@ -0,0 +1,20 @@
+package com.example.demo.dto;
+
+import lombok.Value;
+
+/**
+ * Outcome of a completed bulk job over assets.
+ */
+@Value
+public class BulkJobSummary {
+
+    /**
+     * Number of items processed successfully.
+     */
+    long succeeded;
+
+    /**
+     * Number of items that failed.
+     */
+    long failed;
+}
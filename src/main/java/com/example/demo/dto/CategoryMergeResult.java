@@ -0,0 +1,25 @@
+package com.example.demo.dto;
+
+import lombok.Value;
+
+/**
+ * Outcome of merging one category into another.
+ */
+@Value
+public class CategoryMergeResult {
+
+    /**
+     * ID of the category that was merged and deleted.
+     */
+    Long sourceCategoryId;
+
+    /**
+     * ID of the category that received the assets.
+     */
+    Long targetCategoryId;
+
+    /**
+     * Number of assets moved from the source to the target category.
+     */
+    int movedAssets;
+}
@@ -0,0 +1,30 @@
+package com.example.demo.dto;
+
+import lombok.Value;
+
+/**
+ * Outcome of an employee directory sync.
+ */
+@Value
+public class EmployeeSyncResult {
+
+    /**
+     * Number of employee records read from the request, including repeated IDs.
+     */
+    int received;
+
+    /**
+     * Number of employees that did not exist and were inserted.
+     */
+    int inserted;
+
+    /**
+     * Number of existing employees whose details changed and were updated.
+     */
+    int updated;
+
+    /**
+     * Number of existing employees that were already up to date and were skipped.
+     */
+    int unchanged;
+}
@@ -0,0 +1,65 @@
+package com.example.demo.dto;
+
+import lombok.Value;
+
+/**
+ * Row counts and connection pool state of one tenant shard.
+ */
+@Value
+public class ShardStats {
+
+    /**
+     * Tenant served by the shard.
+     */
+    String tenantId;
+
+    /**
+     * JDBC URL of the shard, or null if unknown.
+     */
+    String url;
+
+    /**
+     * Number of assets.
+     */
+    long assets;
+
+    /**
+     * Number of archived assets.
+     */
+    long archivedAssets;
+
+    /**
+     * Number of categories.
+     */
+    long categories;
+
+    /**
+     * Number of employees.
+     */
+    long employees;
+
+    /**
+     * Number of assignment history rows.
+     */
+    long assignmentHistory;
+
+    /**
+     * Connections in use, or null if the pool has not started or is not a Hikari pool.
+     */
+    Integer activeConnections;
+
+    /**
+     * Idle pooled connections, or null if unknown.
+     */
+    Integer idleConnections;
+
+    /**
+     * All pooled connections, or null if unknown.
+     */
+    Integer totalConnections;
+
+    /**
+     * Threads waiting for a connection, or null if unknown.
+     */
+    Integer threadsAwaitingConnection;
+}
@@ -0,0 +1,55 @@
+package com.example.demo.dto;
+
+import lombok.Value;
+
+/**
+ * Outcome of writing or restoring the database snapshot of one tenant.
+ */
+@Value
+public class SnapshotResult {
+
+    /**
+     * Tenant whose tables were written or restored.
+     */
+    String tenantId;
+
+    /**
+     * Path of the snapshot file.
+     */
+    String file;
+
+    /**
+     * Number of category rows.
+     */
+    long categories;
+
+    /**
+     * Number of employee rows.
+     */
+    long employees;
+
+    /**
+     * Number of asset rows.
+     */
+    long assets;
+
+    /**
+     * Number of archived asset rows.
+     */
+    long archivedAssets;
+
+    /**
+     * Number of asset note rows.
+     */
+    long assetNotes;
+
+    /**
+     * Size of the snapshot file in bytes.
+     */
+    long bytes;
+
+    /**
+     * Time taken in milliseconds.
+     */
+    long millis;
+}
@@ -0,0 +1,34 @@
+package com.example.demo.dto;
+
+import lombok.Value;
+
+/**
+ * A single autocomplete suggestion returned by the autocomplete endpoint.
+ */
+@Value
+public class Suggestion {
+
+    /**
+     * The kind of entity the suggestion refers to.
+     */
+    Type type;
+
+    /**
+     * ID of the suggested entity.
+     */
+    Long id;
+
+    /**
+     * Display name of the suggested entity.
+     */
+    String name;
+
+    /**
+     * Enum representing the entity kinds that can be suggested.
+     */
+    public enum Type {
+        ASSET,
+        CATEGORY,
+        EMPLOYEE
+    }
+}
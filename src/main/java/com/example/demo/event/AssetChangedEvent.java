@@ -0,0 +1,60 @@
+package com.example.demo.event;
+
+import com.example.demo.model.Asset;
+import lombok.Value;
+
+/**
+ * Application event published by the service layer whenever an Asset is changed.
+ * In-memory structures (indexes, snapshots) listen to it to stay in sync with the database.
+ */
+@Value
+public class AssetChangedEvent {
+
+    /**
+     * The kind of change that happened to the asset.
+     */
+    Type type;
+
+    /**
+     * ID of the changed asset.
+     */
+    Long assetId;
+
+    /**
+     * State of the asset after the change.
+     * Null when the asset no longer exists (e.g. after deletion).
+     */
+    Asset asset;
+
+    /**
+     * Creates an event for an asset that still exists after the change.
+     *
+     * @param type the kind of change
+     * @param asset the asset after the change
+     * @return the event
+     */
+    public static AssetChangedEvent of(Type type, Asset asset) {
+        return new AssetChangedEvent(type, asset.getId(), asset);
+    }
+
+    /**
+     * Creates an event for an asset that has been removed.
+     *
+     * @param assetId ID of the removed asset
+     * @return the event
+     */
+    public static AssetChangedEvent deleted(Long assetId) {
+        return new AssetChangedEvent(Type.DELETED, assetId, null);
+    }
+
+    /**
+     * Enum representing the kinds of asset changes.
+     */
+    public enum Type {
+        CREATED,
+        UPDATED,
+        ASSIGNED,
+        RECOVERED,
+        DELETED
+    }
+}
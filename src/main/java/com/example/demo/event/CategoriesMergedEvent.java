@@ -0,0 +1,28 @@
+package com.example.demo.event;
+
+import lombok.Value;
+
+/**
+ * Application event published when all assets of one category were moved to another
+ * by a single bulk update and the source category was deleted.
+ * No AssetChangedEvent is published for the moved assets, so structures that track
+ * the category of each asset must listen to this event as well.
+ */
+@Value
+public class CategoriesMergedEvent {
+
+    /**
+     * ID of the category that was merged and deleted.
+     */
+    Long sourceCategoryId;
+
+    /**
+     * ID of the category that received the assets.
+     */
+    Long targetCategoryId;
+
+    /**
+     * Number of assets moved.
+     */
+    int movedAssets;
+}
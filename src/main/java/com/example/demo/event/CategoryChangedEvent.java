@@ -0,0 +1,49 @@
+package com.example.demo.event;
+
+import com.example.demo.model.Category;
+import lombok.Value;
+
+/**
+ * Application event published by the service layer whenever a Category is saved or deleted.
+ */
+@Value
+public class CategoryChangedEvent {
+
+    /**
+     * ID of the changed category.
+     */
+    Long categoryId;
+
+    /**
+     * State of the category after the change.
+     * Null when the category has been deleted.
+     */
+    Category category;
+
+    /**
+     * Creates an event for a saved category.
+     *
+     * @param category the category after the change
+     * @return the event
+     */
+    public static CategoryChangedEvent saved(Category category) {
+        return new CategoryChangedEvent(category.getId(), category);
+    }
+
+    /**
+     * Creates an event for a deleted category.
+     *
+     * @param categoryId ID of the deleted category
+     * @return the event
+     */
+    public static CategoryChangedEvent deleted(Long categoryId) {
+        return new CategoryChangedEvent(categoryId, null);
+    }
+
+    /**
+     * @return true if the category no longer exists
+     */
+    public boolean isDeleted() {
+        return category == null;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.demo.event;
+
+import com.example.demo.model.Employee;
+import lombok.Value;
+
+/**
+ * Application event published by the service layer whenever an Employee is saved or deleted.
+ */
+@Value
+public class EmployeeChangedEvent {
+
+    /**
+     * ID of the changed employee.
+     */
+    Long employeeId;
+
+    /**
+     * State of the employee after the change.
+     * Null when the employee has been deleted.
+     */
+    Employee employee;
+
+    /**
+     * Creates an event for a saved employee.
+     *
+     * @param employee the employee after the change
+     * @return the event
+     */
+    public static EmployeeChangedEvent saved(Employee employee) {
+        return new EmployeeChangedEvent(employee.getId(), employee);
+    }
+
+    /**
+     * Creates an event for a deleted employee.
+     *
+     * @param employeeId ID of the deleted employee
+     * @return the event
+     */
+    public static EmployeeChangedEvent deleted(Long employeeId) {
+        return new EmployeeChangedEvent(employeeId, null);
+    }
+
+    /**
+     * @return true if the employee no longer exists
+     */
+    public boolean isDeleted() {
+        return employee == null;
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.demo.grpc;
+
+import com.example.demo.grpc.proto.AssetInput;
+import com.example.demo.grpc.proto.AssetMessage;
+import com.example.demo.grpc.proto.AssetQuery;
+import com.example.demo.grpc.proto.AssetStreamGrpc;
+import com.example.demo.grpc.proto.IngestSummary;
+import com.example.demo.model.Asset;
+import com.example.demo.model.Category;
+import com.example.demo.service.AssetService;
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * gRPC service streaming assets in and out for internal systems.
+ *
+ * Ingest applies each streamed asset through AssetService in its own transaction, with the same
+ * validation and events as the REST endpoints; a failed asset is recorded and skipped. Inbound flow
+ * control is manual: the next asset is requested only once the previous one is applied, so a client
+ * pushing faster than the database accepts is held back by the HTTP/2 window instead of queueing in memory.
+ * Queries read keyset pages from AssetService only while the client is ready to receive more.
+ */
+@Component
+public class AssetStreamService extends AssetStreamGrpc.AssetStreamImplBase {
+
+    private static final Logger log = LoggerFactory.getLogger(AssetStreamService.class);
+
+    private static final int MAX_INGEST_ERRORS = 20;
+
+    private final AssetService assetService;
+    private final int queryPageSize;
+
+    /**
+     * Constructor-based dependency injection of the asset service and streaming settings.
+     *
+     * @param assetService service applying and reading the assets
+     * @param queryPageSize number of assets read per query page
+     */
+    public AssetStreamService(AssetService assetService,
+                              @Value("${app.grpc.query-page-size:500}") int queryPageSize) {
+        this.assetService = assetService;
+        this.queryPageSize = queryPageSize;
+    }
+
+    @Override
+    public StreamObserver<AssetInput> ingestAssets(StreamObserver<IngestSummary> responseObserver) {
+        ServerCallStreamObserver<IngestSummary> call = (ServerCallStreamObserver<IngestSummary>) responseObserver;
+        call.disableAutoRequest();
+        call.request(1);
+        return new StreamObserver<AssetInput>() {
+            private final IngestSummary.Builder summary = IngestSummary.newBuilder();
+            private long index;
+
+            @Override
+            public void onNext(AssetInput input) {
+                try {
+                    apply(input);
+                    summary.setSucceeded(summary.getSucceeded() + 1);
+                } catch (RuntimeException e) {
+                    summary.setFailed(summary.getFailed() + 1);
+                    if (summary.getErrorsCount() < MAX_INGEST_ERRORS) {
+                        summary.addErrors("Asset " + index + ": " + e.getMessage());
+                    }
+                }
+                index++;
+                call.request(1);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                log.info("Asset ingest stream aborted after {} assets: {}", index, Status.fromThrowable(t));
+            }
+
+            @Override
+            public void onCompleted() {
+                responseObserver.onNext(summary.build());
+                responseObserver.onCompleted();
+            }
+        };
+    }
+
+    @Override
+    public void queryAssets(AssetQuery query, StreamObserver<AssetMessage> responseObserver) {
+        QueryStream stream = new QueryStream(query, (ServerCallStreamObserver<AssetMessage>) responseObserver);
+        stream.call.setOnCancelHandler(() -> stream.finished = true);
+        stream.call.setOnReadyHandler(stream::drain);
+    }
+
+    /**
+     * Adds an asset without ID, or patches the set fields of an asset with one.
+     */
+    private void apply(AssetInput input) {
+        if (!input.hasId()) {
+            Asset asset = new Asset();
+            asset.setName(input.hasName() ? input.getName() : null);
+            asset.setPurchaseDate(input.hasPurchaseDate() ? date(input.getPurchaseDate()) : null);
+            asset.setConditionNotes(input.hasConditionNotes() ? emptyToNull(input.getConditionNotes()) : null);
+            asset.setCategory(input.hasCategoryId() ? new Category(input.getCategoryId(), null, null) : null);
+            assetService.addAsset(asset);
+            return;
+        }
+        Map<String, Object> patch = new HashMap<>();
+        if (input.hasName()) {
+            patch.put("name", input.getName());
+        }
+        if (input.hasPurchaseDate()) {
+            patch.put("purchaseDate", emptyToNull(input.getPurchaseDate()));
+        }
+        if (input.hasConditionNotes()) {
+            patch.put("conditionNotes", emptyToNull(input.getConditionNotes()));
+        }
+        if (input.hasCategoryId()) {
+            patch.put("category", Collections.singletonMap("id", input.getCategoryId()));
+        }
+        assetService.patchAsset(input.getId(), patch);
+    }
+
+    private static LocalDate date(String value) {
+        return value.isEmpty() ? null : LocalDate.parse(value);
+    }
+
+    private static String emptyToNull(String value) {
+        return value.isEmpty() ? null : value;
+    }
+
+    private static AssetMessage toMessage(Asset asset) {
+        AssetMessage.Builder message = AssetMessage.newBuilder()
+                .setId(asset.getId())
+                .setName(asset.getName() != null ? asset.getName() : "")
+                .setPurchaseDate(asset.getPurchaseDate() != null ? asset.getPurchaseDate().toString() : "")
+                .setCategoryId(asset.getCategory().getId())
+                .setCategoryName(asset.getCategory().getName() != null ? asset.getCategory().getName() : "")
+                .setAssignmentStatus(asset.getAssignmentStatus() != null ? asset.getAssignmentStatus().name() : "")
+                .setRecoveredAt(asset.getRecoveredAt() != null ? asset.getRecoveredAt().toString() : "");
+        if (asset.getAssignedTo() != null) {
+            message.setEmployeeId(asset.getAssignedTo().getId());
+        }
+        return message.build();
+    }
+
+    /**
+     * State of one query; gRPC runs the ready and cancel handlers of a call one at a time.
+     */
+    private class QueryStream {
+
+        final ServerCallStreamObserver<AssetMessage> call;
+        final String name;
+        final Deque<Asset> buffer = new ArrayDeque<>();
+        long lastId;
+        boolean exhausted;
+        volatile boolean finished;
+
+        QueryStream(AssetQuery query, ServerCallStreamObserver<AssetMessage> call) {
+            this.call = call;
+            this.name = query.getName();
+            this.lastId = query.getAfterId();
+        }
+
+        /**
+         * Sends assets while the client is ready, reading the next page whenever the buffer runs empty.
+         */
+        void drain() {
+            try {
+                while (!finished && call.isReady()) {
+                    if (buffer.isEmpty() && !exhausted) {
+                        List<Asset> page = assetService.getAssetsAfter(lastId, name, queryPageSize);
+                        buffer.addAll(page);
+                        exhausted = page.size() < queryPageSize;
+                        if (!page.isEmpty()) {
+                            lastId = page.get(page.size() - 1).getId();
+                        }
+                    }
+                    if (buffer.isEmpty()) {
+                        finished = true;
+                        call.onCompleted();
+                        return;
+                    }
+                    call.onNext(toMessage(buffer.poll()));
+                }
+            } catch (RuntimeException e) {
+                log.warn("Asset query stream failed after ID {}", lastId, e);
+                finished = true;
+                call.onError(Status.INTERNAL.withDescription(e.getMessage()).asRuntimeException());
+            }
+        }
+    }
+}
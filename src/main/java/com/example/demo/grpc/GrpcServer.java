@@ -0,0 +1,85 @@
+package com.example.demo.grpc;
+
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.netty.shaded.io.grpc.netty.NettyServerBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Netty gRPC server serving {@link AssetStreamService} on its own port next to the REST API.
+ * Started once the embedded web server is up, so it only runs where the REST API runs and not in
+ * tests with a mock servlet environment, and stopped with the application context.
+ *
+ * The server is off by default and listens on the loopback interface only. It is plaintext and
+ * unauthenticated, and its calls bypass the servlet filters (rate limiting, load shedding and
+ * idempotency), so it is meant for trusted internal callers behind a proxy that applies those limits.
+ */
+@Component
+public class GrpcServer implements ApplicationListener<WebServerInitializedEvent>, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(GrpcServer.class);
+
+    private final AssetStreamService assetStreamService;
+    private final TenantServerInterceptor tenantInterceptor;
+    private final boolean enabled;
+    private final String address;
+    private final int port;
+    private Server server;
+
+    /**
+     * Constructor-based dependency injection of the served service and server settings.
+     *
+     * @param assetStreamService the asset streaming service
+     * @param tenantInterceptor interceptor binding calls to their tenant
+     * @param enabled whether the gRPC server is started
+     * @param address host name or IP address the server binds to
+     * @param port port the server listens on, or 0 for any free port
+     */
+    public GrpcServer(AssetStreamService assetStreamService, TenantServerInterceptor tenantInterceptor,
+                      @Value("${app.grpc.enabled:false}") boolean enabled,
+                      @Value("${app.grpc.address:127.0.0.1}") String address,
+                      @Value("${app.grpc.port:9090}") int port) {
+        this.assetStreamService = assetStreamService;
+        this.tenantInterceptor = tenantInterceptor;
+        this.enabled = enabled;
+        this.address = address;
+        this.port = port;
+    }
+
+    @Override
+    public synchronized void onApplicationEvent(WebServerInitializedEvent event) {
+        if (!enabled || server != null) {
+            return;
+        }
+        try {
+            server = NettyServerBuilder.forAddress(new InetSocketAddress(address, port))
+                    .addService(ServerInterceptors.intercept(assetStreamService, tenantInterceptor))
+                    .build()
+                    .start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start gRPC server on " + address + ":" + port, e);
+        }
+        log.info("gRPC server listening on {}:{}", address, server.getPort());
+    }
+
+    @Override
+    public synchronized void destroy() throws InterruptedException {
+        if (server != null) {
+            server.shutdown();
+            if (!server.awaitTermination(5, TimeUnit.SECONDS)) {
+                server.shutdownNow();
+            }
+        }
+    }
+}
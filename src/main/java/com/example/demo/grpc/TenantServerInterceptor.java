@@ -0,0 +1,82 @@
+package com.example.demo.grpc;
+
+import com.example.demo.tenant.TenancyProperties;
+import com.example.demo.tenant.TenantContext;
+import com.example.demo.tenant.TenantRegistry;
+import io.grpc.ForwardingServerCallListener;
+import io.grpc.Metadata;
+import io.grpc.ServerCall;
+import io.grpc.ServerCallHandler;
+import io.grpc.ServerInterceptor;
+import io.grpc.Status;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * gRPC counterpart of the tenant filter: binds each call to the tenant named in the tenant header.
+ * gRPC runs the callbacks of one call on different threads, so the tenant is set around every callback
+ * rather than once per call. Calls without the header belong to the default tenant; unknown tenants
+ * are rejected with INVALID_ARGUMENT.
+ */
+@Component
+public class TenantServerInterceptor implements ServerInterceptor {
+
+    private final TenantRegistry tenantRegistry;
+    private final boolean enabled;
+    private final Metadata.Key<String> header;
+
+    /**
+     * Constructor-based dependency injection of the tenant registry and settings.
+     *
+     * @param tenantRegistry registry of the served tenants
+     * @param properties the tenancy settings
+     */
+    public TenantServerInterceptor(TenantRegistry tenantRegistry, TenancyProperties properties) {
+        this.tenantRegistry = tenantRegistry;
+        this.enabled = properties.isEnabled();
+        this.header = Metadata.Key.of(properties.getHeader().toLowerCase(Locale.ROOT), Metadata.ASCII_STRING_MARSHALLER);
+    }
+
+    @Override
+    public <Q, R> ServerCall.Listener<Q> interceptCall(ServerCall<Q, R> call, Metadata headers,
+                                                       ServerCallHandler<Q, R> next) {
+        if (!enabled) {
+            return next.startCall(call, headers);
+        }
+        String requested = headers.get(header);
+        if (requested != null && !tenantRegistry.isKnown(requested)) {
+            call.close(Status.INVALID_ARGUMENT.withDescription("Unknown tenant: " + requested), new Metadata());
+            return new ServerCall.Listener<Q>() {
+            };
+        }
+        String tenantId = requested != null ? requested : tenantRegistry.getDefaultTenant();
+        ServerCall.Listener<Q> listener = TenantContext.callAs(tenantId, () -> next.startCall(call, headers));
+        return new ForwardingServerCallListener.SimpleForwardingServerCallListener<Q>(listener) {
+            @Override
+            public void onMessage(Q message) {
+                TenantContext.runAs(tenantId, () -> super.onMessage(message));
+            }
+
+            @Override
+            public void onHalfClose() {
+                TenantContext.runAs(tenantId, super::onHalfClose);
+            }
+
+            @Override
+            public void onCancel() {
+                TenantContext.runAs(tenantId, super::onCancel);
+            }
+
+            @Override
+            public void onComplete() {
+                TenantContext.runAs(tenantId, super::onComplete);
+            }
+
+            @Override
+            public void onReady() {
+                TenantContext.runAs(tenantId, super::onReady);
+            }
+        };
+    }
+}
@@ -0,0 +1,455 @@
+package com.example.demo.index;
+
+import com.example.demo.dto.AssetAggregate;
+import com.example.demo.model.Asset;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Columnar in-memory snapshot of the asset table for aggregate queries.
+ *
+ * Each asset is one row spread over primitive arrays: category and employee IDs as {@code long},
+ * the assignment status as a {@code byte} and the purchase date as an {@code int} epoch day,
+ * about 29 bytes per asset plus its slot in the ID map. Rows are kept dense: a removed row is
+ * replaced by the last one. Aggregations scan the arrays in a tight loop and accumulate into a
+ * primitive hash table keyed by a packed group key, so they allocate nothing per row.
+ *
+ * Scans share a read lock; changes take the write lock. While the store is loaded in bulk, changes are
+ * queued and applied once the load ends, so a row read before a change cannot undo it.
+ */
+public class AssetColumnStore {
+
+    /**
+     * Employee column value for assets that are not assigned.
+     */
+    public static final long NO_EMPLOYEE = Long.MIN_VALUE;
+
+    /**
+     * Status column value for assets without a status.
+     */
+    public static final byte NO_STATUS = -1;
+
+    /**
+     * Purchase date column value for assets without a purchase date.
+     */
+    public static final int NO_DATE = Integer.MIN_VALUE;
+
+    private static final Asset.AssignmentStatus[] STATUSES = Asset.AssignmentStatus.values();
+    private static final AssetAggregate.AgeBucket[] AGE_BUCKETS = AssetAggregate.AgeBucket.values();
+    private static final int[] AGE_BUCKET_LIMITS = {
+            AssetAggregate.AgeBucket.UNDER_1_YEAR.getMaxDaysExclusive(),
+            AssetAggregate.AgeBucket.YEARS_1_TO_2.getMaxDaysExclusive(),
+            AssetAggregate.AgeBucket.YEARS_2_TO_3.getMaxDaysExclusive(),
+            AssetAggregate.AgeBucket.YEARS_3_TO_5.getMaxDaysExclusive()
+    };
+
+    // Packed group key layout: category ID in bits 23-62, status + 1 in bits 20-22,
+    // purchase year + 1 in bits 4-19 and age bucket in bits 0-3; 0 means "not grouped" or unknown
+    private static final int CATEGORY_SHIFT = 23;
+    private static final int STATUS_SHIFT = 20;
+    private static final int YEAR_SHIFT = 4;
+    private static final long MAX_CATEGORY_ID = (1L << 40) - 1;
+    private static final int MAX_YEAR = 0xFFFF;
+
+    // Year of every epoch day from 1900 to 2199, so scans look years up instead of computing them
+    private static final int YEAR_TABLE_FIRST_DAY = (int) LocalDate.of(1900, 1, 1).toEpochDay();
+    private static final short[] YEAR_TABLE = new short[(int) LocalDate.of(2200, 1, 1).toEpochDay() - YEAR_TABLE_FIRST_DAY];
+
+    static {
+        for (int i = 0; i < YEAR_TABLE.length; i++) {
+            YEAR_TABLE[i] = (short) LocalDate.ofEpochDay(YEAR_TABLE_FIRST_DAY + i).getYear();
+        }
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] ids;
+    private long[] categoryIds;
+    private long[] employeeIds;
+    private byte[] statuses;
+    private int[] purchaseDays;
+    private int size;
+    private final LongIntHashMap rowsById;
+    private List<Runnable> deferred;
+
+    /**
+     * Creates an empty store.
+     *
+     * @param initialCapacity number of rows to allocate up front
+     */
+    public AssetColumnStore(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        ids = new long[capacity];
+        categoryIds = new long[capacity];
+        employeeIds = new long[capacity];
+        statuses = new byte[capacity];
+        purchaseDays = new int[capacity];
+        rowsById = new LongIntHashMap(capacity);
+    }
+
+    /**
+     * Adds or replaces the row of an asset.
+     *
+     * @param id ID of the asset
+     * @param categoryId ID of its category
+     * @param employeeId ID of the employee holding it, or {@link #NO_EMPLOYEE}
+     * @param status ordinal of its assignment status, or {@link #NO_STATUS}
+     * @param purchaseDay epoch day of its purchase date, or {@link #NO_DATE}
+     */
+    public void put(long id, long categoryId, long employeeId, byte status, int purchaseDay) {
+        lock.writeLock().lock();
+        try {
+            if (deferred != null) {
+                deferred.add(() -> write(id, categoryId, employeeId, status, purchaseDay, true));
+                return;
+            }
+            write(id, categoryId, employeeId, status, purchaseDay, true);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the row of an asset unless the asset is already present.
+     * Used by the initial load between {@link #beginLoad} and {@link #endLoad}.
+     *
+     * @param id ID of the asset
+     * @param categoryId ID of its category
+     * @param employeeId ID of the employee holding it, or {@link #NO_EMPLOYEE}
+     * @param status ordinal of its assignment status, or {@link #NO_STATUS}
+     * @param purchaseDay epoch day of its purchase date, or {@link #NO_DATE}
+     */
+    public void putIfAbsent(long id, long categoryId, long employeeId, byte status, int purchaseDay) {
+        lock.writeLock().lock();
+        try {
+            write(id, categoryId, employeeId, status, purchaseDay, false);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the row of an asset, moving the last row into its place.
+     *
+     * @param id ID of the asset
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            if (deferred != null) {
+                deferred.add(() -> removeRow(id));
+                return;
+            }
+            removeRow(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Moves every row of one category to another.
+     *
+     * @param fromCategoryId the category to empty
+     * @param toCategoryId the category receiving the rows
+     * @return number of rows moved, or 0 if the move is queued behind a load
+     */
+    public int replaceCategory(long fromCategoryId, long toCategoryId) {
+        lock.writeLock().lock();
+        try {
+            if (deferred != null) {
+                deferred.add(() -> moveCategory(fromCategoryId, toCategoryId));
+                return 0;
+            }
+            return moveCategory(fromCategoryId, toCategoryId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Starts a bulk load: changes made until {@link #endLoad} are queued instead of applied.
+     * Call before reading the rows to load.
+     */
+    public void beginLoad() {
+        lock.writeLock().lock();
+        try {
+            deferred = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ends a bulk load and applies the changes queued during it in their original order.
+     */
+    public void endLoad() {
+        lock.writeLock().lock();
+        try {
+            List<Runnable> changes = deferred;
+            deferred = null;
+            if (changes != null) {
+                changes.forEach(Runnable::run);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return number of rows
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts the rows matching the filters, grouped by the given dimensions.
+     *
+     * @param groupBy dimensions to group by; empty for a single total
+     * @param categoryId only rows of this category, or null for all
+     * @param employeeId only rows held by this employee, or null for all
+     * @param status only rows with this status ordinal, or {@link #NO_STATUS} for all
+     * @param asOfDay epoch day against which ages are computed
+     * @return the groups ordered by category, status, year and age bucket
+     */
+    public List<AssetAggregate> aggregate(Set<AssetAggregate.Dimension> groupBy, Long categoryId, Long employeeId,
+                                          byte status, int asOfDay) {
+        boolean byCategory = groupBy.contains(AssetAggregate.Dimension.CATEGORY);
+        boolean byStatus = groupBy.contains(AssetAggregate.Dimension.STATUS);
+        boolean byYear = groupBy.contains(AssetAggregate.Dimension.PURCHASE_YEAR);
+        boolean byAge = groupBy.contains(AssetAggregate.Dimension.AGE_BUCKET);
+        boolean filterCategory = categoryId != null;
+        long categoryFilter = filterCategory ? categoryId : 0;
+        boolean filterEmployee = employeeId != null;
+        long employeeFilter = filterEmployee ? employeeId : 0;
+        boolean filterStatus = status != NO_STATUS;
+
+        GroupTable groups = new GroupTable();
+        lock.readLock().lock();
+        try {
+            for (int row = 0; row < size; row++) {
+                if ((filterCategory && categoryIds[row] != categoryFilter)
+                        || (filterEmployee && employeeIds[row] != employeeFilter)
+                        || (filterStatus && statuses[row] != status)) {
+                    continue;
+                }
+                int purchaseDay = purchaseDays[row];
+                boolean dated = purchaseDay != NO_DATE;
+                int ageDays = dated ? asOfDay - purchaseDay : 0;
+                long key = 0;
+                if (byCategory) {
+                    key |= checkedCategory(categoryIds[row]) << CATEGORY_SHIFT;
+                }
+                if (byStatus) {
+                    key |= (long) (statuses[row] + 1) << STATUS_SHIFT;
+                }
+                if (byYear && dated) {
+                    int tableIndex = purchaseDay - YEAR_TABLE_FIRST_DAY;
+                    int year = tableIndex >= 0 && tableIndex < YEAR_TABLE.length
+                            ? YEAR_TABLE[tableIndex] : yearOfEpochDay(purchaseDay);
+                    if (year >= 0 && year < MAX_YEAR) {
+                        key |= (long) (year + 1) << YEAR_SHIFT;
+                    }
+                }
+                if (byAge) {
+                    key |= dated ? ageBucket(ageDays) : AssetAggregate.AgeBucket.UNKNOWN.ordinal();
+                }
+                groups.add(key, dated, ageDays);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return groups.toAggregates(byCategory, byStatus, byYear, byAge);
+    }
+
+    /**
+     * Computes the proleptic Gregorian year of an epoch day without allocating a LocalDate.
+     *
+     * @param epochDay days since 1970-01-01
+     * @return the year
+     */
+    static int yearOfEpochDay(int epochDay) {
+        // Civil-from-days conversion over 400-year eras whose years start on March 1st
+        long z = epochDay + 719468L;
+        long era = Math.floorDiv(z, 146097L);
+        long dayOfEra = z - era * 146097L;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long monthIndex = (5 * dayOfYear + 2) / 153;
+        return (int) (yearOfEra + era * 400 + (monthIndex >= 10 ? 1 : 0));
+    }
+
+    private static int ageBucket(int ageDays) {
+        for (int i = 0; i < AGE_BUCKET_LIMITS.length; i++) {
+            if (ageDays < AGE_BUCKET_LIMITS[i]) {
+                return i;
+            }
+        }
+        return AssetAggregate.AgeBucket.OVER_5_YEARS.ordinal();
+    }
+
+    private static long checkedCategory(long categoryId) {
+        if (categoryId < 0 || categoryId > MAX_CATEGORY_ID) {
+            throw new IllegalStateException("Category ID out of range for grouping: " + categoryId);
+        }
+        return categoryId;
+    }
+
+    private void write(long id, long categoryId, long employeeId, byte status, int purchaseDay, boolean replace) {
+        int row = rowsById.get(id);
+        if (row == LongIntHashMap.MISSING) {
+            if (size == ids.length) {
+                grow();
+            }
+            row = size++;
+            ids[row] = id;
+            rowsById.put(id, row);
+        } else if (!replace) {
+            return;
+        }
+        categoryIds[row] = categoryId;
+        employeeIds[row] = employeeId;
+        statuses[row] = status;
+        purchaseDays[row] = purchaseDay;
+    }
+
+    private void removeRow(long id) {
+        int row = rowsById.remove(id);
+        if (row == LongIntHashMap.MISSING) {
+            return;
+        }
+        int last = --size;
+        if (row != last) {
+            ids[row] = ids[last];
+            categoryIds[row] = categoryIds[last];
+            employeeIds[row] = employeeIds[last];
+            statuses[row] = statuses[last];
+            purchaseDays[row] = purchaseDays[last];
+            rowsById.put(ids[row], row);
+        }
+    }
+
+    private int moveCategory(long fromCategoryId, long toCategoryId) {
+        int moved = 0;
+        for (int row = 0; row < size; row++) {
+            if (categoryIds[row] == fromCategoryId) {
+                categoryIds[row] = toCategoryId;
+                moved++;
+            }
+        }
+        return moved;
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        categoryIds = Arrays.copyOf(categoryIds, capacity);
+        employeeIds = Arrays.copyOf(employeeIds, capacity);
+        statuses = Arrays.copyOf(statuses, capacity);
+        purchaseDays = Arrays.copyOf(purchaseDays, capacity);
+    }
+
+    /**
+     * Open-addressing table accumulating count, dated count and age sum per packed group key.
+     */
+    private static class GroupTable {
+
+        private static final long EMPTY = -1;
+
+        private long[] keys = new long[16];
+        private long[] counts = new long[16];
+        private long[] datedCounts = new long[16];
+        private long[] ageDaySums = new long[16];
+        private int size;
+
+        GroupTable() {
+            Arrays.fill(keys, EMPTY);
+        }
+
+        void add(long key, boolean dated, int ageDays) {
+            int mask = keys.length - 1;
+            int i = (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+            while (keys[i] != key) {
+                if (keys[i] == EMPTY) {
+                    if ((size + 1) * 2 > keys.length) {
+                        grow();
+                        add(key, dated, ageDays);
+                        return;
+                    }
+                    keys[i] = key;
+                    size++;
+                    break;
+                }
+                i = (i + 1) & mask;
+            }
+            counts[i]++;
+            if (dated) {
+                datedCounts[i]++;
+                ageDaySums[i] += ageDays;
+            }
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            long[] oldCounts = counts;
+            long[] oldDated = datedCounts;
+            long[] oldSums = ageDaySums;
+            int capacity = oldKeys.length * 2;
+            keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            counts = new long[capacity];
+            datedCounts = new long[capacity];
+            ageDaySums = new long[capacity];
+            int mask = capacity - 1;
+            for (int j = 0; j < oldKeys.length; j++) {
+                if (oldKeys[j] == EMPTY) {
+                    continue;
+                }
+                int i = (int) ((oldKeys[j] * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+                while (keys[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                counts[i] = oldCounts[j];
+                datedCounts[i] = oldDated[j];
+                ageDaySums[i] = oldSums[j];
+            }
+        }
+
+        List<AssetAggregate> toAggregates(boolean byCategory, boolean byStatus, boolean byYear, boolean byAge) {
+            List<long[]> slots = new ArrayList<>(size);
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != EMPTY) {
+                    slots.add(new long[]{keys[i], counts[i], datedCounts[i], ageDaySums[i]});
+                }
+            }
+            // The packed key orders by category, then status, year and age bucket
+            slots.sort(Comparator.comparingLong(slot -> slot[0]));
+            List<AssetAggregate> aggregates = new ArrayList<>(size);
+            for (long[] slot : slots) {
+                long key = slot[0];
+                int statusCode = (int) ((key >>> STATUS_SHIFT) & 0x7) - 1;
+                int year = (int) ((key >>> YEAR_SHIFT) & 0xFFFF) - 1;
+                aggregates.add(new AssetAggregate(
+                        byCategory ? key >>> CATEGORY_SHIFT : null,
+                        byStatus && statusCode >= 0 ? STATUSES[statusCode] : null,
+                        byYear && year >= 0 ? year : null,
+                        byAge ? AGE_BUCKETS[(int) (key & 0xF)] : null,
+                        slot[1],
+                        slot[2] > 0 ? (double) slot[3] / slot[2] : null));
+            }
+            return aggregates;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.demo.index;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Per-category queues of the IDs of assets that can be allocated.
+ *
+ * Each category has a lock-free FIFO queue, so concurrent allocations pop distinct IDs in O(1) without
+ * blocking each other. The queues are hints, not the source of truth: an ID may already have been
+ * assigned, deleted or moved to another category by the time it is popped, and the caller confirms it
+ * against the database before using it. An asset is queued at most once per category.
+ */
+public class AssetFreeList {
+
+    private final Map<Long, ConcurrentLinkedQueue<Long>> queues = new ConcurrentHashMap<>();
+    private final Map<Long, Long> queuedCategory = new ConcurrentHashMap<>();
+
+    /**
+     * Queues an asset as available in a category, unless it is already queued there.
+     *
+     * @param categoryId category of the asset
+     * @param assetId ID of the asset
+     */
+    public void offer(long categoryId, long assetId) {
+        Long previous = queuedCategory.put(assetId, categoryId);
+        if (previous == null || previous != categoryId) {
+            queue(categoryId).offer(assetId);
+        }
+    }
+
+    /**
+     * Takes the longest queued asset of a category.
+     *
+     * @param categoryId the category
+     * @return ID of the asset, or null if the category has no queued assets
+     */
+    public Long poll(long categoryId) {
+        ConcurrentLinkedQueue<Long> queue = queues.get(categoryId);
+        Long assetId = queue != null ? queue.poll() : null;
+        if (assetId != null) {
+            queuedCategory.remove(assetId, categoryId);
+        }
+        return assetId;
+    }
+
+    /**
+     * Moves all queued assets of a category to another one, e.g. after the categories were merged.
+     *
+     * @param sourceCategoryId the category whose queue is emptied
+     * @param targetCategoryId the category receiving the assets
+     */
+    public void moveCategory(long sourceCategoryId, long targetCategoryId) {
+        ConcurrentLinkedQueue<Long> source = queues.remove(sourceCategoryId);
+        if (source == null) {
+            return;
+        }
+        for (Long assetId = source.poll(); assetId != null; assetId = source.poll()) {
+            queuedCategory.remove(assetId, sourceCategoryId);
+            offer(targetCategoryId, assetId);
+        }
+    }
+
+    /**
+     * @param categoryId the category
+     * @return number of queued assets of the category, including stale ones; O(n)
+     */
+    public int size(long categoryId) {
+        ConcurrentLinkedQueue<Long> queue = queues.get(categoryId);
+        return queue != null ? queue.size() : 0;
+    }
+
+    private ConcurrentLinkedQueue<Long> queue(long categoryId) {
+        return queues.computeIfAbsent(categoryId, id -> new ConcurrentLinkedQueue<>());
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.demo.index;
+
+import com.example.demo.dto.Suggestion;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory prefix index over entity names.
+ * Names are kept sorted by their lower-cased form, then by ID, so all names sharing a prefix are adjacent
+ * and a lookup costs one O(log n) seek followed by reading at most {@code limit} entries.
+ * Reads are lock-free; writes are serialized per index.
+ *
+ * The index tracks an estimate of its own heap footprint. If an insert would exceed the
+ * configured budget the index discards its content and reports itself unavailable, so callers
+ * can fall back to the database instead of serving incomplete results.
+ */
+public class PrefixIndex {
+
+    /**
+     * Approximate per-entry overhead in bytes: skip list node and index levels, hash map node,
+     * two String headers and the Suggestion object.
+     */
+    static final int ENTRY_OVERHEAD_BYTES = 192;
+
+    private static final char ID_SEPARATOR = '\u0000';
+
+    private final Suggestion.Type type;
+    private final long maxBytes;
+
+    private final ConcurrentSkipListMap<String, Suggestion> entriesByKey = new ConcurrentSkipListMap<>();
+    private final Map<Long, String> keysById = new ConcurrentHashMap<>();
+
+    private long estimatedBytes;
+    private volatile boolean overflowed;
+    private Set<Long> removedWhileLoading;
+
+    /**
+     * Creates an empty index.
+     *
+     * @param type the kind of entity indexed, used for the returned suggestions
+     * @param maxBytes memory budget for the index in bytes
+     */
+    public PrefixIndex(Suggestion.Type type, long maxBytes) {
+        this.type = type;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Adds or renames an entry.
+     *
+     * @param id ID of the entity
+     * @param name current name of the entity; null names are removed from the index
+     */
+    public synchronized void put(Long id, String name) {
+        if (overflowed) {
+            return;
+        }
+        removeEntry(id);
+        if (name == null) {
+            return;
+        }
+        String key = normalize(name) + ID_SEPARATOR + idKey(id);
+        long size = sizeOf(key, name);
+        if (estimatedBytes + size > maxBytes) {
+            overflow();
+            return;
+        }
+        entriesByKey.put(key, new Suggestion(type, id, name));
+        keysById.put(id, key);
+        estimatedBytes += size;
+    }
+
+    /**
+     * Adds an entry only if the ID is not indexed yet and was not removed since {@link #beginLoad}.
+     * Used when warming the index so that bulk loads never overwrite fresher changes or bring back
+     * entities deleted after the bulk read.
+     *
+     * @param id ID of the entity
+     * @param name name of the entity
+     */
+    public synchronized void putIfAbsent(Long id, String name) {
+        if (!keysById.containsKey(id) && (removedWhileLoading == null || !removedWhileLoading.contains(id))) {
+            put(id, name);
+        }
+    }
+
+    /**
+     * Removes an entry if present.
+     *
+     * @param id ID of the entity
+     */
+    public synchronized void remove(Long id) {
+        if (removedWhileLoading != null) {
+            removedWhileLoading.add(id);
+        }
+        removeEntry(id);
+    }
+
+    /**
+     * Starts remembering removed IDs until {@link #endLoad}; call before reading the names to load.
+     */
+    public synchronized void beginLoad() {
+        removedWhileLoading = new HashSet<>();
+    }
+
+    /**
+     * Stops remembering removed IDs once the bulk load is done.
+     */
+    public synchronized void endLoad() {
+        removedWhileLoading = null;
+    }
+
+    private void removeEntry(Long id) {
+        String key = keysById.remove(id);
+        if (key != null) {
+            Suggestion removed = entriesByKey.remove(key);
+            estimatedBytes -= sizeOf(key, removed.getName());
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} entries whose name starts with the given prefix, ignoring case,
+     * in name order.
+     *
+     * @param prefix the prefix typed by the user
+     * @param limit maximum number of suggestions
+     * @return matching suggestions
+     */
+    public List<Suggestion> complete(String prefix, int limit) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+        String normalized = normalize(prefix);
+        List<Suggestion> result = new ArrayList<>(Math.min(limit, 16));
+        for (Map.Entry<String, Suggestion> entry : entriesByKey.tailMap(normalized, true).entrySet()) {
+            if (!entry.getKey().startsWith(normalized) || result.size() == limit) {
+                break;
+            }
+            result.add(entry.getValue());
+        }
+        return result;
+    }
+
+    /**
+     * @return false once the index has exceeded its memory budget and no longer holds all names
+     */
+    public boolean isAvailable() {
+        return !overflowed;
+    }
+
+    /**
+     * @return number of indexed entries
+     */
+    public int size() {
+        return keysById.size();
+    }
+
+    /**
+     * @return estimated heap footprint of the index in bytes
+     */
+    public synchronized long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    private void overflow() {
+        overflowed = true;
+        entriesByKey.clear();
+        keysById.clear();
+        estimatedBytes = 0;
+    }
+
+    private static long sizeOf(String key, String name) {
+        return ENTRY_OVERHEAD_BYTES + 2L * key.length() + 2L * name.length();
+    }
+
+    /**
+     * Encodes the ID in four fixed-width characters, so equal names sort by numeric ID.
+     */
+    private static String idKey(long id) {
+        return new String(new char[]{(char) (id >>> 48), (char) (id >>> 32), (char) (id >>> 16), (char) id});
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+}
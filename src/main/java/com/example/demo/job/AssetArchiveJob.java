@@ -0,0 +1,154 @@
+package com.example.demo.job;
+
+import com.example.demo.event.AssetChangedEvent;
+import com.example.demo.model.Asset;
+import com.example.demo.repository.ArchivedAssetRepository;
+import com.example.demo.repository.AssetRepository;
+import com.example.demo.tenant.TenantRegistry;
+import com.example.demo.tenant.TenantScoped;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Background job moving assets that have been RECOVERED for longer than a threshold from the asset
+ * table to the archive table.
+ *
+ * Like the purge job, it walks matching assets in ID order in bounded keyset chunks and pauses
+ * between chunks. Each chunk runs in its own short transaction: the assets still RECOVERED are locked,
+ * copied to the archive with one insert-select and deleted from the asset table with one delete, so an
+ * asset reassigned meanwhile is never archived and no asset is ever in both tables.
+ * The in-memory indexes drop archived assets as if they had been deleted.
+ */
+@Component
+@Lazy(false)
+public class AssetArchiveJob {
+
+    private static final Logger log = LoggerFactory.getLogger(AssetArchiveJob.class);
+
+    private final AssetRepository assetRepository;
+    private final ArchivedAssetRepository archivedAssetRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final Duration archiveAfter;
+    private final int chunkSize;
+    private final Duration pause;
+    private final TenantRegistry tenantRegistry;
+
+    private final TenantScoped<AtomicBoolean> running;
+
+    /**
+     * Constructor-based dependency injection of collaborators and archive settings.
+     *
+     * @param assetRepository Repository for Asset entity
+     * @param archivedAssetRepository Repository for ArchivedAsset entity
+     * @param transactionManager transaction manager used for the per-chunk transactions
+     * @param eventPublisher publisher used to announce assets leaving the asset table
+     * @param enabled whether the scheduled run is active
+     * @param archiveAfter how long an asset stays RECOVERED before it is archived
+     * @param chunkSize number of assets moved per transaction
+     * @param pause pause between chunks
+     * @param tenantRegistry registry of the tenants archived by the scheduled run
+     */
+    public AssetArchiveJob(AssetRepository assetRepository,
+                           ArchivedAssetRepository archivedAssetRepository,
+                           PlatformTransactionManager transactionManager,
+                           ApplicationEventPublisher eventPublisher,
+                           @Value("${app.archive.enabled:false}") boolean enabled,
+                           @Value("${app.archive.after:365d}") Duration archiveAfter,
+                           @Value("${app.archive.chunk-size:500}") int chunkSize,
+                           @Value("${app.archive.pause-between-chunks:200ms}") Duration pause,
+                           TenantRegistry tenantRegistry) {
+        this.assetRepository = assetRepository;
+        this.archivedAssetRepository = archivedAssetRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.archiveAfter = archiveAfter;
+        this.chunkSize = chunkSize;
+        this.pause = pause;
+        this.tenantRegistry = tenantRegistry;
+        this.running = new TenantScoped<>(tenantRegistry, AtomicBoolean::new);
+    }
+
+    /**
+     * Runs the archive of every tenant on the configured schedule.
+     */
+    @Scheduled(cron = "${app.archive.cron:0 0 2 * * *}")
+    public void scheduledArchive() {
+        if (enabled) {
+            tenantRegistry.forEachTenant(this::archive);
+        }
+    }
+
+    /**
+     * Moves all assets of the current tenant recovered before now minus the archive threshold to the archive.
+     * Returns immediately if a run is already in progress for the tenant.
+     *
+     * @return number of assets archived by this run
+     */
+    public long archive() {
+        AtomicBoolean guard = running.get();
+        if (!guard.compareAndSet(false, true)) {
+            return 0;
+        }
+        LocalDateTime archivedAt = LocalDateTime.now();
+        LocalDateTime cutoff = archivedAt.minus(archiveAfter);
+        long chunks = 0;
+        long archived = 0;
+        long lastId = 0;
+        try {
+            while (true) {
+                long afterId = lastId;
+                List<Long> ids = assetRepository.findIdsRecoveredBefore(
+                        Asset.AssignmentStatus.RECOVERED, cutoff, afterId, PageRequest.of(0, chunkSize));
+                if (ids.isEmpty()) {
+                    break;
+                }
+                chunks++;
+                archived += transactionTemplate.execute(status -> archiveChunk(ids, archivedAt));
+                lastId = ids.get(ids.size() - 1);
+                if (ids.size() < chunkSize) {
+                    break;
+                }
+                Thread.sleep(pause.toMillis());
+            }
+            log.info("Archived {} assets of tenant {} recovered before {} in {} chunks",
+                    archived, tenantRegistry.currentTenantId(), cutoff, chunks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("Asset archive failed after {} chunks", chunks, e);
+        } finally {
+            guard.set(false);
+        }
+        return archived;
+    }
+
+    private int archiveChunk(List<Long> ids, LocalDateTime archivedAt) {
+        // Assets reassigned since the chunk was selected are left in the asset table
+        List<Long> locked = assetRepository.lockIdsWithStatus(ids, Asset.AssignmentStatus.RECOVERED);
+        if (locked.isEmpty()) {
+            return 0;
+        }
+        archivedAssetRepository.copyFromAssets(locked, archivedAt);
+        assetRepository.deleteByIdInAndStatus(locked, Asset.AssignmentStatus.RECOVERED);
+        for (Long id : locked) {
+            eventPublisher.publishEvent(AssetChangedEvent.deleted(id));
+        }
+        return locked.size();
+    }
+}
@@ -0,0 +1,291 @@
+package com.example.demo.job;
+
+import com.example.demo.event.AssetChangedEvent;
+import com.example.demo.model.ArchivedAsset;
+import com.example.demo.model.Asset;
+import com.example.demo.repository.ArchivedAssetRepository;
+import com.example.demo.repository.AssetRepository;
+import com.example.demo.service.AssetNoteService;
+import com.example.demo.tenant.TenantRegistry;
+import com.example.demo.tenant.TenantScoped;
+import com.example.demo.util.CsvUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Background job removing assets that have been RECOVERED for longer than the retention period.
+ *
+ * The job walks matching assets in ID order in bounded keyset chunks. Each chunk is deleted with a
+ * single statement in its own short transaction, and the job pauses between chunks, so it never
+ * holds locks for long or competes with foreground requests for connections.
+ * When an export directory is configured, each chunk is appended to a CSV file before its
+ * transaction commits.
+ * The asset table is purged first, then the archive table with the same retention.
+ * The condition notes of purged assets are deleted with them.
+ * The scheduled run purges every tenant in turn; progress is tracked per tenant.
+ */
+@Component
+@Lazy(false)
+public class AssetPurgeJob {
+
+    private static final Logger log = LoggerFactory.getLogger(AssetPurgeJob.class);
+
+    private final AssetRepository assetRepository;
+    private final ArchivedAssetRepository archivedAssetRepository;
+    private final AssetNoteService assetNoteService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final Duration retention;
+    private final int chunkSize;
+    private final Duration pause;
+    private final String exportDir;
+    private final TenantRegistry tenantRegistry;
+
+    private final TenantScoped<State> states;
+
+    /**
+     * Constructor-based dependency injection of collaborators and purge settings.
+     *
+     * @param assetRepository Repository for Asset entity
+     * @param archivedAssetRepository Repository for ArchivedAsset entity
+     * @param assetNoteService service deleting and exporting the condition notes of purged assets
+     * @param transactionManager transaction manager used for the per-chunk transactions
+     * @param eventPublisher publisher used to announce purged assets
+     * @param enabled whether the scheduled run is active
+     * @param retention how long an asset stays RECOVERED before it is purged
+     * @param chunkSize number of assets deleted per transaction
+     * @param pause pause between chunks
+     * @param exportDir directory receiving the CSV export of purged assets; empty to purge without export
+     * @param tenantRegistry registry of the tenants purged by the scheduled run
+     */
+    public AssetPurgeJob(AssetRepository assetRepository,
+                         ArchivedAssetRepository archivedAssetRepository,
+                         AssetNoteService assetNoteService,
+                         PlatformTransactionManager transactionManager,
+                         ApplicationEventPublisher eventPublisher,
+                         @Value("${app.purge.enabled:false}") boolean enabled,
+                         @Value("${app.purge.retention:1825d}") Duration retention,
+                         @Value("${app.purge.chunk-size:500}") int chunkSize,
+                         @Value("${app.purge.pause-between-chunks:200ms}") Duration pause,
+                         @Value("${app.purge.export-dir:}") String exportDir,
+                         TenantRegistry tenantRegistry) {
+        this.assetRepository = assetRepository;
+        this.archivedAssetRepository = archivedAssetRepository;
+        this.assetNoteService = assetNoteService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.retention = retention;
+        this.chunkSize = chunkSize;
+        this.pause = pause;
+        this.exportDir = exportDir;
+        this.tenantRegistry = tenantRegistry;
+        this.states = new TenantScoped<>(tenantRegistry, State::new);
+    }
+
+    /**
+     * Runs the purge of every tenant on the configured schedule.
+     */
+    @Scheduled(cron = "${app.purge.cron:0 30 2 * * *}")
+    public void scheduledPurge() {
+        if (enabled) {
+            tenantRegistry.forEachTenant(this::purge);
+        }
+    }
+
+    /**
+     * Purges all assets of the current tenant recovered before now minus the retention period,
+     * from the asset table and then from the archive.
+     * Returns immediately with the current progress if a run is already in progress for the tenant.
+     *
+     * @return progress at the end of the run
+     */
+    public PurgeProgress purge() {
+        State state = states.get();
+        if (!state.running.compareAndSet(false, true)) {
+            return state.progress;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime cutoff = startedAt.minus(retention);
+        Path exportFile = exportDir.isEmpty() ? null
+                : Paths.get(exportDir, "purged-assets-" + tenantRegistry.currentTenantId() + "-" + LocalDate.now() + ".csv");
+        long chunks = 0;
+        long deleted = 0;
+        long exported = 0;
+        long lastId = 0;
+        String error = null;
+        try {
+            state.progress = new PurgeProgress(true, startedAt, null, cutoff, 0, 0, 0, 0, null);
+            for (boolean archived : new boolean[]{false, true}) {
+                long position = 0;
+                while (true) {
+                    long afterId = position;
+                    Chunk chunk = transactionTemplate.execute(status -> archived
+                            ? purgeArchivedChunk(cutoff, afterId, exportFile)
+                            : purgeChunk(cutoff, afterId, exportFile));
+                    if (chunk.scanned == 0) {
+                        break;
+                    }
+                    chunks++;
+                    deleted += chunk.deleted;
+                    exported += chunk.exported;
+                    position = chunk.lastId;
+                    lastId = chunk.lastId;
+                    state.progress = new PurgeProgress(true, startedAt, null, cutoff,
+                            chunks, deleted, exported, lastId, null);
+                    if (chunk.scanned < chunkSize) {
+                        break;
+                    }
+                    Thread.sleep(pause.toMillis());
+                }
+            }
+            log.info("Purged {} assets of tenant {} recovered before {} in {} chunks",
+                    deleted, tenantRegistry.currentTenantId(), cutoff, chunks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            error = "Interrupted";
+        } catch (RuntimeException e) {
+            log.error("Asset purge failed after {} chunks", chunks, e);
+            error = e.getMessage();
+        } finally {
+            state.progress = new PurgeProgress(false, startedAt, LocalDateTime.now(), cutoff,
+                    chunks, deleted, exported, lastId, error);
+            state.running.set(false);
+        }
+        return state.progress;
+    }
+
+    /**
+     * @return progress of the current or last run of the current tenant
+     */
+    public PurgeProgress getProgress() {
+        return states.get().progress;
+    }
+
+    private Chunk purgeChunk(LocalDateTime cutoff, long afterId, Path exportFile) {
+        List<Long> ids = assetRepository.findIdsRecoveredBefore(
+                Asset.AssignmentStatus.RECOVERED, cutoff, afterId, PageRequest.of(0, chunkSize));
+        Chunk chunk = new Chunk();
+        chunk.scanned = ids.size();
+        if (ids.isEmpty()) {
+            return chunk;
+        }
+        chunk.lastId = ids.get(ids.size() - 1);
+        List<Asset> rows = exportFile != null ? assetRepository.findAllById(ids) : null;
+
+        Set<Long> removed = new HashSet<>(ids);
+        int count = assetRepository.deleteByIdInAndStatus(ids, Asset.AssignmentStatus.RECOVERED);
+        if (count != ids.size()) {
+            // Some assets were reassigned after the chunk was selected and must not be reported as deleted
+            removed.removeAll(assetRepository.findExistingIds(ids));
+        }
+        chunk.deleted = removed.size();
+        assetNoteService.deleteNotes(removed);
+
+        if (exportFile != null) {
+            List<Asset> exportRows = new ArrayList<>();
+            for (Asset row : rows) {
+                if (removed.contains(row.getId())) {
+                    exportRows.add(row);
+                }
+            }
+            assetNoteService.attachNotes(exportRows);
+            export(exportFile, exportRows);
+            chunk.exported = exportRows.size();
+        }
+        for (Long id : removed) {
+            eventPublisher.publishEvent(AssetChangedEvent.deleted(id));
+        }
+        return chunk;
+    }
+
+    private Chunk purgeArchivedChunk(LocalDateTime cutoff, long afterId, Path exportFile) {
+        List<Long> ids = archivedAssetRepository.findIdsRecoveredBefore(cutoff, afterId, PageRequest.of(0, chunkSize));
+        Chunk chunk = new Chunk();
+        chunk.scanned = ids.size();
+        if (ids.isEmpty()) {
+            return chunk;
+        }
+        chunk.lastId = ids.get(ids.size() - 1);
+        if (exportFile != null) {
+            List<Asset> rows = new ArrayList<>(ids.size());
+            for (ArchivedAsset archived : archivedAssetRepository.findAllById(ids)) {
+                rows.add(archived.toAsset());
+            }
+            assetNoteService.attachNotes(rows);
+            export(exportFile, rows);
+            chunk.exported = rows.size();
+        }
+        // Archived assets are never reassigned, so the whole chunk is deleted
+        chunk.deleted = archivedAssetRepository.deleteByIdIn(ids);
+        assetNoteService.deleteNotes(ids);
+        return chunk;
+    }
+
+    private static void export(Path file, List<Asset> rows) {
+        try {
+            Files.createDirectories(file.getParent());
+            boolean newFile = !Files.exists(file);
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                if (newFile) {
+                    writer.write(CsvUtils.line("id", "name", "purchaseDate", "conditionNotes",
+                            "categoryId", "categoryName", "recoveredAt"));
+                    writer.newLine();
+                }
+                for (Asset asset : rows) {
+                    writer.write(CsvUtils.line(asset.getId(), asset.getName(), asset.getPurchaseDate(),
+                            asset.getConditionNotes(), asset.getCategory().getId(), asset.getCategory().getName(),
+                            asset.getRecoveredAt()));
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not export purged assets to " + file, e);
+        }
+    }
+
+    /**
+     * Run state of one tenant.
+     */
+    private static class State {
+        final AtomicBoolean running = new AtomicBoolean();
+        volatile PurgeProgress progress = PurgeProgress.idle();
+    }
+
+    /**
+     * Outcome of one chunk.
+     */
+    private static class Chunk {
+        int scanned;
+        long lastId;
+        int deleted;
+        int exported;
+    }
+}
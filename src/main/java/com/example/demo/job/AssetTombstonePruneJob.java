@@ -0,0 +1,74 @@
+package com.example.demo.job;
+
+import com.example.demo.service.AssetChangeFeed;
+import com.example.demo.tenant.TenantRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Background job deleting the delta sync tombstones older than the retention period.
+ *
+ * Without it every purged or archived asset would leave a tombstone behind forever. A client whose token
+ * is older than the newest deleted tombstone is made to start over with a full sync by the change feed.
+ */
+@Component
+@Lazy(false)
+public class AssetTombstonePruneJob {
+
+    private static final Logger log = LoggerFactory.getLogger(AssetTombstonePruneJob.class);
+
+    private final AssetChangeFeed assetChangeFeed;
+    private final boolean enabled;
+    private final Duration retention;
+    private final TenantRegistry tenantRegistry;
+
+    /**
+     * Constructor-based dependency injection of collaborators and retention settings.
+     *
+     * @param assetChangeFeed change feed owning the tombstones
+     * @param enabled whether the scheduled run is active
+     * @param retention how long a tombstone is kept
+     * @param tenantRegistry registry of the tenants pruned by the scheduled run
+     */
+    public AssetTombstonePruneJob(AssetChangeFeed assetChangeFeed,
+                                  @Value("${app.changes.tombstone-prune.enabled:true}") boolean enabled,
+                                  @Value("${app.changes.tombstone-retention:30d}") Duration retention,
+                                  TenantRegistry tenantRegistry) {
+        this.assetChangeFeed = assetChangeFeed;
+        this.enabled = enabled;
+        this.retention = retention;
+        this.tenantRegistry = tenantRegistry;
+    }
+
+    /**
+     * Prunes the tombstones of every tenant on the configured schedule.
+     */
+    @Scheduled(cron = "${app.changes.tombstone-prune.cron:0 15 3 * * *}")
+    public void scheduledPrune() {
+        if (enabled) {
+            tenantRegistry.forEachTenant(this::prune);
+        }
+    }
+
+    /**
+     * Deletes the tombstones of the current tenant recorded before now minus the retention period.
+     *
+     * @return number of tombstones deleted
+     */
+    public int prune() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        int deleted = assetChangeFeed.pruneTombstones(cutoff);
+        if (deleted > 0) {
+            log.info("Pruned {} asset tombstones of tenant {} recorded before {}",
+                    deleted, tenantRegistry.currentTenantId(), cutoff);
+        }
+        return deleted;
+    }
+}
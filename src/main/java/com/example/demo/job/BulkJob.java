@@ -0,0 +1,17 @@
+package com.example.demo.job;
+
+/**
+ * Work run by the bulk job service on one of its worker threads.
+ */
+@FunctionalInterface
+public interface BulkJob {
+
+    /**
+     * Runs the job on behalf of the tenant that submitted it.
+     *
+     * @param context handle for progress, cancellation and result file
+     * @return summary returned by the result endpoint, or null
+     * @throws Exception if the job fails as a whole
+     */
+    Object run(JobContext context) throws Exception;
+}
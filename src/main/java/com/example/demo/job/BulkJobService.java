@@ -0,0 +1,336 @@
+package com.example.demo.job;
+
+import com.example.demo.tenant.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs long bulk operations in the background so they do not tie up request threads.
+ *
+ * Jobs run on a fixed pool of worker threads fed by a bounded queue; once the queue is full new
+ * submissions are rejected instead of piling up. Each job runs on behalf of the tenant that submitted it
+ * and is only visible to that tenant. Jobs report progress per item, are cancelled cooperatively between
+ * items, and keep their summary and optional result file until they are evicted by newer jobs.
+ * The number of queued and running jobs and the outcome of finished jobs are published as metrics.
+ */
+@Service
+public class BulkJobService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkJobService.class);
+
+    private static final int MAX_ITEM_ERRORS = 20;
+
+    private final ThreadPoolExecutor executor;
+    private final Path directory;
+    private final MeterRegistry meterRegistry;
+    private final int maxRetained;
+    private final Map<String, Job> jobs;
+
+    /**
+     * Constructor-based dependency injection of the metrics registry and job settings.
+     *
+     * @param meterRegistry registry receiving the job gauges and counters
+     * @param workers number of jobs running at the same time
+     * @param queueCapacity number of jobs waiting for a worker before submissions are rejected
+     * @param maxRetained number of jobs kept for progress and result lookups
+     * @param directory directory holding the result files of jobs
+     */
+    public BulkJobService(MeterRegistry meterRegistry,
+                          @Value("${app.jobs.workers:2}") int workers,
+                          @Value("${app.jobs.queue-capacity:50}") int queueCapacity,
+                          @Value("${app.jobs.max-retained:100}") int maxRetained,
+                          @Value("${app.jobs.dir:jobs}") String directory) {
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "bulk-job-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.directory = Paths.get(directory);
+        this.meterRegistry = meterRegistry;
+        this.maxRetained = maxRetained;
+        this.jobs = Collections.synchronizedMap(new LinkedHashMap<>());
+        Gauge.builder("jobs.queued", executor, e -> e.getQueue().size())
+                .description("Bulk jobs waiting for a worker")
+                .register(meterRegistry);
+        Gauge.builder("jobs.running", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Bulk jobs running")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues a job for the current tenant.
+     *
+     * @param type kind of job, used in progress and metrics
+     * @param work the work to run
+     * @return progress of the queued job
+     * @throws RejectedExecutionException if the queue is full
+     */
+    public JobProgress submit(String type, BulkJob work) {
+        Job job = new Job(UUID.randomUUID().toString(), type, TenantContext.getTenantId(), work);
+        jobs.put(job.id, job);
+        try {
+            job.future = executor.submit(job::execute);
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            Counter.builder("jobs.rejected").tag("type", type).register(meterRegistry).increment();
+            throw new RejectedExecutionException("Job queue is full; retry later", e);
+        }
+        evictFinished();
+        return job.progress();
+    }
+
+    /**
+     * @return progress of the jobs of the current tenant, oldest first
+     */
+    public List<JobProgress> getJobs() {
+        String tenantId = TenantContext.getTenantId();
+        List<JobProgress> progress = new ArrayList<>();
+        synchronized (jobs) {
+            for (Job job : jobs.values()) {
+                if (Objects.equals(job.tenantId, tenantId)) {
+                    progress.add(job.progress());
+                }
+            }
+        }
+        return progress;
+    }
+
+    /**
+     * @param id ID of the job
+     * @return progress of the job
+     * @throws RuntimeException if no such job is retained for the current tenant
+     */
+    public JobProgress getProgress(String id) {
+        return find(id).progress();
+    }
+
+    /**
+     * Cancels a job: a queued job never starts, a running job stops after its current item.
+     *
+     * @param id ID of the job
+     * @return progress of the job
+     * @throws RuntimeException if no such job is retained for the current tenant
+     */
+    public JobProgress cancel(String id) {
+        Job job = find(id);
+        synchronized (job) {
+            job.cancelled = true;
+            if (job.status == JobProgress.Status.QUEUED) {
+                executor.remove((FutureTask<?>) job.future);
+                job.finish(JobProgress.Status.CANCELLED, null);
+            }
+        }
+        return job.progress();
+    }
+
+    /**
+     * @param id ID of the job
+     * @return summary returned by the job, or null if it returned none
+     * @throws RuntimeException if no such job is retained for the current tenant or it has not completed
+     */
+    public Object getResult(String id) {
+        return completed(id).result;
+    }
+
+    /**
+     * @param id ID of the job
+     * @return the result file of the job, or null if it wrote none
+     * @throws RuntimeException if no such job is retained for the current tenant or it has not completed
+     */
+    public Path getResultFile(String id) {
+        return completed(id).resultFile;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private Job completed(String id) {
+        Job job = find(id);
+        if (job.status != JobProgress.Status.DONE) {
+            throw new RuntimeException("Job " + id + " is not complete");
+        }
+        return job;
+    }
+
+    /**
+     * Drops the oldest finished jobs beyond the retained number, with their result files;
+     * queued and running jobs are kept.
+     */
+    private void evictFinished() {
+        synchronized (jobs) {
+            Iterator<Job> iterator = jobs.values().iterator();
+            while (jobs.size() > maxRetained && iterator.hasNext()) {
+                Job job = iterator.next();
+                if (job.isFinished()) {
+                    iterator.remove();
+                    job.deleteResultFile();
+                }
+            }
+        }
+    }
+
+    private Job find(String id) {
+        Job job = jobs.get(id);
+        if (job == null || !Objects.equals(job.tenantId, TenantContext.getTenantId())) {
+            throw new RuntimeException("Job not found with id " + id);
+        }
+        return job;
+    }
+
+    /**
+     * State of one job; also the context handed to the running work.
+     */
+    private class Job implements JobContext {
+
+        final String id;
+        final String type;
+        final String tenantId;
+        final BulkJob work;
+        final LocalDateTime submittedAt = LocalDateTime.now();
+        final AtomicLong processed = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+        final List<String> itemErrors = Collections.synchronizedList(new ArrayList<>());
+        volatile Future<?> future;
+        volatile JobProgress.Status status = JobProgress.Status.QUEUED;
+        volatile boolean cancelled;
+        volatile LocalDateTime startedAt;
+        volatile LocalDateTime finishedAt;
+        volatile long total;
+        volatile String error;
+        volatile Object result;
+        volatile Path resultFile;
+
+        Job(String id, String type, String tenantId, BulkJob work) {
+            this.id = id;
+            this.type = type;
+            this.tenantId = tenantId;
+            this.work = work;
+        }
+
+        void execute() {
+            synchronized (this) {
+                if (status != JobProgress.Status.QUEUED) {
+                    return;
+                }
+                status = JobProgress.Status.RUNNING;
+                startedAt = LocalDateTime.now();
+            }
+            try {
+                Object summary = TenantContext.callAs(tenantId, () -> {
+                    try {
+                        return work.run(this);
+                    } catch (RuntimeException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        throw new RuntimeException(e.getMessage(), e);
+                    }
+                });
+                result = summary;
+                finish(cancelled ? JobProgress.Status.CANCELLED : JobProgress.Status.DONE, null);
+            } catch (RuntimeException e) {
+                log.error("Bulk job {} ({}) failed after {} items", id, type, processed.get(), e);
+                finish(JobProgress.Status.FAILED, e.getMessage());
+            }
+            log.info("Bulk job {} ({}) {} after {} items, {} failed", id, type, status, processed.get(), failed.get());
+        }
+
+        synchronized void finish(JobProgress.Status finalStatus, String message) {
+            error = message;
+            finishedAt = LocalDateTime.now();
+            status = finalStatus;
+            Counter.builder("jobs.finished").tag("type", type).tag("status", finalStatus.name())
+                    .register(meterRegistry).increment();
+        }
+
+        boolean isFinished() {
+            return finishedAt != null;
+        }
+
+        void deleteResultFile() {
+            if (resultFile != null) {
+                try {
+                    Files.deleteIfExists(resultFile);
+                } catch (IOException e) {
+                    log.warn("Could not delete {}", resultFile, e);
+                }
+            }
+        }
+
+        JobProgress progress() {
+            long done = processed.get();
+            int percent = total > 0 ? (int) Math.min(100, 100 * done / total)
+                    : status == JobProgress.Status.DONE ? 100 : 0;
+            List<String> errors;
+            synchronized (itemErrors) {
+                errors = new ArrayList<>(itemErrors);
+            }
+            return new JobProgress(id, type, status, submittedAt, startedAt, finishedAt, total, done,
+                    failed.get(), percent, errors, error);
+        }
+
+        @Override
+        public void setTotal(long total) {
+            this.total = total;
+        }
+
+        @Override
+        public void itemDone() {
+            processed.incrementAndGet();
+        }
+
+        @Override
+        public void itemFailed(String message) {
+            processed.incrementAndGet();
+            failed.incrementAndGet();
+            synchronized (itemErrors) {
+                if (itemErrors.size() < MAX_ITEM_ERRORS) {
+                    itemErrors.add(message);
+                }
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public Path createResultFile(String extension) throws IOException {
+            Files.createDirectories(directory);
+            resultFile = directory.resolve("job-" + id + "." + extension);
+            return Files.createFile(resultFile);
+        }
+    }
+}
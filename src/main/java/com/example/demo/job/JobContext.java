@@ -0,0 +1,45 @@
+package com.example.demo.job;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Handle given to a running bulk job to report progress, notice cancellation and store a result file.
+ */
+public interface JobContext {
+
+    /**
+     * Sets the number of items the job will process.
+     *
+     * @param total number of items
+     */
+    void setTotal(long total);
+
+    /**
+     * Records one item processed successfully.
+     */
+    void itemDone();
+
+    /**
+     * Records one item that failed; the job carries on with the next item.
+     *
+     * @param message description of the failure, kept for the first failed items only
+     */
+    void itemFailed(String message);
+
+    /**
+     * Tells whether cancellation was requested; jobs check it between items and stop early.
+     *
+     * @return true if the job should stop
+     */
+    boolean isCancelled();
+
+    /**
+     * Creates the file holding the downloadable result of the job.
+     *
+     * @param extension file extension, e.g. csv
+     * @return path of the new empty file
+     * @throws IOException if the file cannot be created
+     */
+    Path createResultFile(String extension) throws IOException;
+}
@@ -0,0 +1,84 @@
+package com.example.demo.job;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Snapshot of the progress of a bulk job.
+ */
+@Value
+public class JobProgress {
+
+    /**
+     * ID of the job.
+     */
+    String id;
+
+    /**
+     * Kind of job, e.g. asset-import.
+     */
+    String type;
+
+    /**
+     * Current state of the job.
+     */
+    Status status;
+
+    /**
+     * When the job was submitted.
+     */
+    LocalDateTime submittedAt;
+
+    /**
+     * When the job started, or null while it is queued.
+     */
+    LocalDateTime startedAt;
+
+    /**
+     * When the job finished, or null while it is queued or running.
+     */
+    LocalDateTime finishedAt;
+
+    /**
+     * Number of items the job will process, or 0 while unknown.
+     */
+    long total;
+
+    /**
+     * Number of items processed so far, failed ones included.
+     */
+    long processed;
+
+    /**
+     * Number of items that failed so far.
+     */
+    long failed;
+
+    /**
+     * Percentage of the items processed so far.
+     */
+    int percent;
+
+    /**
+     * Messages of the first failed items.
+     */
+    List<String> itemErrors;
+
+    /**
+     * Error message if the job failed as a whole.
+     */
+    String error;
+
+    /**
+     * Enum representing the states of a job.
+     */
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        DONE,
+        CANCELLED,
+        FAILED
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.demo.job;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Snapshot of the progress of the current or last purge run.
+ */
+@Value
+public class PurgeProgress {
+
+    /**
+     * Whether a purge run is in progress.
+     */
+    boolean running;
+
+    /**
+     * When the run started, or null if no run has happened yet.
+     */
+    LocalDateTime startedAt;
+
+    /**
+     * When the run finished, or null while running.
+     */
+    LocalDateTime finishedAt;
+
+    /**
+     * Assets recovered before this instant are purged.
+     */
+    LocalDateTime cutoff;
+
+    /**
+     * Number of chunks processed so far.
+     */
+    long chunks;
+
+    /**
+     * Number of assets deleted so far.
+     */
+    long deleted;
+
+    /**
+     * Number of assets written to the export file so far.
+     */
+    long exported;
+
+    /**
+     * Highest asset ID processed so far in the table being purged; the keyset position of the run.
+     */
+    long lastId;
+
+    /**
+     * Error message if the run failed.
+     */
+    String error;
+
+    /**
+     * @return progress before any run has happened
+     */
+    public static PurgeProgress idle() {
+        return new PurgeProgress(false, null, null, null, 0, 0, 0, 0, null);
+    }
+}
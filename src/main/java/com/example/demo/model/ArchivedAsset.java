@@ -0,0 +1,71 @@
+package com.example.demo.model;
+
+import lombok.*;
+
+import javax.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Entity representing an asset moved to the archive tier.
+ * Assets that stay RECOVERED long enough are moved here from the asset table by the archive job,
+ * keeping their ID, so the hot table and its indexes only hold assets still in circulation.
+ * An archived asset is always RECOVERED and held by no one. Its condition notes stay in the asset_note table.
+ */
+@Entity
+@Table(name = "asset_archive", indexes = {
+        @Index(name = "idx_asset_archive_recovered_at", columnList = "recoveredAt"),
+        @Index(name = "idx_asset_archive_category", columnList = "category_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedAsset {
+
+    /**
+     * Primary key, the ID the asset had in the asset table.
+     */
+    @Id
+    private Long id;
+
+    /**
+     * Name of the asset.
+     * Cannot be null.
+     */
+    @Column(nullable = false)
+    private String name;
+
+    /**
+     * Date when the asset was purchased.
+     */
+    private LocalDate purchaseDate;
+
+    /**
+     * The Category this asset belongs to.
+     * This association is mandatory.
+     */
+    @ManyToOne
+    @JoinColumn(name = "category_id", nullable = false)
+    private Category category;
+
+    /**
+     * When the asset was last recovered from an employee.
+     */
+    private LocalDateTime recoveredAt;
+
+    /**
+     * When the asset was moved to the archive.
+     */
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+
+    /**
+     * Converts the archived row back to the Asset returned by queries that include the archive.
+     *
+     * @return a detached RECOVERED Asset with the same ID and columns, without its condition notes
+     */
+    public Asset toAsset() {
+        return new Asset(id, name, purchaseDate, null, category,
+                Asset.AssignmentStatus.RECOVERED, null, recoveredAt, null);
+    }
+}
@@ -1,14 +1,26 @@
 package com.example.demo.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
+
 import javax.persistence.*;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 /**
  * Entity representing an Asset in the system.
  * An Asset can be assigned to an Employee and belongs to a Category.
+ * Updates write only the columns that changed.
+ * Every change is stamped with a change sequence number for delta sync clients.
  */
 @Entity
+@DynamicUpdate
+@Table(indexes = {
+        @Index(name = "idx_asset_status_recovered_at", columnList = "assignmentStatus, recoveredAt"),
+        @Index(name = "idx_asset_category", columnList = "category_id"),
+        @Index(name = "idx_asset_change_seq", columnList = "changeSeq")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -35,7 +47,11 @@ public class Asset {
 
     /**
      * Additional notes on the condition of the asset.
+     * Stored in the asset_note table and only filled in where a single asset is read or written,
+     * so list responses leave it out.
      */
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String conditionNotes;
 
     /**
@@ -64,6 +80,18 @@ public class Asset {
     @JoinColumn(name = "employee_id")
     private Employee assignedTo;
 
+    /**
+     * When the asset was last recovered from an employee.
+     * Set while the status is RECOVERED, null otherwise.
+     */
+    private LocalDateTime recoveredAt;
+
+    /**
+     * Change sequence number of the last change to the asset, increasing with every change of the tenant.
+     * Null only for rows loaded without going through the application, e.g. restored from a snapshot.
+     */
+    private Long changeSeq;
+
     /**
      * Enum representing possible assignment statuses for the asset.
      */
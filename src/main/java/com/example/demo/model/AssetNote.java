@@ -0,0 +1,90 @@
+package com.example.demo.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+
+/**
+ * Entity holding the condition notes of an asset, kept apart from the asset row so that list, search and
+ * assignment queries never read them. Notes above a size threshold are stored deflate-compressed.
+ * The row is keyed by asset ID and follows the asset into the archive, so it serves both tiers.
+ */
+@Entity
+@Table(name = "asset_note")
+@Data
+@NoArgsConstructor
+public class AssetNote implements Persistable<Long> {
+
+    /**
+     * Primary key, the ID of the asset the notes belong to.
+     */
+    @Id
+    private Long assetId;
+
+    /**
+     * UTF-8 bytes of the notes, deflated if {@link #compressed} is set.
+     */
+    @Lob
+    @Column(nullable = false)
+    private byte[] content;
+
+    /**
+     * Whether the content is deflate-compressed.
+     */
+    @Column(nullable = false)
+    private boolean compressed;
+
+    /**
+     * Whether this instance has never been stored.
+     * Not persisted; reset once the entity is saved or loaded.
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean newEntity;
+
+    /**
+     * Creates the notes of an asset.
+     *
+     * @param assetId ID of the asset
+     * @param content the stored bytes
+     * @param compressed whether the bytes are deflate-compressed
+     */
+    public AssetNote(Long assetId, byte[] content, boolean compressed) {
+        this.assetId = assetId;
+        this.content = content;
+        this.compressed = compressed;
+    }
+
+    /**
+     * Marks this instance as not yet stored, so that saving it inserts without a prior SELECT.
+     *
+     * @return these notes
+     */
+    public AssetNote markNew() {
+        this.newEntity = true;
+        return this;
+    }
+
+    @Override
+    @JsonIgnore
+    public Long getId() {
+        return assetId;
+    }
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markStored() {
+        this.newEntity = false;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.demo.model;
+
+import lombok.*;
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entity recording that an asset left the asset table, so that delta sync clients learn about it.
+ * Written in the same transaction as the delete, purge or archive that removed the asset, with the
+ * change sequence number the removal was given.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_asset_tombstone_change_seq", columnList = "changeSeq"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssetTombstone {
+
+    /**
+     * Primary key for AssetTombstone entity, auto-generated.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * ID of the removed asset.
+     */
+    @Column(nullable = false)
+    private Long assetId;
+
+    /**
+     * Change sequence number of the removal.
+     */
+    @Column(nullable = false)
+    private Long changeSeq;
+
+    /**
+     * When the asset was removed.
+     */
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+}
@@ -0,0 +1,63 @@
+package com.example.demo.model;
+
+import lombok.*;
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entity recording one period during which an Asset was held by an Employee.
+ * A row is opened when the asset is assigned and closed when it is recovered,
+ * so the table keeps every previous holder that Asset.assignedTo overwrites.
+ */
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_history_asset_valid_from", columnList = "assetId, validFrom"),
+        @Index(name = "idx_history_employee_valid_to", columnList = "employeeId, validTo")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssignmentHistory {
+
+    /**
+     * Primary key for AssignmentHistory entity, auto-generated.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * ID of the asset that was held.
+     * Stored as a plain value so that history survives deletion of the asset.
+     */
+    @Column(nullable = false)
+    private Long assetId;
+
+    /**
+     * ID of the employee who held the asset.
+     */
+    @Column(nullable = false)
+    private Long employeeId;
+
+    /**
+     * When the asset was assigned to the employee (inclusive).
+     */
+    @Column(nullable = false)
+    private LocalDateTime validFrom;
+
+    /**
+     * When the asset was recovered from the employee (exclusive).
+     * Null while the employee still holds the asset.
+     */
+    private LocalDateTime validTo;
+
+    /**
+     * Tells whether the employee held the asset at the given instant.
+     *
+     * @param at the instant to check
+     * @return true if the instant lies within this period
+     */
+    public boolean covers(LocalDateTime at) {
+        return !validFrom.isAfter(at) && (validTo == null || validTo.isAfter(at));
+    }
+}
@@ -1,17 +1,21 @@
 package com.example.demo.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.*;
+import org.springframework.data.domain.Persistable;
+
 import javax.persistence.*;
 
 /**
  * Entity representing an Employee in the company.
  * Employees can be assigned assets.
+ * Because the ID is assigned manually, the entity tells Spring Data whether it is new,
+ * so that creating an employee inserts directly instead of selecting it first.
  */
 @Entity
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
-public class Employee {
+public class Employee implements Persistable<Long> {
 
     /**
      * Primary key for Employee entity.
@@ -31,4 +35,50 @@ public class Employee {
      * Designation or job title of the employee.
      */
     private String designation;
+
+    /**
+     * Whether this instance has never been stored.
+     * Not persisted; reset once the entity is saved or loaded.
+     */
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private boolean newEntity;
+
+    /**
+     * Creates an employee with the given details.
+     *
+     * @param id the manually assigned ID
+     * @param fullName full name of the employee
+     * @param designation designation or job title
+     */
+    public Employee(Long id, String fullName, String designation) {
+        this.id = id;
+        this.fullName = fullName;
+        this.designation = designation;
+    }
+
+    /**
+     * Marks this instance as not yet stored, so that saving it inserts without a prior SELECT.
+     *
+     * @return this employee
+     */
+    public Employee markNew() {
+        this.newEntity = true;
+        return this;
+    }
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostPersist
+    @PostLoad
+    void markStored() {
+        this.newEntity = false;
+    }
 }
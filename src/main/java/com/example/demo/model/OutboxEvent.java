@@ -0,0 +1,49 @@
+package com.example.demo.model;
+
+import lombok.*;
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Entity holding a change notification for downstream systems until it has been delivered.
+ * Rows are inserted in the same transaction as the change they describe and removed by the
+ * outbox dispatcher once a sink has accepted them, so a notification is sent if and only if its
+ * change committed.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    /**
+     * Primary key for OutboxEvent entity, auto-generated; defines the delivery order.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Kind of notification, e.g. asset.assigned.
+     */
+    @Column(nullable = false)
+    private String eventType;
+
+    /**
+     * ID of the asset the notification is about.
+     */
+    @Column(nullable = false)
+    private Long assetId;
+
+    /**
+     * JSON document describing the asset after the change.
+     */
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    /**
+     * When the change was made.
+     */
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
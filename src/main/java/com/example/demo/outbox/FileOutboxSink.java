@@ -0,0 +1,72 @@
+package com.example.demo.outbox;
+
+import com.example.demo.model.OutboxEvent;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Outbox sink appending each event as one JSON line to a local file, for downstream systems
+ * that pick up files. The file is forced to disk before a batch is acknowledged.
+ */
+@Component
+@ConditionalOnProperty(name = "app.outbox.sink", havingValue = "file", matchIfMissing = true)
+public class FileOutboxSink implements OutboxSink {
+
+    private final ObjectMapper objectMapper;
+    private final Path file;
+
+    /**
+     * Constructor-based dependency injection of the JSON mapper and target file.
+     *
+     * @param objectMapper mapper used to write the lines
+     * @param file file the events are appended to
+     */
+    public FileOutboxSink(ObjectMapper objectMapper,
+                          @Value("${app.outbox.file:outbox/asset-events.jsonl}") String file) {
+        this.objectMapper = objectMapper;
+        this.file = Paths.get(file);
+    }
+
+    @Override
+    public synchronized void deliver(String tenantId, List<OutboxEvent> events) throws IOException {
+        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        for (OutboxEvent event : events) {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(lines)) {
+                json.writeStartObject();
+                json.writeNumberField("id", event.getId());
+                json.writeStringField("tenant", tenantId);
+                json.writeStringField("type", event.getEventType());
+                json.writeNumberField("assetId", event.getAssetId());
+                json.writeStringField("createdAt", event.getCreatedAt().toString());
+                json.writeFieldName("payload");
+                json.writeRawValue(event.getPayload());
+                json.writeEndObject();
+            }
+            lines.write('\n');
+        }
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+}
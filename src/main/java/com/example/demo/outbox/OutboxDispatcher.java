@@ -0,0 +1,185 @@
+package com.example.demo.outbox;
+
+import com.example.demo.model.OutboxEvent;
+import com.example.demo.repository.OutboxEventRepository;
+import com.example.demo.tenant.TenantRegistry;
+import com.example.demo.tenant.TenantScoped;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Background dispatcher draining the outbox to the configured sink.
+ *
+ * Events are read in ID order in batches; a batch is deleted only after the sink has accepted it.
+ * When delivery fails the whole batch is retried after an exponential backoff, and nothing newer is
+ * sent in the meantime, so the sink sees every event at least once and in outbox order. Each tenant
+ * is drained separately and exposes {@code outbox.pending}, {@code outbox.lag} (age of the oldest
+ * pending event), {@code outbox.dispatched} and {@code outbox.failures} metrics tagged with the tenant.
+ */
+@Component
+@Lazy(false)
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxSink sink;
+    private final TenantRegistry tenantRegistry;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int batchSize;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    private final TenantScoped<State> states;
+
+    /**
+     * Constructor-based dependency injection of collaborators and dispatch settings.
+     *
+     * @param outboxEventRepository Repository for OutboxEvent entity
+     * @param transactionManager transaction manager used to delete delivered batches
+     * @param sink destination of the events
+     * @param tenantRegistry registry of the tenants whose outboxes are drained
+     * @param meterRegistry registry receiving the outbox metrics
+     * @param enabled whether the scheduled dispatch is active
+     * @param batchSize number of events delivered at once
+     * @param initialBackoff delay before the first retry of a failed batch
+     * @param maxBackoff upper bound for the delay between retries
+     */
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+                            PlatformTransactionManager transactionManager,
+                            OutboxSink sink,
+                            TenantRegistry tenantRegistry,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.outbox.enabled:true}") boolean enabled,
+                            @Value("${app.outbox.batch-size:100}") int batchSize,
+                            @Value("${app.outbox.initial-backoff:1s}") Duration initialBackoff,
+                            @Value("${app.outbox.max-backoff:5m}") Duration maxBackoff) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sink = sink;
+        this.tenantRegistry = tenantRegistry;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.states = new TenantScoped<>(tenantRegistry, () -> new State(tenantRegistry.currentTenantId()));
+    }
+
+    /**
+     * Drains the outbox of every tenant on the configured interval.
+     */
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:PT1S}")
+    public void scheduledDispatch() {
+        if (enabled) {
+            tenantRegistry.forEachTenant(this::dispatch);
+        }
+    }
+
+    /**
+     * Delivers the pending events of the current tenant until the outbox is empty or delivery fails.
+     * Does nothing while a failed batch is waiting for its retry.
+     *
+     * @return number of events delivered
+     */
+    public int dispatch() {
+        State state = states.get();
+        if (System.currentTimeMillis() < state.nextAttemptAt) {
+            updateLag(state);
+            return 0;
+        }
+        int delivered = 0;
+        try {
+            while (true) {
+                List<OutboxEvent> batch = outboxEventRepository.findByOrderByIdAsc(PageRequest.of(0, batchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                sink.deliver(state.tenantId, batch);
+                List<Long> ids = batch.stream().map(OutboxEvent::getId).collect(Collectors.toList());
+                transactionTemplate.execute(status -> outboxEventRepository.deleteByIdIn(ids));
+                delivered += batch.size();
+                state.dispatched.increment(batch.size());
+                state.failures = 0;
+                if (batch.size() < batchSize) {
+                    break;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            state.failures++;
+            state.failureCounter.increment();
+            Duration backoff = backoff(state.failures);
+            state.nextAttemptAt = System.currentTimeMillis() + backoff.toMillis();
+            log.warn("Outbox delivery for tenant {} failed {} time(s), retrying in {}",
+                    state.tenantId, state.failures, backoff, e);
+        } finally {
+            updateLag(state);
+        }
+        return delivered;
+    }
+
+    private Duration backoff(int failures) {
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(failures - 1, 30));
+        return backoff.compareTo(maxBackoff) > 0 || backoff.isNegative() ? maxBackoff : backoff;
+    }
+
+    private void updateLag(State state) {
+        state.pending.set(outboxEventRepository.count());
+        state.lagMillis.set(outboxEventRepository.findFirstByOrderByIdAsc()
+                .map(oldest -> Duration.between(oldest.getCreatedAt(), LocalDateTime.now()).toMillis())
+                .orElse(0L));
+    }
+
+    /**
+     * Dispatch state and meters of one tenant.
+     */
+    private class State {
+        final String tenantId;
+        final AtomicLong pending = new AtomicLong();
+        final AtomicLong lagMillis = new AtomicLong();
+        final Counter dispatched;
+        final Counter failureCounter;
+        volatile int failures;
+        volatile long nextAttemptAt;
+
+        State(String tenantId) {
+            this.tenantId = tenantId;
+            Gauge.builder("outbox.pending", pending, AtomicLong::get)
+                    .description("Outbox events waiting for delivery")
+                    .tag("tenant", tenantId)
+                    .register(meterRegistry);
+            Gauge.builder("outbox.lag", lagMillis, lag -> lag.get() / 1000.0)
+                    .description("Age of the oldest undelivered outbox event")
+                    .baseUnit("seconds")
+                    .tag("tenant", tenantId)
+                    .register(meterRegistry);
+            dispatched = Counter.builder("outbox.dispatched")
+                    .description("Outbox events delivered to the sink")
+                    .tag("tenant", tenantId)
+                    .register(meterRegistry);
+            failureCounter = Counter.builder("outbox.failures")
+                    .description("Failed outbox delivery attempts")
+                    .tag("tenant", tenantId)
+                    .register(meterRegistry);
+        }
+    }
+}
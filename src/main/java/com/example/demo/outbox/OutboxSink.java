@@ -0,0 +1,23 @@
+package com.example.demo.outbox;
+
+import com.example.demo.model.OutboxEvent;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination of outbox events, e.g. a message broker, a webhook or a file.
+ * Delivery is at least once: a batch that failed is delivered again, so sinks
+ * (or their consumers) should ignore events whose ID they have already seen.
+ */
+public interface OutboxSink {
+
+    /**
+     * Delivers a batch of events. Returns only once the sink has durably accepted all of them.
+     *
+     * @param tenantId tenant the events belong to
+     * @param events events in delivery order
+     * @throws IOException if the batch could not be delivered
+     */
+    void deliver(String tenantId, List<OutboxEvent> events) throws IOException;
+}
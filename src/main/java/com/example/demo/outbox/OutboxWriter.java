@@ -0,0 +1,74 @@
+package com.example.demo.outbox;
+
+import com.example.demo.event.AssetChangedEvent;
+import com.example.demo.model.Asset;
+import com.example.demo.model.OutboxEvent;
+import com.example.demo.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes an outbox row for every asset creation, assignment and recovery.
+ * Runs synchronously in the publisher's transaction, so the row commits or rolls back with the change
+ * and the change itself never waits for a downstream system.
+ */
+@Component
+public class OutboxWriter {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructor-based dependency injection of the outbox repository and JSON mapper.
+     *
+     * @param outboxEventRepository Repository for OutboxEvent entity
+     * @param objectMapper mapper used to serialize the payload
+     */
+    public OutboxWriter(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Records the change for downstream systems if it is one they subscribe to.
+     *
+     * @param event the asset change
+     */
+    @EventListener
+    public void onAssetChanged(AssetChangedEvent event) {
+        switch (event.getType()) {
+            case CREATED:
+            case ASSIGNED:
+            case RECOVERED:
+                outboxEventRepository.save(new OutboxEvent(null,
+                        "asset." + event.getType().name().toLowerCase(Locale.ROOT), event.getAssetId(),
+                        payload(event.getAsset()), LocalDateTime.now()));
+                break;
+            default:
+                break;
+        }
+    }
+
+    private String payload(Asset asset) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("id", asset.getId());
+        payload.put("name", asset.getName());
+        payload.put("categoryId", asset.getCategory() != null ? asset.getCategory().getId() : null);
+        payload.put("status", asset.getAssignmentStatus());
+        payload.put("employeeId", asset.getAssignedTo() != null ? asset.getAssignedTo().getId() : null);
+        payload.put("purchaseDate", asset.getPurchaseDate() != null ? asset.getPurchaseDate().toString() : null);
+        payload.put("recoveredAt", asset.getRecoveredAt() != null ? asset.getRecoveredAt().toString() : null);
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize outbox payload of asset " + asset.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,366 @@
+package com.example.demo.report;
+
+import com.example.demo.model.Category;
+import com.example.demo.repository.CategoryRepository;
+import com.example.demo.tenant.TenantContext;
+import com.example.demo.util.CsvUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Engine computing monthly depreciation reports per category over the whole inventory.
+ *
+ * A run reads the asset table and then the archive table in ID order in keyset chunks of primitive arrays. Each chunk is aggregated on a
+ * fork-join pool, split recursively into slices whose partial totals are merged back. At most a fixed
+ * number of chunks is in flight at any time, so memory stays bounded by the chunk size while all
+ * cores are kept busy. Runs report progress, can be cancelled, and keep their result for download
+ * as CSV until they are evicted by newer runs; only finished runs are evicted. A run belongs to the tenant that submitted it and is
+ * only visible on behalf of that tenant.
+ */
+@Component
+public class DepreciationReportEngine implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(DepreciationReportEngine.class);
+
+    private static final String[] TABLES = {"asset", "asset_archive"};
+    private static final int MAX_MONTHS = 1200;
+    private static final int SLICE_SIZE = 1024;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CategoryRepository categoryRepository;
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private final int maxChunksInFlight;
+    private final int usefulLifeMonths;
+    private final int maxRetained;
+    private final Map<String, Run> runs;
+
+    /**
+     * Constructor-based dependency injection of collaborators and report settings.
+     *
+     * @param jdbcTemplate template used to read asset chunks
+     * @param categoryRepository Repository for Category entity, used for category names
+     * @param chunkSize number of assets read per chunk
+     * @param parallelism number of fork-join worker threads; 0 for one per core
+     * @param maxChunksInFlight number of chunks read but not yet merged; 0 for twice the parallelism
+     * @param usefulLifeMonths number of months over which an asset depreciates fully
+     * @param maxRetained number of finished runs kept for download
+     */
+    public DepreciationReportEngine(JdbcTemplate jdbcTemplate,
+                                    CategoryRepository categoryRepository,
+                                    @Value("${app.report.chunk-size:5000}") int chunkSize,
+                                    @Value("${app.report.parallelism:0}") int parallelism,
+                                    @Value("${app.report.max-chunks-in-flight:0}") int maxChunksInFlight,
+                                    @Value("${app.report.useful-life-months:60}") int usefulLifeMonths,
+                                    @Value("${app.report.max-retained:20}") int maxRetained) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.categoryRepository = categoryRepository;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.chunkSize = chunkSize;
+        this.maxChunksInFlight = maxChunksInFlight > 0 ? maxChunksInFlight : 2 * pool.getParallelism();
+        this.usefulLifeMonths = usefulLifeMonths;
+        this.maxRetained = maxRetained;
+        this.runs = Collections.synchronizedMap(new LinkedHashMap<>());
+    }
+
+    /**
+     * Registers a new report run; the caller then executes it with {@link #run}.
+     *
+     * @param from first month of the report
+     * @param to last month of the report
+     * @return progress of the queued run
+     * @throws RuntimeException if the range is empty or longer than 100 years
+     */
+    public ReportProgress submit(YearMonth from, YearMonth to) {
+        if (from.isAfter(to) || monthIndex(to) - monthIndex(from) >= MAX_MONTHS) {
+            throw new RuntimeException("Report range must span 1 to " + MAX_MONTHS + " months");
+        }
+        Run run = new Run(UUID.randomUUID().toString(), TenantContext.getTenantId(), from, to);
+        runs.put(run.id, run);
+        evictFinished();
+        return run.progress();
+    }
+
+    /**
+     * Executes a queued run in the calling thread, which must act on behalf of the run's tenant.
+     *
+     * @param id ID of the run
+     */
+    public void run(String id) {
+        Run run = find(id);
+        synchronized (run) {
+            if (run.status != ReportProgress.Status.QUEUED) {
+                return;
+            }
+            run.status = ReportProgress.Status.RUNNING;
+            run.startedAt = LocalDateTime.now();
+        }
+        int firstMonth = monthIndex(run.from);
+        int months = monthIndex(run.to) - firstMonth + 1;
+        DepreciationTotals totals = new DepreciationTotals(firstMonth, months, usefulLifeMonths);
+        Deque<ForkJoinTask<DepreciationTotals>> inFlight = new ArrayDeque<>();
+        try {
+            for (String table : TABLES) {
+                Long count = jdbcTemplate.queryForObject("select count(*) from " + table, Long.class);
+                run.totalRows += count != null ? count : 0;
+            }
+            for (String table : TABLES) {
+                long lastId = 0;
+                while (!run.cancelled) {
+                    ReportChunk chunk = readChunk(table, lastId);
+                    if (chunk.size == 0) {
+                        break;
+                    }
+                    lastId = chunk.lastId;
+                    run.rowsRead += chunk.size;
+                    inFlight.add(pool.submit(new SliceTask(chunk, 0, chunk.size, firstMonth, months)));
+                    while (inFlight.size() >= maxChunksInFlight) {
+                        mergeOldest(run, totals, inFlight);
+                    }
+                    if (chunk.size < chunkSize) {
+                        break;
+                    }
+                }
+            }
+            while (!inFlight.isEmpty() && !run.cancelled) {
+                mergeOldest(run, totals, inFlight);
+            }
+            finish(run, run.cancelled ? ReportProgress.Status.CANCELLED : ReportProgress.Status.DONE, totals, null);
+            log.info("Depreciation report {} {} after {} assets", id, run.status, run.rowsAggregated);
+        } catch (RuntimeException e) {
+            log.error("Depreciation report {} failed", id, e);
+            finish(run, ReportProgress.Status.FAILED, null, e.getMessage());
+        } finally {
+            inFlight.forEach(task -> task.cancel(false));
+        }
+    }
+
+    /**
+     * @param id ID of the run
+     * @return progress of the run
+     * @throws RuntimeException if no such run is retained
+     */
+    public ReportProgress getProgress(String id) {
+        return find(id).progress();
+    }
+
+    /**
+     * Asks a queued or running run to stop; chunks already in flight are discarded.
+     *
+     * @param id ID of the run
+     * @return progress of the run
+     * @throws RuntimeException if no such run is retained
+     */
+    public ReportProgress cancel(String id) {
+        Run run = find(id);
+        synchronized (run) {
+            run.cancelled = true;
+            if (run.status == ReportProgress.Status.QUEUED) {
+                run.status = ReportProgress.Status.CANCELLED;
+                run.finishedAt = LocalDateTime.now();
+            }
+        }
+        return run.progress();
+    }
+
+    /**
+     * Writes the result of a finished run as CSV, one line per category and month.
+     * Amounts are in units of one asset's purchase cost.
+     *
+     * @param id ID of the run
+     * @param writer destination of the CSV
+     * @throws IOException if writing fails
+     * @throws RuntimeException if no such run is retained or it has not completed
+     */
+    public void writeCsv(String id, Writer writer) throws IOException {
+        Run run = find(id);
+        DepreciationTotals totals = run.result;
+        if (totals == null) {
+            throw new RuntimeException("Report " + id + " is not complete");
+        }
+        Map<Long, String> names = new HashMap<>();
+        for (Category category : categoryRepository.findAllById(totals.getByCategory().keySet())) {
+            names.put(category.getId(), category.getName());
+        }
+        List<Long> categoryIds = new ArrayList<>(totals.getByCategory().keySet());
+        Collections.sort(categoryIds);
+
+        writer.write(CsvUtils.line("month", "categoryId", "categoryName", "assetsInService",
+                "depreciation", "accumulatedDepreciation", "netBookValue"));
+        writer.write('\n');
+        for (Long categoryId : categoryIds) {
+            double[] categoryTotals = totals.getByCategory().get(categoryId);
+            YearMonth month = run.from;
+            for (int i = 0; !month.isAfter(run.to); i++, month = month.plusMonths(1)) {
+                double inService = totals.inService(categoryTotals, i);
+                double accumulated = totals.accumulated(categoryTotals, i);
+                writer.write(CsvUtils.line(month, categoryId, names.get(categoryId), (long) inService,
+                        amount(totals.charge(categoryTotals, i)), amount(accumulated), amount(inService - accumulated)));
+                writer.write('\n');
+            }
+        }
+        writer.flush();
+    }
+
+    @Override
+    public void destroy() {
+        pool.shutdownNow();
+    }
+
+    private ReportChunk readChunk(String table, long afterId) {
+        ReportChunk chunk = new ReportChunk(chunkSize);
+        jdbcTemplate.query("select id, category_id, purchase_date from " + table + " where id > ? order by id limit ?", rs -> {
+            int row = chunk.size++;
+            chunk.lastId = rs.getLong(1);
+            chunk.categoryIds[row] = rs.getLong(2);
+            LocalDate purchaseDate = rs.getObject(3, LocalDate.class);
+            chunk.purchaseMonths[row] = purchaseDate != null
+                    ? monthIndex(YearMonth.from(purchaseDate)) : ReportChunk.NO_DATE;
+        }, afterId, chunkSize);
+        return chunk;
+    }
+
+    private static void mergeOldest(Run run, DepreciationTotals totals, Deque<ForkJoinTask<DepreciationTotals>> inFlight) {
+        DepreciationTotals partial = inFlight.poll().join();
+        totals.merge(partial);
+        run.rowsAggregated += partial.getRows();
+    }
+
+    private static void finish(Run run, ReportProgress.Status status, DepreciationTotals totals, String error) {
+        synchronized (run) {
+            run.result = status == ReportProgress.Status.DONE ? totals : null;
+            run.status = status;
+            run.error = error;
+            run.finishedAt = LocalDateTime.now();
+        }
+    }
+
+    /**
+     * Drops the oldest finished runs beyond the retained number; queued and running runs are kept.
+     */
+    private void evictFinished() {
+        synchronized (runs) {
+            Iterator<Run> iterator = runs.values().iterator();
+            while (runs.size() > maxRetained && iterator.hasNext()) {
+                if (iterator.next().isFinished()) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    private Run find(String id) {
+        Run run = runs.get(id);
+        if (run == null || !Objects.equals(run.tenantId, TenantContext.getTenantId())) {
+            throw new RuntimeException("Report not found with id " + id);
+        }
+        return run;
+    }
+
+    private static int monthIndex(YearMonth month) {
+        return month.getYear() * 12 + month.getMonthValue() - 1;
+    }
+
+    private static String amount(double value) {
+        return String.format(Locale.ROOT, "%.4f", value);
+    }
+
+    /**
+     * Fork-join task aggregating a slice of a chunk, splitting it in halves above the slice size.
+     */
+    private class SliceTask extends RecursiveTask<DepreciationTotals> {
+
+        private final ReportChunk chunk;
+        private final int from;
+        private final int to;
+        private final int firstMonth;
+        private final int months;
+
+        SliceTask(ReportChunk chunk, int from, int to, int firstMonth, int months) {
+            this.chunk = chunk;
+            this.from = from;
+            this.to = to;
+            this.firstMonth = firstMonth;
+            this.months = months;
+        }
+
+        @Override
+        protected DepreciationTotals compute() {
+            if (to - from <= SLICE_SIZE) {
+                DepreciationTotals totals = new DepreciationTotals(firstMonth, months, usefulLifeMonths);
+                for (int row = from; row < to; row++) {
+                    totals.add(chunk.categoryIds[row], chunk.purchaseMonths[row]);
+                }
+                return totals;
+            }
+            int middle = (from + to) >>> 1;
+            SliceTask left = new SliceTask(chunk, from, middle, firstMonth, months);
+            left.fork();
+            DepreciationTotals right = new SliceTask(chunk, middle, to, firstMonth, months).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    /**
+     * State of one report run.
+     */
+    private static class Run {
+
+        final String id;
+        final String tenantId;
+        final YearMonth from;
+        final YearMonth to;
+        volatile ReportProgress.Status status = ReportProgress.Status.QUEUED;
+        volatile boolean cancelled;
+        volatile LocalDateTime startedAt;
+        volatile LocalDateTime finishedAt;
+        volatile long totalRows;
+        volatile long rowsRead;
+        volatile long rowsAggregated;
+        volatile String error;
+        volatile DepreciationTotals result;
+
+        Run(String id, String tenantId, YearMonth from, YearMonth to) {
+            this.id = id;
+            this.tenantId = tenantId;
+            this.from = from;
+            this.to = to;
+        }
+
+        boolean isFinished() {
+            return status != ReportProgress.Status.QUEUED && status != ReportProgress.Status.RUNNING;
+        }
+
+        ReportProgress progress() {
+            int percent = totalRows > 0 ? (int) Math.min(100, 100 * rowsAggregated / totalRows)
+                    : status == ReportProgress.Status.DONE ? 100 : 0;
+            return new ReportProgress(id, status, from, to, startedAt, finishedAt, totalRows, rowsRead,
+                    rowsAggregated, percent, error);
+        }
+    }
+}
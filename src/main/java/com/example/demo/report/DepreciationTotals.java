@@ -0,0 +1,145 @@
+package com.example.demo.report;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Monthly depreciation totals per category over a range of months.
+ *
+ * Depreciation is straight-line over the useful life, starting the month after purchase.
+ * The asset table carries no purchase cost, so each asset counts as one unit of cost and
+ * the amounts are fractions of assets: a depreciation of 2.5 equals two and a half assets' worth.
+ * Instances are filled by one thread and combined with {@link #merge}, so partial totals of
+ * separate chunks can be computed in parallel.
+ */
+class DepreciationTotals {
+
+    private static final int IN_SERVICE = 0;
+    private static final int CHARGE = 1;
+    private static final int ACCUMULATED = 2;
+
+    private final int firstMonth;
+    private final int months;
+    private final int usefulLifeMonths;
+
+    // Per category: assets in service, depreciation charge and accumulated depreciation, months in a row each
+    private final Map<Long, double[]> byCategory = new HashMap<>();
+    private long rows;
+    private long undated;
+
+    /**
+     * Creates empty totals.
+     *
+     * @param firstMonth first month of the range, as months since year 0
+     * @param months number of months in the range
+     * @param usefulLifeMonths number of months over which an asset depreciates fully
+     */
+    DepreciationTotals(int firstMonth, int months, int usefulLifeMonths) {
+        this.firstMonth = firstMonth;
+        this.months = months;
+        this.usefulLifeMonths = usefulLifeMonths;
+    }
+
+    /**
+     * Adds one asset.
+     *
+     * @param categoryId category of the asset
+     * @param purchaseMonth purchase month as months since year 0, or {@link ReportChunk#NO_DATE}
+     */
+    void add(long categoryId, int purchaseMonth) {
+        rows++;
+        if (purchaseMonth == ReportChunk.NO_DATE) {
+            undated++;
+            return;
+        }
+        int lastMonth = firstMonth + months - 1;
+        if (purchaseMonth > lastMonth) {
+            return;
+        }
+        double[] totals = byCategory.computeIfAbsent(categoryId, id -> new double[3 * months]);
+        int depreciationStart = purchaseMonth + 1;
+        double monthlyCharge = 1.0 / usefulLifeMonths;
+        for (int month = Math.max(firstMonth, purchaseMonth); month <= lastMonth; month++) {
+            int i = month - firstMonth;
+            int monthsDepreciated = Math.min(usefulLifeMonths, month - depreciationStart + 1);
+            totals[IN_SERVICE * months + i] += 1;
+            if (monthsDepreciated > 0) {
+                totals[ACCUMULATED * months + i] += monthsDepreciated * monthlyCharge;
+                if (month - depreciationStart < usefulLifeMonths) {
+                    totals[CHARGE * months + i] += monthlyCharge;
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the totals of another part of the inventory to these.
+     *
+     * @param other totals over the same range and useful life
+     * @return these totals
+     */
+    DepreciationTotals merge(DepreciationTotals other) {
+        for (Map.Entry<Long, double[]> entry : other.byCategory.entrySet()) {
+            double[] totals = byCategory.get(entry.getKey());
+            if (totals == null) {
+                byCategory.put(entry.getKey(), entry.getValue());
+                continue;
+            }
+            double[] addend = entry.getValue();
+            for (int i = 0; i < totals.length; i++) {
+                totals[i] += addend[i];
+            }
+        }
+        rows += other.rows;
+        undated += other.undated;
+        return this;
+    }
+
+    /**
+     * @return the categories with at least one asset in service during the range
+     */
+    Map<Long, double[]> getByCategory() {
+        return byCategory;
+    }
+
+    /**
+     * @param totals the totals of one category
+     * @param monthIndex index of the month within the range
+     * @return number of assets purchased by the end of the month
+     */
+    double inService(double[] totals, int monthIndex) {
+        return totals[IN_SERVICE * months + monthIndex];
+    }
+
+    /**
+     * @param totals the totals of one category
+     * @param monthIndex index of the month within the range
+     * @return depreciation charged in the month
+     */
+    double charge(double[] totals, int monthIndex) {
+        return totals[CHARGE * months + monthIndex];
+    }
+
+    /**
+     * @param totals the totals of one category
+     * @param monthIndex index of the month within the range
+     * @return depreciation accumulated by the end of the month
+     */
+    double accumulated(double[] totals, int monthIndex) {
+        return totals[ACCUMULATED * months + monthIndex];
+    }
+
+    /**
+     * @return number of assets added, including skipped ones
+     */
+    long getRows() {
+        return rows;
+    }
+
+    /**
+     * @return number of assets skipped because they have no purchase date
+     */
+    long getUndated() {
+        return undated;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.demo.report;
+
+/**
+ * One keyset chunk of assets read for a report, held in primitive arrays.
+ */
+class ReportChunk {
+
+    /**
+     * Purchase month value for assets without a purchase date.
+     */
+    static final int NO_DATE = Integer.MIN_VALUE;
+
+    final long[] categoryIds;
+    final int[] purchaseMonths;
+    int size;
+    long lastId;
+
+    /**
+     * Creates an empty chunk.
+     *
+     * @param capacity maximum number of assets in the chunk
+     */
+    ReportChunk(int capacity) {
+        categoryIds = new long[capacity];
+        purchaseMonths = new int[capacity];
+    }
+}
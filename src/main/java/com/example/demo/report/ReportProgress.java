@@ -0,0 +1,79 @@
+package com.example.demo.report;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+/**
+ * Snapshot of the progress of a report run.
+ */
+@Value
+public class ReportProgress {
+
+    /**
+     * ID of the report run.
+     */
+    String id;
+
+    /**
+     * Current state of the run.
+     */
+    Status status;
+
+    /**
+     * First month covered by the report.
+     */
+    YearMonth from;
+
+    /**
+     * Last month covered by the report.
+     */
+    YearMonth to;
+
+    /**
+     * When the run started, or null while it is queued.
+     */
+    LocalDateTime startedAt;
+
+    /**
+     * When the run finished, or null while it is queued or running.
+     */
+    LocalDateTime finishedAt;
+
+    /**
+     * Number of assets in the asset and archive tables when the run started.
+     */
+    long totalRows;
+
+    /**
+     * Number of assets read from the database so far.
+     */
+    long rowsRead;
+
+    /**
+     * Number of assets whose partial aggregates have been merged so far.
+     */
+    long rowsAggregated;
+
+    /**
+     * Percentage of the assets aggregated so far.
+     */
+    int percent;
+
+    /**
+     * Error message if the run failed.
+     */
+    String error;
+
+    /**
+     * Enum representing the states of a report run.
+     */
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        DONE,
+        CANCELLED,
+        FAILED
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.ArchivedAsset;
+import com.example.demo.model.Category;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for ArchivedAsset entities, the archive tier of the asset table.
+ * Methods returning several archived assets fetch their category in the same query.
+ */
+public interface ArchivedAssetRepository extends JpaRepository<ArchivedAsset, Long> {
+
+    /**
+     * Finds all archived assets with their category.
+     *
+     * @return list of all ArchivedAsset entities
+     */
+    @Override
+    @EntityGraph(attributePaths = "category")
+    List<ArchivedAsset> findAll();
+
+    /**
+     * Finds the archived assets with the given IDs with their category.
+     *
+     * @param ids IDs of the assets
+     * @return list of the existing ArchivedAsset entities
+     */
+    @Override
+    @EntityGraph(attributePaths = "category")
+    List<ArchivedAsset> findAllById(Iterable<Long> ids);
+
+    /**
+     * Finds all archived assets whose names contain the given string, ignoring case.
+     *
+     * @param name substring to search within asset names
+     * @return list of matching ArchivedAsset entities
+     */
+    @EntityGraph(attributePaths = "category")
+    List<ArchivedAsset> findByNameContainingIgnoreCase(String name);
+
+    /**
+     * Finds the next page of archived assets in ID order with their category (keyset pagination).
+     *
+     * @param afterId only archived assets with a greater ID are returned
+     * @param pageable page limiting the number of archived assets
+     * @return list of ArchivedAsset entities
+     */
+    @EntityGraph(attributePaths = "category")
+    List<ArchivedAsset> findByIdGreaterThanOrderById(Long afterId, Pageable pageable);
+
+    /**
+     * Copies the given assets from the asset table into the archive in one statement.
+     * Their condition notes stay in the asset_note table under the same ID.
+     *
+     * @param ids IDs of the assets to copy
+     * @param archivedAt archive timestamp written to every copied row
+     * @return number of copied rows
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "insert into asset_archive (id, name, purchase_date, category_id, recovered_at, archived_at) "
+            + "select id, name, purchase_date, category_id, recovered_at, :archivedAt from asset where id in (:ids)",
+            nativeQuery = true)
+    int copyFromAssets(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    /**
+     * Finds the next chunk of IDs of archived assets recovered before the cutoff, in ID order (keyset pagination).
+     *
+     * @param cutoff assets recovered before this instant are returned
+     * @param afterId only IDs greater than this are returned
+     * @param pageable page limiting the chunk size
+     * @return list of archived asset IDs
+     */
+    @Query("select a.id from ArchivedAsset a where a.recoveredAt < :cutoff and a.id > :afterId order by a.id")
+    List<Long> findIdsRecoveredBefore(@Param("cutoff") LocalDateTime cutoff,
+                                      @Param("afterId") Long afterId,
+                                      Pageable pageable);
+
+    /**
+     * Deletes the given archived assets in one statement.
+     *
+     * @param ids IDs of the archived assets to delete
+     * @return number of deleted rows
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from ArchivedAsset a where a.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Tells whether any archived asset belongs to the given category.
+     *
+     * @param categoryId ID of the category
+     * @return true if at least one archived asset belongs to the category
+     */
+    boolean existsByCategoryId(Long categoryId);
+
+    /**
+     * Moves every archived asset of one category to another in a single statement.
+     *
+     * @param source the category to empty
+     * @param target the category receiving the assets
+     * @return number of moved archived assets
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update ArchivedAsset a set a.category = :target where a.category = :source")
+    int moveToCategory(@Param("source") Category source, @Param("target") Category target);
+}
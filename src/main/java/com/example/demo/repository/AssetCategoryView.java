@@ -0,0 +1,17 @@
+package com.example.demo.repository;
+
+/**
+ * Projection exposing only the ID and category ID of an asset.
+ */
+public interface AssetCategoryView {
+
+    /**
+     * @return ID of the asset
+     */
+    Long getId();
+
+    /**
+     * @return ID of the asset's category
+     */
+    Long getCategoryId();
+}
@@ -0,0 +1,25 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.AssetNote;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+
+/**
+ * Repository interface for AssetNote entities.
+ */
+public interface AssetNoteRepository extends JpaRepository<AssetNote, Long> {
+
+    /**
+     * Deletes the notes of the given assets in one statement.
+     *
+     * @param assetIds IDs of the assets
+     * @return number of deleted rows
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("delete from AssetNote n where n.assetId in :assetIds")
+    int deleteByAssetIdIn(@Param("assetIds") Collection<Long> assetIds);
+}
@@ -1,22 +1,226 @@
 package com.example.demo.repository;
 
 import com.example.demo.model.Asset;
+import com.example.demo.model.Category;
+import com.example.demo.model.Employee;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.LockModeType;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
  * Repository interface for Asset entities.
  * Extends JpaRepository to provide CRUD operations.
  * Includes custom method to search assets by name with case-insensitive partial match.
+ * Methods returning several assets fetch their category and holder in the same query.
  */
 public interface AssetRepository extends JpaRepository<Asset, Long> {
 
+    /**
+     * Finds all assets with their category and holder.
+     *
+     * @return list of all Asset entities
+     */
+    @Override
+    @EntityGraph(attributePaths = {"category", "assignedTo"})
+    List<Asset> findAll();
+
+    /**
+     * Finds the assets with the given IDs with their category and holder.
+     *
+     * @param ids IDs of the assets
+     * @return list of the existing Asset entities
+     */
+    @Override
+    @EntityGraph(attributePaths = {"category", "assignedTo"})
+    List<Asset> findAllById(Iterable<Long> ids);
+
     /**
      * Finds all assets whose names contain the given string, ignoring case.
      *
      * @param name substring to search within asset names
      * @return list of matching Asset entities
      */
+    @EntityGraph(attributePaths = {"category", "assignedTo"})
     List<Asset> findByNameContainingIgnoreCase(String name);
+
+    /**
+     * Finds the next page of assets in ID order with their category and holder (keyset pagination).
+     *
+     * @param afterId only assets with a greater ID are returned
+     * @param pageable page limiting the number of assets
+     * @return list of Asset entities
+     */
+    @EntityGraph(attributePaths = {"category", "assignedTo"})
+    List<Asset> findByIdGreaterThanOrderById(Long afterId, Pageable pageable);
+
+    /**
+     * Finds the next page of assets whose names contain the given string, ignoring case, in ID order
+     * with their category and holder (keyset pagination).
+     *
+     * @param name substring to search within asset names
+     * @param afterId only assets with a greater ID are returned
+     * @param pageable page limiting the number of assets
+     * @return list of matching Asset entities
+     */
+    @EntityGraph(attributePaths = {"category", "assignedTo"})
+    List<Asset> findByNameContainingIgnoreCaseAndIdGreaterThanOrderById(String name, Long afterId, Pageable pageable);
+
+    /**
+     * Finds the IDs of the assets held by an employee, in ID order.
+     *
+     * @param employeeId ID of the employee
+     * @return list of asset IDs
+     */
+    @Query("select a.id from Asset a where a.assignedTo.id = :employeeId order by a.id")
+    List<Long> findIdsByAssignedTo(@Param("employeeId") Long employeeId);
+
+    /**
+     * Loads the ID and name of every asset.
+     *
+     * @return list of asset names
+     */
+    @Query("select a.id as id, a.name as name from Asset a")
+    List<NameView> findAllNames();
+
+    /**
+     * Finds asset names matching a lower-cased LIKE pattern, ordered like the autocomplete index: by
+     * lower-cased name, then ID. Matching on the lower-cased name cannot use an index, so this scans the
+     * table; it only serves autocomplete once the in-memory index has exceeded its memory budget.
+     *
+     * @param pattern lower-cased LIKE pattern using '!' as escape character
+     * @param pageable page limiting the number of results
+     * @return list of matching asset names
+     */
+    @Query("select a.id as id, a.name as name from Asset a where lower(a.name) like :pattern escape '!' order by lower(a.name), a.id")
+    List<NameView> findNamesLike(@Param("pattern") String pattern, Pageable pageable);
+
+    /**
+     * Finds the next chunk of IDs of assets recovered before the cutoff, in ID order (keyset pagination).
+     *
+     * @param status the RECOVERED status
+     * @param cutoff assets recovered before this instant are returned
+     * @param afterId only IDs greater than this are returned
+     * @param pageable page limiting the chunk size
+     * @return list of asset IDs
+     */
+    @Query("select a.id from Asset a where a.assignmentStatus = :status and a.recoveredAt < :cutoff and a.id > :afterId order by a.id")
+    List<Long> findIdsRecoveredBefore(@Param("status") Asset.AssignmentStatus status,
+                                      @Param("cutoff") LocalDateTime cutoff,
+                                      @Param("afterId") Long afterId,
+                                      Pageable pageable);
+
+    /**
+     * Deletes the given assets in one statement, skipping any whose status has changed meanwhile.
+     *
+     * @param ids IDs of the assets to delete
+     * @param status the status the assets must still have
+     * @return number of deleted rows
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Asset a where a.id in :ids and a.assignmentStatus = :status")
+    int deleteByIdInAndStatus(@Param("ids") Collection<Long> ids, @Param("status") Asset.AssignmentStatus status);
+
+    /**
+     * Locks those of the given assets that still have the given status, until the transaction ends.
+     *
+     * @param ids IDs of the assets
+     * @param status the status the assets must still have
+     * @return IDs of the locked assets
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a.id from Asset a where a.id in :ids and a.assignmentStatus = :status")
+    List<Long> lockIdsWithStatus(@Param("ids") Collection<Long> ids, @Param("status") Asset.AssignmentStatus status);
+
+    /**
+     * Returns which of the given IDs still exist.
+     *
+     * @param ids IDs to check
+     * @return list of existing asset IDs
+     */
+    @Query("select a.id from Asset a where a.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Tells whether any asset belongs to the given category.
+     * Answered from the index on category_id without loading assets.
+     *
+     * @param categoryId ID of the category
+     * @return true if at least one asset belongs to the category
+     */
+    boolean existsByCategoryId(Long categoryId);
+
+    /**
+     * Moves every asset of one category to another in a single statement.
+     *
+     * @param source the category to empty
+     * @param target the category receiving the assets
+     * @param changeSeq change sequence number stamped on every moved asset
+     * @return number of moved assets
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Asset a set a.category = :target, a.changeSeq = :changeSeq where a.category = :source")
+    int moveToCategory(@Param("source") Category source, @Param("target") Category target,
+                       @Param("changeSeq") long changeSeq);
+
+    /**
+     * Assigns an asset to an employee only if it is still in the given category and status.
+     *
+     * @param id ID of the asset
+     * @param categoryId the category the asset must still belong to
+     * @param expected the status the asset must still have
+     * @param assigned the status set on the asset
+     * @param employee the employee receiving the asset
+     * @param changeSeq change sequence number stamped on the asset
+     * @return 1 if the asset was assigned, 0 if it no longer matched
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Asset a set a.assignmentStatus = :assigned, a.assignedTo = :employee, a.recoveredAt = null, "
+            + "a.changeSeq = :changeSeq where a.id = :id and a.category.id = :categoryId and a.assignmentStatus = :expected")
+    int assignIfMatches(@Param("id") Long id, @Param("categoryId") Long categoryId,
+                        @Param("expected") Asset.AssignmentStatus expected,
+                        @Param("assigned") Asset.AssignmentStatus assigned,
+                        @Param("employee") Employee employee,
+                        @Param("changeSeq") long changeSeq);
+
+    /**
+     * Loads the ID and category of every asset with the given status, for the allocation free-lists.
+     *
+     * @param status the status
+     * @return ID and category ID pairs in ID order
+     */
+    @Query("select a.id as id, a.category.id as categoryId from Asset a where a.assignmentStatus = :status order by a.id")
+    List<AssetCategoryView> findIdsByStatus(@Param("status") Asset.AssignmentStatus status);
+
+    /**
+     * Finds the assets changed after a position in the change feed, up to a change sequence number, with their
+     * category and holder, in change order. Several assets share a number when they were changed by one bulk
+     * statement, so the position is a number and the last asset ID sent with that number.
+     *
+     * @param changeSeq sequence number of the position
+     * @param afterId assets with the position's number are returned only if their ID is greater
+     * @param until only assets with a sequence number up to this one are returned
+     * @param pageable page limiting the number of assets
+     * @return list of Asset entities
+     */
+    @EntityGraph(attributePaths = {"category", "assignedTo"})
+    @Query("select a from Asset a where a.changeSeq >= :changeSeq and a.changeSeq <= :until"
+            + " and (a.changeSeq > :changeSeq or a.id > :afterId) order by a.changeSeq, a.id")
+    List<Asset> findChangedAfter(@Param("changeSeq") long changeSeq, @Param("afterId") long afterId,
+                                 @Param("until") long until, Pageable pageable);
+
+    /**
+     * @return the highest change sequence number of any asset, or 0 if there is none
+     */
+    @Query("select coalesce(max(a.changeSeq), 0) from Asset a")
+    long findMaxChangeSeq();
 }
@@ -0,0 +1,56 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.AssetTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for AssetTombstone entities.
+ */
+public interface AssetTombstoneRepository extends JpaRepository<AssetTombstone, Long> {
+
+    /**
+     * Finds the removals after a position in the change feed, up to a change sequence number, in change order.
+     * Removals sharing a number are ordered by tombstone ID, so the position is a number and the last
+     * tombstone ID sent with that number.
+     *
+     * @param changeSeq sequence number of the position
+     * @param afterId removals with the position's number are returned only if their tombstone ID is greater
+     * @param until only removals with a sequence number up to this one are returned
+     * @param pageable page limiting the number of removals
+     * @return list of AssetTombstone entities
+     */
+    @Query("select t from AssetTombstone t where t.changeSeq >= :changeSeq and t.changeSeq <= :until"
+            + " and (t.changeSeq > :changeSeq or t.id > :afterId) order by t.changeSeq, t.id")
+    List<AssetTombstone> findRemovedAfter(@Param("changeSeq") long changeSeq, @Param("afterId") long afterId,
+                                          @Param("until") long until, Pageable pageable);
+
+    /**
+     * @return the highest change sequence number of any removal, or 0 if there is none
+     */
+    @Query("select coalesce(max(t.changeSeq), 0) from AssetTombstone t")
+    long findMaxChangeSeq();
+
+    /**
+     * @param cutoff only removals recorded before this time are considered
+     * @return the highest change sequence number of the removals recorded before the cutoff, or 0 if there is none
+     */
+    @Query("select coalesce(max(t.changeSeq), 0) from AssetTombstone t where t.deletedAt < :cutoff")
+    long findMaxChangeSeqRemovedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * Deletes the removals up to a change sequence number with one statement.
+     *
+     * @param changeSeq highest sequence number deleted
+     * @return number of tombstones deleted
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("delete from AssetTombstone t where t.changeSeq <= :changeSeq")
+    int deleteUpTo(@Param("changeSeq") long changeSeq);
+}
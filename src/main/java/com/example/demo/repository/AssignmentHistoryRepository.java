@@ -0,0 +1,81 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.AssignmentHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for AssignmentHistory entities.
+ * Asset lookups are keyed by asset and bounded on validFrom, so they are answered from the (assetId, validFrom)
+ * index. Employee lookups are keyed by employee and bounded on validTo, so they are answered from the
+ * (employeeId, validTo) index: an employee may hold several assets at once, and a closed period overlaps a range
+ * only if it ended after the range start, so the scan starts there instead of at the employee's first period.
+ */
+public interface AssignmentHistoryRepository extends JpaRepository<AssignmentHistory, Long> {
+
+    /**
+     * Finds the latest period of an asset that started at or before the given instant.
+     * An asset has at most one holder at a time, so this is the only period that can cover the instant.
+     *
+     * @param assetId ID of the asset
+     * @param at the instant to look up
+     * @return the latest period starting at or before the instant, if any
+     */
+    Optional<AssignmentHistory> findFirstByAssetIdAndValidFromLessThanEqualOrderByValidFromDesc(Long assetId, LocalDateTime at);
+
+    /**
+     * Finds the periods of an asset that started within the given range, in start order.
+     *
+     * @param assetId ID of the asset
+     * @param from start of the range (exclusive)
+     * @param to end of the range (exclusive)
+     * @return list of periods
+     */
+    @Query("select h from AssignmentHistory h where h.assetId = :assetId and h.validFrom > :from and h.validFrom < :to order by h.validFrom")
+    List<AssignmentHistory> findAssetPeriodsStartingBetween(@Param("assetId") Long assetId,
+                                                             @Param("from") LocalDateTime from,
+                                                             @Param("to") LocalDateTime to);
+
+    /**
+     * Finds the closed periods of an employee that overlap the given range, in start order.
+     *
+     * @param employeeId ID of the employee
+     * @param from start of the range (inclusive)
+     * @param to end of the range (exclusive)
+     * @return list of periods
+     */
+    @Query("select h from AssignmentHistory h where h.employeeId = :employeeId and h.validTo > :from "
+            + "and h.validFrom < :to order by h.validFrom")
+    List<AssignmentHistory> findEmployeeClosedPeriodsOverlapping(@Param("employeeId") Long employeeId,
+                                                                 @Param("from") LocalDateTime from,
+                                                                 @Param("to") LocalDateTime to);
+
+    /**
+     * Finds the open periods of an employee that started before the given instant, in start order.
+     *
+     * @param employeeId ID of the employee
+     * @param to the instant (exclusive)
+     * @return list of periods
+     */
+    @Query("select h from AssignmentHistory h where h.employeeId = :employeeId and h.validTo is null "
+            + "and h.validFrom < :to order by h.validFrom")
+    List<AssignmentHistory> findEmployeeOpenPeriodsStartingBefore(@Param("employeeId") Long employeeId,
+                                                                  @Param("to") LocalDateTime to);
+
+    /**
+     * Closes the open period of an asset.
+     *
+     * @param assetId ID of the asset
+     * @param at the instant the asset was recovered
+     * @return number of closed periods
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update AssignmentHistory h set h.validTo = :at where h.assetId = :assetId and h.validTo is null")
+    int closeOpenPeriod(@Param("assetId") Long assetId, @Param("at") LocalDateTime at);
+}
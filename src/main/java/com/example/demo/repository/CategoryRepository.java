@@ -1,8 +1,12 @@
 package com.example.demo.repository;
 
 import com.example.demo.model.Category;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -19,4 +23,24 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
      * @return an Optional containing the Category if found, or empty if not found
      */
     Optional<Category> findByName(String name);
+
+    /**
+     * Loads the ID and name of every category.
+     *
+     * @return list of category names
+     */
+    @Query("select c.id as id, c.name as name from Category c")
+    List<NameView> findAllNames();
+
+    /**
+     * Finds category names matching a lower-cased LIKE pattern, ordered like the autocomplete index: by
+     * lower-cased name, then ID. Matching on the lower-cased name cannot use an index, so this scans the
+     * table; it only serves autocomplete once the in-memory index has exceeded its memory budget.
+     *
+     * @param pattern lower-cased LIKE pattern using '!' as escape character
+     * @param pageable page limiting the number of results
+     * @return list of matching category names
+     */
+    @Query("select c.id as id, c.name as name from Category c where lower(c.name) like :pattern escape '!' order by lower(c.name), c.id")
+    List<NameView> findNamesLike(@Param("pattern") String pattern, Pageable pageable);
 }
@@ -1,11 +1,36 @@
 package com.example.demo.repository;
 
 import com.example.demo.model.Employee;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 /**
  * Repository interface for Employee entities.
  * Extends JpaRepository to provide standard CRUD operations.
  */
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+
+    /**
+     * Loads the ID and full name of every employee.
+     *
+     * @return list of employee names
+     */
+    @Query("select e.id as id, e.fullName as name from Employee e")
+    List<NameView> findAllNames();
+
+    /**
+     * Finds employee names matching a lower-cased LIKE pattern, ordered like the autocomplete index: by
+     * lower-cased name, then ID. Matching on the lower-cased name cannot use an index, so this scans the
+     * table; it only serves autocomplete once the in-memory index has exceeded its memory budget.
+     *
+     * @param pattern lower-cased LIKE pattern using '!' as escape character
+     * @param pageable page limiting the number of results
+     * @return list of matching employee names
+     */
+    @Query("select e.id as id, e.fullName as name from Employee e where lower(e.fullName) like :pattern escape '!' order by lower(e.fullName), e.id")
+    List<NameView> findNamesLike(@Param("pattern") String pattern, Pageable pageable);
 }
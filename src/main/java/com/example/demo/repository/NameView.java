@@ -0,0 +1,18 @@
+package com.example.demo.repository;
+
+/**
+ * Projection exposing only the ID and display name of an entity.
+ * Used to load names without materializing full entities.
+ */
+public interface NameView {
+
+    /**
+     * @return ID of the entity
+     */
+    Long getId();
+
+    /**
+     * @return display name of the entity
+     */
+    String getName();
+}
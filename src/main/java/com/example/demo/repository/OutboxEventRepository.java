@@ -0,0 +1,41 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for OutboxEvent entities.
+ */
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Finds the oldest pending events in delivery order.
+     *
+     * @param pageable the batch size
+     * @return up to one page of events
+     */
+    List<OutboxEvent> findByOrderByIdAsc(Pageable pageable);
+
+    /**
+     * @return the oldest pending event, if any
+     */
+    Optional<OutboxEvent> findFirstByOrderByIdAsc();
+
+    /**
+     * Deletes delivered events in one statement.
+     *
+     * @param ids IDs of the delivered events
+     * @return number of deleted rows
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from OutboxEvent e where e.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,153 @@
+package com.example.demo.service;
+
+import com.example.demo.event.AssetChangedEvent;
+import com.example.demo.event.CategoriesMergedEvent;
+import com.example.demo.index.AssetFreeList;
+import com.example.demo.model.Asset;
+import com.example.demo.model.Employee;
+import com.example.demo.repository.AssetCategoryView;
+import com.example.demo.repository.AssetRepository;
+import com.example.demo.repository.EmployeeRepository;
+import com.example.demo.tenant.TenantRegistry;
+import com.example.demo.tenant.TenantScoped;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Service assigning any available asset of a category to an employee.
+ *
+ * Candidates come from per-category free-lists of AVAILABLE asset IDs, loaded at startup and
+ * refilled from the asset change events after each commit. A popped candidate is claimed with a
+ * conditional update that only succeeds if the asset is still AVAILABLE in that category, so
+ * concurrent allocations never receive the same asset and stale candidates are simply skipped.
+ */
+@Service
+public class AssetAllocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(AssetAllocationService.class);
+
+    private final AssetRepository assetRepository;
+    private final EmployeeRepository employeeRepository;
+    private final AssetChangeFeed assetChangeFeed;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TenantRegistry tenantRegistry;
+    private final TenantScoped<AssetFreeList> freeLists;
+
+    /**
+     * Constructor-based dependency injection of repositories and collaborators.
+     *
+     * @param assetRepository Repository for Asset entity
+     * @param employeeRepository Repository for Employee entity
+     * @param assetChangeFeed change feed stamping the claimed assets
+     * @param eventPublisher publisher used to announce allocated assets
+     * @param transactionManager transaction manager used for each claim
+     * @param tenantRegistry registry of the tenants, each of which gets its own free-lists
+     */
+    public AssetAllocationService(AssetRepository assetRepository,
+                                  EmployeeRepository employeeRepository,
+                                  AssetChangeFeed assetChangeFeed,
+                                  ApplicationEventPublisher eventPublisher,
+                                  PlatformTransactionManager transactionManager,
+                                  TenantRegistry tenantRegistry) {
+        this.assetRepository = assetRepository;
+        this.employeeRepository = employeeRepository;
+        this.assetChangeFeed = assetChangeFeed;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tenantRegistry = tenantRegistry;
+        this.freeLists = new TenantScoped<>(tenantRegistry, AssetFreeList::new);
+    }
+
+    /**
+     * Loads the available assets of every tenant into its free-lists once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        tenantRegistry.forEachTenant(() -> {
+            AssetFreeList freeList = freeLists.get();
+            List<AssetCategoryView> available = assetRepository.findIdsByStatus(Asset.AssignmentStatus.AVAILABLE);
+            for (AssetCategoryView asset : available) {
+                freeList.offer(asset.getCategoryId(), asset.getId());
+            }
+            log.info("Loaded {} available assets of tenant {} into the allocation free-lists",
+                    available.size(), tenantRegistry.currentTenantId());
+        });
+    }
+
+    /**
+     * Assigns any available asset of a category to an employee.
+     *
+     * @param categoryId ID of the category to allocate from
+     * @param employeeId ID of the employee receiving the asset
+     * @return the assigned Asset object
+     * @throws RuntimeException if the employee is not found or the category has no available asset
+     */
+    public Asset allocate(Long categoryId, Long employeeId) {
+        Employee employee = employeeRepository.findById(employeeId)
+                .orElseThrow(() -> new RuntimeException("Employee not found with id " + employeeId));
+        AssetFreeList freeList = freeLists.get();
+        while (true) {
+            Long assetId = freeList.poll(categoryId);
+            if (assetId == null) {
+                throw new RuntimeException("No available asset in category " + categoryId);
+            }
+            Asset asset;
+            try {
+                asset = transactionTemplate.execute(status -> claim(assetId, categoryId, employee));
+            } catch (RuntimeException e) {
+                // The claim was rolled back, so the asset is still available
+                freeList.offer(categoryId, assetId);
+                throw e;
+            }
+            if (asset != null) {
+                return asset;
+            }
+        }
+    }
+
+    /**
+     * Queues assets that became available after each committed asset change.
+     * Assets that stopped being available stay queued and are skipped when popped.
+     *
+     * @param event the asset change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssetChanged(AssetChangedEvent event) {
+        Asset asset = event.getAsset();
+        if (asset != null && asset.getAssignmentStatus() == Asset.AssignmentStatus.AVAILABLE) {
+            freeLists.get().offer(asset.getCategory().getId(), asset.getId());
+        }
+    }
+
+    /**
+     * Moves the queued assets of a merged category after the merge has committed.
+     *
+     * @param event the category merge
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoriesMerged(CategoriesMergedEvent event) {
+        freeLists.get().moveCategory(event.getSourceCategoryId(), event.getTargetCategoryId());
+    }
+
+    private Asset claim(Long assetId, Long categoryId, Employee employee) {
+        int claimed = assetRepository.assignIfMatches(assetId, categoryId, Asset.AssignmentStatus.AVAILABLE,
+                Asset.AssignmentStatus.ASSIGNED, employee, assetChangeFeed.nextSequence());
+        if (claimed == 0) {
+            return null;
+        }
+        Asset asset = assetRepository.findById(assetId)
+                .orElseThrow(() -> new RuntimeException("Asset not found with id " + assetId));
+        eventPublisher.publishEvent(AssetChangedEvent.of(AssetChangedEvent.Type.ASSIGNED, asset));
+        return asset;
+    }
+}
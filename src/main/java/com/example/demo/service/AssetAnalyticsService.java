@@ -0,0 +1,147 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.AssetAggregate;
+import com.example.demo.dto.AssetAggregation;
+import com.example.demo.event.AssetChangedEvent;
+import com.example.demo.event.CategoriesMergedEvent;
+import com.example.demo.index.AssetColumnStore;
+import com.example.demo.model.Asset;
+import com.example.demo.tenant.TenantRegistry;
+import com.example.demo.tenant.TenantScoped;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Service answering inventory aggregates (counts and ages by category, status, purchase year and
+ * age bucket) from a columnar in-memory snapshot of the asset table.
+ * The snapshot is loaded once at startup with a plain JDBC scan and then maintained incrementally
+ * from the asset change events, so queries never load Asset entities. Changes arriving during the load
+ * are applied after it, so assets deleted or moved meanwhile are not brought back from the scan.
+ * Each tenant has its own snapshot.
+ */
+@Service
+public class AssetAnalyticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(AssetAnalyticsService.class);
+
+    private static final String LOAD_SQL =
+            "select id, category_id, employee_id, assignment_status, purchase_date from asset";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TenantRegistry tenantRegistry;
+    private final TenantScoped<AssetColumnStore> stores;
+
+    /**
+     * Constructor-based dependency injection of the JDBC template and snapshot settings.
+     *
+     * @param jdbcTemplate template used for the initial load
+     * @param tenantRegistry registry of the tenants, each of which gets its own snapshot
+     * @param initialCapacity number of rows allocated up front
+     */
+    public AssetAnalyticsService(JdbcTemplate jdbcTemplate,
+                                 TenantRegistry tenantRegistry,
+                                 @Value("${app.analytics.initial-capacity:1024}") int initialCapacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.tenantRegistry = tenantRegistry;
+        this.stores = new TenantScoped<>(tenantRegistry, () -> new AssetColumnStore(initialCapacity));
+    }
+
+    /**
+     * Loads all assets of every tenant into its snapshot once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        tenantRegistry.forEachTenant(this::loadTenant);
+    }
+
+    private void loadTenant() {
+        AssetColumnStore store = stores.get();
+        long start = System.nanoTime();
+        store.beginLoad();
+        try {
+            jdbcTemplate.query(LOAD_SQL, rs -> {
+                long employeeId = rs.getLong(3);
+                if (rs.wasNull()) {
+                    employeeId = AssetColumnStore.NO_EMPLOYEE;
+                }
+                LocalDate purchaseDate = rs.getObject(5, LocalDate.class);
+                store.putIfAbsent(rs.getLong(1), rs.getLong(2), employeeId, statusCode(rs.getString(4)),
+                        purchaseDate != null ? (int) purchaseDate.toEpochDay() : AssetColumnStore.NO_DATE);
+            });
+        } finally {
+            store.endLoad();
+        }
+        log.info("Loaded {} assets of tenant {} into the analytics snapshot in {} ms",
+                store.size(), tenantRegistry.currentTenantId(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Keeps the snapshot in sync after each committed asset change.
+     *
+     * @param event the asset change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssetChanged(AssetChangedEvent event) {
+        AssetColumnStore store = stores.get();
+        Asset asset = event.getAsset();
+        if (asset == null) {
+            store.remove(event.getAssetId());
+            return;
+        }
+        store.put(asset.getId(), asset.getCategory().getId(),
+                asset.getAssignedTo() != null ? asset.getAssignedTo().getId() : AssetColumnStore.NO_EMPLOYEE,
+                asset.getAssignmentStatus() != null ? (byte) asset.getAssignmentStatus().ordinal() : AssetColumnStore.NO_STATUS,
+                asset.getPurchaseDate() != null ? (int) asset.getPurchaseDate().toEpochDay() : AssetColumnStore.NO_DATE);
+    }
+
+    /**
+     * Moves the snapshot rows of a merged category after the merge has committed.
+     *
+     * @param event the category merge
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoriesMerged(CategoriesMergedEvent event) {
+        stores.get().replaceCategory(event.getSourceCategoryId(), event.getTargetCategoryId());
+    }
+
+    /**
+     * Counts assets grouped by the given dimensions.
+     *
+     * @param groupBy dimensions to group by; null or empty for a single total
+     * @param categoryId only assets of this category, or null for all
+     * @param employeeId only assets held by this employee, or null for all
+     * @param status only assets with this status, or null for all
+     * @param asOf date against which ages are computed; today when null
+     * @return the groups with their counts and average ages
+     */
+    public AssetAggregation aggregate(Set<AssetAggregate.Dimension> groupBy, Long categoryId, Long employeeId,
+                                      Asset.AssignmentStatus status, LocalDate asOf) {
+        Set<AssetAggregate.Dimension> dimensions = groupBy == null || groupBy.isEmpty()
+                ? EnumSet.noneOf(AssetAggregate.Dimension.class)
+                : EnumSet.copyOf(groupBy);
+        AssetColumnStore store = stores.get();
+        long start = System.nanoTime();
+        int scanned = store.size();
+        List<AssetAggregate> groups = store.aggregate(dimensions, categoryId, employeeId,
+                status != null ? (byte) status.ordinal() : AssetColumnStore.NO_STATUS,
+                (int) (asOf != null ? asOf : LocalDate.now()).toEpochDay());
+        return new AssetAggregation(scanned, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start), groups);
+    }
+
+    private static byte statusCode(String status) {
+        return status != null ? (byte) Asset.AssignmentStatus.valueOf(status).ordinal() : AssetColumnStore.NO_STATUS;
+    }
+}
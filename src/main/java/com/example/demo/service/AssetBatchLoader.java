@@ -0,0 +1,184 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Asset;
+import com.example.demo.repository.AssetRepository;
+import com.example.demo.tenant.TenantContext;
+import com.example.demo.tenant.TenantRegistry;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Coalesces concurrent lookups of single assets by ID into batched {@code findAllById} queries.
+ * The condition notes of a batch are read with one more query.
+ *
+ * The first lookup of a tenant opens a batch that is flushed after the batch window; lookups arriving
+ * meanwhile join it, and a batch reaching the maximum size is flushed at once by the caller that filled
+ * it. Lookups of the same ID share one result. Batch sizes are recorded in the
+ * {@code assets.lookup.batch.size} metric. With a zero window every lookup queries immediately.
+ *
+ * A single timer thread only schedules the flushes; batches flushed by the window are queried on a
+ * bounded pool of workers, so batches of different tenants run side by side and a slow query does not
+ * hold up the others. When the pool and its queue are full, the lookups of the batch fail.
+ */
+@Service
+public class AssetBatchLoader implements DisposableBean {
+
+    private final AssetRepository assetRepository;
+    private final AssetNoteService assetNoteService;
+    private final TenantRegistry tenantRegistry;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final DistributionSummary batchSizes;
+    private final ScheduledExecutorService scheduler;
+    private final ThreadPoolExecutor workers;
+
+    private final Map<String, Batch> pending = new HashMap<>();
+
+    /**
+     * Constructor-based dependency injection of the repository, notes service and batching settings.
+     *
+     * @param assetRepository Repository for Asset entity
+     * @param assetNoteService service reading the condition notes of the found assets
+     * @param tenantRegistry registry resolving the tenant a lookup belongs to
+     * @param meterRegistry registry receiving the batch size metric
+     * @param window how long a batch collects lookups before it is queried
+     * @param maxBatchSize number of distinct IDs at which a batch is queried without waiting
+     * @param workerCount number of threads querying batches flushed by the window
+     * @param queueCapacity number of flushed batches waiting for a worker before lookups fail
+     */
+    public AssetBatchLoader(AssetRepository assetRepository,
+                            AssetNoteService assetNoteService,
+                            TenantRegistry tenantRegistry,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.asset-batch.window:2ms}") Duration window,
+                            @Value("${app.asset-batch.max-size:100}") int maxBatchSize,
+                            @Value("${app.asset-batch.workers:4}") int workerCount,
+                            @Value("${app.asset-batch.queue-capacity:1000}") int queueCapacity) {
+        this.assetRepository = assetRepository;
+        this.assetNoteService = assetNoteService;
+        this.tenantRegistry = tenantRegistry;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.batchSizes = DistributionSummary.builder("assets.lookup.batch.size")
+                .description("Distinct asset IDs fetched per coalesced lookup query")
+                .register(meterRegistry);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "asset-batch-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger threads = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "asset-batch-loader-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Looks up an asset of the current tenant, possibly together with concurrent lookups.
+     *
+     * @param id the ID of the asset
+     * @return future completed with the asset, or empty if it does not exist
+     */
+    public CompletableFuture<Optional<Asset>> load(Long id) {
+        String tenantId = tenantRegistry.currentTenantId();
+        if (windowNanos <= 0) {
+            Batch batch = new Batch(tenantId);
+            CompletableFuture<Optional<Asset>> result = batch.add(id);
+            execute(batch);
+            return result;
+        }
+        Batch full = null;
+        CompletableFuture<Optional<Asset>> result;
+        synchronized (pending) {
+            Batch batch = pending.get(tenantId);
+            if (batch == null) {
+                Batch opened = new Batch(tenantId);
+                pending.put(tenantId, opened);
+                scheduler.schedule(() -> flush(opened), windowNanos, TimeUnit.NANOSECONDS);
+                batch = opened;
+            }
+            result = batch.add(id);
+            if (batch.waiters.size() >= maxBatchSize) {
+                pending.remove(tenantId);
+                full = batch;
+            }
+        }
+        if (full != null) {
+            execute(full);
+        }
+        return result;
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private void flush(Batch batch) {
+        synchronized (pending) {
+            if (pending.get(batch.tenantId) != batch) {
+                // Already flushed because it reached the maximum size
+                return;
+            }
+            pending.remove(batch.tenantId);
+        }
+        try {
+            workers.execute(() -> execute(batch));
+        } catch (RejectedExecutionException e) {
+            batch.waiters.values().forEach(waiter -> waiter.completeExceptionally(e));
+        }
+    }
+
+    private void execute(Batch batch) {
+        batchSizes.record(batch.waiters.size());
+        try {
+            Map<Long, Asset> found = new HashMap<>();
+            TenantContext.runAs(batch.tenantId, () -> {
+                for (Asset asset : assetRepository.findAllById(batch.waiters.keySet())) {
+                    found.put(asset.getId(), asset);
+                }
+                assetNoteService.attachNotes(found.values());
+            });
+            batch.waiters.forEach((id, waiter) -> waiter.complete(Optional.ofNullable(found.get(id))));
+        } catch (RuntimeException e) {
+            batch.waiters.values().forEach(waiter -> waiter.completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Lookups of one tenant waiting for the same query.
+     */
+    private static class Batch {
+        final String tenantId;
+        final Map<Long, CompletableFuture<Optional<Asset>>> waiters = new LinkedHashMap<>();
+
+        Batch(String tenantId) {
+            this.tenantId = tenantId;
+        }
+
+        CompletableFuture<Optional<Asset>> add(Long id) {
+            return waiters.computeIfAbsent(id, key -> new CompletableFuture<>());
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.BulkJobSummary;
+import com.example.demo.job.BulkJobService;
+import com.example.demo.job.JobContext;
+import com.example.demo.job.JobProgress;
+import com.example.demo.model.ArchivedAsset;
+import com.example.demo.model.Asset;
+import com.example.demo.repository.ArchivedAssetRepository;
+import com.example.demo.repository.AssetRepository;
+import com.example.demo.repository.EmployeeRepository;
+import com.example.demo.util.CsvUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk operations over assets run as background jobs: mass import, reassignment of everything an
+ * employee holds, and CSV export. Each item is processed in its own transaction through AssetService,
+ * so a failed item is recorded and skipped without undoing the others, and every change publishes
+ * the same events as its single-item endpoint.
+ */
+@Service
+public class AssetBulkOperations {
+
+    static final int EXPORT_PAGE_SIZE = 1000;
+
+    private final BulkJobService bulkJobService;
+    private final AssetService assetService;
+    private final AssetRepository assetRepository;
+    private final ArchivedAssetRepository archivedAssetRepository;
+    private final AssetNoteService assetNoteService;
+    private final EmployeeRepository employeeRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Constructor-based dependency injection of the job service, services and repositories.
+     *
+     * @param bulkJobService service running the jobs
+     * @param assetService service applying each item
+     * @param assetRepository Repository for Asset entity
+     * @param archivedAssetRepository Repository for ArchivedAsset entity, read by exports including the archive
+     * @param assetNoteService service reading the condition notes of exported assets
+     * @param employeeRepository Repository for Employee entity
+     * @param transactionManager transaction manager used for the per-item transactions
+     */
+    public AssetBulkOperations(BulkJobService bulkJobService, AssetService assetService,
+                               AssetRepository assetRepository, ArchivedAssetRepository archivedAssetRepository,
+                               AssetNoteService assetNoteService, EmployeeRepository employeeRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.bulkJobService = bulkJobService;
+        this.assetService = assetService;
+        this.assetRepository = assetRepository;
+        this.archivedAssetRepository = archivedAssetRepository;
+        this.assetNoteService = assetNoteService;
+        this.employeeRepository = employeeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Starts a job adding the given assets one by one.
+     *
+     * @param assets the assets to add, each with a valid category ID
+     * @return progress of the queued job
+     */
+    public JobProgress importAssets(List<Asset> assets) {
+        List<Asset> items = new ArrayList<>(assets);
+        return bulkJobService.submit("asset-import", context -> {
+            context.setTotal(items.size());
+            long succeeded = 0;
+            long failed = 0;
+            for (int i = 0; i < items.size() && !context.isCancelled(); i++) {
+                try {
+                    assetService.addAsset(items.get(i));
+                    context.itemDone();
+                    succeeded++;
+                } catch (RuntimeException e) {
+                    context.itemFailed("Asset " + i + ": " + e.getMessage());
+                    failed++;
+                }
+            }
+            return new BulkJobSummary(succeeded, failed);
+        });
+    }
+
+    /**
+     * Starts a job moving every asset held by one employee to another.
+     * Each asset is recovered and assigned in one transaction, so both steps are recorded in its history.
+     *
+     * @param fromEmployeeId ID of the employee giving up the assets
+     * @param toEmployeeId ID of the employee receiving the assets
+     * @return progress of the queued job
+     * @throws RuntimeException if both employees are the same or the receiving employee is not found
+     */
+    public JobProgress reassignAssets(Long fromEmployeeId, Long toEmployeeId) {
+        if (fromEmployeeId.equals(toEmployeeId)) {
+            throw new RuntimeException("Cannot reassign assets to the employee holding them");
+        }
+        if (!employeeRepository.existsById(toEmployeeId)) {
+            throw new RuntimeException("Employee not found with id " + toEmployeeId);
+        }
+        return bulkJobService.submit("asset-reassign", context -> {
+            List<Long> ids = assetRepository.findIdsByAssignedTo(fromEmployeeId);
+            context.setTotal(ids.size());
+            long succeeded = 0;
+            long failed = 0;
+            for (int i = 0; i < ids.size() && !context.isCancelled(); i++) {
+                Long id = ids.get(i);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        assetService.recoverAsset(id);
+                        assetService.assignAssetToEmployee(id, toEmployeeId);
+                    });
+                    context.itemDone();
+                    succeeded++;
+                } catch (RuntimeException e) {
+                    context.itemFailed("Asset " + id + ": " + e.getMessage());
+                    failed++;
+                }
+            }
+            return new BulkJobSummary(succeeded, failed);
+        });
+    }
+
+    /**
+     * Starts a job writing every asset to a CSV result file, reading them and their notes in keyset pages.
+     *
+     * @param includeArchived whether archived assets are exported after the others
+     * @return progress of the queued job
+     */
+    public JobProgress exportAssets(boolean includeArchived) {
+        return bulkJobService.submit("asset-export", context -> {
+            context.setTotal(assetRepository.count() + (includeArchived ? archivedAssetRepository.count() : 0));
+            Path file = context.createResultFile("csv");
+            long rows = 0;
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                writer.write(CsvUtils.line("id", "name", "purchaseDate", "conditionNotes", "categoryId",
+                        "categoryName", "assignmentStatus", "employeeId", "recoveredAt", "archived"));
+                writer.write('\n');
+                rows += exportHot(context, writer);
+                if (includeArchived) {
+                    rows += exportArchived(context, writer);
+                }
+            }
+            return new BulkJobSummary(rows, 0);
+        });
+    }
+
+    private long exportHot(JobContext context, Writer writer) throws IOException {
+        long rows = 0;
+        long lastId = 0;
+        while (!context.isCancelled()) {
+            List<Asset> page = assetRepository.findByIdGreaterThanOrderById(lastId, PageRequest.of(0, EXPORT_PAGE_SIZE));
+            assetNoteService.attachNotes(page);
+            for (Asset asset : page) {
+                write(writer, asset, false);
+                context.itemDone();
+            }
+            rows += page.size();
+            if (page.size() < EXPORT_PAGE_SIZE) {
+                break;
+            }
+            lastId = page.get(page.size() - 1).getId();
+        }
+        return rows;
+    }
+
+    private long exportArchived(JobContext context, Writer writer) throws IOException {
+        long rows = 0;
+        long lastId = 0;
+        while (!context.isCancelled()) {
+            List<ArchivedAsset> page = archivedAssetRepository.findByIdGreaterThanOrderById(
+                    lastId, PageRequest.of(0, EXPORT_PAGE_SIZE));
+            List<Asset> assets = new ArrayList<>(page.size());
+            for (ArchivedAsset archived : page) {
+                assets.add(archived.toAsset());
+            }
+            assetNoteService.attachNotes(assets);
+            for (Asset asset : assets) {
+                write(writer, asset, true);
+                context.itemDone();
+            }
+            rows += page.size();
+            if (page.size() < EXPORT_PAGE_SIZE) {
+                break;
+            }
+            lastId = page.get(page.size() - 1).getId();
+        }
+        return rows;
+    }
+
+    private static void write(Writer writer, Asset asset, boolean archived) throws IOException {
+        writer.write(CsvUtils.line(asset.getId(), asset.getName(), asset.getPurchaseDate(), asset.getConditionNotes(),
+                asset.getCategory().getId(), asset.getCategory().getName(), asset.getAssignmentStatus(),
+                asset.getAssignedTo() != null ? asset.getAssignedTo().getId() : null, asset.getRecoveredAt(), archived));
+        writer.write('\n');
+    }
+}
@@ -0,0 +1,295 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.AssetChanges;
+import com.example.demo.event.AssetChangedEvent;
+import com.example.demo.model.Asset;
+import com.example.demo.model.AssetTombstone;
+import com.example.demo.repository.AssetRepository;
+import com.example.demo.repository.AssetTombstoneRepository;
+import com.example.demo.tenant.TenantRegistry;
+import com.example.demo.tenant.TenantScoped;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Change feed of the asset table for delta sync clients.
+ *
+ * Every change to an asset is stamped with a change sequence number taken from a per-tenant counter,
+ * and every removal is recorded as a tombstone with its own number, so a client holding a sync token
+ * only downloads what changed after it. Numbers are allocated inside the writing transaction and may
+ * commit out of order; a token therefore never goes past the lowest number whose transaction is still
+ * open, so a change that commits late is not skipped. Tokens carry the start time of the server run
+ * that issued them, and a token of another run makes the client start over with a full sync, since
+ * the in-memory database does not outlive the run. A full sync is paged by asset ID; its tokens hold the
+ * number committed when it started next to the last ID sent, so changes made while it is paged through
+ * are picked up by the first delta sync after it. Tombstones are kept for a retention period only; a token
+ * older than the newest pruned tombstone starts a full sync as well.
+ */
+@Service
+public class AssetChangeFeed {
+
+    /**
+     * Maximum number of changed assets and removed IDs returned by one sync.
+     */
+    public static final int MAX_CHANGES_PER_SYNC = 10000;
+
+    private final AssetRepository assetRepository;
+    private final AssetTombstoneRepository assetTombstoneRepository;
+    private final TenantRegistry tenantRegistry;
+    private final TenantScoped<Sequence> sequences;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    /**
+     * Constructor-based dependency injection of repositories and the tenant registry.
+     *
+     * @param assetRepository Repository for Asset entity
+     * @param assetTombstoneRepository Repository for AssetTombstone entity
+     * @param tenantRegistry registry of the tenants, each of which gets its own counter
+     */
+    public AssetChangeFeed(AssetRepository assetRepository, AssetTombstoneRepository assetTombstoneRepository,
+                           TenantRegistry tenantRegistry) {
+        this.assetRepository = assetRepository;
+        this.assetTombstoneRepository = assetTombstoneRepository;
+        this.tenantRegistry = tenantRegistry;
+        this.sequences = new TenantScoped<>(tenantRegistry, () -> new Sequence(
+                Math.max(assetRepository.findMaxChangeSeq(), assetTombstoneRepository.findMaxChangeSeq())));
+    }
+
+    /**
+     * Resumes the counter of every tenant after its highest stored number once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        tenantRegistry.forEachTenant(sequences::get);
+    }
+
+    /**
+     * Allocates the next change sequence number of the current tenant.
+     * The number counts as pending until the current transaction completes.
+     *
+     * @return the change sequence number
+     * @throws IllegalStateException if no transaction is active
+     */
+    public long nextSequence() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Change sequence numbers must be allocated within a transaction");
+        }
+        Sequence sequence = sequences.get();
+        long changeSeq = sequence.allocate();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                sequence.complete(changeSeq);
+            }
+        });
+        return changeSeq;
+    }
+
+    /**
+     * Records a tombstone for every asset leaving the asset table, in the publisher's transaction.
+     *
+     * @param event the asset change
+     */
+    @EventListener
+    public void onAssetChanged(AssetChangedEvent event) {
+        if (event.getType() == AssetChangedEvent.Type.DELETED) {
+            assetTombstoneRepository.save(
+                    new AssetTombstone(null, event.getAssetId(), nextSequence(), LocalDateTime.now()));
+        }
+    }
+
+    /**
+     * Deletes the tombstones of the current tenant recorded before a cutoff. Tokens older than the newest
+     * deleted tombstone can no longer list every removal, so they make their client start over with a full sync.
+     *
+     * @param cutoff tombstones recorded before this time are deleted
+     * @return number of tombstones deleted
+     */
+    @Transactional
+    public int pruneTombstones(LocalDateTime cutoff) {
+        long upTo = assetTombstoneRepository.findMaxChangeSeqRemovedBefore(cutoff);
+        if (upTo == 0) {
+            return 0;
+        }
+        // Raised before the delete so that no sync reading concurrently misses the deleted removals
+        sequences.get().prune(upTo);
+        return assetTombstoneRepository.deleteUpTo(upTo);
+    }
+
+    /**
+     * Lists the assets changed and removed since a sync token.
+     * Without a valid token of this server run, or with a token older than the oldest retained tombstone,
+     * a full sync starts: its first page asks for a reset, and its pages list the assets in ID order until
+     * {@code hasMore} is false. A delta sync lists changes and removals together in change order; a bulk
+     * change sharing one number may be split across pages, the token then holding the last ID sent.
+     *
+     * @param since token returned by the previous sync, or null for a full sync
+     * @param limit maximum number of changed assets and removed IDs to return
+     * @return the changes and the token for the next sync
+     * @throws RuntimeException if the limit is not between 1 and {@link #MAX_CHANGES_PER_SYNC}
+     */
+    public AssetChanges getChanges(String since, int limit) {
+        if (limit < 1 || limit > MAX_CHANGES_PER_SYNC) {
+            throw new RuntimeException("Limit must be between 1 and " + MAX_CHANGES_PER_SYNC);
+        }
+        Sequence sequence = sequences.get();
+        long until = sequence.committedUpTo();
+        Cursor cursor = parseToken(since);
+        if (cursor == null || cursor.changeSeq > until || cursor.changeSeq < sequence.prunedUpTo()) {
+            return fullSyncPage(until, 0, true, limit);
+        }
+        if (cursor.kind == Cursor.FULL) {
+            return fullSyncPage(cursor.changeSeq, cursor.afterId, false, limit);
+        }
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<Asset> assets = assetRepository.findChangedAfter(cursor.changeSeq,
+                cursor.kind == Cursor.ASSET ? cursor.afterId : Long.MAX_VALUE, until, page);
+        List<AssetTombstone> tombstones = assetTombstoneRepository.findRemovedAfter(cursor.changeSeq,
+                cursor.kind == Cursor.ASSET ? 0 : cursor.kind == Cursor.REMOVED ? cursor.afterId : Long.MAX_VALUE,
+                until, page);
+        if (cursor.changeSeq < sequence.prunedUpTo()) {
+            // Tombstones were pruned while they were read
+            return fullSyncPage(until, 0, true, limit);
+        }
+        // Merge both streams by number; the assets of a number come before its removals
+        List<Asset> changed = new ArrayList<>();
+        List<Long> removed = new ArrayList<>();
+        int a = 0;
+        int t = 0;
+        String last = null;
+        while (changed.size() + removed.size() < limit && (a < assets.size() || t < tombstones.size())) {
+            if (t == tombstones.size()
+                    || a < assets.size() && assets.get(a).getChangeSeq() <= tombstones.get(t).getChangeSeq()) {
+                Asset asset = assets.get(a++);
+                changed.add(asset);
+                last = token(asset.getChangeSeq()) + ":asset:" + asset.getId();
+            } else {
+                AssetTombstone tombstone = tombstones.get(t++);
+                removed.add(tombstone.getAssetId());
+                last = token(tombstone.getChangeSeq()) + ":removed:" + tombstone.getId();
+            }
+        }
+        boolean hasMore = a < assets.size() || t < tombstones.size();
+        return new AssetChanges(hasMore ? last : token(until), false, hasMore, changed, removed);
+    }
+
+    /**
+     * Lists the next page of a full sync, keyset on asset ID. The number committed when the full sync started
+     * is held in its tokens, so the delta sync following the last page resumes from there.
+     */
+    private AssetChanges fullSyncPage(long until, long afterId, boolean reset, int limit) {
+        List<Asset> page = assetRepository.findByIdGreaterThanOrderById(afterId, PageRequest.of(0, limit + 1));
+        boolean hasMore = page.size() > limit;
+        if (!hasMore) {
+            return new AssetChanges(token(until), reset, false, page, Collections.emptyList());
+        }
+        page = new ArrayList<>(page.subList(0, limit));
+        return new AssetChanges(token(until) + ":full:" + page.get(limit - 1).getId(), reset, true, page,
+                Collections.emptyList());
+    }
+
+    private String token(long changeSeq) {
+        return epoch + ":" + changeSeq;
+    }
+
+    /**
+     * @return the position in a token of this server run, or null if the token is missing, malformed or stale
+     */
+    private Cursor parseToken(String token) {
+        if (token == null) {
+            return null;
+        }
+        String[] parts = token.split(":", -1);
+        if ((parts.length != 2 && parts.length != 4) || !parts[0].equals(epoch)) {
+            return null;
+        }
+        try {
+            long changeSeq = Long.parseLong(parts[1]);
+            if (parts.length == 2) {
+                return new Cursor(changeSeq, Cursor.BOUNDARY, 0);
+            }
+            int kind = Cursor.KINDS.indexOf(parts[2]);
+            return kind > Cursor.BOUNDARY ? new Cursor(changeSeq, kind, Long.parseLong(parts[3])) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Position of a client in the feed: the number it has synced up to and, in the middle of a page boundary,
+     * what the last ID sent was. During a full sync that is an asset ID in ID order; during a delta sync it is
+     * the last asset or tombstone ID sent with the number.
+     */
+    private static final class Cursor {
+
+        static final List<String> KINDS = Arrays.asList("", "full", "asset", "removed");
+        static final int BOUNDARY = 0;
+        static final int FULL = 1;
+        static final int ASSET = 2;
+        static final int REMOVED = 3;
+
+        final long changeSeq;
+        final int kind;
+        final long afterId;
+
+        Cursor(long changeSeq, int kind, long afterId) {
+            this.changeSeq = changeSeq;
+            this.kind = kind;
+            this.afterId = afterId;
+        }
+    }
+
+    /**
+     * Change sequence counter of one tenant with the numbers whose transactions are still open.
+     */
+    private static final class Sequence {
+
+        private long last;
+        private long prunedUpTo;
+        private final TreeSet<Long> pending = new TreeSet<>();
+
+        Sequence(long last) {
+            this.last = last;
+        }
+
+        synchronized long allocate() {
+            last++;
+            pending.add(last);
+            return last;
+        }
+
+        synchronized void complete(long changeSeq) {
+            pending.remove(changeSeq);
+        }
+
+        /**
+         * @return the highest number below which every allocated number has committed or rolled back
+         */
+        synchronized long committedUpTo() {
+            return pending.isEmpty() ? last : pending.first() - 1;
+        }
+
+        synchronized void prune(long changeSeq) {
+            prunedUpTo = Math.max(prunedUpTo, changeSeq);
+        }
+
+        /**
+         * @return the highest number whose tombstones may have been deleted
+         */
+        synchronized long prunedUpTo() {
+            return prunedUpTo;
+        }
+    }
+}
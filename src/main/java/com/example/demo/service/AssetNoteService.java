@@ -0,0 +1,211 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Asset;
+import com.example.demo.model.AssetNote;
+import com.example.demo.repository.AssetNoteRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Service storing the condition notes of assets in their own table.
+ *
+ * Notes are read only where a single asset is shown or exported, never by list, search or assignment
+ * queries. Notes whose UTF-8 form reaches the compression threshold are stored deflate-compressed when
+ * that makes them smaller; shorter notes are stored as they are.
+ */
+@Service
+public class AssetNoteService {
+
+    /**
+     * Maximum length of the condition notes of one asset, in characters.
+     */
+    public static final int MAX_NOTES_LENGTH = 65_536;
+
+    private final AssetNoteRepository assetNoteRepository;
+    private final int compressThreshold;
+
+    /**
+     * Constructor-based dependency injection of the notes repository and the compression threshold.
+     *
+     * @param assetNoteRepository Repository for AssetNote entity
+     * @param compressThreshold size in UTF-8 bytes from which notes are compressed
+     */
+    public AssetNoteService(AssetNoteRepository assetNoteRepository,
+                            @Value("${app.notes.compress-threshold:512}") int compressThreshold) {
+        this.assetNoteRepository = assetNoteRepository;
+        this.compressThreshold = compressThreshold;
+    }
+
+    /**
+     * @param assetId ID of the asset
+     * @return the notes of the asset, or null if it has none
+     */
+    public String getNotes(Long assetId) {
+        return assetNoteRepository.findById(assetId).map(AssetNoteService::decode).orElse(null);
+    }
+
+    /**
+     * Sets the notes of the given assets from one query; assets without notes are left unchanged.
+     *
+     * @param assets the assets, from either tier
+     */
+    public void attachNotes(Collection<Asset> assets) {
+        if (assets.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(assets.size());
+        for (Asset asset : assets) {
+            ids.add(asset.getId());
+        }
+        Map<Long, String> notes = new HashMap<>();
+        for (AssetNote note : assetNoteRepository.findAllById(ids)) {
+            notes.put(note.getAssetId(), decode(note));
+        }
+        for (Asset asset : assets) {
+            String assetNotes = notes.get(asset.getId());
+            if (assetNotes != null) {
+                asset.setConditionNotes(assetNotes);
+            }
+        }
+    }
+
+    /**
+     * Stores the notes of a newly created asset, which has none yet.
+     *
+     * @param assetId ID of the asset
+     * @param notes the notes, or null for none
+     * @throws RuntimeException if the notes are too long
+     */
+    public void addNotes(Long assetId, String notes) {
+        if (notes != null) {
+            assetNoteRepository.save(encode(assetId, notes).markNew());
+        }
+    }
+
+    /**
+     * Replaces the notes of an asset if they differ from the stored ones.
+     *
+     * @param assetId ID of the asset
+     * @param notes the new notes, or null to remove them
+     * @return whether the notes changed
+     * @throws RuntimeException if the notes are too long
+     */
+    public boolean setNotes(Long assetId, String notes) {
+        Optional<AssetNote> existing = assetNoteRepository.findById(assetId);
+        if (Objects.equals(existing.map(AssetNoteService::decode).orElse(null), notes)) {
+            return false;
+        }
+        if (notes == null) {
+            assetNoteRepository.delete(existing.get());
+        } else if (existing.isPresent()) {
+            AssetNote encoded = encode(assetId, notes);
+            existing.get().setContent(encoded.getContent());
+            existing.get().setCompressed(encoded.isCompressed());
+        } else {
+            assetNoteRepository.save(encode(assetId, notes).markNew());
+        }
+        return true;
+    }
+
+    /**
+     * Deletes the notes of the given assets in one statement.
+     *
+     * @param assetIds IDs of the assets
+     */
+    public void deleteNotes(Collection<Long> assetIds) {
+        if (!assetIds.isEmpty()) {
+            assetNoteRepository.deleteByAssetIdIn(assetIds);
+        }
+    }
+
+    /**
+     * Encodes notes for storage, compressing them if they reach the threshold and compression pays off.
+     *
+     * @param assetId ID of the asset
+     * @param notes the notes
+     * @return the unsaved notes entity
+     * @throws RuntimeException if the notes are too long
+     */
+    public AssetNote encode(Long assetId, String notes) {
+        if (notes.length() > MAX_NOTES_LENGTH) {
+            throw new RuntimeException("Condition notes must not exceed " + MAX_NOTES_LENGTH + " characters");
+        }
+        byte[] raw = notes.getBytes(StandardCharsets.UTF_8);
+        if (raw.length >= compressThreshold) {
+            byte[] deflated = deflate(raw);
+            if (deflated.length < raw.length) {
+                return new AssetNote(assetId, deflated, true);
+            }
+        }
+        return new AssetNote(assetId, raw, false);
+    }
+
+    /**
+     * @param note stored notes
+     * @return the notes as text
+     * @throws RuntimeException if compressed content is corrupt
+     */
+    public static String decode(AssetNote note) {
+        return decode(note.getContent(), note.isCompressed());
+    }
+
+    /**
+     * @param content stored bytes
+     * @param compressed whether the bytes are deflate-compressed
+     * @return the notes as text
+     * @throws RuntimeException if compressed content is corrupt
+     */
+    public static String decode(byte[] content, boolean compressed) {
+        return new String(compressed ? inflate(content) : content, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 2 + 16);
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] content) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(content);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(content.length * 4);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int length = inflater.inflate(buffer);
+                if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new RuntimeException("Compressed condition notes are truncated");
+                }
+                out.write(buffer, 0, length);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new RuntimeException("Compressed condition notes are corrupt", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
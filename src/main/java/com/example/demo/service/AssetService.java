@@ -1,26 +1,58 @@
 package com.example.demo.service;
 
+import com.example.demo.event.AssetChangedEvent;
 import com.example.demo.model.Employee;
+import com.example.demo.model.ArchivedAsset;
 import com.example.demo.model.Asset;
 import com.example.demo.model.Category;
+import com.example.demo.repository.ArchivedAssetRepository;
 import com.example.demo.repository.AssetRepository;
 import com.example.demo.repository.CategoryRepository;
 import com.example.demo.repository.EmployeeRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service class to handle business logic related to Asset management.
  * Includes operations to add, update, delete, assign, recover, and search assets.
+ * Assignment and recovery run in a transaction shared with the assignment history they record.
+ * Reads cover only the asset table unless archived assets are explicitly included.
+ * Every write stamps the asset with the next change sequence number of the change feed.
+ * Condition notes live in their own table and are only read when a single asset is looked up.
+ * Methods run in a read-only transaction unless they declare their own: Hibernate loads the entities
+ * read-only without dirty-checking snapshots, never flushes, and the JDBC connection is marked read-only.
  */
 @Service
+@Transactional(readOnly = true)
 public class AssetService {
 
+    /**
+     * Maximum number of IDs accepted by a multi-get.
+     */
+    public static final int MAX_IDS_PER_LOOKUP = 1000;
+
     private final AssetRepository assetRepository;
     private final CategoryRepository categoryRepository;
     private final EmployeeRepository employeeRepository;
+    private final ArchivedAssetRepository archivedAssetRepository;
+    private final AssetChangeFeed assetChangeFeed;
+    private final AssetNoteService assetNoteService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructor-based dependency injection for repositories.
@@ -28,11 +60,21 @@ public class AssetService {
      * @param assetRepository Repository for Asset entity
      * @param categoryRepository Repository for Category entity
      * @param employeeRepository Repository for Employee entity
+     * @param archivedAssetRepository Repository for ArchivedAsset entity, read when archived assets are included
+     * @param assetChangeFeed change feed allocating the change sequence numbers
+     * @param assetNoteService service storing the condition notes
+     * @param eventPublisher publisher used to announce asset changes
      */
-    public AssetService(AssetRepository assetRepository, CategoryRepository categoryRepository, EmployeeRepository employeeRepository) {
+    public AssetService(AssetRepository assetRepository, CategoryRepository categoryRepository, EmployeeRepository employeeRepository,
+                        ArchivedAssetRepository archivedAssetRepository, AssetChangeFeed assetChangeFeed,
+                        AssetNoteService assetNoteService, ApplicationEventPublisher eventPublisher) {
         this.assetRepository = assetRepository;
         this.categoryRepository = categoryRepository;
         this.employeeRepository = employeeRepository;
+        this.archivedAssetRepository = archivedAssetRepository;
+        this.assetChangeFeed = assetChangeFeed;
+        this.assetNoteService = assetNoteService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -45,6 +87,7 @@ public class AssetService {
      * @return the updated Asset object after assignment
      * @throws RuntimeException if asset or employee not found or asset already assigned
      */
+    @Transactional
     public Asset assignAssetToEmployee(Long assetId, Long employeeId) {
         Asset asset = assetRepository.findById(assetId)
                 .orElseThrow(() -> new RuntimeException("Asset not found with id " + assetId));
@@ -53,9 +96,9 @@ public class AssetService {
         }
         Employee employee = employeeRepository.findById(employeeId)
                 .orElseThrow(() -> new RuntimeException("Employee not found with id " + employeeId));
-        asset.setAssignmentStatus(Asset.AssignmentStatus.ASSIGNED);
+        applyStatus(asset, Asset.AssignmentStatus.ASSIGNED);
         asset.setAssignedTo(employee);
-        return assetRepository.save(asset);
+        return publish(AssetChangedEvent.Type.ASSIGNED, save(asset));
     }
 
     /**
@@ -66,15 +109,16 @@ public class AssetService {
      * @return the updated Asset object after recovery
      * @throws RuntimeException if asset not found or not currently assigned
      */
+    @Transactional
     public Asset recoverAsset(Long assetId) {
         Asset asset = assetRepository.findById(assetId)
                 .orElseThrow(() -> new RuntimeException("Asset not found with id " + assetId));
         if (asset.getAssignmentStatus() != Asset.AssignmentStatus.ASSIGNED) {
             throw new RuntimeException("Asset is not currently assigned");
         }
-        asset.setAssignmentStatus(Asset.AssignmentStatus.RECOVERED);
+        applyStatus(asset, Asset.AssignmentStatus.RECOVERED);
         asset.setAssignedTo(null);
-        return assetRepository.save(asset);
+        return publish(AssetChangedEvent.Type.RECOVERED, save(asset));
     }
 
     /**
@@ -84,6 +128,7 @@ public class AssetService {
      * @return the saved Asset object
      * @throws RuntimeException if the category is missing or not found
      */
+    @Transactional
     public Asset addAsset(Asset asset) {
         if (asset.getCategory() == null || asset.getCategory().getId() == null) {
             throw new RuntimeException("Category is required with a valid ID");
@@ -93,7 +138,9 @@ public class AssetService {
                 .orElseThrow(() -> new RuntimeException("Category not found with id " + categoryId));
         asset.setCategory(category);
         asset.setAssignmentStatus(Asset.AssignmentStatus.AVAILABLE);
-        return assetRepository.save(asset);
+        Asset saved = save(asset);
+        assetNoteService.addNotes(saved.getId(), saved.getConditionNotes());
+        return publish(AssetChangedEvent.Type.CREATED, saved);
     }
 
     /**
@@ -102,7 +149,18 @@ public class AssetService {
      * @return list of all Asset objects
      */
     public List<Asset> getAllAssets() {
-        return assetRepository.findAll();
+        return getAllAssets(false);
+    }
+
+    /**
+     * Retrieves all assets, optionally followed by the archived ones.
+     *
+     * @param includeArchived whether archived assets are included
+     * @return list of all Asset objects
+     */
+    public List<Asset> getAllAssets(boolean includeArchived) {
+        List<Asset> assets = assetRepository.findAll();
+        return includeArchived ? withArchived(assets, archivedAssetRepository.findAll()) : assets;
     }
 
     /**
@@ -112,49 +170,201 @@ public class AssetService {
      * @return list of matching Asset objects
      */
     public List<Asset> searchAssetsByName(String name) {
-        return assetRepository.findByNameContainingIgnoreCase(name);
+        return searchAssetsByName(name, false);
+    }
+
+    /**
+     * Searches assets by name with case-insensitive partial matching, optionally including archived assets.
+     *
+     * @param name substring to search within asset names
+     * @param includeArchived whether archived assets are included
+     * @return list of matching Asset objects
+     */
+    public List<Asset> searchAssetsByName(String name, boolean includeArchived) {
+        List<Asset> assets = assetRepository.findByNameContainingIgnoreCase(name);
+        return includeArchived
+                ? withArchived(assets, archivedAssetRepository.findByNameContainingIgnoreCase(name)) : assets;
     }
 
     /**
-     * Retrieves an asset by its ID.
+     * Retrieves the next page of assets in ID order, optionally filtered by name (keyset pagination).
+     *
+     * @param afterId only assets with a greater ID are returned
+     * @param name substring to search within asset names, or null or empty for all assets
+     * @param limit maximum number of assets returned
+     * @return list of Asset objects without their condition notes
+     */
+    public List<Asset> getAssetsAfter(long afterId, String name, int limit) {
+        PageRequest page = PageRequest.of(0, limit);
+        return name == null || name.isEmpty()
+                ? assetRepository.findByIdGreaterThanOrderById(afterId, page)
+                : assetRepository.findByNameContainingIgnoreCaseAndIdGreaterThanOrderById(name, afterId, page);
+    }
+
+    /**
+     * Retrieves an asset by its ID with its condition notes.
      *
      * @param id the ID of the asset
      * @return an Optional containing the Asset if found, empty otherwise
      */
     public Optional<Asset> getAssetById(Long id) {
-        return assetRepository.findById(id);
+        return getAssetById(id, false);
+    }
+
+    /**
+     * Retrieves an asset by its ID with its condition notes, falling back to the archive if requested.
+     *
+     * @param id the ID of the asset
+     * @param includeArchived whether the archive is searched when the asset table has no such asset
+     * @return an Optional containing the Asset if found, empty otherwise
+     */
+    public Optional<Asset> getAssetById(Long id, boolean includeArchived) {
+        Optional<Asset> asset = assetRepository.findById(id);
+        if (asset.isEmpty() && includeArchived) {
+            asset = archivedAssetRepository.findById(id).map(ArchivedAsset::toAsset);
+        }
+        asset.ifPresent(found -> found.setConditionNotes(assetNoteService.getNotes(id)));
+        return asset;
+    }
+
+    /**
+     * Retrieves several assets by ID with a single query.
+     *
+     * @param ids the IDs of the assets; duplicates are ignored
+     * @return the existing assets in the order of their first requested ID; missing IDs are skipped
+     * @throws RuntimeException if more than {@link #MAX_IDS_PER_LOOKUP} IDs are requested
+     */
+    public List<Asset> getAssetsByIds(Collection<Long> ids) {
+        return getAssetsByIds(ids, false);
+    }
+
+    /**
+     * Retrieves several assets by ID, looking up the IDs missing from the asset table in the archive if requested.
+     *
+     * @param ids the IDs of the assets; duplicates are ignored
+     * @param includeArchived whether the archive is searched for IDs missing from the asset table
+     * @return the existing assets in the order of their first requested ID; missing IDs are skipped
+     * @throws RuntimeException if more than {@link #MAX_IDS_PER_LOOKUP} IDs are requested
+     */
+    public List<Asset> getAssetsByIds(Collection<Long> ids, boolean includeArchived) {
+        Set<Long> distinct = new LinkedHashSet<>(ids);
+        if (distinct.size() > MAX_IDS_PER_LOOKUP) {
+            throw new RuntimeException("At most " + MAX_IDS_PER_LOOKUP + " assets can be requested at once");
+        }
+        Map<Long, Asset> found = new HashMap<>();
+        for (Asset asset : assetRepository.findAllById(distinct)) {
+            found.put(asset.getId(), asset);
+        }
+        if (includeArchived && found.size() < distinct.size()) {
+            Set<Long> missing = new LinkedHashSet<>(distinct);
+            missing.removeAll(found.keySet());
+            for (ArchivedAsset archived : archivedAssetRepository.findAllById(missing)) {
+                found.put(archived.getId(), archived.toAsset());
+            }
+        }
+        List<Asset> assets = new ArrayList<>(found.size());
+        for (Long id : distinct) {
+            Asset asset = found.get(id);
+            if (asset != null) {
+                assets.add(asset);
+            }
+        }
+        return assets;
     }
 
     /**
      * Updates an existing asset.
      * Validates asset existence and category association.
+     * Assignment state is not updatable, so that every change of it is recorded in the assignment history;
+     * use assign and recover instead. A status equal to the current one, or none, is accepted.
      *
      * @param id ID of the asset to update
      * @param updatedAsset Asset object containing updated data
      * @return the updated Asset object
-     * @throws RuntimeException if asset or category not found
+     * @throws RuntimeException if asset or category not found, or the update changes the assignment status
      */
+    @Transactional
     public Asset updateAsset(Long id, Asset updatedAsset) {
         return assetRepository.findById(id).map(asset -> {
+            Asset.AssignmentStatus status = updatedAsset.getAssignmentStatus();
+            if (status != null && status != asset.getAssignmentStatus()) {
+                throw new RuntimeException("Assignment status cannot be updated; use assign and recover instead");
+            }
             asset.setName(updatedAsset.getName());
             asset.setPurchaseDate(updatedAsset.getPurchaseDate());
+            assetNoteService.setNotes(id, updatedAsset.getConditionNotes());
             asset.setConditionNotes(updatedAsset.getConditionNotes());
 
             Long categoryId = updatedAsset.getCategory().getId();
             Category category = categoryRepository.findById(categoryId)
                     .orElseThrow(() -> new RuntimeException("Category not found with id " + categoryId));
             asset.setCategory(category);
-            asset.setAssignmentStatus(updatedAsset.getAssignmentStatus());
-            return assetRepository.save(asset);
+            return publish(AssetChangedEvent.Type.UPDATED, save(asset));
         }).orElseThrow(() -> new RuntimeException("Asset not found with id " + id));
     }
 
+    /**
+     * Applies a JSON Merge Patch (RFC 7386) to an asset.
+     * Only fields present in the patch are changed and a null value clears the field.
+     * The category is looked up only when the patch moves the asset to another category,
+     * and only columns whose value actually changed are written.
+     * Assignment state is not patchable; use assign and recover instead.
+     *
+     * @param id ID of the asset to patch
+     * @param patch field names mapped to their new values
+     * @return the patched Asset object
+     * @throws RuntimeException if asset or category not found, or the patch is invalid
+     */
+    @Transactional
+    public Asset patchAsset(Long id, Map<String, Object> patch) {
+        Asset asset = assetRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Asset not found with id " + id));
+        boolean changed = false;
+        for (Map.Entry<String, Object> field : patch.entrySet()) {
+            Object value = field.getValue();
+            switch (field.getKey()) {
+                case "name":
+                    if (!(value instanceof String)) {
+                        throw new RuntimeException("Asset name must be a non-null string");
+                    }
+                    changed |= !value.equals(asset.getName());
+                    asset.setName((String) value);
+                    break;
+                case "purchaseDate":
+                    LocalDate purchaseDate = value == null ? null : LocalDate.parse(value.toString());
+                    changed |= !Objects.equals(purchaseDate, asset.getPurchaseDate());
+                    asset.setPurchaseDate(purchaseDate);
+                    break;
+                case "conditionNotes":
+                    String conditionNotes = value == null ? null : value.toString();
+                    changed |= assetNoteService.setNotes(id, conditionNotes);
+                    asset.setConditionNotes(conditionNotes);
+                    break;
+                case "category":
+                    Long categoryId = patchedId(value);
+                    if (!categoryId.equals(asset.getCategory().getId())) {
+                        asset.setCategory(categoryRepository.findById(categoryId)
+                                .orElseThrow(() -> new RuntimeException("Category not found with id " + categoryId)));
+                        changed = true;
+                    }
+                    break;
+                default:
+                    throw new RuntimeException("Field cannot be patched: " + field.getKey());
+            }
+        }
+        if (!changed) {
+            return asset;
+        }
+        return publish(AssetChangedEvent.Type.UPDATED, save(asset));
+    }
+
     /**
      * Deletes an asset if it is not currently assigned.
      *
      * @param id ID of the asset to delete
      * @throws RuntimeException if asset not found or currently assigned
      */
+    @Transactional
     public void deleteAsset(Long id) {
         Asset asset = assetRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Asset not found with id " + id));
@@ -162,5 +372,53 @@ public class AssetService {
             throw new RuntimeException("Cannot delete asset that is assigned.");
         }
         assetRepository.delete(asset);
+        assetNoteService.deleteNotes(Collections.singletonList(id));
+        eventPublisher.publishEvent(AssetChangedEvent.deleted(id));
+    }
+
+    /**
+     * Sets the assignment status and keeps the recovery timestamp consistent with it.
+     */
+    private static void applyStatus(Asset asset, Asset.AssignmentStatus status) {
+        if (status == Asset.AssignmentStatus.RECOVERED) {
+            if (asset.getAssignmentStatus() != Asset.AssignmentStatus.RECOVERED || asset.getRecoveredAt() == null) {
+                asset.setRecoveredAt(LocalDateTime.now());
+            }
+        } else {
+            asset.setRecoveredAt(null);
+        }
+        asset.setAssignmentStatus(status);
+    }
+
+    /**
+     * Extracts the ID from a patched association given as {"id": ...}.
+     */
+    private static Long patchedId(Object value) {
+        if (value instanceof Map && ((Map<?, ?>) value).get("id") instanceof Number) {
+            return ((Number) ((Map<?, ?>) value).get("id")).longValue();
+        }
+        throw new RuntimeException("Category is required with a valid ID");
+    }
+
+    /**
+     * Appends archived assets, converted to assets, to a list read from the asset table.
+     */
+    private static List<Asset> withArchived(List<Asset> assets, List<ArchivedAsset> archived) {
+        List<Asset> all = new ArrayList<>(assets.size() + archived.size());
+        all.addAll(assets);
+        for (ArchivedAsset asset : archived) {
+            all.add(asset.toAsset());
+        }
+        return all;
+    }
+
+    private Asset save(Asset asset) {
+        asset.setChangeSeq(assetChangeFeed.nextSequence());
+        return assetRepository.save(asset);
+    }
+
+    private Asset publish(AssetChangedEvent.Type type, Asset asset) {
+        eventPublisher.publishEvent(AssetChangedEvent.of(type, asset));
+        return asset;
     }
 }
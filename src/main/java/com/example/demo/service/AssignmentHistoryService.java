@@ -0,0 +1,124 @@
+package com.example.demo.service;
+
+import com.example.demo.event.AssetChangedEvent;
+import com.example.demo.model.Asset;
+import com.example.demo.model.AssignmentHistory;
+import com.example.demo.repository.AssignmentHistoryRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service class maintaining and querying the assignment history of assets.
+ * History rows are written from asset change events while the assigning or recovering
+ * transaction is still open, so a change and its history commit or roll back together.
+ */
+@Service
+public class AssignmentHistoryService {
+
+    private final AssignmentHistoryRepository historyRepository;
+
+    /**
+     * Constructor-based dependency injection of the history repository.
+     *
+     * @param historyRepository Repository for AssignmentHistory entity
+     */
+    public AssignmentHistoryService(AssignmentHistoryRepository historyRepository) {
+        this.historyRepository = historyRepository;
+    }
+
+    /**
+     * Opens a period when an asset is assigned and closes it when the asset is recovered.
+     * Runs synchronously in the publisher's transaction.
+     *
+     * @param event the asset change
+     */
+    @EventListener
+    public void onAssetChanged(AssetChangedEvent event) {
+        if (event.getType() == AssetChangedEvent.Type.ASSIGNED) {
+            Asset asset = event.getAsset();
+            historyRepository.save(new AssignmentHistory(null, asset.getId(), asset.getAssignedTo().getId(),
+                    LocalDateTime.now(), null));
+        } else if (event.getType() == AssetChangedEvent.Type.RECOVERED) {
+            LocalDateTime recoveredAt = event.getAsset().getRecoveredAt();
+            historyRepository.closeOpenPeriod(event.getAssetId(), recoveredAt != null ? recoveredAt : LocalDateTime.now());
+        }
+    }
+
+    /**
+     * Finds who held an asset at the given instant.
+     *
+     * @param assetId ID of the asset
+     * @param at the instant to look up
+     * @return the period covering the instant, empty if the asset was not assigned then
+     */
+    public Optional<AssignmentHistory> findAssetHolderAt(Long assetId, LocalDateTime at) {
+        return historyRepository.findFirstByAssetIdAndValidFromLessThanEqualOrderByValidFromDesc(assetId, at)
+                .filter(period -> period.covers(at));
+    }
+
+    /**
+     * Finds the periods of an asset that overlap the given range, in start order.
+     *
+     * @param assetId ID of the asset
+     * @param from start of the range (inclusive)
+     * @param to end of the range (exclusive)
+     * @return list of periods
+     * @throws RuntimeException if the range is empty
+     */
+    public List<AssignmentHistory> findAssetHistory(Long assetId, LocalDateTime from, LocalDateTime to) {
+        checkRange(from, to);
+        List<AssignmentHistory> periods = new ArrayList<>();
+        findAssetHolderAt(assetId, from).ifPresent(periods::add);
+        periods.addAll(historyRepository.findAssetPeriodsStartingBetween(assetId, from, to));
+        return periods;
+    }
+
+    /**
+     * Finds the assets an employee held at the given instant.
+     *
+     * @param employeeId ID of the employee
+     * @param at the instant to look up
+     * @return list of periods covering the instant
+     */
+    public List<AssignmentHistory> findEmployeeHoldingsAt(Long employeeId, LocalDateTime at) {
+        return findEmployeePeriodsOverlapping(employeeId, at, at.plusNanos(1));
+    }
+
+    /**
+     * Finds every asset an employee held during the given range, in start order.
+     *
+     * @param employeeId ID of the employee
+     * @param from start of the range (inclusive)
+     * @param to end of the range (exclusive)
+     * @return list of periods
+     * @throws RuntimeException if the range is empty
+     */
+    public List<AssignmentHistory> findEmployeeHistory(Long employeeId, LocalDateTime from, LocalDateTime to) {
+        checkRange(from, to);
+        return findEmployeePeriodsOverlapping(employeeId, from, to);
+    }
+
+    /**
+     * Merges the closed and the open periods of an employee overlapping a range, each found from the
+     * (employeeId, validTo) index, in start order.
+     */
+    private List<AssignmentHistory> findEmployeePeriodsOverlapping(Long employeeId, LocalDateTime from, LocalDateTime to) {
+        List<AssignmentHistory> periods = new ArrayList<>(
+                historyRepository.findEmployeeClosedPeriodsOverlapping(employeeId, from, to));
+        periods.addAll(historyRepository.findEmployeeOpenPeriodsStartingBefore(employeeId, to));
+        periods.sort(Comparator.comparing(AssignmentHistory::getValidFrom));
+        return periods;
+    }
+
+    private static void checkRange(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new RuntimeException("Range start must be before range end");
+        }
+    }
+}
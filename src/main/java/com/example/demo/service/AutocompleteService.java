@@ -0,0 +1,211 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.Suggestion;
+import com.example.demo.event.AssetChangedEvent;
+import com.example.demo.event.CategoryChangedEvent;
+import com.example.demo.event.EmployeeChangedEvent;
+import com.example.demo.index.PrefixIndex;
+import com.example.demo.repository.AssetRepository;
+import com.example.demo.repository.CategoryRepository;
+import com.example.demo.repository.EmployeeRepository;
+import com.example.demo.repository.NameView;
+import com.example.demo.tenant.TenantRegistry;
+import com.example.demo.tenant.TenantScoped;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Service providing typeahead completions for asset, category and employee names.
+ * Answers from in-memory prefix indexes that are loaded once at startup and then maintained
+ * incrementally from the change events published by the other services.
+ * Falls back to a database query, which scans the name column, for any index that has exceeded its
+ * memory budget. Deletions arriving while an index is loaded are remembered, so the load does not bring
+ * back names removed after it read them.
+ */
+@Service
+public class AutocompleteService {
+
+    private static final Logger log = LoggerFactory.getLogger(AutocompleteService.class);
+
+    private final AssetRepository assetRepository;
+    private final CategoryRepository categoryRepository;
+    private final EmployeeRepository employeeRepository;
+    private final int maxLimit;
+
+    private final TenantRegistry tenantRegistry;
+    private final TenantScoped<Map<Suggestion.Type, PrefixIndex>> indexes;
+
+    /**
+     * Constructor-based dependency injection for repositories and index settings.
+     *
+     * @param assetRepository Repository for Asset entity
+     * @param categoryRepository Repository for Category entity
+     * @param employeeRepository Repository for Employee entity
+     * @param tenantRegistry registry of the tenants, each of which gets its own indexes
+     * @param maxBytesPerIndex memory budget of each prefix index in bytes
+     * @param maxLimit upper bound for the number of suggestions per request
+     */
+    public AutocompleteService(AssetRepository assetRepository,
+                               CategoryRepository categoryRepository,
+                               EmployeeRepository employeeRepository,
+                               TenantRegistry tenantRegistry,
+                               @Value("${app.autocomplete.max-bytes-per-index:16777216}") long maxBytesPerIndex,
+                               @Value("${app.autocomplete.max-limit:50}") int maxLimit) {
+        this.assetRepository = assetRepository;
+        this.categoryRepository = categoryRepository;
+        this.employeeRepository = employeeRepository;
+        this.maxLimit = maxLimit;
+        this.tenantRegistry = tenantRegistry;
+        this.indexes = new TenantScoped<>(tenantRegistry, () -> {
+            Map<Suggestion.Type, PrefixIndex> tenantIndexes = new EnumMap<>(Suggestion.Type.class);
+            for (Suggestion.Type type : Suggestion.Type.values()) {
+                tenantIndexes.put(type, new PrefixIndex(type, maxBytesPerIndex));
+            }
+            return tenantIndexes;
+        });
+    }
+
+    /**
+     * Loads all names of every tenant into its indexes once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        tenantRegistry.forEachTenant(() -> {
+            load(Suggestion.Type.ASSET, assetRepository::findAllNames);
+            load(Suggestion.Type.CATEGORY, categoryRepository::findAllNames);
+            load(Suggestion.Type.EMPLOYEE, employeeRepository::findAllNames);
+        });
+    }
+
+    /**
+     * Returns the first completions for a prefix in name order.
+     *
+     * @param prefix the text typed so far
+     * @param type kind of entity to complete, or null for all kinds
+     * @param limit maximum number of suggestions, capped by the configured maximum
+     * @return list of suggestions
+     */
+    public List<Suggestion> complete(String prefix, Suggestion.Type type, int limit) {
+        int k = Math.max(0, Math.min(limit, maxLimit));
+        if (type != null) {
+            return completeType(type, prefix, k);
+        }
+        List<Suggestion> merged = new ArrayList<>();
+        for (Suggestion.Type t : Suggestion.Type.values()) {
+            merged.addAll(completeType(t, prefix, k));
+        }
+        return merged.stream()
+                .sorted(Comparator.comparing(s -> s.getName().toLowerCase(Locale.ROOT)))
+                .limit(k)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Keeps the asset index in sync after each committed asset change.
+     *
+     * @param event the asset change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAssetChanged(AssetChangedEvent event) {
+        PrefixIndex index = indexes.get().get(Suggestion.Type.ASSET);
+        if (event.getAsset() == null) {
+            index.remove(event.getAssetId());
+        } else {
+            index.put(event.getAssetId(), event.getAsset().getName());
+        }
+    }
+
+    /**
+     * Keeps the category index in sync after each committed category change.
+     *
+     * @param event the category change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCategoryChanged(CategoryChangedEvent event) {
+        PrefixIndex index = indexes.get().get(Suggestion.Type.CATEGORY);
+        if (event.isDeleted()) {
+            index.remove(event.getCategoryId());
+        } else {
+            index.put(event.getCategoryId(), event.getCategory().getName());
+        }
+    }
+
+    /**
+     * Keeps the employee index in sync after each committed employee change.
+     *
+     * @param event the employee change
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeChanged(EmployeeChangedEvent event) {
+        PrefixIndex index = indexes.get().get(Suggestion.Type.EMPLOYEE);
+        if (event.isDeleted()) {
+            index.remove(event.getEmployeeId());
+        } else {
+            index.put(event.getEmployeeId(), event.getEmployee().getFullName());
+        }
+    }
+
+    private List<Suggestion> completeType(Suggestion.Type type, String prefix, int limit) {
+        PrefixIndex index = indexes.get().get(type);
+        if (index.isAvailable()) {
+            return index.complete(prefix, limit);
+        }
+        if (limit == 0) {
+            return new ArrayList<>();
+        }
+        String pattern = escapeLike(prefix.toLowerCase(Locale.ROOT)) + "%";
+        PageRequest page = PageRequest.of(0, limit);
+        List<NameView> names;
+        switch (type) {
+            case ASSET:
+                names = assetRepository.findNamesLike(pattern, page);
+                break;
+            case CATEGORY:
+                names = categoryRepository.findNamesLike(pattern, page);
+                break;
+            default:
+                names = employeeRepository.findNamesLike(pattern, page);
+        }
+        return names.stream()
+                .map(n -> new Suggestion(type, n.getId(), n.getName()))
+                .collect(Collectors.toList());
+    }
+
+    private void load(Suggestion.Type type, Supplier<List<NameView>> reader) {
+        PrefixIndex index = indexes.get().get(type);
+        index.beginLoad();
+        try {
+            for (NameView name : reader.get()) {
+                index.putIfAbsent(name.getId(), name.getName());
+            }
+        } finally {
+            index.endLoad();
+        }
+        if (index.isAvailable()) {
+            log.info("Autocomplete index for {} of tenant {} loaded with {} entries (~{} bytes)",
+                    type, tenantRegistry.currentTenantId(), index.size(), index.getEstimatedBytes());
+        } else {
+            log.warn("Autocomplete index for {} of tenant {} exceeded its memory budget, falling back to database queries",
+                    type, tenantRegistry.currentTenantId());
+        }
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
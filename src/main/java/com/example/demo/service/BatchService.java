@@ -0,0 +1,266 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.BatchOperation;
+import com.example.demo.dto.BatchOperationResult;
+import com.example.demo.dto.BatchRequest;
+import com.example.demo.dto.BatchResult;
+import com.example.demo.model.Asset;
+import com.example.demo.model.Category;
+import com.example.demo.model.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service running an ordered list of employee, category and asset operations in one request.
+ * In atomic mode all operations share one transaction, so the batch also saves the per-request
+ * transaction overhead; otherwise every operation commits on its own.
+ */
+@Service
+public class BatchService {
+
+    private static final String REFERENCE_PREFIX = "$";
+
+    private final EmployeeService employeeService;
+    private final CategoryService categoryService;
+    private final AssetService assetService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final int maxOperations;
+
+    /**
+     * Constructor-based dependency injection of the services and batch settings.
+     *
+     * @param employeeService the service handling employees
+     * @param categoryService the service handling categories
+     * @param assetService the service handling assets
+     * @param transactionManager transaction manager used for the batch or per-operation transactions
+     * @param objectMapper mapper converting operation bodies to entities
+     * @param maxOperations maximum number of operations per batch
+     */
+    public BatchService(EmployeeService employeeService,
+                        CategoryService categoryService,
+                        AssetService assetService,
+                        PlatformTransactionManager transactionManager,
+                        ObjectMapper objectMapper,
+                        @Value("${app.batch.max-operations:100}") int maxOperations) {
+        this.employeeService = employeeService;
+        this.categoryService = categoryService;
+        this.assetService = assetService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.maxOperations = maxOperations;
+    }
+
+    /**
+     * Runs the operations of a batch in order.
+     * In atomic mode the first failure rolls back all operations and the rest are skipped.
+     *
+     * @param request the batch
+     * @return the outcome of every operation
+     * @throws RuntimeException if the batch is empty or has too many operations
+     */
+    public BatchResult execute(BatchRequest request) {
+        List<BatchOperation> operations = request.getOperations();
+        if (operations == null || operations.isEmpty() || operations.size() > maxOperations) {
+            throw new RuntimeException("A batch must contain 1 to " + maxOperations + " operations");
+        }
+        return request.isAtomic() ? executeAtomic(operations) : executeIndependently(operations);
+    }
+
+    private BatchResult executeAtomic(List<BatchOperation> operations) {
+        List<BatchOperationResult> results = new ArrayList<>();
+        Long[] ids = new Long[operations.size()];
+        String error = null;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = 0; i < operations.size(); i++) {
+                    BatchOperation operation = operations.get(i);
+                    try {
+                        results.add(apply(i, operation, ids));
+                    } catch (RuntimeException e) {
+                        status.setRollbackOnly();
+                        results.add(failed(i, operation, e));
+                        return;
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            // Deferred inserts and constraint checks can still fail when the transaction commits
+            error = message(e);
+        }
+        boolean succeeded = error == null && results.size() == operations.size()
+                && results.get(results.size() - 1).getStatus() == BatchOperationResult.Status.OK;
+        if (succeeded) {
+            return new BatchResult(true, true, null, results);
+        }
+        List<BatchOperationResult> rolledBack = new ArrayList<>();
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperation.Type op = operations.get(i).getOp();
+            if (i >= results.size()) {
+                rolledBack.add(new BatchOperationResult(i, op, BatchOperationResult.Status.SKIPPED, null, null, null));
+            } else if (results.get(i).getStatus() == BatchOperationResult.Status.OK) {
+                rolledBack.add(new BatchOperationResult(i, op, BatchOperationResult.Status.ROLLED_BACK, null, null, null));
+            } else {
+                rolledBack.add(results.get(i));
+            }
+        }
+        return new BatchResult(true, false, error, rolledBack);
+    }
+
+    private BatchResult executeIndependently(List<BatchOperation> operations) {
+        List<BatchOperationResult> results = new ArrayList<>();
+        Long[] ids = new Long[operations.size()];
+        boolean succeeded = true;
+        for (int i = 0; i < operations.size(); i++) {
+            int index = i;
+            BatchOperation operation = operations.get(i);
+            try {
+                results.add(transactionTemplate.execute(status -> apply(index, operation, ids)));
+            } catch (RuntimeException e) {
+                ids[i] = null;
+                results.add(failed(i, operation, e));
+                succeeded = false;
+            }
+        }
+        return new BatchResult(false, succeeded, null, results);
+    }
+
+    private BatchOperationResult apply(int index, BatchOperation operation, Long[] ids) {
+        if (operation.getOp() == null) {
+            throw new RuntimeException("Operation type is required");
+        }
+        Long id;
+        Object result;
+        switch (operation.getOp()) {
+            case CREATE_EMPLOYEE: {
+                Employee employee = employeeService.createEmployee(body(operation, index, ids, Employee.class));
+                id = employee.getId();
+                result = employee;
+                break;
+            }
+            case CREATE_CATEGORY: {
+                Category category = categoryService.addCategory(body(operation, index, ids, Category.class));
+                id = category.getId();
+                result = category;
+                break;
+            }
+            case UPDATE_CATEGORY: {
+                Category category = categoryService.updateCategory(
+                        reference("categoryId", operation.getCategoryId(), index, ids),
+                        body(operation, index, ids, Category.class));
+                id = category.getId();
+                result = category;
+                break;
+            }
+            case DELETE_CATEGORY:
+                id = reference("categoryId", operation.getCategoryId(), index, ids);
+                categoryService.deleteCategory(id);
+                result = null;
+                break;
+            case CREATE_ASSET:
+                result = assetService.addAsset(body(operation, index, ids, Asset.class));
+                id = ((Asset) result).getId();
+                break;
+            case UPDATE_ASSET:
+                result = assetService.updateAsset(reference("assetId", operation.getAssetId(), index, ids),
+                        body(operation, index, ids, Asset.class));
+                id = ((Asset) result).getId();
+                break;
+            case PATCH_ASSET:
+                result = assetService.patchAsset(reference("assetId", operation.getAssetId(), index, ids),
+                        resolveBody(operation, index, ids));
+                id = ((Asset) result).getId();
+                break;
+            case DELETE_ASSET:
+                id = reference("assetId", operation.getAssetId(), index, ids);
+                assetService.deleteAsset(id);
+                result = null;
+                break;
+            case ASSIGN_ASSET:
+                result = assetService.assignAssetToEmployee(reference("assetId", operation.getAssetId(), index, ids),
+                        reference("employeeId", operation.getEmployeeId(), index, ids));
+                id = ((Asset) result).getId();
+                break;
+            case RECOVER_ASSET:
+                result = assetService.recoverAsset(reference("assetId", operation.getAssetId(), index, ids));
+                id = ((Asset) result).getId();
+                break;
+            default:
+                throw new RuntimeException("Unsupported operation " + operation.getOp());
+        }
+        ids[index] = id;
+        return new BatchOperationResult(index, operation.getOp(), BatchOperationResult.Status.OK, id, result, null);
+    }
+
+    private <T> T body(BatchOperation operation, int index, Long[] ids, Class<T> type) {
+        return objectMapper.convertValue(resolveBody(operation, index, ids), type);
+    }
+
+    private Map<String, Object> resolveBody(BatchOperation operation, int index, Long[] ids) {
+        if (operation.getBody() == null) {
+            throw new RuntimeException("Operation " + operation.getOp() + " requires a body");
+        }
+        return resolveMap(operation.getBody(), index, ids);
+    }
+
+    /**
+     * Copies a body, replacing references in {@code id} and {@code ...Id} fields at any depth.
+     */
+    private Map<String, Object> resolveMap(Map<String, Object> map, int index, Long[] ids) {
+        Map<String, Object> resolved = new LinkedHashMap<>();
+        map.forEach((key, value) -> {
+            if (value instanceof Map) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> nested = (Map<String, Object>) value;
+                value = resolveMap(nested, index, ids);
+            } else if (value instanceof String && ((String) value).startsWith(REFERENCE_PREFIX)
+                    && (key.equals("id") || key.endsWith("Id"))) {
+                value = reference(key, (String) value, index, ids);
+            }
+            resolved.put(key, value);
+        });
+        return resolved;
+    }
+
+    /**
+     * Resolves an ID argument that is either a literal ID or a reference to an earlier operation.
+     */
+    private static Long reference(String name, String value, int index, Long[] ids) {
+        if (value == null || value.isEmpty()) {
+            throw new RuntimeException(name + " is required");
+        }
+        try {
+            if (!value.startsWith(REFERENCE_PREFIX)) {
+                return Long.valueOf(value);
+            }
+            int target = Integer.parseInt(value.substring(REFERENCE_PREFIX.length()));
+            if (target < 0 || target >= index || ids[target] == null) {
+                throw new RuntimeException(name + " refers to operation " + target + ", which has not produced an ID");
+            }
+            return ids[target];
+        } catch (NumberFormatException e) {
+            throw new RuntimeException(name + " must be an ID or a reference like $0, not " + value);
+        }
+    }
+
+    private static BatchOperationResult failed(int index, BatchOperation operation, RuntimeException e) {
+        return new BatchOperationResult(index, operation.getOp(), BatchOperationResult.Status.FAILED, null, null,
+                message(e));
+    }
+
+    private static String message(Throwable e) {
+        Throwable cause = e;
+        while (cause.getMessage() == null && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+}
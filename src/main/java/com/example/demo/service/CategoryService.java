@@ -1,28 +1,52 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.CategoryMergeResult;
+import com.example.demo.event.CategoriesMergedEvent;
+import com.example.demo.event.CategoryChangedEvent;
 import com.example.demo.model.Category;
+import com.example.demo.repository.ArchivedAssetRepository;
+import com.example.demo.repository.AssetRepository;
 import com.example.demo.repository.CategoryRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * Service class to handle business logic related to Category management.
- * Provides operations to add, retrieve, update, and delete categories.
+ * Provides operations to add, retrieve, update, delete, and merge categories.
+ * Lookups run in read-only transactions; every write declares a read-write one.
  */
 @Service
+@Transactional(readOnly = true)
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final AssetRepository assetRepository;
+    private final ArchivedAssetRepository archivedAssetRepository;
+    private final AssetChangeFeed assetChangeFeed;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructor for dependency injection of CategoryRepository.
      *
      * @param categoryRepository the repository used to manage Category entities
+     * @param assetRepository the repository used to check and move the assets of a category
+     * @param archivedAssetRepository the repository used to check and move the archived assets of a category
+     * @param assetChangeFeed change feed stamping the moved assets
+     * @param eventPublisher publisher used to announce category changes
      */
-    public CategoryService(CategoryRepository categoryRepository) {
+    public CategoryService(CategoryRepository categoryRepository, AssetRepository assetRepository,
+                           ArchivedAssetRepository archivedAssetRepository, AssetChangeFeed assetChangeFeed,
+                           ApplicationEventPublisher eventPublisher) {
         this.categoryRepository = categoryRepository;
+        this.assetRepository = assetRepository;
+        this.archivedAssetRepository = archivedAssetRepository;
+        this.assetChangeFeed = assetChangeFeed;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -32,9 +56,10 @@ public class CategoryService {
      * @param category the Category object to be added
      * @return the saved Category object
      */
+    @Transactional
     public Category addCategory(Category category) {
         // Validation can be added if needed
-        return categoryRepository.save(category);
+        return publish(categoryRepository.save(category));
     }
 
     /**
@@ -64,20 +89,59 @@ public class CategoryService {
      * @return the updated Category object
      * @throws RuntimeException if the category with the given ID does not exist
      */
+    @Transactional
     public Category updateCategory(Long id, Category updatedCategory) {
         return categoryRepository.findById(id).map(category -> {
             category.setName(updatedCategory.getName());
             category.setDescription(updatedCategory.getDescription());
-            return categoryRepository.save(category);
+            return publish(categoryRepository.save(category));
         }).orElseThrow(() -> new RuntimeException("Category not found with id " + id));
     }
 
     /**
-     * Deletes a category by its ID.
+     * Deletes a category by its ID if no asset, archived or not, belongs to it.
      *
      * @param id the ID of the category to delete
+     * @throws RuntimeException if assets still belong to the category
      */
+    @Transactional
     public void deleteCategory(Long id) {
+        if (assetRepository.existsByCategoryId(id) || archivedAssetRepository.existsByCategoryId(id)) {
+            throw new RuntimeException("Cannot delete category that has assets; merge it into another category instead.");
+        }
         categoryRepository.deleteById(id);
+        eventPublisher.publishEvent(CategoryChangedEvent.deleted(id));
+    }
+
+    /**
+     * Moves every asset of the source category to the target category with one bulk update per tier,
+     * then deletes the source category, all in one transaction.
+     *
+     * @param sourceId ID of the category to merge and delete
+     * @param targetId ID of the category receiving the assets
+     * @return the merge outcome with the number of moved assets, archived ones included
+     * @throws RuntimeException if either category is not found or both are the same
+     */
+    @Transactional
+    public CategoryMergeResult mergeCategory(Long sourceId, Long targetId) {
+        if (sourceId.equals(targetId)) {
+            throw new RuntimeException("Cannot merge a category into itself");
+        }
+        Category source = categoryRepository.findById(sourceId)
+                .orElseThrow(() -> new RuntimeException("Category not found with id " + sourceId));
+        Category target = categoryRepository.findById(targetId)
+                .orElseThrow(() -> new RuntimeException("Category not found with id " + targetId));
+        int moved = assetRepository.moveToCategory(source, target, assetChangeFeed.nextSequence());
+        int movedArchived = archivedAssetRepository.moveToCategory(source, target);
+        // The bulk update cleared the persistence context; delete by ID without reloading the source
+        categoryRepository.deleteInBatch(Collections.singletonList(source));
+        eventPublisher.publishEvent(new CategoriesMergedEvent(sourceId, targetId, moved));
+        eventPublisher.publishEvent(CategoryChangedEvent.deleted(sourceId));
+        return new CategoryMergeResult(sourceId, targetId, moved + movedArchived);
+    }
+
+    private Category publish(Category category) {
+        eventPublisher.publishEvent(CategoryChangedEvent.saved(category));
+        return category;
     }
 }
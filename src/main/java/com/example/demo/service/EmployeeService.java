@@ -1,36 +1,49 @@
 package com.example.demo.service;
 
+import com.example.demo.event.EmployeeChangedEvent;
 import com.example.demo.model.Employee;
 import com.example.demo.repository.EmployeeRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 /**
  * Service class to handle basic Employee operations.
+ * Listing runs in a read-only transaction, so the loaded employees are neither snapshotted nor flushed.
  */
 @Service
+@Transactional(readOnly = true)
 public class EmployeeService {
 
     private final EmployeeRepository employeeRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Constructor for dependency injection of EmployeeRepository.
      * 
      * @param employeeRepository repository to manage Employee entities
+     * @param eventPublisher publisher used to announce employee changes
      */
-    public EmployeeService(EmployeeRepository employeeRepository) {
+    public EmployeeService(EmployeeRepository employeeRepository, ApplicationEventPublisher eventPublisher) {
         this.employeeRepository = employeeRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
      * Creates and saves a new Employee.
+     * The employee is inserted directly; an ID that is already taken fails with a constraint violation
+     * before the change is announced.
      * 
      * @param employee the Employee object to create
      * @return the saved Employee
      */
+    @Transactional
     public Employee createEmployee(Employee employee) {
-        return employeeRepository.save(employee);
+        Employee saved = employeeRepository.saveAndFlush(employee.markNew());
+        eventPublisher.publishEvent(EmployeeChangedEvent.saved(saved));
+        return saved;
     }
 
     /**
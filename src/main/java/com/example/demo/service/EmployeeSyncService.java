@@ -0,0 +1,225 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.EmployeeSyncResult;
+import com.example.demo.event.EmployeeChangedEvent;
+import com.example.demo.model.Employee;
+import com.example.demo.util.CsvUtils;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Service class synchronising the employee table with a full export of the HR directory.
+ *
+ * Records are streamed from the request and processed in batches, each in its own transaction.
+ * A batch loads the stored rows for its IDs with one query, skips records that are unchanged,
+ * and writes the rest with one JDBC batch insert and one JDBC batch update, bypassing the
+ * per-entity SELECT that merging entities with assigned IDs would cost.
+ * Employees missing from the export are left untouched.
+ */
+@Service
+public class EmployeeSyncService {
+
+    private static final String SELECT_SQL = "select id, full_name, designation from employee where id in (:ids)";
+    private static final String INSERT_SQL = "insert into employee (id, full_name, designation) values (?, ?, ?)";
+    private static final String UPDATE_SQL = "update employee set full_name = ?, designation = ? where id = ?";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    /**
+     * Constructor-based dependency injection of collaborators and sync settings.
+     *
+     * @param jdbcTemplate template used for the batched reads and writes
+     * @param transactionManager transaction manager used for the per-batch transactions
+     * @param eventPublisher publisher used to announce inserted and updated employees
+     * @param objectMapper mapper reading JSON records
+     * @param batchSize number of records read, compared and written per batch
+     */
+    public EmployeeSyncService(NamedParameterJdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               ApplicationEventPublisher eventPublisher,
+                               ObjectMapper objectMapper,
+                               @Value("${app.employee-sync.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Synchronises employees from CSV with a header line naming the columns id, fullName and designation.
+     *
+     * @param reader the CSV input
+     * @return counts of received, inserted, updated and unchanged employees
+     * @throws IOException if the input cannot be read
+     * @throws RuntimeException if the header or a record is invalid
+     */
+    public EmployeeSyncResult syncCsv(Reader reader) throws IOException {
+        BufferedReader lines = new BufferedReader(reader);
+        String header = lines.readLine();
+        if (header == null) {
+            return new EmployeeSyncResult(0, 0, 0, 0);
+        }
+        List<String> columns = new ArrayList<>();
+        for (String column : CsvUtils.parseLine(header)) {
+            columns.add(column.trim().toLowerCase(Locale.ROOT));
+        }
+        int idColumn = columns.indexOf("id");
+        int nameColumn = columns.indexOf("fullname");
+        int designationColumn = columns.indexOf("designation");
+        if (idColumn < 0 || nameColumn < 0) {
+            throw new RuntimeException("CSV header must contain the columns id and fullName");
+        }
+
+        Batcher batcher = new Batcher();
+        String line;
+        while ((line = lines.readLine()) != null) {
+            if (line.isEmpty()) {
+                continue;
+            }
+            List<String> fields = CsvUtils.parseLine(line);
+            Long id;
+            try {
+                id = Long.valueOf(field(fields, idColumn));
+            } catch (NumberFormatException e) {
+                throw new RuntimeException("Invalid employee id in record " + (batcher.received + 1));
+            }
+            batcher.add(new Employee(id, field(fields, nameColumn), field(fields, designationColumn)));
+        }
+        return batcher.finish();
+    }
+
+    /**
+     * Synchronises employees from a JSON array of employee objects.
+     *
+     * @param in the JSON input
+     * @return counts of received, inserted, updated and unchanged employees
+     * @throws IOException if the input cannot be read or is not a JSON array
+     * @throws RuntimeException if a record is invalid
+     */
+    public EmployeeSyncResult syncJson(InputStream in) throws IOException {
+        Batcher batcher = new Batcher();
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new RuntimeException("Expected a JSON array of employees");
+            }
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                batcher.add(objectMapper.readValue(parser, Employee.class));
+            }
+        }
+        return batcher.finish();
+    }
+
+    private static String field(List<String> fields, int index) {
+        if (index < 0 || index >= fields.size() || fields.get(index).isEmpty()) {
+            return null;
+        }
+        return fields.get(index);
+    }
+
+    private static boolean sameDetails(Employee a, Employee b) {
+        return Objects.equals(a.getFullName(), b.getFullName()) && Objects.equals(a.getDesignation(), b.getDesignation());
+    }
+
+    /**
+     * Accumulates records into batches and keeps the running counts of one sync.
+     */
+    private class Batcher {
+
+        private Map<Long, Employee> pending = new LinkedHashMap<>();
+        private int received;
+        private int inserted;
+        private int updated;
+        private int unchanged;
+
+        void add(Employee employee) {
+            received++;
+            if (employee.getId() == null || employee.getFullName() == null) {
+                throw new RuntimeException("Employee record " + received + " requires id and fullName");
+            }
+            // A later record for the same ID within a batch replaces the earlier one
+            pending.put(employee.getId(), employee);
+            if (pending.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        EmployeeSyncResult finish() {
+            flush();
+            return new EmployeeSyncResult(received, inserted, updated, unchanged);
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            Map<Long, Employee> batch = pending;
+            pending = new LinkedHashMap<>();
+            transactionTemplate.executeWithoutResult(status -> write(batch));
+        }
+
+        private void write(Map<Long, Employee> batch) {
+            Map<Long, Employee> stored = new HashMap<>();
+            jdbcTemplate.query(SELECT_SQL, Collections.singletonMap("ids", batch.keySet()), rs -> {
+                long id = rs.getLong(1);
+                stored.put(id, new Employee(id, rs.getString(2), rs.getString(3)));
+            });
+
+            List<Employee> inserts = new ArrayList<>();
+            List<Employee> updates = new ArrayList<>();
+            for (Employee employee : batch.values()) {
+                Employee current = stored.get(employee.getId());
+                if (current == null) {
+                    inserts.add(employee);
+                } else if (!sameDetails(current, employee)) {
+                    updates.add(employee);
+                } else {
+                    unchanged++;
+                }
+            }
+
+            if (!inserts.isEmpty()) {
+                jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_SQL, inserts, inserts.size(), (ps, e) -> {
+                    ps.setLong(1, e.getId());
+                    ps.setString(2, e.getFullName());
+                    ps.setString(3, e.getDesignation());
+                });
+            }
+            if (!updates.isEmpty()) {
+                jdbcTemplate.getJdbcTemplate().batchUpdate(UPDATE_SQL, updates, updates.size(), (ps, e) -> {
+                    ps.setString(1, e.getFullName());
+                    ps.setString(2, e.getDesignation());
+                    ps.setLong(3, e.getId());
+                });
+            }
+            inserted += inserts.size();
+            updated += updates.size();
+            inserts.forEach(e -> eventPublisher.publishEvent(EmployeeChangedEvent.saved(e)));
+            updates.forEach(e -> eventPublisher.publishEvent(EmployeeChangedEvent.saved(e)));
+        }
+    }
+}
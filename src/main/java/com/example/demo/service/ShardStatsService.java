@@ -0,0 +1,73 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.ShardStats;
+import com.example.demo.tenant.TenantContext;
+import com.example.demo.tenant.TenantRegistry;
+import com.example.demo.tenant.TenantRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service reporting row counts and connection pool state of every tenant shard.
+ * Without sharding the single application datasource is reported as the default tenant.
+ */
+@Service
+public class ShardStatsService {
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TenantRegistry tenantRegistry;
+
+    /**
+     * Constructor-based dependency injection of the datasource and tenant registry.
+     *
+     * @param dataSource the application datasource, routing to the shards when sharding is enabled
+     * @param jdbcTemplate template used for the row counts
+     * @param tenantRegistry registry of the tenants
+     */
+    public ShardStatsService(DataSource dataSource, JdbcTemplate jdbcTemplate, TenantRegistry tenantRegistry) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.tenantRegistry = tenantRegistry;
+    }
+
+    /**
+     * @return statistics of every shard, in tenant registration order
+     */
+    public List<ShardStats> getStats() {
+        List<ShardStats> stats = new ArrayList<>();
+        for (String tenantId : tenantRegistry.getTenantIds()) {
+            stats.add(TenantContext.callAs(tenantId, () -> shardStats(tenantId)));
+        }
+        return stats;
+    }
+
+    private ShardStats shardStats(String tenantId) {
+        DataSource shard = dataSource instanceof TenantRoutingDataSource
+                ? ((TenantRoutingDataSource) dataSource).getShards().get(tenantId)
+                : dataSource;
+        String url = null;
+        HikariPoolMXBean pool = null;
+        if (shard instanceof HikariDataSource) {
+            url = ((HikariDataSource) shard).getJdbcUrl();
+            pool = ((HikariDataSource) shard).getHikariPoolMXBean();
+        }
+        return new ShardStats(tenantId, url, count("asset"), count("asset_archive"), count("category"), count("employee"),
+                count("assignment_history"),
+                pool != null ? pool.getActiveConnections() : null,
+                pool != null ? pool.getIdleConnections() : null,
+                pool != null ? pool.getTotalConnections() : null,
+                pool != null ? pool.getThreadsAwaitingConnection() : null);
+    }
+
+    private long count(String table) {
+        Long count = jdbcTemplate.queryForObject("select count(*) from " + table, Long.class);
+        return count != null ? count : 0;
+    }
+}
@@ -0,0 +1,553 @@
+package com.example.demo.snapshot;
+
+import com.example.demo.dto.SnapshotResult;
+import com.example.demo.model.Asset;
+import com.example.demo.model.AssetNote;
+import com.example.demo.service.AssetNoteService;
+import com.example.demo.tenant.TenantRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Binary snapshot of the category, employee, asset, asset archive and asset note tables, so that an in-memory database can be
+ * brought back after a restart without reseeding it through the API.
+ *
+ * A snapshot is one gzip-compressed file per tenant. Rows are streamed from a single read-only
+ * transaction in ID order; IDs are delta-encoded and all numbers use variable-length encodings, so a
+ * typical asset row takes a few bytes before compression. Snapshots are written on demand, on the
+ * configured schedule and, if enabled, on shutdown; a file is only replaced once it is complete.
+ *
+ * On startup, after the schema exists but before the web server accepts requests and before the
+ * in-memory indexes are built, each tenant whose tables are empty is restored from its file with
+ * batched JDBC inserts in one transaction. Restored rows bypass JPA and publish no change events.
+ */
+@Component
+@Lazy(false)
+public class DatabaseSnapshotService implements SmartInitializingSingleton, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseSnapshotService.class);
+
+    static final int MAGIC = 0x41534E50;
+    static final int VERSION = 3;
+
+    private static final int END = 0;
+    private static final int ROW = 1;
+    private static final int CATEGORY = 1;
+    private static final int EMPLOYEE = 2;
+    private static final int ASSET = 3;
+    private static final int ASSET_ARCHIVE = 4;
+    private static final int ASSET_NOTE = 5;
+
+    private static final String SELECT_CATEGORIES = "select id, name, description from category order by id";
+    private static final String SELECT_EMPLOYEES = "select id, full_name, designation from employee order by id";
+    private static final String SELECT_ASSETS = "select id, name, purchase_date, category_id, "
+            + "assignment_status, employee_id, recovered_at from asset order by id";
+    private static final String SELECT_ARCHIVED_ASSETS = "select id, name, purchase_date, category_id, "
+            + "recovered_at, archived_at from asset_archive order by id";
+    private static final String SELECT_ASSET_NOTES = "select asset_id, compressed, content from asset_note order by asset_id";
+    private static final String INSERT_CATEGORY = "insert into category (id, name, description) values (?, ?, ?)";
+    private static final String INSERT_EMPLOYEE = "insert into employee (id, full_name, designation) values (?, ?, ?)";
+    private static final String INSERT_ASSET = "insert into asset (id, name, purchase_date, category_id, "
+            + "assignment_status, employee_id, recovered_at) values (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ARCHIVED_ASSET = "insert into asset_archive (id, name, purchase_date, "
+            + "category_id, recovered_at, archived_at) values (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_ASSET_NOTE = "insert into asset_note (asset_id, compressed, content) values (?, ?, ?)";
+
+    private static final Asset.AssignmentStatus[] STATUSES = Asset.AssignmentStatus.values();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readTemplate;
+    private final TransactionTemplate writeTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TenantRegistry tenantRegistry;
+    private final AssetNoteService assetNoteService;
+    private final Path directory;
+    private final boolean restoreOnStartup;
+    private final boolean snapshotOnShutdown;
+    private final int batchSize;
+
+    /**
+     * Constructor-based dependency injection of collaborators and snapshot settings.
+     *
+     * @param jdbcTemplate template used to stream and insert rows
+     * @param transactionManager transaction manager used for the snapshot and restore transactions
+     * @param entityManagerFactory JPA entity manager factory, awaited so the schema exists before restoring
+     * @param tenantRegistry registry of the tenants snapshotted and restored
+     * @param assetNoteService service encoding the condition notes found in asset rows of older snapshots
+     * @param directory directory holding one snapshot file per tenant
+     * @param restoreOnStartup whether empty tenants are restored from their snapshot on startup
+     * @param snapshotOnShutdown whether every tenant is snapshotted when the application stops
+     * @param batchSize number of rows per JDBC batch when restoring
+     */
+    public DatabaseSnapshotService(JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   EntityManagerFactory entityManagerFactory,
+                                   TenantRegistry tenantRegistry,
+                                   AssetNoteService assetNoteService,
+                                   @Value("${app.snapshot.dir:snapshot}") String directory,
+                                   @Value("${app.snapshot.restore-on-startup:false}") boolean restoreOnStartup,
+                                   @Value("${app.snapshot.on-shutdown:false}") boolean snapshotOnShutdown,
+                                   @Value("${app.snapshot.batch-size:5000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readTemplate = new TransactionTemplate(transactionManager);
+        this.readTemplate.setReadOnly(true);
+        this.readTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.writeTemplate = new TransactionTemplate(transactionManager);
+        this.entityManagerFactory = entityManagerFactory;
+        this.tenantRegistry = tenantRegistry;
+        this.assetNoteService = assetNoteService;
+        this.directory = Paths.get(directory);
+        this.restoreOnStartup = restoreOnStartup;
+        this.snapshotOnShutdown = snapshotOnShutdown;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Restores every empty tenant from its snapshot once all singletons exist.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!restoreOnStartup) {
+            return;
+        }
+        // Waits for a deferred JPA bootstrap to finish creating the schema
+        entityManagerFactory.getMetamodel();
+        tenantRegistry.forEachTenant(() -> {
+            String tenantId = tenantRegistry.currentTenantId();
+            Path file = file(tenantId);
+            if (!Files.exists(file)) {
+                log.info("No snapshot of tenant {} at {}", tenantId, file);
+            } else if (!isEmpty()) {
+                log.warn("Tenant {} already has data; not restoring {}", tenantId, file);
+            } else {
+                restore(file);
+            }
+        });
+    }
+
+    /**
+     * Snapshots every tenant on shutdown if enabled.
+     */
+    @Override
+    public void destroy() {
+        if (snapshotOnShutdown) {
+            tenantRegistry.forEachTenant(this::snapshot);
+        }
+    }
+
+    /**
+     * Snapshots every tenant on the configured schedule; disabled unless {@code app.snapshot.cron} is set.
+     */
+    @Scheduled(cron = "${app.snapshot.cron:-}")
+    public void scheduledSnapshot() {
+        tenantRegistry.forEachTenant(this::snapshot);
+    }
+
+    /**
+     * Writes the snapshot of the current tenant, replacing its previous snapshot once complete.
+     *
+     * @return the row counts and size of the snapshot
+     * @throws UncheckedIOException if the file cannot be written
+     */
+    public synchronized SnapshotResult snapshot() {
+        long start = System.nanoTime();
+        String tenantId = tenantRegistry.currentTenantId();
+        Path file = file(tenantId);
+        Path partial = file.resolveSibling(file.getFileName() + ".partial");
+        try {
+            Files.createDirectories(directory);
+            long[] counts;
+            try (SnapshotOutput out = new SnapshotOutput(new BufferedOutputStream(
+                    new FastGzipOutputStream(Files.newOutputStream(partial)), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeByte(VERSION);
+                counts = readTemplate.execute(status -> new long[]{
+                        dump(out, CATEGORY, SELECT_CATEGORIES, (rs, o) -> {
+                            o.writeString(rs.getString(2));
+                            o.writeString(rs.getString(3));
+                        }),
+                        dump(out, EMPLOYEE, SELECT_EMPLOYEES, (rs, o) -> {
+                            o.writeString(rs.getString(2));
+                            o.writeString(rs.getString(3));
+                        }),
+                        dump(out, ASSET, SELECT_ASSETS, DatabaseSnapshotService::writeAsset),
+                        dump(out, ASSET_ARCHIVE, SELECT_ARCHIVED_ASSETS, DatabaseSnapshotService::writeArchivedAsset),
+                        dump(out, ASSET_NOTE, SELECT_ASSET_NOTES, (rs, o) -> {
+                            o.writeBoolean(rs.getBoolean(2));
+                            o.writeByteArray(rs.getBytes(3));
+                        })
+                });
+                out.writeByte(END);
+            }
+            Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            SnapshotResult result = new SnapshotResult(tenantId, file.toString(), counts[0], counts[1], counts[2],
+                    counts[3], counts[4], Files.size(file), (System.nanoTime() - start) / 1_000_000);
+            log.info("Wrote snapshot {}", result);
+            return result;
+        } catch (IOException e) {
+            deletePartial(partial);
+            throw new UncheckedIOException("Could not write snapshot " + file, e);
+        } catch (UncheckedIOException e) {
+            deletePartial(partial);
+            throw new UncheckedIOException("Could not write snapshot " + file, e.getCause());
+        } catch (RuntimeException e) {
+            deletePartial(partial);
+            throw e;
+        }
+    }
+
+    private static void deletePartial(Path partial) {
+        try {
+            Files.deleteIfExists(partial);
+        } catch (IOException e) {
+            log.warn("Could not delete {}", partial, e);
+        }
+    }
+
+    /**
+     * Restores the current tenant from a snapshot file into empty tables in one transaction.
+     * Files of version 1, written before the archive table existed, and of version 2, written while condition
+     * notes were part of the asset rows, are accepted as well; their notes are moved to the notes table.
+     *
+     * @param file the snapshot file
+     * @return the restored row counts
+     * @throws UncheckedIOException if the file cannot be read or is not a snapshot
+     */
+    public SnapshotResult restore(Path file) {
+        long start = System.nanoTime();
+        String tenantId = tenantRegistry.currentTenantId();
+        long[] counts;
+        try (SnapshotInput in = new SnapshotInput(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file), 1 << 16), 1 << 16))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a snapshot file");
+            }
+            int version = in.readUnsignedByte();
+            if (version < 1 || version > VERSION) {
+                throw new IOException("Unsupported snapshot version " + version);
+            }
+            counts = writeTemplate.execute(status -> jdbcTemplate.execute((ConnectionCallback<long[]>) connection -> {
+                long[] rows = new long[5];
+                rows[0] = load(in, connection, CATEGORY, INSERT_CATEGORY, (id, i, ps) -> {
+                    ps.setString(2, i.readString());
+                    ps.setString(3, i.readString());
+                });
+                rows[1] = load(in, connection, EMPLOYEE, INSERT_EMPLOYEE, (id, i, ps) -> {
+                    ps.setString(2, i.readString());
+                    ps.setString(3, i.readString());
+                });
+                if (version == VERSION) {
+                    rows[2] = load(in, connection, ASSET, INSERT_ASSET, (id, i, ps) -> readAsset(i, ps, null));
+                    rows[3] = load(in, connection, ASSET_ARCHIVE, INSERT_ARCHIVED_ASSET,
+                            (id, i, ps) -> readArchivedAsset(i, ps, null));
+                    rows[4] = load(in, connection, ASSET_NOTE, INSERT_ASSET_NOTE, (id, i, ps) -> {
+                        ps.setBoolean(2, i.readBoolean());
+                        ps.setBytes(3, i.readByteArray());
+                    });
+                    return rows;
+                }
+                try (LegacyNotes notes = new LegacyNotes(connection)) {
+                    rows[2] = load(in, connection, ASSET, INSERT_ASSET, (id, i, ps) -> readAsset(i, ps, notes.of(id)));
+                    if (version > 1) {
+                        rows[3] = load(in, connection, ASSET_ARCHIVE, INSERT_ARCHIVED_ASSET,
+                                (id, i, ps) -> readArchivedAsset(i, ps, notes.of(id)));
+                    }
+                    rows[4] = notes.flush();
+                }
+                return rows;
+            }));
+            if (in.readUnsignedByte() != END) {
+                throw new IOException("Unexpected data after the last table");
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not restore snapshot " + file, e);
+        } catch (UncheckedIOException e) {
+            throw new UncheckedIOException("Could not restore snapshot " + file, e.getCause());
+        }
+        restartIdentity("category", "select coalesce(max(id), 0) + 1 from category");
+        // Archived assets keep their ID, so new assets must not reuse the IDs of the archive either
+        restartIdentity("asset", "select greatest(coalesce((select max(id) from asset), 0), "
+                + "coalesce((select max(id) from asset_archive), 0)) + 1");
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        long rows = counts[0] + counts[1] + counts[2] + counts[3] + counts[4];
+        SnapshotResult result = new SnapshotResult(tenantId, file.toString(), counts[0], counts[1], counts[2],
+                counts[3], counts[4], file.toFile().length(), millis);
+        log.info("Restored {} rows of tenant {} from {} in {} ms ({} rows/s)",
+                rows, tenantId, file, millis, millis == 0 ? rows : rows * 1000 / millis);
+        return result;
+    }
+
+    /**
+     * @param tenantId the tenant
+     * @return path of the snapshot file of the tenant
+     */
+    public Path file(String tenantId) {
+        return directory.resolve("snapshot-" + tenantId + ".bin.gz");
+    }
+
+    private boolean isEmpty() {
+        Boolean empty = jdbcTemplate.queryForObject("select (select count(*) from category) + (select count(*) from employee) "
+                + "+ (select count(*) from asset) + (select count(*) from asset_archive) + (select count(*) from asset_note) = 0",
+                Boolean.class);
+        return Boolean.TRUE.equals(empty);
+    }
+
+    private long dump(SnapshotOutput out, int table, String sql, ColumnWriter columns) {
+        try {
+            out.writeByte(table);
+            long[] state = new long[2];
+            jdbcTemplate.query(sql, (RowCallbackHandler) rs -> {
+                try {
+                    long id = rs.getLong(1);
+                    out.writeByte(ROW);
+                    out.writeVarLong(id - state[0]);
+                    columns.write(rs, out);
+                    state[0] = id;
+                    state[1]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            out.writeByte(END);
+            return state[1];
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeAsset(ResultSet rs, SnapshotOutput out) throws SQLException, IOException {
+        out.writeString(rs.getString(2));
+        LocalDate purchaseDate = rs.getObject(3, LocalDate.class);
+        out.writeNullableZigZag(purchaseDate == null ? null : purchaseDate.toEpochDay());
+        out.writeVarLong(rs.getLong(4));
+        String status = rs.getString(5);
+        out.writeByte(status == null ? 0 : Asset.AssignmentStatus.valueOf(status).ordinal() + 1);
+        long employeeId = rs.getLong(6);
+        out.writeNullableVarLong(rs.wasNull() ? null : employeeId);
+        writeTimestamp(out, rs.getObject(7, LocalDateTime.class));
+    }
+
+    private static void writeArchivedAsset(ResultSet rs, SnapshotOutput out) throws SQLException, IOException {
+        out.writeString(rs.getString(2));
+        LocalDate purchaseDate = rs.getObject(3, LocalDate.class);
+        out.writeNullableZigZag(purchaseDate == null ? null : purchaseDate.toEpochDay());
+        out.writeVarLong(rs.getLong(4));
+        writeTimestamp(out, rs.getObject(5, LocalDateTime.class));
+        writeTimestamp(out, rs.getObject(6, LocalDateTime.class));
+    }
+
+    private static void writeTimestamp(SnapshotOutput out, LocalDateTime timestamp) throws IOException {
+        out.writeNullableZigZag(timestamp == null ? null : timestamp.toEpochSecond(ZoneOffset.UTC));
+        if (timestamp != null) {
+            out.writeVarLong(timestamp.getNano());
+        }
+    }
+
+    private long load(SnapshotInput in, Connection connection, int table, String sql, ColumnReader columns)
+            throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+            if (in.readUnsignedByte() != table) {
+                throw new IOException("Snapshot tables out of order");
+            }
+            long id = 0;
+            long rows = 0;
+            int pending = 0;
+            while (in.readUnsignedByte() == ROW) {
+                id += in.readVarLong();
+                ps.setLong(1, id);
+                columns.read(id, in, ps);
+                ps.addBatch();
+                rows++;
+                if (++pending == batchSize) {
+                    ps.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                ps.executeBatch();
+            }
+            return rows;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Binds an asset row; rows of older snapshots carry the condition notes after the purchase date.
+     */
+    private static void readAsset(SnapshotInput in, PreparedStatement ps, NoteSink notes) throws IOException, SQLException {
+        ps.setString(2, in.readString());
+        Long purchaseDay = in.readNullableZigZag();
+        ps.setObject(3, purchaseDay == null ? null : LocalDate.ofEpochDay(purchaseDay), Types.DATE);
+        if (notes != null) {
+            notes.add(in.readString());
+        }
+        ps.setLong(4, in.readVarLong());
+        int status = in.readUnsignedByte();
+        ps.setString(5, status == 0 ? null : STATUSES[status - 1].name());
+        Long employeeId = in.readNullableVarLong();
+        if (employeeId == null) {
+            ps.setNull(6, Types.BIGINT);
+        } else {
+            ps.setLong(6, employeeId);
+        }
+        ps.setObject(7, readTimestamp(in), Types.TIMESTAMP);
+    }
+
+    private static void readArchivedAsset(SnapshotInput in, PreparedStatement ps, NoteSink notes)
+            throws IOException, SQLException {
+        ps.setString(2, in.readString());
+        Long purchaseDay = in.readNullableZigZag();
+        ps.setObject(3, purchaseDay == null ? null : LocalDate.ofEpochDay(purchaseDay), Types.DATE);
+        if (notes != null) {
+            notes.add(in.readString());
+        }
+        ps.setLong(4, in.readVarLong());
+        ps.setObject(5, readTimestamp(in), Types.TIMESTAMP);
+        ps.setObject(6, readTimestamp(in), Types.TIMESTAMP);
+    }
+
+    private static LocalDateTime readTimestamp(SnapshotInput in) throws IOException {
+        Long second = in.readNullableZigZag();
+        return second == null ? null : LocalDateTime.ofEpochSecond(second, (int) in.readVarLong(), ZoneOffset.UTC);
+    }
+
+    /**
+     * Moves the identity sequence of a table past the restored IDs, so new rows do not collide with them.
+     * Runs outside the restore transaction because H2 commits on DDL.
+     *
+     * @param table the table whose identity column is restarted
+     * @param nextIdSql query returning the next free ID
+     */
+    private void restartIdentity(String table, String nextIdSql) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if (!"H2".equals(connection.getMetaData().getDatabaseProductName())) {
+                return null;
+            }
+            long next;
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(nextIdSql)) {
+                rs.next();
+                next = rs.getLong(1);
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("alter table " + table + " alter column id restart with " + next);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Writes the columns of one row after its ID.
+     */
+    @FunctionalInterface
+    private interface ColumnWriter {
+        void write(ResultSet rs, SnapshotOutput out) throws SQLException, IOException;
+    }
+
+    /**
+     * Binds the columns of one row after its ID.
+     */
+    @FunctionalInterface
+    private interface ColumnReader {
+        void read(long id, SnapshotInput in, PreparedStatement ps) throws IOException, SQLException;
+    }
+
+    /**
+     * Receives the condition notes of one asset row of an older snapshot.
+     */
+    @FunctionalInterface
+    private interface NoteSink {
+        void add(String notes) throws SQLException;
+    }
+
+    /**
+     * Batched inserts into the notes table of the condition notes found in asset rows of older snapshots.
+     */
+    private final class LegacyNotes implements AutoCloseable {
+
+        private final PreparedStatement ps;
+        private long rows;
+        private int pending;
+
+        LegacyNotes(Connection connection) throws SQLException {
+            this.ps = connection.prepareStatement(INSERT_ASSET_NOTE);
+        }
+
+        NoteSink of(long assetId) {
+            return notes -> {
+                if (notes == null) {
+                    return;
+                }
+                AssetNote note = assetNoteService.encode(assetId, notes);
+                ps.setLong(1, assetId);
+                ps.setBoolean(2, note.isCompressed());
+                ps.setBytes(3, note.getContent());
+                ps.addBatch();
+                rows++;
+                if (++pending == batchSize) {
+                    ps.executeBatch();
+                    pending = 0;
+                }
+            };
+        }
+
+        long flush() throws SQLException {
+            if (pending > 0) {
+                ps.executeBatch();
+                pending = 0;
+            }
+            return rows;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            ps.close();
+        }
+    }
+
+    /**
+     * Gzip stream favouring speed over ratio; the varint encoding already removes most redundancy.
+     */
+    private static class FastGzipOutputStream extends GZIPOutputStream {
+        FastGzipOutputStream(OutputStream out) throws IOException {
+            super(out, 1 << 16);
+            def.setLevel(Deflater.BEST_SPEED);
+        }
+    }
+}
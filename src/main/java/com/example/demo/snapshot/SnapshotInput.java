@@ -0,0 +1,107 @@
+package com.example.demo.snapshot;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Input stream reading the encodings written by {@link SnapshotOutput}.
+ * Decoded strings share one growable byte buffer, so reading allocates only the strings themselves.
+ */
+public class SnapshotInput extends DataInputStream {
+
+    private byte[] buffer = new byte[256];
+
+    /**
+     * @param in the stream to read from
+     */
+    public SnapshotInput(InputStream in) {
+        super(in);
+    }
+
+    /**
+     * @return the next unsigned variable-length value
+     * @throws IOException if the stream ends or the value is malformed
+     */
+    public long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = read();
+            if (b < 0) {
+                throw new EOFException();
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable-length value");
+    }
+
+    /**
+     * @return the next zig-zag encoded signed value
+     * @throws IOException if the stream ends or the value is malformed
+     */
+    public long readZigZag() throws IOException {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * @return the next nullable reference, or null
+     * @throws IOException if the stream ends or the value is malformed
+     */
+    public Long readNullableVarLong() throws IOException {
+        long value = readVarLong();
+        return value == 0 ? null : value - 1;
+    }
+
+    /**
+     * @return the next nullable zig-zag encoded signed value, or null
+     * @throws IOException if the stream ends or the value is malformed
+     */
+    public Long readNullableZigZag() throws IOException {
+        long value = readVarLong();
+        if (value == 0) {
+            return null;
+        }
+        value--;
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * @return the next nullable string
+     * @throws IOException if the stream ends or the value is malformed
+     */
+    public String readString() throws IOException {
+        long length = readVarLong();
+        if (length == 0) {
+            return null;
+        }
+        if (length - 1 > Integer.MAX_VALUE - 8) {
+            throw new IOException("String too long: " + (length - 1));
+        }
+        int size = (int) (length - 1);
+        if (buffer.length < size) {
+            buffer = new byte[Math.max(size, buffer.length * 2)];
+        }
+        readFully(buffer, 0, size);
+        return new String(buffer, 0, size, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return the next byte array
+     * @throws IOException if the stream ends or the value is malformed
+     */
+    public byte[] readByteArray() throws IOException {
+        long length = readVarLong();
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new IOException("Byte array too long: " + length);
+        }
+        byte[] value = new byte[(int) length];
+        readFully(value);
+        return value;
+    }
+}
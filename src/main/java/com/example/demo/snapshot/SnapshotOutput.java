@@ -0,0 +1,91 @@
+package com.example.demo.snapshot;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Output stream writing the compact encodings of the snapshot format: unsigned and zig-zag
+ * variable-length integers, and length-prefixed UTF-8 strings.
+ */
+public class SnapshotOutput extends DataOutputStream {
+
+    /**
+     * @param out the stream to write to
+     */
+    public SnapshotOutput(OutputStream out) {
+        super(out);
+    }
+
+    /**
+     * Writes a non-negative value in 7-bit groups, least significant group first.
+     *
+     * @param value the value
+     * @throws IOException if the stream cannot be written
+     */
+    public void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        write((int) value);
+    }
+
+    /**
+     * Writes a signed value, mapping small negative values to small unsigned values.
+     *
+     * @param value the value
+     * @throws IOException if the stream cannot be written
+     */
+    public void writeZigZag(long value) throws IOException {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    /**
+     * Writes a nullable reference as 0 for null and value + 1 otherwise.
+     *
+     * @param value the non-negative value, or null
+     * @throws IOException if the stream cannot be written
+     */
+    public void writeNullableVarLong(Long value) throws IOException {
+        writeVarLong(value == null ? 0 : value + 1);
+    }
+
+    /**
+     * Writes a nullable signed value as 0 for null and its zig-zag encoding + 1 otherwise.
+     *
+     * @param value the value, or null
+     * @throws IOException if the stream cannot be written
+     */
+    public void writeNullableZigZag(Long value) throws IOException {
+        writeVarLong(value == null ? 0 : ((value << 1) ^ (value >> 63)) + 1);
+    }
+
+    /**
+     * Writes a nullable string as its UTF-8 byte length + 1 (0 for null) followed by the bytes.
+     *
+     * @param value the string, or null
+     * @throws IOException if the stream cannot be written
+     */
+    public void writeString(String value) throws IOException {
+        if (value == null) {
+            writeVarLong(0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(bytes.length + 1L);
+        write(bytes);
+    }
+
+    /**
+     * Writes a byte array as its length followed by the bytes.
+     *
+     * @param value the bytes
+     * @throws IOException if the stream cannot be written
+     */
+    public void writeByteArray(byte[] value) throws IOException {
+        writeVarLong(value.length);
+        write(value);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.demo.tenant;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/**
+ * Hibernate integrator keeping the mapping metadata of the session factory,
+ * so that the schema of additional shards can be created from the same mappings.
+ */
+public class ShardMetadataCapture implements Integrator {
+
+    private volatile Metadata metadata;
+    private volatile SessionFactoryServiceRegistry serviceRegistry;
+
+    @Override
+    public void integrate(Metadata metadata, SessionFactoryImplementor sessionFactory,
+                          SessionFactoryServiceRegistry serviceRegistry) {
+        this.metadata = metadata;
+        this.serviceRegistry = serviceRegistry;
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+
+    /**
+     * @return mapping metadata, or null before the session factory is built
+     */
+    public Metadata getMetadata() {
+        return metadata;
+    }
+
+    /**
+     * @return service registry of the session factory, or null before it is built
+     */
+    public SessionFactoryServiceRegistry getServiceRegistry() {
+        return serviceRegistry;
+    }
+}
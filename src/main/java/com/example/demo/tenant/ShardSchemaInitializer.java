@@ -0,0 +1,61 @@
+package com.example.demo.tenant;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.tool.hbm2ddl.SchemaUpdate;
+import org.hibernate.tool.schema.TargetType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.EnumSet;
+
+/**
+ * Creates missing tables on every shard at startup.
+ * Hibernate's own schema management only reaches the shard of the default tenant, which is the
+ * one routed to while the session factory is built.
+ */
+public class ShardSchemaInitializer implements InitializingBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardSchemaInitializer.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ShardMetadataCapture metadataCapture;
+    private final TenantRegistry tenantRegistry;
+    private final boolean enabled;
+
+    /**
+     * Creates an initializer for the shards of the given registry.
+     *
+     * @param entityManagerFactory the JPA entity manager factory, waited for before the schema is updated
+     * @param metadataCapture integrator holding the mapping metadata
+     * @param tenantRegistry registry of the tenants whose shards are updated
+     * @param enabled whether the schema is updated; when false the initializer does nothing
+     */
+    public ShardSchemaInitializer(EntityManagerFactory entityManagerFactory, ShardMetadataCapture metadataCapture,
+                                  TenantRegistry tenantRegistry, boolean enabled) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.metadataCapture = metadataCapture;
+        this.tenantRegistry = tenantRegistry;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (!enabled) {
+            return;
+        }
+        // Blocks until a deferred JPA bootstrap has built the session factory
+        entityManagerFactory.unwrap(SessionFactory.class);
+        tenantRegistry.forEachTenant(() -> {
+            SchemaUpdate update = new SchemaUpdate();
+            update.execute(EnumSet.of(TargetType.DATABASE), metadataCapture.getMetadata(),
+                    metadataCapture.getServiceRegistry());
+            if (!update.getExceptions().isEmpty()) {
+                throw new IllegalStateException("Could not update the schema of shard " + tenantRegistry.currentTenantId(),
+                        (Throwable) update.getExceptions().get(0));
+            }
+            log.info("Schema of shard {} is up to date", tenantRegistry.currentTenantId());
+        });
+    }
+}
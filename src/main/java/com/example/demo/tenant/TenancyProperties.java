@@ -0,0 +1,69 @@
+package com.example.demo.tenant;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tenant sharding settings, bound from {@code app.tenancy.*}.
+ * Each entry of {@code shards} is one tenant with its own database, for example:
+ * {@code app.tenancy.shards.acme.url=jdbc:h2:mem:acme}.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.tenancy")
+public class TenancyProperties {
+
+    /**
+     * Whether requests are routed to per-tenant shards; when false the single configured datasource is used.
+     */
+    private boolean enabled;
+
+    /**
+     * Request header carrying the tenant ID.
+     */
+    private String header = "X-Tenant-Id";
+
+    /**
+     * Tenant used for requests without the header and for work outside any request.
+     */
+    private String defaultTenant = "default";
+
+    /**
+     * Whether missing tables are created on every shard at startup.
+     */
+    private boolean createSchema = true;
+
+    /**
+     * Shard datasource of each tenant, keyed by tenant ID.
+     */
+    private Map<String, Shard> shards = new LinkedHashMap<>();
+
+    /**
+     * Connection settings of one shard.
+     */
+    @Data
+    public static class Shard {
+
+        /**
+         * JDBC URL of the shard.
+         */
+        private String url;
+
+        /**
+         * Database user.
+         */
+        private String username = "sa";
+
+        /**
+         * Database password.
+         */
+        private String password = "";
+
+        /**
+         * Maximum number of pooled connections.
+         */
+        private int maxPoolSize = 10;
+    }
+}
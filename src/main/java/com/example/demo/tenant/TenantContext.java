@@ -0,0 +1,67 @@
+package com.example.demo.tenant;
+
+import java.util.function.Supplier;
+
+/**
+ * Holder of the tenant the current thread works for.
+ * Set per request by the tenant filter and around background work by {@link TenantRegistry};
+ * read by the routing datasource and by tenant-scoped in-memory structures.
+ */
+public final class TenantContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {
+    }
+
+    /**
+     * @return the tenant of the current thread, or null if none is set
+     */
+    public static String getTenantId() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Sets the tenant of the current thread.
+     *
+     * @param tenantId the tenant, or null to clear it
+     */
+    public static void setTenantId(String tenantId) {
+        if (tenantId == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(tenantId);
+        }
+    }
+
+    /**
+     * Runs an action on behalf of a tenant, restoring the previous tenant afterwards.
+     *
+     * @param tenantId the tenant
+     * @param action the action to run
+     */
+    public static void runAs(String tenantId, Runnable action) {
+        callAs(tenantId, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Computes a value on behalf of a tenant, restoring the previous tenant afterwards.
+     *
+     * @param tenantId the tenant
+     * @param action the computation
+     * @param <T> type of the value
+     * @return the computed value
+     */
+    public static <T> T callAs(String tenantId, Supplier<T> action) {
+        String previous = CURRENT.get();
+        setTenantId(tenantId);
+        try {
+            return action.get();
+        } finally {
+            setTenantId(previous);
+        }
+    }
+}
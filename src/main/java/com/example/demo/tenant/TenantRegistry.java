@@ -0,0 +1,71 @@
+package com.example.demo.tenant;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.ArrayList;
+
+/**
+ * Registry of the tenants served by this deployment.
+ * Without sharding there is a single tenant, the configured default one.
+ */
+@Component
+public class TenantRegistry {
+
+    private final String defaultTenant;
+    private final List<String> tenantIds;
+
+    /**
+     * Constructor-based dependency injection of the tenancy settings.
+     *
+     * @param properties the tenancy settings
+     */
+    public TenantRegistry(TenancyProperties properties) {
+        this.defaultTenant = properties.getDefaultTenant();
+        this.tenantIds = properties.isEnabled()
+                ? Collections.unmodifiableList(new ArrayList<>(properties.getShards().keySet()))
+                : Collections.singletonList(defaultTenant);
+    }
+
+    /**
+     * @return IDs of all tenants
+     */
+    public List<String> getTenantIds() {
+        return tenantIds;
+    }
+
+    /**
+     * @return the tenant used when no tenant is set
+     */
+    public String getDefaultTenant() {
+        return defaultTenant;
+    }
+
+    /**
+     * @param tenantId a tenant ID
+     * @return true if the tenant is served by this deployment
+     */
+    public boolean isKnown(String tenantId) {
+        return tenantIds.contains(tenantId);
+    }
+
+    /**
+     * @return the tenant of the current thread, or the default tenant if none is set
+     */
+    public String currentTenantId() {
+        String tenantId = TenantContext.getTenantId();
+        return tenantId != null ? tenantId : defaultTenant;
+    }
+
+    /**
+     * Runs an action once for every tenant, on behalf of that tenant.
+     *
+     * @param action the action to run
+     */
+    public void forEachTenant(Runnable action) {
+        for (String tenantId : tenantIds) {
+            TenantContext.runAs(tenantId, action);
+        }
+    }
+}
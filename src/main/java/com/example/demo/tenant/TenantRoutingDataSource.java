@@ -0,0 +1,41 @@
+package com.example.demo.tenant;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * DataSource routing every connection request to the shard of the current tenant.
+ * Connections are chosen when a transaction or query starts, so services and repositories
+ * work unchanged as long as the tenant is set before they are called.
+ */
+public class TenantRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final TenantRegistry tenantRegistry;
+
+    /**
+     * Creates a routing datasource over the given shards.
+     *
+     * @param tenantRegistry registry resolving the current tenant
+     * @param shards shard datasource of each tenant
+     */
+    public TenantRoutingDataSource(TenantRegistry tenantRegistry, Map<Object, Object> shards) {
+        this.tenantRegistry = tenantRegistry;
+        setTargetDataSources(shards);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return tenantRegistry.currentTenantId();
+    }
+
+    /**
+     * @return shard datasource of each tenant
+     */
+    public Map<Object, DataSource> getShards() {
+        return getResolvedDataSources();
+    }
+}
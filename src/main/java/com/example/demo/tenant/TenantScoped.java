@@ -0,0 +1,36 @@
+package com.example.demo.tenant;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Holder of one instance of an in-memory structure per tenant, so that caches and indexes
+ * built from one shard never answer requests of another tenant.
+ *
+ * @param <T> type of the per-tenant instance
+ */
+public class TenantScoped<T> {
+
+    private final TenantRegistry tenantRegistry;
+    private final Supplier<T> factory;
+    private final Map<String, T> instances = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a holder creating instances on first use.
+     *
+     * @param tenantRegistry registry resolving the current tenant
+     * @param factory creates the instance of a tenant
+     */
+    public TenantScoped(TenantRegistry tenantRegistry, Supplier<T> factory) {
+        this.tenantRegistry = tenantRegistry;
+        this.factory = factory;
+    }
+
+    /**
+     * @return the instance of the current tenant
+     */
+    public T get() {
+        return instances.computeIfAbsent(tenantRegistry.currentTenantId(), tenantId -> factory.get());
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.demo.timing;
+
+/**
+ * Timing recorder of one HTTP request.
+ *
+ * The recorder accumulates the time spent in each layer in primitive arrays and allocates nothing
+ * while a request runs, so it can stay enabled in production. Nested entries into the same layer
+ * (a service calling another service) are only timed once. Layer times are inclusive: the controller
+ * time contains the service time, which contains the repository time.
+ *
+ * A recorder is used by one thread at a time: the thread handling the request, and for asynchronous
+ * requests the thread of the async dispatch that writes the result.
+ */
+public final class RequestTiming {
+
+    /**
+     * Layers timed per request, with their metric name in the Server-Timing header.
+     */
+    public enum Phase {
+        CONTROLLER("ctrl"),
+        SERVICE("svc"),
+        REPOSITORY("db"),
+        SERIALIZATION("ser");
+
+        private final String metric;
+
+        Phase(String metric) {
+            this.metric = metric;
+        }
+
+        /**
+         * @return metric name of the phase in the Server-Timing header
+         */
+        public String getMetric() {
+            return metric;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos;
+    private final long[] nanos = new long[PHASES.length];
+    private final long[] enteredAt = new long[PHASES.length];
+    private final int[] depth = new int[PHASES.length];
+    private int statements;
+
+    /**
+     * Creates a recorder whose total time starts now.
+     */
+    public RequestTiming() {
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * @return the recorder bound to the current thread, or null outside a timed request
+     */
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds a recorder to the current thread.
+     *
+     * @param timing the recorder, or null to unbind
+     */
+    public static void bind(RequestTiming timing) {
+        if (timing == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(timing);
+        }
+    }
+
+    /**
+     * Marks the entry into a phase.
+     *
+     * @param phase the phase entered
+     */
+    public void enter(Phase phase) {
+        int i = phase.ordinal();
+        if (depth[i]++ == 0) {
+            enteredAt[i] = System.nanoTime();
+        }
+    }
+
+    /**
+     * Marks the exit from a phase entered with {@link #enter(Phase)}.
+     *
+     * @param phase the phase left
+     */
+    public void exit(Phase phase) {
+        int i = phase.ordinal();
+        if (--depth[i] == 0) {
+            nanos[i] += System.nanoTime() - enteredAt[i];
+        }
+    }
+
+    /**
+     * Counts one SQL statement prepared by the request.
+     */
+    public void statementPrepared() {
+        statements++;
+    }
+
+    /**
+     * @param phase the phase
+     * @return nanoseconds spent in completed entries of the phase
+     */
+    public long getNanos(Phase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    /**
+     * @return number of SQL statements prepared by the request
+     */
+    public int getStatements() {
+        return statements;
+    }
+
+    /**
+     * @return nanoseconds since the request started
+     */
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Formats the Server-Timing header value, e.g.
+     * {@code ctrl;dur=4.210, svc;dur=3.870, db;dur=2.015;desc="3 statements", ser;dur=0.402, total;dur=5.031}.
+     *
+     * @return the header value
+     */
+    public String toHeaderValue() {
+        StringBuilder value = new StringBuilder(160);
+        for (Phase phase : PHASES) {
+            value.append(phase.getMetric()).append(";dur=");
+            appendMillis(value, nanos[phase.ordinal()]);
+            if (phase == Phase.REPOSITORY) {
+                value.append(";desc=\"").append(statements).append(" statements\"");
+            }
+            value.append(", ");
+        }
+        value.append("total;dur=");
+        appendMillis(value, elapsedNanos());
+        return value.toString();
+    }
+
+    /**
+     * Appends a duration in milliseconds with microsecond precision without going through a formatter.
+     *
+     * @param target the builder to append to
+     * @param nanos the duration in nanoseconds
+     * @return the builder
+     */
+    static StringBuilder appendMillis(StringBuilder target, long nanos) {
+        long micros = Math.max(0, nanos) / 1000;
+        long fraction = micros % 1000;
+        target.append(micros / 1000).append('.');
+        if (fraction < 100) {
+            target.append('0');
+        }
+        if (fraction < 10) {
+            target.append('0');
+        }
+        return target.append(fraction);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.demo.timing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Times calls into controllers, services and Spring Data repositories for the request bound to the
+ * current thread. Calls outside a timed request pass straight through.
+ */
+@Aspect
+public class ServerTimingAspect {
+
+    /**
+     * Times a controller method.
+     *
+     * @param joinPoint the intercepted call
+     * @return the result of the call
+     * @throws Throwable anything the call throws
+     */
+    @Around("@within(org.springframework.web.bind.annotation.RestController)")
+    public Object timeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, RequestTiming.Phase.CONTROLLER);
+    }
+
+    /**
+     * Times a service method.
+     *
+     * @param joinPoint the intercepted call
+     * @return the result of the call
+     * @throws Throwable anything the call throws
+     */
+    @Around("@within(org.springframework.stereotype.Service)")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, RequestTiming.Phase.SERVICE);
+    }
+
+    /**
+     * Times a repository method.
+     *
+     * @param joinPoint the intercepted call
+     * @return the result of the call
+     * @throws Throwable anything the call throws
+     */
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, RequestTiming.Phase.REPOSITORY);
+    }
+
+    private static Object time(ProceedingJoinPoint joinPoint, RequestTiming.Phase phase) throws Throwable {
+        RequestTiming timing = RequestTiming.current();
+        if (timing == null) {
+            return joinPoint.proceed();
+        }
+        timing.enter(phase);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            timing.exit(phase);
+        }
+    }
+}
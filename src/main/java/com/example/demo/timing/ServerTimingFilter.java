@@ -0,0 +1,93 @@
+package com.example.demo.timing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Servlet filter timing every request under /api.
+ *
+ * The filter binds a {@link RequestTiming} to the request thread, and again to the async dispatch
+ * thread of asynchronous requests. JSON responses get their Server-Timing header from
+ * {@link TimedJacksonHttpMessageConverter}; other responses get it here if they are not committed yet.
+ * A sample of requests, and every request slower than the threshold, is logged as one
+ * {@code key=value} line.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(ServerTimingFilter.class);
+
+    private static final String ATTRIBUTE = RequestTiming.class.getName();
+
+    private final double logSampleRate;
+    private final long slowThresholdNanos;
+
+    /**
+     * Creates the filter.
+     *
+     * @param logSampleRate fraction of requests logged, between 0 and 1
+     * @param slowThreshold duration above which a request is always logged
+     */
+    public ServerTimingFilter(double logSampleRate, Duration slowThreshold) {
+        this.logSampleRate = logSampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestTiming timing = (RequestTiming) request.getAttribute(ATTRIBUTE);
+        if (timing == null) {
+            timing = new RequestTiming();
+            request.setAttribute(ATTRIBUTE, timing);
+        }
+        RequestTiming.bind(timing);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            RequestTiming.bind(null);
+        }
+        if (isAsyncStarted(request)) {
+            return;
+        }
+        if (!response.isCommitted() && !response.containsHeader(TimedJacksonHttpMessageConverter.HEADER)) {
+            response.setHeader(TimedJacksonHttpMessageConverter.HEADER, timing.toHeaderValue());
+        }
+        long total = timing.elapsedNanos();
+        if (log.isInfoEnabled() && (total >= slowThresholdNanos || ThreadLocalRandom.current().nextDouble() < logSampleRate)) {
+            log.info(logLine(request, response, timing, total));
+        }
+    }
+
+    private static String logLine(HttpServletRequest request, HttpServletResponse response,
+                                  RequestTiming timing, long totalNanos) {
+        StringBuilder line = new StringBuilder(256).append("server_timing method=").append(request.getMethod())
+                .append(" path=").append(request.getRequestURI())
+                .append(" status=").append(response.getStatus())
+                .append(" total_ms=");
+        RequestTiming.appendMillis(line, totalNanos);
+        for (RequestTiming.Phase phase : RequestTiming.Phase.values()) {
+            line.append(' ').append(phase.getMetric()).append("_ms=");
+            RequestTiming.appendMillis(line, timing.getNanos(phase));
+        }
+        return line.append(" statements=").append(timing.getStatements()).toString();
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.demo.timing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+
+/**
+ * JSON converter measuring serialization time of timed requests.
+ *
+ * The response headers are sent as soon as the body is first written, so the body of a timed request
+ * is serialized into a per-thread buffer of at most {@code maxBufferSize} bytes first; the Server-Timing
+ * header, including the serialization time, is then added before the buffer is copied to the response.
+ * A body outgrowing the buffer is streamed instead: the header is added with the timings so far, the
+ * buffered bytes are flushed and the rest is written straight to the response, so memory stays bounded
+ * by the buffer size. The full serialization time of such a response is still logged by
+ * {@link ServerTimingFilter}. Requests that are not timed are written straight to the response.
+ */
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    static final String HEADER = "Server-Timing";
+
+    private final int maxBufferSize;
+    private final ThreadLocal<ByteArrayOutputStream> buffers;
+
+    /**
+     * Creates a converter using the application object mapper.
+     *
+     * @param objectMapper the object mapper
+     * @param maxBufferSize largest body, in bytes, buffered to report its serialization time in the header
+     */
+    public TimedJacksonHttpMessageConverter(ObjectMapper objectMapper, int maxBufferSize) {
+        super(objectMapper);
+        this.maxBufferSize = maxBufferSize;
+        this.buffers = ThreadLocal.withInitial(() -> new ByteArrayOutputStream(Math.min(1024, maxBufferSize)));
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        RequestTiming timing = RequestTiming.current();
+        if (timing == null) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        SpillingOutputStream body = new SpillingOutputStream(buffers.get(), outputMessage, timing);
+        try {
+            timing.enter(RequestTiming.Phase.SERIALIZATION);
+            try {
+                super.writeInternal(object, type, new BufferedOutputMessage(outputMessage.getHeaders(), body));
+            } finally {
+                timing.exit(RequestTiming.Phase.SERIALIZATION);
+            }
+            if (!body.isSpilled()) {
+                HttpHeaders headers = outputMessage.getHeaders();
+                headers.set(HEADER, timing.toHeaderValue());
+                if (headers.getContentLength() < 0) {
+                    headers.setContentLength(body.buffer.size());
+                }
+                body.buffer.writeTo(outputMessage.getBody());
+            }
+        } finally {
+            body.buffer.reset();
+        }
+    }
+
+    /**
+     * Stream collecting the body in the buffer until it outgrows it, then writing through to the response.
+     */
+    private class SpillingOutputStream extends OutputStream {
+        private final ByteArrayOutputStream buffer;
+        private final HttpOutputMessage target;
+        private final RequestTiming timing;
+        private OutputStream out;
+
+        SpillingOutputStream(ByteArrayOutputStream buffer, HttpOutputMessage target, RequestTiming timing) {
+            this.buffer = buffer;
+            this.target = target;
+            this.timing = timing;
+        }
+
+        boolean isSpilled() {
+            return out != null;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (out == null && buffer.size() < maxBufferSize) {
+                buffer.write(b);
+                return;
+            }
+            spill().write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (out == null && buffer.size() + len <= maxBufferSize) {
+                buffer.write(b, off, len);
+                return;
+            }
+            spill().write(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (out != null) {
+                out.flush();
+            }
+        }
+
+        private OutputStream spill() throws IOException {
+            if (out == null) {
+                target.getHeaders().set(HEADER, timing.toHeaderValue());
+                out = target.getBody();
+                buffer.writeTo(out);
+                buffer.reset();
+            }
+            return out;
+        }
+    }
+
+    /**
+     * Output message writing its body to a buffer and its headers to the real response.
+     */
+    private static class BufferedOutputMessage implements HttpOutputMessage {
+        private final HttpHeaders headers;
+        private final OutputStream body;
+
+        BufferedOutputMessage(HttpHeaders headers, OutputStream body) {
+            this.headers = headers;
+            this.body = body;
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.demo.timing;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate statement inspector counting the SQL statements prepared for the current request.
+ * The statement itself is left unchanged.
+ */
+public class TimingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestTiming timing = RequestTiming.current();
+        if (timing != null) {
+            timing.statementPrepared();
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.demo.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Helpers for reading and writing RFC 4180 CSV.
+ */
+public final class CsvUtils {
+
+    private CsvUtils() {
+    }
+
+    /**
+     * Formats a single CSV field, quoting it if it contains a separator, quote or line break.
+     *
+     * @param value the value to format; null is written as an empty field
+     * @return the formatted field
+     */
+    public static String field(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Formats a CSV line without the trailing line break.
+     *
+     * @param values the values of the line
+     * @return the formatted line
+     */
+    public static String line(Object... values) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            line.append(field(values[i]));
+        }
+        return line.toString();
+    }
+
+    /**
+     * Splits a CSV line into its fields, unquoting quoted fields.
+     * Quoted fields spanning several lines are not supported.
+     *
+     * @param line the line without its line break
+     * @return the fields of the line; empty fields are returned as empty strings
+     * @throws IllegalArgumentException if a quoted field is not terminated
+     */
+    public static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int i = 0;
+        while (true) {
+            if (i < line.length() && line.charAt(i) == '"') {
+                i++;
+                while (true) {
+                    if (i >= line.length()) {
+                        throw new IllegalArgumentException("Unterminated quoted field");
+                    }
+                    char c = line.charAt(i++);
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i < line.length() && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+            }
+            while (i < line.length() && line.charAt(i) != ',') {
+                field.append(line.charAt(i++));
+            }
+            fields.add(field.toString());
+            field.setLength(0);
+            if (i >= line.length()) {
+                return fields;
+            }
+            i++;
+        }
+    }
+}
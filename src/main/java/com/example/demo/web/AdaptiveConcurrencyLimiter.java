@@ -0,0 +1,105 @@
+package com.example.demo.web;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free concurrency limiter whose limit adapts to observed latency (additive increase,
+ * multiplicative decrease).
+ *
+ * The lowest latency observed stands for the time a request takes without waiting; a request that took
+ * more than the target latency longer than that has queued for threads or DB connections. While requests
+ * complete without such a wait and the limit is actually being used, the limit grows by one; a request
+ * that waited shrinks it by a fixed factor, at most once per round trip: the requests already in flight
+ * when the limit shrank finish within the slow request's latency and do not shrink it again, so a burst
+ * of slow requests costs one decrease instead of one per request. Requests beyond the current limit are
+ * rejected immediately instead of queueing for threads and DB connections.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double BACKOFF_RATIO = 0.9;
+
+    private final long targetLatencyNanos;
+    private final int minLimit;
+    private final int maxLimit;
+
+    private final LongSupplier nanoClock;
+
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong minLatencyNanos = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong nextDecreaseNanos;
+
+    /**
+     * Creates a limiter.
+     *
+     * @param targetLatencyNanos latency over the lowest observed one above which the limit is reduced
+     * @param initialLimit starting concurrency limit
+     * @param minLimit lower bound for the limit
+     * @param maxLimit upper bound for the limit
+     */
+    public AdaptiveConcurrencyLimiter(long targetLatencyNanos, int initialLimit, int minLimit, int maxLimit) {
+        this(targetLatencyNanos, initialLimit, minLimit, maxLimit, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(long targetLatencyNanos, int initialLimit, int minLimit, int maxLimit,
+                               LongSupplier nanoClock) {
+        this.targetLatencyNanos = targetLatencyNanos;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.nanoClock = nanoClock;
+        this.limit = new AtomicInteger(initialLimit);
+        this.nextDecreaseNanos = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Reserves a slot for a request.
+     *
+     * @return true if the request may proceed and must later call {@link #release}
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.get()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a slot and adapts the limit to the request's latency.
+     *
+     * @param latencyNanos how long the request took
+     */
+    public void release(long latencyNanos) {
+        int concurrent = inFlight.getAndDecrement();
+        long minLatency = minLatencyNanos.accumulateAndGet(latencyNanos, Math::min);
+        if (latencyNanos - minLatency > targetLatencyNanos) {
+            long now = nanoClock.getAsLong();
+            long next = nextDecreaseNanos.get();
+            if (now - next >= 0 && nextDecreaseNanos.compareAndSet(next, now + latencyNanos)) {
+                limit.updateAndGet(l -> Math.max(minLimit, (int) (l * BACKOFF_RATIO)));
+            }
+        } else if (concurrent * 2 >= limit.get()) {
+            limit.updateAndGet(l -> Math.min(maxLimit, l + 1));
+        }
+    }
+
+    /**
+     * @return the current concurrency limit
+     */
+    public int getLimit() {
+        return limit.get();
+    }
+
+    /**
+     * @return number of requests currently holding a slot
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
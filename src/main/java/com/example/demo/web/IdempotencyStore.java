@@ -0,0 +1,186 @@
+package com.example.demo.web;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded store of responses keyed by idempotency key.
+ *
+ * Entries are kept in insertion order, which is also expiry order because every entry lives for the
+ * same TTL, so expired entries are always at the head and eviction is O(1) per entry.
+ * When the store is full the oldest completed entry is dropped; entries still in flight are never
+ * evicted, since dropping one would let a duplicate execute again, so new keys are refused while
+ * every entry is in flight.
+ * An entry is registered before the request executes and completed with its response afterwards,
+ * so concurrent duplicates wait on the first request instead of executing again.
+ */
+@Component
+public class IdempotencyStore {
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final LongSupplier nanoClock;
+
+    private final LinkedHashMap<String, Entry> entries;
+
+    /**
+     * Creates a store with the configured TTL and capacity.
+     *
+     * @param ttl how long a response is kept for replay
+     * @param maxEntries maximum number of keys kept at once
+     */
+    @Autowired
+    public IdempotencyStore(@Value("${app.idempotency.ttl:24h}") Duration ttl,
+                            @Value("${app.idempotency.max-entries:10000}") int maxEntries) {
+        this(ttl, maxEntries, System::nanoTime);
+    }
+
+    IdempotencyStore(Duration ttl, int maxEntries, LongSupplier nanoClock) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+        this.nanoClock = nanoClock;
+        this.entries = new LinkedHashMap<>();
+    }
+
+    /**
+     * Returns the live entry for the key, registering a new in-flight entry if there is none.
+     *
+     * @param key the scoped idempotency key
+     * @param fingerprint hash of the request payload
+     * @return the claim, or null if the store is full of requests still in flight; if it is owned,
+     *         the caller must execute the request and then {@link #complete complete} or
+     *         {@link #abandon abandon} the entry
+     */
+    public synchronized Claim claim(String key, String fingerprint) {
+        long now = nanoClock.getAsLong();
+        evictExpired(now);
+        Entry existing = entries.get(key);
+        if (existing != null) {
+            return new Claim(existing, false);
+        }
+        if (entries.size() >= maxEntries && !evictOldestCompleted()) {
+            return null;
+        }
+        Entry created = new Entry(fingerprint, now, new CompletableFuture<>());
+        entries.put(key, created);
+        return new Claim(created, true);
+    }
+
+    /**
+     * Stores the response of the owning request and releases any waiting duplicates.
+     *
+     * @param entry the entry owned by the caller
+     * @param response the response to replay for retries
+     */
+    public void complete(Entry entry, CachedResponse response) {
+        entry.getResponse().complete(response);
+    }
+
+    /**
+     * Drops the entry of a request that failed, so that a retry executes again.
+     * Waiting duplicates are released with no response and retry themselves.
+     *
+     * @param key the scoped idempotency key
+     * @param entry the entry owned by the caller
+     */
+    public void abandon(String key, Entry entry) {
+        synchronized (this) {
+            entries.remove(key, entry);
+        }
+        entry.getResponse().complete(null);
+    }
+
+    /**
+     * @return number of keys currently held
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void evictExpired(long now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (now - entry.getCreatedAtNanos() < ttlNanos) {
+                break;
+            }
+            if (entry.getResponse().isDone()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private boolean evictOldestCompleted() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getResponse().isDone()) {
+                iterator.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Result of {@link #claim}: the live entry and whether the caller created it.
+     */
+    @lombok.Value
+    public static class Claim {
+        Entry entry;
+        boolean owner;
+    }
+
+    /**
+     * A stored or in-flight request for one idempotency key.
+     */
+    @lombok.Value
+    public static class Entry {
+
+        /**
+         * Hash of the payload of the first request, used to reject key reuse with a different body.
+         */
+        String fingerprint;
+
+        long createdAtNanos;
+
+        /**
+         * Completed with the response once the first request finishes, or with null if it failed.
+         */
+        CompletableFuture<CachedResponse> response;
+
+        /**
+         * Waits for the first request to finish.
+         *
+         * @param timeout maximum time to wait
+         * @return the response, or null if the first request failed and was abandoned
+         * @throws TimeoutException if the first request is still running after the timeout
+         */
+        public CachedResponse await(Duration timeout) throws TimeoutException, InterruptedException {
+            try {
+                return response.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * A response captured for replay.
+     */
+    @lombok.Value
+    public static class CachedResponse {
+        int status;
+        String contentType;
+        byte[] body;
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.demo.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servlet filter protecting the write endpoints under /api from bulk clients.
+ *
+ * Each API client gets its own token bucket, keyed by the authenticated principal if there is one and
+ * by remote address otherwise; requests beyond its rate are rejected with 429. The client header is
+ * caller-chosen, so it only labels the client in logs and never selects the bucket. All write requests then share an
+ * adaptive concurrency limit that shrinks when request latency exceeds the target; requests beyond it
+ * are rejected with 503. Both responses carry Retry-After, and every shed request is counted in the
+ * {@code http.server.requests.shed} metric tagged with the reason.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadSheddingFilter.class);
+
+    private final boolean rateLimitEnabled;
+    private final String clientHeader;
+    private final double requestsPerSecond;
+    private final int burst;
+    private final int maxClients;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+    private final Counter rateLimitedCounter;
+    private final Counter overloadedCounter;
+
+    /**
+     * Constructor-based dependency injection of the metrics registry and limiter settings.
+     *
+     * @param meterRegistry registry receiving the shed counters and limiter gauges
+     * @param rateLimitEnabled whether per-client rate limiting is applied
+     * @param clientHeader request header naming the API client in logs
+     * @param requestsPerSecond sustained write rate allowed per client
+     * @param burst number of writes a client may send at once
+     * @param maxClients number of tracked clients above which idle buckets are dropped
+     * @param sheddingEnabled whether adaptive concurrency limiting is applied
+     * @param targetLatency write latency over the lowest observed one above which the concurrency limit is reduced
+     * @param initialLimit starting concurrency limit
+     * @param minLimit lower bound for the concurrency limit
+     * @param maxLimit upper bound for the concurrency limit
+     */
+    public LoadSheddingFilter(MeterRegistry meterRegistry,
+                              @Value("${app.rate-limit.enabled:true}") boolean rateLimitEnabled,
+                              @Value("${app.rate-limit.client-header:X-Api-Client}") String clientHeader,
+                              @Value("${app.rate-limit.requests-per-second:20}") double requestsPerSecond,
+                              @Value("${app.rate-limit.burst:40}") int burst,
+                              @Value("${app.rate-limit.max-clients:10000}") int maxClients,
+                              @Value("${app.load-shedding.enabled:true}") boolean sheddingEnabled,
+                              @Value("${app.load-shedding.target-latency:250ms}") Duration targetLatency,
+                              @Value("${app.load-shedding.initial-limit:32}") int initialLimit,
+                              @Value("${app.load-shedding.min-limit:4}") int minLimit,
+                              @Value("${app.load-shedding.max-limit:200}") int maxLimit) {
+        this.rateLimitEnabled = rateLimitEnabled;
+        this.clientHeader = clientHeader;
+        this.requestsPerSecond = requestsPerSecond;
+        this.burst = burst;
+        this.maxClients = maxClients;
+        this.concurrencyLimiter = sheddingEnabled
+                ? new AdaptiveConcurrencyLimiter(targetLatency.toNanos(), initialLimit, minLimit, maxLimit)
+                : null;
+
+        this.rateLimitedCounter = Counter.builder("http.server.requests.shed")
+                .description("Write requests rejected before reaching a controller")
+                .tag("reason", "rate_limit")
+                .register(meterRegistry);
+        this.overloadedCounter = Counter.builder("http.server.requests.shed")
+                .description("Write requests rejected before reaching a controller")
+                .tag("reason", "concurrency_limit")
+                .register(meterRegistry);
+        if (concurrencyLimiter != null) {
+            Gauge.builder("http.server.concurrency.limit", concurrencyLimiter, AdaptiveConcurrencyLimiter::getLimit)
+                    .register(meterRegistry);
+            Gauge.builder("http.server.concurrency.in-flight", concurrencyLimiter, AdaptiveConcurrencyLimiter::getInFlight)
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String method = request.getMethod();
+        return "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method)
+                || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (rateLimitEnabled) {
+            long now = System.nanoTime();
+            String client = clientOf(request);
+            long waitNanos = bucketFor(client, now).tryAcquire(now);
+            if (waitNanos > 0) {
+                rateLimitedCounter.increment();
+                log.debug("Rate limited API client {} ({}: {})", client, clientHeader, request.getHeader(clientHeader));
+                reject(response, HttpStatus.TOO_MANY_REQUESTS, waitNanos, "Rate limit exceeded for API client");
+                return;
+            }
+        }
+        if (concurrencyLimiter == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (!concurrencyLimiter.tryAcquire()) {
+            overloadedCounter.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, TimeUnit.SECONDS.toNanos(1), "Server is overloaded");
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            concurrencyLimiter.release(System.nanoTime() - start);
+        }
+    }
+
+    private static String clientOf(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        return principal != null ? "principal:" + principal.getName() : request.getRemoteAddr();
+    }
+
+    private TokenBucket bucketFor(String client, long now) {
+        TokenBucket bucket = buckets.get(client);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxClients) {
+            buckets.values().removeIf(b -> b.isIdle(now));
+        }
+        return buckets.computeIfAbsent(client, c -> new TokenBucket(requestsPerSecond, burst, now));
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterNanos, String message)
+            throws IOException {
+        long seconds = Math.max(1, (retryAfterNanos + 999_999_999L) / 1_000_000_000L);
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        response.sendError(status.value(), message);
+    }
+}
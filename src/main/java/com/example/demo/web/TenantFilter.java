@@ -0,0 +1,65 @@
+package com.example.demo.web;
+
+import com.example.demo.tenant.TenancyProperties;
+import com.example.demo.tenant.TenantContext;
+import com.example.demo.tenant.TenantRegistry;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Servlet filter binding each request to the tenant named in the tenant header.
+ * Runs before all other filters so that rate limiting, idempotency and the request itself see the tenant.
+ * Requests without the header belong to the default tenant; unknown tenants are rejected with 400.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TenantFilter extends OncePerRequestFilter {
+
+    private final TenantRegistry tenantRegistry;
+    private final boolean enabled;
+    private final String header;
+
+    /**
+     * Constructor-based dependency injection of the tenant registry and settings.
+     *
+     * @param tenantRegistry registry of the served tenants
+     * @param properties the tenancy settings
+     */
+    public TenantFilter(TenantRegistry tenantRegistry, TenancyProperties properties) {
+        this.tenantRegistry = tenantRegistry;
+        this.enabled = properties.isEnabled();
+        this.header = properties.getHeader();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String tenantId = request.getHeader(header);
+        if (tenantId == null) {
+            tenantId = tenantRegistry.getDefaultTenant();
+        } else if (!tenantRegistry.isKnown(tenantId)) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Unknown tenant: " + tenantId);
+            return;
+        }
+        TenantContext.setTenantId(tenantId);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            TenantContext.setTenantId(null);
+        }
+    }
+}
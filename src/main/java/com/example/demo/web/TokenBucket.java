@@ -0,0 +1,58 @@
+package com.example.demo.web;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket implemented as a generic cell rate algorithm (GCRA).
+ *
+ * The whole bucket state is a single "theoretical arrival time": the instant at which the bucket
+ * would be full again. Acquiring a token advances it by one emission interval with a single CAS,
+ * and a request is rejected when that instant lies more than {@code burst} intervals in the future.
+ */
+public class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrivalNanos;
+
+    /**
+     * Creates a full bucket.
+     *
+     * @param tokensPerSecond sustained rate at which tokens are refilled
+     * @param burst maximum number of tokens that can be taken at once
+     * @param nowNanos current time in nanoseconds
+     */
+    public TokenBucket(double tokensPerSecond, int burst, long nowNanos) {
+        this.emissionIntervalNanos = (long) (1_000_000_000L / tokensPerSecond);
+        this.burstNanos = emissionIntervalNanos * burst;
+        this.theoreticalArrivalNanos = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @param nowNanos current time in nanoseconds
+     * @return 0 if a token was taken, otherwise the number of nanoseconds until one becomes available
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long tat = theoreticalArrivalNanos.get();
+            long newTat = Math.max(tat, nowNanos) + emissionIntervalNanos;
+            long allowedAt = newTat - burstNanos;
+            if (nowNanos < allowedAt) {
+                return allowedAt - nowNanos;
+            }
+            if (theoreticalArrivalNanos.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * @param nowNanos current time in nanoseconds
+     * @return true if the bucket is full, i.e. the client has been idle long enough to forget it
+     */
+    public boolean isIdle(long nowNanos) {
+        return theoreticalArrivalNanos.get() <= nowNanos;
+    }
+}
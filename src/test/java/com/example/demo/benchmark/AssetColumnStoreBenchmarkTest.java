@@ -0,0 +1,68 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.dto.AssetAggregate;
+import com.example.demo.index.AssetColumnStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Scan benchmark for the columnar asset snapshot: aggregates several million rows and prints the
+ * median time per query.
+ * Disabled by default; run with:
+ * ./mvnw test -Dtest=AssetColumnStoreBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class AssetColumnStoreBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 5_000_000);
+    private static final int RUNS = Integer.getInteger("benchmark.runs", 21);
+
+    /**
+     * Measures grouped aggregations over the whole snapshot.
+     */
+    @Test
+    void aggregate() {
+        AssetColumnStore store = new AssetColumnStore(ROWS);
+        Random random = new Random(1);
+        int firstDay = (int) LocalDate.of(2010, 1, 1).toEpochDay();
+        for (int id = 1; id <= ROWS; id++) {
+            store.put(id, 1 + random.nextInt(200), random.nextBoolean() ? 1 + random.nextInt(50_000) : AssetColumnStore.NO_EMPLOYEE,
+                    (byte) random.nextInt(3), firstDay + random.nextInt(5_000));
+        }
+        int today = (int) LocalDate.now().toEpochDay();
+
+        EnumSet<AssetAggregate.Dimension> byCategoryStatusYear = EnumSet.of(AssetAggregate.Dimension.CATEGORY,
+                AssetAggregate.Dimension.STATUS, AssetAggregate.Dimension.PURCHASE_YEAR);
+        EnumSet<AssetAggregate.Dimension> byAge = EnumSet.of(AssetAggregate.Dimension.AGE_BUCKET);
+        long groupedMicros = median(() -> store.aggregate(byCategoryStatusYear, null, null, AssetColumnStore.NO_STATUS, today));
+        long ageMicros = median(() -> store.aggregate(byAge, null, null, AssetColumnStore.NO_STATUS, today));
+        long filteredMicros = median(() -> store.aggregate(byAge, 42L, null, AssetColumnStore.NO_STATUS, today));
+        System.out.printf("Column store benchmark, %d rows (median of %d): category+status+year=%.1f ms, "
+                        + "age bucket=%.1f ms, one category by age=%.1f ms%n",
+                ROWS, RUNS, groupedMicros / 1000.0, ageMicros / 1000.0, filteredMicros / 1000.0);
+
+        assertThat(store.aggregate(EnumSet.noneOf(AssetAggregate.Dimension.class), null, null,
+                AssetColumnStore.NO_STATUS, today).get(0).getCount()).isEqualTo(ROWS);
+    }
+
+    private static long median(Runnable query) {
+        List<Long> samples = new ArrayList<>();
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            query.run();
+            samples.add(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+        }
+        Collections.sort(samples);
+        return samples.get(samples.size() / 2);
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.model.Asset;
+import com.example.demo.model.AssetNote;
+import com.example.demo.repository.AssetRepository;
+import com.example.demo.service.AssetNoteService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Condition notes benchmark: fills the embedded database with assets carrying notes of one to four
+ * kilobytes, then compares listing all assets as the list endpoint now does, without their notes,
+ * against listing them with their notes as the asset rows used to hold them. Prints the heap held by
+ * each list, the time to load it and the stored size of the notes before and after compression.
+ * Disabled by default; run with:
+ * ./mvnw test -Dtest=AssetNoteBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = {"app.outbox.enabled=false", "app.purge.enabled=false", "app.archive.enabled=false"})
+public class AssetNoteBenchmarkTest {
+
+    private static final int ASSETS = Integer.getInteger("benchmark.rows", 50_000);
+    private static final String[] WORDS = {"scratched", "lid", "screen", "battery", "replaced", "keyboard", "worn",
+            "dent", "on", "the", "left", "hinge", "loose", "port", "cleaned", "checked", "by", "IT", "ok", "cracked"};
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private AssetNoteService assetNoteService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Measures listing assets with and without their notes.
+     */
+    @Test
+    void listWithAndWithoutNotes() {
+        Random random = new Random(1);
+        jdbcTemplate.update("insert into category (id, name, description) values (1, 'Laptops', null)");
+        List<Object[]> assets = new ArrayList<>();
+        List<Object[]> notes = new ArrayList<>();
+        long rawBytes = 0;
+        long storedBytes = 0;
+        for (int i = 1; i <= ASSETS; i++) {
+            assets.add(new Object[]{(long) i, "Laptop " + i, 1L, "AVAILABLE"});
+            String text = notes(random, 1024 + random.nextInt(3072));
+            AssetNote note = assetNoteService.encode((long) i, text);
+            notes.add(new Object[]{(long) i, note.getContent(), note.isCompressed()});
+            rawBytes += text.getBytes(StandardCharsets.UTF_8).length;
+            storedBytes += note.getContent().length;
+            if (assets.size() == 5_000) {
+                insert(assets, notes);
+            }
+        }
+        insert(assets, notes);
+
+        assetRepository.findAll();
+        long heapBefore = usedHeap();
+        long start = System.nanoTime();
+        List<Asset> lean = assetRepository.findAll();
+        long leanMillis = (System.nanoTime() - start) / 1_000_000;
+        long leanHeap = usedHeap() - heapBefore;
+        assertThat(lean).hasSize(ASSETS);
+        lean = null;
+
+        heapBefore = usedHeap();
+        start = System.nanoTime();
+        List<Asset> full = assetRepository.findAll();
+        for (int i = 0; i < full.size(); i += 1_000) {
+            assetNoteService.attachNotes(full.subList(i, Math.min(i + 1_000, full.size())));
+        }
+        long fullMillis = (System.nanoTime() - start) / 1_000_000;
+        long fullHeap = usedHeap() - heapBefore;
+        assertThat(full.get(0).getConditionNotes()).isNotNull();
+
+        System.out.printf("Notes benchmark, %d assets: list without notes=%d ms, %.1f MB heap (%d bytes/asset); "
+                        + "list with notes=%d ms, %.1f MB heap (%d bytes/asset); "
+                        + "notes stored=%.1f MB of %.1f MB raw (%.0f%%)%n",
+                ASSETS, leanMillis, leanHeap / 1e6, leanHeap / ASSETS,
+                fullMillis, fullHeap / 1e6, fullHeap / ASSETS,
+                storedBytes / 1e6, rawBytes / 1e6, 100.0 * storedBytes / rawBytes);
+        assertThat(full).hasSize(ASSETS);
+    }
+
+    private void insert(List<Object[]> assets, List<Object[]> notes) {
+        jdbcTemplate.batchUpdate("insert into asset (id, name, category_id, assignment_status) values (?, ?, ?, ?)",
+                assets);
+        jdbcTemplate.batchUpdate("insert into asset_note (asset_id, content, compressed) values (?, ?, ?)", notes);
+        assets.clear();
+        notes.clear();
+    }
+
+    private static String notes(Random random, int length) {
+        StringBuilder text = new StringBuilder(length + 16);
+        while (text.length() < length) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(random.nextInt(8) == 0 ? ". " : " ");
+        }
+        return text.toString();
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
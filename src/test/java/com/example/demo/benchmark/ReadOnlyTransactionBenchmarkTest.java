@@ -0,0 +1,86 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.service.AssetService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Read-only transaction benchmark: fills the embedded database with assets, then runs the asset
+ * list and lookup through AssetService in its read-only transactions and, as before the services
+ * declared them, inside a read-write transaction per call. Prints the time and heap allocated per call
+ * of each; the read-write runs also pay for the loaded-state snapshots and the dirty check at commit.
+ * Disabled by default; run with:
+ * ./mvnw test -Dtest=ReadOnlyTransactionBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = {"app.outbox.enabled=false", "app.purge.enabled=false", "app.archive.enabled=false"})
+public class ReadOnlyTransactionBenchmarkTest {
+
+    private static final int ASSETS = Integer.getInteger("benchmark.rows", 20_000);
+    private static final int ITERATIONS = 20;
+
+    @Autowired
+    private AssetService assetService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Measures listing and looking up assets in read-only and read-write transactions.
+     */
+    @Test
+    void readOnlyAgainstReadWrite() {
+        jdbcTemplate.update("insert into category (id, name, description) values (1, 'Laptops', null)");
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= ASSETS; i++) {
+            rows.add(new Object[]{(long) i, "Laptop " + i, 1L, "AVAILABLE"});
+        }
+        jdbcTemplate.batchUpdate("insert into asset (id, name, category_id, assignment_status) values (?, ?, ?, ?)", rows);
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        measure("list, read-write", () -> readWrite.execute(status -> assetService.getAllAssets()));
+        measure("list, read-only", () -> assetService.getAllAssets());
+        measure("1000 lookups, read-write", () -> lookups(id -> readWrite.execute(status -> assetService.getAssetById(id))));
+        measure("1000 lookups, read-only", () -> lookups(assetService::getAssetById));
+    }
+
+    private static Object lookups(LongFunction<Optional<?>> lookup) {
+        for (long id = 1; id <= 1000; id++) {
+            assertThat(lookup.apply(id)).isPresent();
+        }
+        return null;
+    }
+
+    private static void measure(String name, Supplier<?> call) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < 5; i++) {
+            call.get();
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            call.get();
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        allocated = threads.getCurrentThreadAllocatedBytes() - allocated;
+        System.out.printf("Read-only benchmark, %d assets, %s: %.1f ms/call, %.1f MB allocated/call%n",
+                ASSETS, name, (double) millis / ITERATIONS, allocated / 1e6 / ITERATIONS);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.dto.SnapshotResult;
+import com.example.demo.snapshot.DatabaseSnapshotService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Snapshot benchmark: fills the embedded database with a million assets, writes the snapshot,
+ * empties the tables and restores them, printing the file size and rows per second of each step.
+ * Disabled by default; run with:
+ * ./mvnw test -Dtest=SnapshotBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+@SpringBootTest(properties = {"app.snapshot.dir=target/snapshot-benchmark", "app.outbox.enabled=false",
+        "app.purge.enabled=false"})
+public class SnapshotBenchmarkTest {
+
+    private static final int ASSETS = Integer.getInteger("benchmark.rows", 1_000_000);
+    private static final int CATEGORIES = 200;
+    private static final int EMPLOYEES = 50_000;
+
+    @Autowired
+    private DatabaseSnapshotService snapshotService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Measures snapshot and restore of the whole database.
+     */
+    @Test
+    void snapshotAndRestore() {
+        Random random = new Random(1);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 1; i <= CATEGORIES; i++) {
+            rows.add(new Object[]{(long) i, "Category " + i, "Description of category " + i});
+        }
+        jdbcTemplate.batchUpdate("insert into category (id, name, description) values (?, ?, ?)", rows);
+        rows.clear();
+        for (int i = 1; i <= EMPLOYEES; i++) {
+            rows.add(new Object[]{(long) i, "Employee " + i, i % 3 == 0 ? "Engineer" : "Analyst"});
+        }
+        jdbcTemplate.batchUpdate("insert into employee (id, full_name, designation) values (?, ?, ?)", rows);
+        rows.clear();
+        for (int i = 1; i <= ASSETS; i++) {
+            boolean assigned = random.nextBoolean();
+            rows.add(new Object[]{(long) i, "Laptop " + i, LocalDate.of(2015, 1, 1).plusDays(random.nextInt(3000)),
+                    1 + random.nextInt(CATEGORIES), assigned ? "ASSIGNED" : "AVAILABLE",
+                    assigned ? (Object) (long) (1 + random.nextInt(EMPLOYEES)) : null});
+            if (rows.size() == 10_000) {
+                insertAssets(rows);
+            }
+        }
+        insertAssets(rows);
+
+        SnapshotResult written = snapshotService.snapshot();
+        long total = written.getCategories() + written.getEmployees() + written.getAssets();
+        jdbcTemplate.execute("delete from asset");
+        jdbcTemplate.execute("delete from employee");
+        jdbcTemplate.execute("delete from category");
+        SnapshotResult restored = snapshotService.restore(Path.of(written.getFile()));
+
+        System.out.printf("Snapshot benchmark, %d rows: file=%.1f MB (%.1f bytes/row), snapshot=%d ms (%,d rows/s), "
+                        + "restore=%d ms (%,d rows/s)%n",
+                total, written.getBytes() / 1e6, (double) written.getBytes() / total,
+                written.getMillis(), total * 1000 / Math.max(1, written.getMillis()),
+                restored.getMillis(), total * 1000 / Math.max(1, restored.getMillis()));
+        assertThat(jdbcTemplate.queryForObject("select count(*) from asset", Long.class)).isEqualTo(ASSETS);
+    }
+
+    private void insertAssets(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("insert into asset (id, name, purchase_date, category_id, assignment_status, employee_id) "
+                + "values (?, ?, ?, ?, ?, ?)", rows);
+        rows.clear();
+    }
+}
@@ -0,0 +1,144 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.DemoApplication;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.ServerSocket;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Startup benchmark comparing time-to-first-request of the default profile, the fast-start profile
+ * and, when the archive produced by the appcds build profile is present, the fast-start profile
+ * launched with that AppCDS archive.
+ *
+ * Each measurement launches the application in a fresh JVM, so class loading and JIT warm-up are
+ * included, and polls GET /api/assets until it answers 200.
+ * Disabled by default; run with:
+ * ./mvnw -Pappcds package -DskipTests && ./mvnw test -Dtest=StartupBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class StartupBenchmarkTest {
+
+    private static final int RUNS = Integer.getInteger("benchmark.runs", 5);
+    private static final long TIMEOUT_MILLIS = 120_000;
+    private static final File TARGET = new File("target");
+
+    /**
+     * Measures each launch mode and prints the median time-to-first-request of each.
+     */
+    @Test
+    void timeToFirstRequest() throws Exception {
+        String classpath = System.getProperty("java.class.path");
+        long defaultMillis = median(() -> launchAndWait(command("", null, classpath, freePort())));
+        long fastMillis = median(() -> launchAndWait(command("fast", null, classpath, freePort())));
+        System.out.printf("Startup benchmark (median of %d runs): default=%d ms, fast=%d ms (%+.1f%%)%n",
+                RUNS, defaultMillis, fastMillis, percent(defaultMillis, fastMillis));
+
+        File archive = new File(TARGET, "app-cds.jsa");
+        File[] appJars = TARGET.listFiles((dir, name) -> name.endsWith("-appcds.jar"));
+        if (archive.isFile() && appJars != null && appJars.length == 1) {
+            String cdsClasspath = appJars[0].getPath() + File.pathSeparator
+                    + new String(Files.readAllBytes(new File(TARGET, "classpath.txt").toPath())).trim();
+            long cdsMillis = median(() -> launchAndWait(
+                    command("fast", "-XX:SharedArchiveFile=" + archive, cdsClasspath, freePort())));
+            System.out.printf("Startup benchmark (median of %d runs): fast+AppCDS=%d ms (%+.1f%% vs default)%n",
+                    RUNS, cdsMillis, percent(defaultMillis, cdsMillis));
+        } else {
+            System.out.println("Startup benchmark: no AppCDS archive in target/, run ./mvnw -Pappcds package first");
+        }
+
+        assertThat(defaultMillis).isPositive();
+        assertThat(fastMillis).isPositive();
+    }
+
+    private static double percent(long baseline, long value) {
+        return 100.0 * (value - baseline) / baseline;
+    }
+
+    private long median(Measurement measurement) throws Exception {
+        List<Long> samples = new ArrayList<>();
+        for (int i = 0; i < RUNS; i++) {
+            samples.add(measurement.run());
+        }
+        Collections.sort(samples);
+        return samples.get(samples.size() / 2);
+    }
+
+    private static List<String> command(String profile, String jvmOption, String classpath, int port) {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        if (jvmOption != null) {
+            command.add(jvmOption);
+        }
+        command.add("-Dspring.devtools.restart.enabled=false");
+        command.add("-cp");
+        command.add(classpath);
+        command.add(DemoApplication.class.getName());
+        command.add("--server.port=" + port);
+        if (!profile.isEmpty()) {
+            command.add("--spring.profiles.active=" + profile);
+        }
+        return command;
+    }
+
+    private long launchAndWait(List<String> command) throws Exception {
+        String port = command.stream().filter(arg -> arg.startsWith("--server.port="))
+                .findFirst().orElseThrow().substring("--server.port=".length());
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            URL url = new URL("http://localhost:" + port + "/api/assets");
+            while (System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MILLIS)) {
+                assertThat(process.isAlive()).as("application process exited during startup").isTrue();
+                if (respondsOk(url)) {
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("Application did not answer within " + TIMEOUT_MILLIS + " ms");
+        } finally {
+            process.destroy();
+            process.waitFor(30, TimeUnit.SECONDS);
+        }
+    }
+
+    private static boolean respondsOk(URL url) {
+        try {
+            HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            connection.setConnectTimeout(100);
+            connection.setReadTimeout(10_000);
+            try {
+                return connection.getResponseCode() == 200;
+            } finally {
+                connection.disconnect();
+            }
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Measurement {
+        long run() throws Exception;
+    }
+}
@@ -0,0 +1,280 @@
+package com.example.demo.grpc;
+
+import com.example.demo.grpc.proto.AssetInput;
+import com.example.demo.grpc.proto.AssetMessage;
+import com.example.demo.grpc.proto.AssetQuery;
+import com.example.demo.grpc.proto.AssetStreamGrpc;
+import com.example.demo.grpc.proto.IngestSummary;
+import com.example.demo.model.Asset;
+import com.example.demo.model.Category;
+import com.example.demo.service.AssetService;
+import com.example.demo.tenant.TenancyProperties;
+import com.example.demo.tenant.TenantContext;
+import com.example.demo.tenant.TenantRegistry;
+import io.grpc.ManagedChannel;
+import io.grpc.Metadata;
+import io.grpc.Server;
+import io.grpc.ServerInterceptors;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.AbstractStub;
+import io.grpc.stub.ClientCallStreamObserver;
+import io.grpc.stub.ClientResponseObserver;
+import io.grpc.stub.MetadataUtils;
+import io.grpc.stub.StreamObserver;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AssetStreamService.
+ * Calls go through an in-process server and channel with the tenant interceptor and two tenants.
+ */
+@ExtendWith(MockitoExtension.class)
+public class AssetStreamServiceTest {
+
+    @Mock
+    private AssetService assetService;
+
+    private Server server;
+    private ManagedChannel channel;
+
+    /**
+     * Start an in-process server reading query pages of two assets.
+     */
+    @BeforeEach
+    void setup() throws Exception {
+        TenancyProperties properties = new TenancyProperties();
+        properties.setEnabled(true);
+        properties.getShards().put("default", new TenancyProperties.Shard());
+        properties.getShards().put("acme", new TenancyProperties.Shard());
+        String name = InProcessServerBuilder.generateName();
+        server = InProcessServerBuilder.forName(name).directExecutor()
+                .addService(ServerInterceptors.intercept(new AssetStreamService(assetService, 2),
+                        new TenantServerInterceptor(new TenantRegistry(properties), properties)))
+                .build()
+                .start();
+        channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        channel.shutdownNow();
+        server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Test that ingest adds assets without ID, patches the set fields of the others and reports failures,
+     * all on behalf of the tenant of the call.
+     */
+    @Test
+    void testIngestAssets_AddsPatchesAndReportsFailures() throws Exception {
+        List<String> tenants = new ArrayList<>();
+        when(assetService.addAsset(any())).thenAnswer(invocation -> {
+            tenants.add(TenantContext.getTenantId());
+            return invocation.getArgument(0);
+        });
+        when(assetService.patchAsset(eq(5L), any())).thenReturn(new Asset());
+        when(assetService.patchAsset(eq(7L), any())).thenThrow(new RuntimeException("Asset not found with id 7"));
+        CompletableFuture<IngestSummary> reply = new CompletableFuture<>();
+
+        StreamObserver<AssetInput> requests = stub(AssetStreamGrpc.newStub(channel), "acme")
+                .ingestAssets(observer(reply));
+        requests.onNext(AssetInput.newBuilder().setName("Laptop").setPurchaseDate("2024-05-01")
+                .setCategoryId(3).build());
+        requests.onNext(AssetInput.newBuilder().setId(5).setName("Dock").setConditionNotes("").build());
+        requests.onNext(AssetInput.newBuilder().setId(7).setCategoryId(4).build());
+        requests.onCompleted();
+
+        assertThat(reply.get(5, TimeUnit.SECONDS)).isEqualTo(IngestSummary.newBuilder()
+                .setSucceeded(2).setFailed(1).addErrors("Asset 2: Asset not found with id 7").build());
+        ArgumentCaptor<Asset> added = ArgumentCaptor.forClass(Asset.class);
+        verify(assetService).addAsset(added.capture());
+        assertThat(added.getValue().getPurchaseDate()).isEqualTo(LocalDate.of(2024, 5, 1));
+        assertThat(added.getValue().getCategory().getId()).isEqualTo(3L);
+        assertThat(tenants).containsExactly("acme");
+        Map<String, Object> patch = new HashMap<>();
+        patch.put("name", "Dock");
+        patch.put("conditionNotes", null);
+        verify(assetService).patchAsset(5L, patch);
+        verify(assetService).patchAsset(7L, Collections.singletonMap("category", Collections.singletonMap("id", 4L)));
+    }
+
+    /**
+     * Test that a query streams every matching asset, reading keyset pages until a short page.
+     */
+    @Test
+    void testQueryAssets_StreamsPages() {
+        Category laptops = new Category(3L, "Laptops", null);
+        when(assetService.getAssetsAfter(0L, "lap", 2)).thenReturn(Arrays.asList(asset(1L, laptops), asset(4L, laptops)));
+        when(assetService.getAssetsAfter(4L, "lap", 2)).thenReturn(Collections.singletonList(asset(9L, laptops)));
+
+        List<Long> ids = new ArrayList<>();
+        AssetStreamGrpc.newBlockingStub(channel).queryAssets(AssetQuery.newBuilder().setName("lap").build())
+                .forEachRemaining(message -> ids.add(message.getId()));
+
+        assertThat(ids).containsExactly(1L, 4L, 9L);
+        verify(assetService, times(2)).getAssetsAfter(anyLong(), anyString(), anyInt());
+    }
+
+    /**
+     * Test that a query streams each asset as listed by the REST API.
+     */
+    @Test
+    void testQueryAssets_MapsFields() {
+        Asset asset = asset(1L, new Category(3L, "Laptops", null));
+        asset.setPurchaseDate(LocalDate.of(2024, 5, 1));
+        when(assetService.getAssetsAfter(0L, "", 2)).thenReturn(Collections.singletonList(asset));
+
+        AssetMessage message = AssetStreamGrpc.newBlockingStub(channel).queryAssets(AssetQuery.getDefaultInstance()).next();
+
+        assertThat(message).isEqualTo(AssetMessage.newBuilder().setId(1L).setName("Laptop 1")
+                .setPurchaseDate("2024-05-01").setCategoryId(3L).setCategoryName("Laptops")
+                .setAssignmentStatus("AVAILABLE").build());
+    }
+
+    /**
+     * Test that ingest holds the client back while an asset is applied: the server requests one message at a
+     * time, so the client stream is not ready until the previous asset is done.
+     */
+    @Test
+    void testIngestAssets_AppliesOneMessageAtATime() throws Exception {
+        AtomicReference<ClientCallStreamObserver<AssetInput>> client = new AtomicReference<>();
+        AtomicInteger applying = new AtomicInteger();
+        List<String> applied = new ArrayList<>();
+        List<Boolean> clientReady = new ArrayList<>();
+        when(assetService.addAsset(any())).thenAnswer(invocation -> {
+            assertThat(applying.incrementAndGet()).isEqualTo(1);
+            clientReady.add(client.get().isReady());
+            applied.add(invocation.<Asset>getArgument(0).getName());
+            applying.decrementAndGet();
+            return invocation.getArgument(0);
+        });
+        CompletableFuture<IngestSummary> reply = new CompletableFuture<>();
+
+        client.set((ClientCallStreamObserver<AssetInput>) AssetStreamGrpc.newStub(channel).ingestAssets(observer(reply)));
+        for (int i = 0; i < 5; i++) {
+            client.get().onNext(AssetInput.newBuilder().setName("Laptop " + i).setCategoryId(3).build());
+        }
+        client.get().onCompleted();
+
+        assertThat(reply.get(5, TimeUnit.SECONDS).getSucceeded()).isEqualTo(5);
+        assertThat(applied).containsExactly("Laptop 0", "Laptop 1", "Laptop 2", "Laptop 3", "Laptop 4");
+        assertThat(clientReady).containsOnly(false);
+    }
+
+    /**
+     * Test that a query stops reading pages while the client requests no more messages, and resumes
+     * from the buffered page once it does.
+     */
+    @Test
+    void testQueryAssets_StopsReadingWhileClientIsNotReady() throws Exception {
+        Category laptops = new Category(3L, "Laptops", null);
+        when(assetService.getAssetsAfter(0L, "", 2)).thenReturn(Arrays.asList(asset(1L, laptops), asset(2L, laptops)));
+        when(assetService.getAssetsAfter(2L, "", 2)).thenReturn(Arrays.asList(asset(3L, laptops), asset(4L, laptops)));
+        BlockingQueue<Long> received = new LinkedBlockingQueue<>();
+        AtomicReference<ClientCallStreamObserver<AssetQuery>> call = new AtomicReference<>();
+
+        AssetStreamGrpc.newStub(channel).queryAssets(AssetQuery.getDefaultInstance(),
+                new ClientResponseObserver<AssetQuery, AssetMessage>() {
+                    @Override
+                    public void beforeStart(ClientCallStreamObserver<AssetQuery> requestStream) {
+                        call.set(requestStream);
+                        requestStream.disableAutoRequestWithInitial(1);
+                    }
+
+                    @Override
+                    public void onNext(AssetMessage message) {
+                        received.add(message.getId());
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                    }
+                });
+
+        assertThat(received.poll(5, TimeUnit.SECONDS)).isEqualTo(1L);
+        verify(assetService, after(200).times(1)).getAssetsAfter(anyLong(), anyString(), anyInt());
+        assertThat(received).isEmpty();
+
+        call.get().request(1);
+        assertThat(received.poll(5, TimeUnit.SECONDS)).isEqualTo(2L);
+        verify(assetService, after(200).times(1)).getAssetsAfter(anyLong(), anyString(), anyInt());
+
+        call.get().request(1);
+        assertThat(received.poll(5, TimeUnit.SECONDS)).isEqualTo(3L);
+        verify(assetService, after(200).times(2)).getAssetsAfter(anyLong(), anyString(), anyInt());
+        assertThat(received).isEmpty();
+        call.get().cancel("done", null);
+    }
+
+    /**
+     * Test that calls for an unknown tenant are rejected before reaching the service.
+     */
+    @Test
+    void testUnknownTenant_Rejected() {
+        AssetStreamGrpc.AssetStreamBlockingStub stub = stub(AssetStreamGrpc.newBlockingStub(channel), "other");
+
+        assertThatThrownBy(() -> stub.queryAssets(AssetQuery.getDefaultInstance()).hasNext())
+                .isInstanceOf(StatusRuntimeException.class)
+                .satisfies(e -> assertThat(Status.fromThrowable(e).getCode()).isEqualTo(Status.Code.INVALID_ARGUMENT))
+                .hasMessageContaining("Unknown tenant: other");
+        verifyNoInteractions(assetService);
+    }
+
+    private static <S extends AbstractStub<S>> S stub(S stub, String tenantId) {
+        Metadata headers = new Metadata();
+        headers.put(Metadata.Key.of("x-tenant-id", Metadata.ASCII_STRING_MARSHALLER), tenantId);
+        return stub.withInterceptors(MetadataUtils.newAttachHeadersInterceptor(headers));
+    }
+
+    private static <T> StreamObserver<T> observer(CompletableFuture<T> reply) {
+        return new StreamObserver<T>() {
+            @Override
+            public void onNext(T value) {
+                reply.complete(value);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                reply.completeExceptionally(t);
+            }
+
+            @Override
+            public void onCompleted() {
+            }
+        };
+    }
+
+    private static Asset asset(Long id, Category category) {
+        return new Asset(id, "Laptop " + id, null, null, category, Asset.AssignmentStatus.AVAILABLE, null, null, null);
+    }
+}
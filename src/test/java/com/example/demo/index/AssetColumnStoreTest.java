@@ -0,0 +1,154 @@
+package com.example.demo.index;
+
+import com.example.demo.dto.AssetAggregate;
+import com.example.demo.model.Asset;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for AssetColumnStore class.
+ */
+public class AssetColumnStoreTest {
+
+    private static final byte AVAILABLE = (byte) Asset.AssignmentStatus.AVAILABLE.ordinal();
+    private static final byte ASSIGNED = (byte) Asset.AssignmentStatus.ASSIGNED.ordinal();
+    private static final int TODAY = (int) LocalDate.of(2024, 6, 30).toEpochDay();
+
+    /**
+     * Groups by category and status, with removals and replacements applied.
+     */
+    @Test
+    void testAggregate_ByCategoryAndStatus() {
+        AssetColumnStore store = new AssetColumnStore(2);
+        store.put(1, 10, AssetColumnStore.NO_EMPLOYEE, AVAILABLE, day(2023, 1, 1));
+        store.put(2, 10, 7, ASSIGNED, day(2020, 1, 1));
+        store.put(3, 20, AssetColumnStore.NO_EMPLOYEE, AVAILABLE, AssetColumnStore.NO_DATE);
+        store.put(4, 10, AssetColumnStore.NO_EMPLOYEE, AVAILABLE, day(2023, 1, 1));
+        store.remove(1);
+        store.put(4, 20, 7, ASSIGNED, day(2023, 1, 1));
+
+        List<AssetAggregate> groups = store.aggregate(
+                EnumSet.of(AssetAggregate.Dimension.CATEGORY, AssetAggregate.Dimension.STATUS), null, null,
+                AssetColumnStore.NO_STATUS, TODAY);
+
+        assertThat(groups).extracting(AssetAggregate::getCategoryId, AssetAggregate::getStatus, AssetAggregate::getCount)
+                .containsExactly(
+                        tuple(10L, Asset.AssignmentStatus.ASSIGNED, 1L),
+                        tuple(20L, Asset.AssignmentStatus.AVAILABLE, 1L),
+                        tuple(20L, Asset.AssignmentStatus.ASSIGNED, 1L));
+        assertThat(store.size()).isEqualTo(3);
+    }
+
+    /**
+     * Groups by purchase year and age bucket; undated rows fall into UNKNOWN.
+     */
+    @Test
+    void testAggregate_ByYearAndAge() {
+        AssetColumnStore store = new AssetColumnStore(16);
+        store.put(1, 10, AssetColumnStore.NO_EMPLOYEE, AVAILABLE, day(2024, 1, 1));
+        store.put(2, 10, AssetColumnStore.NO_EMPLOYEE, AVAILABLE, day(2017, 3, 1));
+        store.put(3, 10, AssetColumnStore.NO_EMPLOYEE, AVAILABLE, AssetColumnStore.NO_DATE);
+
+        List<AssetAggregate> groups = store.aggregate(
+                EnumSet.of(AssetAggregate.Dimension.PURCHASE_YEAR, AssetAggregate.Dimension.AGE_BUCKET), null, null,
+                AssetColumnStore.NO_STATUS, TODAY);
+
+        assertThat(groups).extracting(AssetAggregate::getPurchaseYear, AssetAggregate::getAgeBucket, AssetAggregate::getCount)
+                .containsExactly(
+                        tuple(null, AssetAggregate.AgeBucket.UNKNOWN, 1L),
+                        tuple(2017, AssetAggregate.AgeBucket.OVER_5_YEARS, 1L),
+                        tuple(2024, AssetAggregate.AgeBucket.UNDER_1_YEAR, 1L));
+        assertThat(groups.get(2).getAverageAgeDays()).isEqualTo((double) (TODAY - day(2024, 1, 1)));
+        assertThat(groups.get(0).getAverageAgeDays()).isNull();
+    }
+
+    /**
+     * Filters and category replacement apply to the total.
+     */
+    @Test
+    void testAggregate_FiltersAndReplaceCategory() {
+        AssetColumnStore store = new AssetColumnStore(16);
+        store.put(1, 10, 7, ASSIGNED, AssetColumnStore.NO_DATE);
+        store.put(2, 20, 7, ASSIGNED, AssetColumnStore.NO_DATE);
+        store.put(3, 20, 8, ASSIGNED, AssetColumnStore.NO_DATE);
+
+        assertThat(store.replaceCategory(10, 20)).isEqualTo(1);
+        List<AssetAggregate> total = store.aggregate(EnumSet.noneOf(AssetAggregate.Dimension.class), 20L, 7L,
+                ASSIGNED, TODAY);
+
+        assertThat(total).singleElement().extracting(AssetAggregate::getCount).isEqualTo(2L);
+    }
+
+    /**
+     * Changes made during a bulk load are applied after it, so rows read before them do not undo them.
+     */
+    @Test
+    void testLoad_AppliesChangesAfterwards() {
+        AssetColumnStore store = new AssetColumnStore(16);
+        store.beginLoad();
+        store.remove(1);
+        store.replaceCategory(10, 20);
+        store.put(3, 30, AssetColumnStore.NO_EMPLOYEE, AVAILABLE, AssetColumnStore.NO_DATE);
+        store.putIfAbsent(1, 10, AssetColumnStore.NO_EMPLOYEE, AVAILABLE, AssetColumnStore.NO_DATE);
+        store.putIfAbsent(2, 10, AssetColumnStore.NO_EMPLOYEE, AVAILABLE, AssetColumnStore.NO_DATE);
+        store.putIfAbsent(3, 10, AssetColumnStore.NO_EMPLOYEE, AVAILABLE, AssetColumnStore.NO_DATE);
+        store.endLoad();
+
+        List<AssetAggregate> byCategory = store.aggregate(EnumSet.of(AssetAggregate.Dimension.CATEGORY), null, null,
+                AssetColumnStore.NO_STATUS, TODAY);
+
+        assertThat(store.size()).isEqualTo(2);
+        assertThat(byCategory).extracting(AssetAggregate::getCategoryId).containsExactly(20L, 30L);
+    }
+
+    /**
+     * The allocation-free year computation agrees with LocalDate.
+     */
+    @Test
+    void testYearOfEpochDay() {
+        for (int day = (int) LocalDate.of(1600, 1, 1).toEpochDay(); day < LocalDate.of(2400, 1, 1).toEpochDay(); day += 7) {
+            assertThat(AssetColumnStore.yearOfEpochDay(day)).isEqualTo(LocalDate.ofEpochDay(day).getYear());
+        }
+    }
+
+    /**
+     * Random puts and removes keep the ID map and the rows consistent.
+     */
+    @Test
+    void testRandomChanges_StayConsistent() {
+        AssetColumnStore store = new AssetColumnStore(16);
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            long id = random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                store.remove(id);
+                expected.remove(id);
+            } else {
+                long category = random.nextInt(5);
+                store.put(id, category, AssetColumnStore.NO_EMPLOYEE, AVAILABLE, AssetColumnStore.NO_DATE);
+                expected.put(id, category);
+            }
+        }
+
+        List<AssetAggregate> groups = store.aggregate(EnumSet.of(AssetAggregate.Dimension.CATEGORY), null, null,
+                AssetColumnStore.NO_STATUS, TODAY);
+
+        assertThat(store.size()).isEqualTo(expected.size());
+        for (AssetAggregate group : groups) {
+            assertThat(group.getCount()).isEqualTo(expected.values().stream().filter(c -> c.equals(group.getCategoryId())).count());
+        }
+    }
+
+    private static int day(int year, int month, int dayOfMonth) {
+        return (int) LocalDate.of(year, month, dayOfMonth).toEpochDay();
+    }
+}
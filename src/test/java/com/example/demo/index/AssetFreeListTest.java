@@ -0,0 +1,94 @@
+package com.example.demo.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for AssetFreeList class.
+ */
+public class AssetFreeListTest {
+
+    /**
+     * Assets are popped in FIFO order per category and queued at most once.
+     */
+    @Test
+    void testPoll_FifoPerCategoryWithoutDuplicates() {
+        AssetFreeList freeList = new AssetFreeList();
+        freeList.offer(1, 10);
+        freeList.offer(2, 20);
+        freeList.offer(1, 11);
+        freeList.offer(1, 10);
+
+        assertThat(freeList.size(1)).isEqualTo(2);
+        assertThat(freeList.poll(1)).isEqualTo(10L);
+        assertThat(freeList.poll(1)).isEqualTo(11L);
+        assertThat(freeList.poll(1)).isNull();
+        assertThat(freeList.poll(3)).isNull();
+
+        freeList.offer(1, 10);
+        assertThat(freeList.poll(1)).isEqualTo(10L);
+    }
+
+    /**
+     * Merging a category moves its queued assets behind those of the target.
+     */
+    @Test
+    void testMoveCategory_AppendsToTarget() {
+        AssetFreeList freeList = new AssetFreeList();
+        freeList.offer(1, 10);
+        freeList.offer(2, 20);
+
+        freeList.moveCategory(1, 2);
+
+        assertThat(freeList.poll(1)).isNull();
+        assertThat(freeList.poll(2)).isEqualTo(20L);
+        assertThat(freeList.poll(2)).isEqualTo(10L);
+    }
+
+    /**
+     * Concurrent pollers never receive the same asset and together drain every asset.
+     */
+    @Test
+    void testPoll_ConcurrentPollersGetDistinctAssets() throws Exception {
+        AssetFreeList freeList = new AssetFreeList();
+        int assets = 20_000;
+        for (long id = 1; id <= assets; id++) {
+            freeList.offer(7, id);
+        }
+        Set<Long> taken = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> pollers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            pollers.add(executor.submit(() -> {
+                start.await();
+                int count = 0;
+                for (Long id = freeList.poll(7); id != null; id = freeList.poll(7)) {
+                    assertThat(taken.add(id)).isTrue();
+                    count++;
+                }
+                return count;
+            }));
+        }
+        start.countDown();
+        int total = 0;
+        for (Future<Integer> poller : pollers) {
+            total += poller.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(total).isEqualTo(assets);
+        assertThat(taken).hasSize(assets);
+    }
+}
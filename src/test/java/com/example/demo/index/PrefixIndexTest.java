@@ -0,0 +1,97 @@
+package com.example.demo.index;
+
+import com.example.demo.dto.Suggestion;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for PrefixIndex class.
+ * Exercises prefix lookups, incremental maintenance and the memory budget.
+ */
+public class PrefixIndexTest {
+
+    /**
+     * Test that lookups are case-insensitive, ordered by name and limited.
+     */
+    @Test
+    void testComplete_PrefixOrderAndLimit() {
+        PrefixIndex index = new PrefixIndex(Suggestion.Type.ASSET, 1_000_000);
+        index.put(1L, "Laptop Dell");
+        index.put(2L, "laptop Apple");
+        index.put(3L, "Monitor");
+        index.put(4L, "Lamp");
+
+        List<Suggestion> result = index.complete("LAP", 10);
+
+        assertThat(result).extracting(Suggestion::getId).containsExactly(2L, 1L);
+        assertThat(index.complete("la", 1)).extracting(Suggestion::getId).containsExactly(4L);
+        assertThat(index.complete("x", 10)).isEmpty();
+    }
+
+    /**
+     * Test that renaming and removing entries keeps the index consistent.
+     */
+    @Test
+    void testPutAndRemove_IncrementalMaintenance() {
+        PrefixIndex index = new PrefixIndex(Suggestion.Type.EMPLOYEE, 1_000_000);
+        index.put(1L, "Alice");
+        index.put(1L, "Bob");
+        index.putIfAbsent(1L, "Alice");
+
+        assertThat(index.complete("a", 10)).isEmpty();
+        assertThat(index.complete("b", 10)).extracting(Suggestion::getName).containsExactly("Bob");
+
+        index.remove(1L);
+
+        assertThat(index.size()).isZero();
+        assertThat(index.getEstimatedBytes()).isZero();
+    }
+
+    /**
+     * Test that equal names are ordered by numeric ID, like the database fallback.
+     */
+    @Test
+    void testComplete_EqualNamesInIdOrder() {
+        PrefixIndex index = new PrefixIndex(Suggestion.Type.ASSET, 1_000_000);
+        index.put(10L, "Dock");
+        index.put(9L, "dock");
+        index.put(70_000L, "Dock");
+
+        assertThat(index.complete("dock", 10)).extracting(Suggestion::getId).containsExactly(9L, 10L, 70_000L);
+    }
+
+    /**
+     * Test that a bulk load does not bring back entries removed after it read them.
+     */
+    @Test
+    void testPutIfAbsent_SkipsEntriesRemovedDuringLoad() {
+        PrefixIndex index = new PrefixIndex(Suggestion.Type.ASSET, 1_000_000);
+        index.beginLoad();
+        index.remove(1L);
+        index.putIfAbsent(1L, "Deleted laptop");
+        index.putIfAbsent(2L, "Laptop");
+        index.endLoad();
+        index.putIfAbsent(1L, "Laptop again");
+
+        assertThat(index.complete("", 10)).extracting(Suggestion::getId).containsExactly(2L, 1L);
+        assertThat(index.complete("deleted", 10)).isEmpty();
+    }
+
+    /**
+     * Test that exceeding the memory budget makes the index unavailable instead of incomplete.
+     */
+    @Test
+    void testPut_ExceedsBudget() {
+        PrefixIndex index = new PrefixIndex(Suggestion.Type.CATEGORY, PrefixIndex.ENTRY_OVERHEAD_BYTES + 64);
+        index.put(1L, "Chairs");
+        assertThat(index.isAvailable()).isTrue();
+
+        index.put(2L, "Desks");
+
+        assertThat(index.isAvailable()).isFalse();
+        assertThat(index.size()).isZero();
+    }
+}
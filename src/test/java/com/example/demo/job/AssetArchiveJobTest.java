@@ -0,0 +1,145 @@
+package com.example.demo.job;
+
+import com.example.demo.dto.Suggestion;
+import com.example.demo.model.ArchivedAsset;
+import com.example.demo.model.Asset;
+import com.example.demo.model.Category;
+import com.example.demo.model.Employee;
+import com.example.demo.repository.ArchivedAssetRepository;
+import com.example.demo.repository.AssetRepository;
+import com.example.demo.repository.AssignmentHistoryRepository;
+import com.example.demo.repository.CategoryRepository;
+import com.example.demo.repository.EmployeeRepository;
+import com.example.demo.repository.OutboxEventRepository;
+import com.example.demo.service.AssetNoteService;
+import com.example.demo.service.AssetService;
+import com.example.demo.service.AutocompleteService;
+import com.example.demo.service.CategoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests moving long-recovered assets to the archive table against the embedded database.
+ */
+@SpringBootTest(properties = {"app.outbox.enabled=false", "app.archive.enabled=false", "app.archive.after=30d",
+        "app.archive.chunk-size=2", "app.archive.pause-between-chunks=0ms"})
+public class AssetArchiveJobTest {
+
+    @Autowired
+    private AssetArchiveJob job;
+
+    @Autowired
+    private AssetService assetService;
+
+    @Autowired
+    private AssetNoteService assetNoteService;
+
+    @Autowired
+    private AutocompleteService autocompleteService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private ArchivedAssetRepository archivedAssetRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private AssignmentHistoryRepository historyRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    private Category category;
+
+    /**
+     * Start every test from empty tables and one category.
+     */
+    @BeforeEach
+    void cleanup() {
+        historyRepository.deleteAllInBatch();
+        outboxEventRepository.deleteAllInBatch();
+        assetRepository.deleteAllInBatch();
+        archivedAssetRepository.deleteAllInBatch();
+        employeeRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+        category = categoryRepository.save(new Category(null, "Docks", null));
+    }
+
+    private Asset asset(String name, Asset.AssignmentStatus status, Employee holder, LocalDateTime recoveredAt) {
+        Asset asset = assetRepository.save(new Asset(null, name, LocalDate.of(2019, 6, 1), null, category,
+                status, holder, recoveredAt, null));
+        assetNoteService.addNotes(asset.getId(), "Worn");
+        return asset;
+    }
+
+    /**
+     * Test that only assets RECOVERED before the threshold are moved, with their columns, IDs and notes,
+     * and that default reads no longer see them while includeArchived reads do.
+     */
+    @Test
+    void testArchive_MovesOnlyLongRecoveredAssets() {
+        Employee employee = new Employee();
+        employee.setId(1L);
+        employee.setFullName("Alice Smith");
+        employee = employeeRepository.save(employee.markNew());
+        LocalDateTime longAgo = LocalDateTime.of(2020, 2, 3, 4, 5, 6);
+        Asset first = asset("Archived dock one", Asset.AssignmentStatus.RECOVERED, null, longAgo);
+        asset("Archived dock two", Asset.AssignmentStatus.RECOVERED, null, longAgo);
+        asset("Archived dock three", Asset.AssignmentStatus.RECOVERED, null, longAgo);
+        asset("Recent dock", Asset.AssignmentStatus.RECOVERED, null, LocalDateTime.now().minusDays(5));
+        asset("Assigned dock", Asset.AssignmentStatus.ASSIGNED, employee, null);
+
+        long archived = job.archive();
+
+        assertThat(archived).isEqualTo(3);
+        assertThat(assetRepository.findAll()).extracting(Asset::getName)
+                .containsExactlyInAnyOrder("Recent dock", "Assigned dock");
+        ArchivedAsset moved = archivedAssetRepository.findById(first.getId()).orElseThrow();
+        assertThat(moved.getName()).isEqualTo("Archived dock one");
+        assertThat(moved.getPurchaseDate()).isEqualTo(LocalDate.of(2019, 6, 1));
+        assertThat(moved.getCategory().getId()).isEqualTo(category.getId());
+        assertThat(moved.getRecoveredAt()).isEqualTo(longAgo);
+        assertThat(moved.getArchivedAt()).isNotNull();
+
+        assertThat(assetService.searchAssetsByName("archived")).isEmpty();
+        assertThat(assetService.searchAssetsByName("archived", true)).hasSize(3);
+        assertThat(assetService.getAllAssets(true)).hasSize(5);
+        assertThat(assetService.getAssetById(first.getId(), true)).map(Asset::getAssignmentStatus)
+                .contains(Asset.AssignmentStatus.RECOVERED);
+        assertThat(assetService.getAssetById(first.getId(), true)).map(Asset::getConditionNotes).contains("Worn");
+        assertThat(autocompleteService.complete("archived", Suggestion.Type.ASSET, 10)).isEmpty();
+        assertThat(job.archive()).isZero();
+    }
+
+    /**
+     * Test that a category with only archived assets cannot be deleted, and that merging it moves the archived assets.
+     */
+    @Test
+    void testArchivedAssets_FollowCategoryMerge() {
+        Asset asset = asset("Archived dock", Asset.AssignmentStatus.RECOVERED, null, LocalDateTime.of(2020, 1, 1, 0, 0));
+        job.archive();
+        Category target = categoryRepository.save(new Category(null, "Peripherals", null));
+
+        assertThatThrownBy(() -> categoryService.deleteCategory(category.getId()))
+                .hasMessageContaining("Cannot delete category that has assets");
+        assertThat(categoryService.mergeCategory(category.getId(), target.getId()).getMovedAssets()).isEqualTo(1);
+        assertThat(archivedAssetRepository.findById(asset.getId()).orElseThrow().getCategory().getId())
+                .isEqualTo(target.getId());
+    }
+}
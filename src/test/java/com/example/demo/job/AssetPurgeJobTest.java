@@ -0,0 +1,123 @@
+package com.example.demo.job;
+
+import com.example.demo.event.AssetChangedEvent;
+import com.example.demo.model.Asset;
+import com.example.demo.repository.ArchivedAssetRepository;
+import com.example.demo.repository.AssetRepository;
+import com.example.demo.service.AssetNoteService;
+import com.example.demo.tenant.TenancyProperties;
+import com.example.demo.tenant.TenantRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AssetPurgeJob class.
+ * Uses Mockito to mock the repository and transaction manager so only the chunking logic is exercised.
+ */
+@ExtendWith(MockitoExtension.class)
+public class AssetPurgeJobTest {
+
+    @Mock
+    private AssetRepository assetRepository;
+
+    @Mock
+    private ArchivedAssetRepository archivedAssetRepository;
+
+    @Mock
+    private AssetNoteService assetNoteService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private AssetPurgeJob job;
+
+    /**
+     * Create a job with a chunk size of two and no pause between chunks.
+     */
+    @BeforeEach
+    void setup() {
+        job = new AssetPurgeJob(assetRepository, archivedAssetRepository, assetNoteService, transactionManager,
+                eventPublisher, true, Duration.ofDays(30), 2, Duration.ZERO, "", new TenantRegistry(new TenancyProperties()));
+    }
+
+    /**
+     * Test that the job walks the keyset in chunks and deletes each chunk with one statement.
+     */
+    @Test
+    void testPurge_DeletesInKeysetChunks() {
+        when(assetRepository.findIdsRecoveredBefore(eq(Asset.AssignmentStatus.RECOVERED), any(LocalDateTime.class),
+                eq(0L), any(Pageable.class))).thenReturn(Arrays.asList(1L, 2L));
+        when(assetRepository.findIdsRecoveredBefore(eq(Asset.AssignmentStatus.RECOVERED), any(LocalDateTime.class),
+                eq(2L), any(Pageable.class))).thenReturn(Collections.singletonList(5L));
+        when(assetRepository.deleteByIdInAndStatus(anyCollection(), eq(Asset.AssignmentStatus.RECOVERED)))
+                .thenAnswer(i -> i.<java.util.Collection<?>>getArgument(0).size());
+
+        PurgeProgress progress = job.purge();
+
+        assertThat(progress.isRunning()).isFalse();
+        assertThat(progress.getChunks()).isEqualTo(2);
+        assertThat(progress.getDeleted()).isEqualTo(3);
+        assertThat(progress.getLastId()).isEqualTo(5);
+        assertThat(progress.getError()).isNull();
+        verify(assetRepository, times(2)).deleteByIdInAndStatus(anyCollection(), eq(Asset.AssignmentStatus.RECOVERED));
+        verify(eventPublisher).publishEvent(AssetChangedEvent.deleted(5L));
+        // Two chunks of the asset table and one empty chunk of the archive
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    /**
+     * Test that assets reassigned between selection and deletion are not reported as purged.
+     */
+    @Test
+    void testPurge_SkipsConcurrentlyReassignedAssets() {
+        when(assetRepository.findIdsRecoveredBefore(any(), any(), eq(0L), any())).thenReturn(Arrays.asList(1L, 2L, 3L));
+        when(assetRepository.deleteByIdInAndStatus(anyCollection(), any())).thenReturn(2);
+        when(assetRepository.findExistingIds(anyCollection())).thenReturn(Collections.singletonList(2L));
+
+        PurgeProgress progress = job.purge();
+
+        assertThat(progress.getDeleted()).isEqualTo(2);
+        verify(eventPublisher, never()).publishEvent(AssetChangedEvent.deleted(2L));
+        verify(assetNoteService).deleteNotes(new HashSet<>(Arrays.asList(1L, 3L)));
+    }
+
+    /**
+     * Test that the archive is purged after the asset table, without announcing the archived assets.
+     */
+    @Test
+    void testPurge_AlsoPurgesArchive() {
+        when(archivedAssetRepository.findIdsRecoveredBefore(any(LocalDateTime.class), eq(0L), any(Pageable.class)))
+                .thenReturn(Arrays.asList(7L, 9L));
+        when(archivedAssetRepository.findIdsRecoveredBefore(any(LocalDateTime.class), eq(9L), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+        when(archivedAssetRepository.deleteByIdIn(Arrays.asList(7L, 9L))).thenReturn(2);
+
+        PurgeProgress progress = job.purge();
+
+        assertThat(progress.getDeleted()).isEqualTo(2);
+        assertThat(progress.getChunks()).isEqualTo(1);
+        assertThat(progress.getLastId()).isEqualTo(9);
+        verify(assetRepository, never()).deleteByIdInAndStatus(anyCollection(), any());
+        verify(assetNoteService).deleteNotes(Arrays.asList(7L, 9L));
+        verifyNoInteractions(eventPublisher);
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.demo.job;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for BulkJobService.
+ * Uses one worker and a queue of one job so that queueing, rejection and cancellation can be observed.
+ */
+public class BulkJobServiceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private BulkJobService service;
+
+    /**
+     * Create a service with one worker, room for one queued job and two retained jobs.
+     */
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new BulkJobService(meterRegistry, 1, 1, 2, "target/jobs-test");
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.destroy();
+    }
+
+    /**
+     * Test that a job reports its items and keeps its summary and result file.
+     */
+    @Test
+    void testSubmit_RunsJobAndKeepsResult() throws Exception {
+        JobProgress queued = service.submit("test", context -> {
+            context.setTotal(3);
+            context.itemDone();
+            context.itemFailed("Item 1: broken");
+            context.itemDone();
+            Files.writeString(context.createResultFile("csv"), "id\n1\n");
+            return "summary";
+        });
+
+        JobProgress done = await(queued.getId());
+
+        assertThat(done.getStatus()).isEqualTo(JobProgress.Status.DONE);
+        assertThat(done.getProcessed()).isEqualTo(3);
+        assertThat(done.getFailed()).isEqualTo(1);
+        assertThat(done.getPercent()).isEqualTo(100);
+        assertThat(done.getItemErrors()).containsExactly("Item 1: broken");
+        assertThat(service.getResult(queued.getId())).isEqualTo("summary");
+        Path file = service.getResultFile(queued.getId());
+        assertThat(Files.readString(file)).isEqualTo("id\n1\n");
+        assertThat(meterRegistry.get("jobs.finished").tag("status", "DONE").counter().count()).isEqualTo(1);
+    }
+
+    /**
+     * Test that a full queue rejects new jobs and that a queued job can be cancelled before it starts.
+     */
+    @Test
+    void testSubmit_RejectsWhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        JobProgress running = service.submit("test", context -> {
+            started.countDown();
+            release.await();
+            return null;
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        JobProgress queued = service.submit("test", context -> {
+            context.itemDone();
+            return null;
+        });
+
+        assertThatThrownBy(() -> service.submit("test", context -> null))
+                .isInstanceOf(RejectedExecutionException.class);
+        assertThat(meterRegistry.get("jobs.running").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("jobs.queued").gauge().value()).isEqualTo(1);
+
+        assertThat(service.cancel(queued.getId()).getStatus()).isEqualTo(JobProgress.Status.CANCELLED);
+        release.countDown();
+        assertThat(await(running.getId()).getStatus()).isEqualTo(JobProgress.Status.DONE);
+        assertThat(service.getProgress(queued.getId()).getProcessed()).isZero();
+    }
+
+    /**
+     * Test that a running job stops at its next cancellation check and a failing job reports its error.
+     */
+    @Test
+    void testCancelAndFailure() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        JobProgress looping = service.submit("test", context -> {
+            started.countDown();
+            while (!context.isCancelled()) {
+                Thread.sleep(1);
+            }
+            return null;
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        service.cancel(looping.getId());
+        assertThat(await(looping.getId()).getStatus()).isEqualTo(JobProgress.Status.CANCELLED);
+
+        JobProgress failing = service.submit("test", context -> {
+            throw new IllegalStateException("boom");
+        });
+        JobProgress failed = await(failing.getId());
+        assertThat(failed.getStatus()).isEqualTo(JobProgress.Status.FAILED);
+        assertThat(failed.getError()).isEqualTo("boom");
+        assertThatThrownBy(() -> service.getResult(failing.getId())).hasMessageContaining("is not complete");
+    }
+
+    /**
+     * Test that the oldest finished jobs are evicted beyond the retained number even behind a running job.
+     */
+    @Test
+    void testSubmit_EvictsFinishedJobsBehindRunningOne() throws Exception {
+        service.destroy();
+        service = new BulkJobService(meterRegistry, 2, 1, 2, "target/jobs-test");
+        CountDownLatch release = new CountDownLatch(1);
+        JobProgress running = service.submit("test", context -> {
+            release.await();
+            return null;
+        });
+        String[] finished = new String[3];
+        for (int i = 0; i < finished.length; i++) {
+            finished[i] = service.submit("test", context -> null).getId();
+            assertThat(await(finished[i]).getStatus()).isEqualTo(JobProgress.Status.DONE);
+        }
+
+        assertThat(service.getJobs()).extracting(JobProgress::getId).containsExactly(running.getId(), finished[2]);
+        release.countDown();
+    }
+
+    private JobProgress await(String id) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        JobProgress progress = service.getProgress(id);
+        while (progress.getFinishedAt() == null && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+            progress = service.getProgress(id);
+        }
+        return progress;
+    }
+}
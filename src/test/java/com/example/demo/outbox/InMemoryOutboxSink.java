@@ -0,0 +1,27 @@
+package com.example.demo.outbox;
+
+import com.example.demo.model.OutboxEvent;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outbox sink keeping delivered events in memory, failing a configurable number of deliveries first.
+ */
+class InMemoryOutboxSink implements OutboxSink {
+
+    final List<OutboxEvent> delivered = new ArrayList<>();
+    int failuresLeft;
+    int attempts;
+
+    @Override
+    public void deliver(String tenantId, List<OutboxEvent> events) throws IOException {
+        attempts++;
+        if (failuresLeft > 0) {
+            failuresLeft--;
+            throw new IOException("Sink unavailable");
+        }
+        delivered.addAll(events);
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.demo.outbox;
+
+import com.example.demo.model.OutboxEvent;
+import com.example.demo.repository.OutboxEventRepository;
+import com.example.demo.tenant.TenancyProperties;
+import com.example.demo.tenant.TenantRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OutboxDispatcher class.
+ * Uses Mockito to mock the repository and transaction manager and an in-memory sink in place of a downstream system.
+ */
+@ExtendWith(MockitoExtension.class)
+public class OutboxDispatcherTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private InMemoryOutboxSink sink;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    /**
+     * Create an in-memory sink and an empty metrics registry.
+     */
+    @BeforeEach
+    void setup() {
+        sink = new InMemoryOutboxSink();
+        meterRegistry = new SimpleMeterRegistry();
+        lenient().when(outboxEventRepository.findFirstByOrderByIdAsc()).thenReturn(Optional.empty());
+    }
+
+    private OutboxDispatcher dispatcher(Duration initialBackoff) {
+        return new OutboxDispatcher(outboxEventRepository, transactionManager, sink,
+                new TenantRegistry(new TenancyProperties()), meterRegistry, true, 2, initialBackoff, Duration.ofMinutes(5));
+    }
+
+    private static OutboxEvent event(long id) {
+        return new OutboxEvent(id, "asset.created", id, "{}", LocalDateTime.now());
+    }
+
+    /**
+     * Test that events are delivered in batches in ID order and deleted once delivered.
+     */
+    @Test
+    void testDispatch_DeliversBatchesInOrder() {
+        when(outboxEventRepository.findByOrderByIdAsc(any(Pageable.class)))
+                .thenReturn(Arrays.asList(event(1), event(2)))
+                .thenReturn(Collections.singletonList(event(3)));
+
+        int delivered = dispatcher(Duration.ofSeconds(1)).dispatch();
+
+        assertThat(delivered).isEqualTo(3);
+        assertThat(sink.delivered).extracting(OutboxEvent::getId).containsExactly(1L, 2L, 3L);
+        verify(outboxEventRepository).deleteByIdIn(Arrays.asList(1L, 2L));
+        verify(outboxEventRepository).deleteByIdIn(Collections.singletonList(3L));
+        assertThat(meterRegistry.get("outbox.dispatched").counter().count()).isEqualTo(3);
+    }
+
+    /**
+     * Test that a failed batch is kept, not retried before its backoff has elapsed, and reported in the metrics.
+     */
+    @Test
+    void testDispatch_BacksOffAfterFailure() {
+        sink.failuresLeft = 1;
+        LocalDateTime createdAt = LocalDateTime.now().minusMinutes(1);
+        OutboxEvent pending = new OutboxEvent(1L, "asset.assigned", 7L, "{}", createdAt);
+        when(outboxEventRepository.findByOrderByIdAsc(any(Pageable.class))).thenReturn(Collections.singletonList(pending));
+        when(outboxEventRepository.findFirstByOrderByIdAsc()).thenReturn(Optional.of(pending));
+        when(outboxEventRepository.count()).thenReturn(1L);
+        OutboxDispatcher dispatcher = dispatcher(Duration.ofHours(1));
+
+        assertThat(dispatcher.dispatch()).isZero();
+        assertThat(dispatcher.dispatch()).isZero();
+
+        assertThat(sink.attempts).isEqualTo(1);
+        verify(outboxEventRepository, never()).deleteByIdIn(anyCollection());
+        assertThat(meterRegistry.get("outbox.failures").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("outbox.pending").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("outbox.lag").gauge().value()).isGreaterThanOrEqualTo(60);
+    }
+
+    /**
+     * Test that a failed batch is delivered again once its backoff has elapsed.
+     */
+    @Test
+    void testDispatch_RetriesFailedBatch() {
+        sink.failuresLeft = 1;
+        List<OutboxEvent> batch = Collections.singletonList(event(1));
+        when(outboxEventRepository.findByOrderByIdAsc(any(Pageable.class)))
+                .thenReturn(batch)
+                .thenReturn(batch);
+        OutboxDispatcher dispatcher = dispatcher(Duration.ZERO);
+
+        assertThat(dispatcher.dispatch()).isZero();
+        assertThat(dispatcher.dispatch()).isEqualTo(1);
+
+        assertThat(sink.attempts).isEqualTo(2);
+        assertThat(sink.delivered).extracting(OutboxEvent::getId).containsExactly(1L);
+        verify(outboxEventRepository).deleteByIdIn(Collections.singletonList(1L));
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.demo.outbox;
+
+import com.example.demo.model.Asset;
+import com.example.demo.model.Category;
+import com.example.demo.model.OutboxEvent;
+import com.example.demo.repository.AssetRepository;
+import com.example.demo.repository.AssignmentHistoryRepository;
+import com.example.demo.repository.CategoryRepository;
+import com.example.demo.repository.OutboxEventRepository;
+import com.example.demo.service.AssetService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests that OutboxWriter records its row in the transaction of the asset change, against the embedded database.
+ * The dispatcher is disabled so that rows stay in the table.
+ */
+@SpringBootTest(properties = "app.outbox.enabled=false")
+public class OutboxWriterTest {
+
+    @Autowired
+    private AssetService assetService;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private AssignmentHistoryRepository historyRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Category category;
+
+    /**
+     * Start every test from empty tables and one category.
+     */
+    @BeforeEach
+    void cleanup() {
+        historyRepository.deleteAllInBatch();
+        outboxEventRepository.deleteAllInBatch();
+        assetRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+        category = categoryRepository.save(new Category(null, "Monitors", null));
+    }
+
+    /**
+     * Test that the row is written inside the mutating transaction and commits with it.
+     */
+    @Test
+    void testCommit_WritesRowInSameTransaction() {
+        Asset added = new TransactionTemplate(transactionManager).execute(status -> {
+            Asset asset = assetService.addAsset(asset("Outbox monitor"));
+            assertThat(outboxEventRepository.count()).isEqualTo(1);
+            return asset;
+        });
+
+        List<OutboxEvent> events = outboxEventRepository.findAll();
+        assertThat(events).hasSize(1);
+        assertThat(events.get(0).getEventType()).isEqualTo("asset.created");
+        assertThat(events.get(0).getAssetId()).isEqualTo(added.getId());
+    }
+
+    /**
+     * Test that rolling back the mutating transaction drops the row together with the change.
+     */
+    @Test
+    void testRollback_DropsRow() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            assetService.addAsset(asset("Rolled back monitor"));
+            assertThat(outboxEventRepository.count()).isEqualTo(1);
+            status.setRollbackOnly();
+        });
+
+        assertThat(assetRepository.count()).isZero();
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    private Asset asset(String name) {
+        return new Asset(null, name, LocalDate.of(2024, 3, 1), null, category,
+                Asset.AssignmentStatus.AVAILABLE, null, null, null);
+    }
+}
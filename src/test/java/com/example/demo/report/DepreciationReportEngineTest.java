@@ -0,0 +1,128 @@
+package com.example.demo.report;
+
+import com.example.demo.model.Category;
+import com.example.demo.repository.CategoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.io.StringWriter;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for DepreciationReportEngine class.
+ * Runs against an embedded H2 database with small chunks and slices spread over several workers.
+ */
+public class DepreciationReportEngineTest {
+
+    private EmbeddedDatabase database;
+    private JdbcTemplate jdbcTemplate;
+    private CategoryRepository categoryRepository;
+    private DepreciationReportEngine engine;
+
+    @BeforeEach
+    void setup() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("create table asset (id bigint auto_increment primary key, category_id bigint, purchase_date date)");
+        jdbcTemplate.execute("create table asset_archive (id bigint primary key, category_id bigint, purchase_date date)");
+        categoryRepository = mock(CategoryRepository.class);
+        when(categoryRepository.findAllById(any())).thenReturn(List.of(new Category(1L, "Laptops", null)));
+        // Useful life of 12 months, chunks of 7 assets, at most 2 chunks in flight
+        engine = new DepreciationReportEngine(jdbcTemplate, categoryRepository, 7, 4, 2, 12, 5);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.destroy();
+        database.shutdown();
+    }
+
+    /**
+     * Straight-line depreciation starts the month after purchase and stops after the useful life.
+     */
+    @Test
+    void testRun_DepreciatesStraightLine() throws Exception {
+        jdbcTemplate.update("insert into asset (category_id, purchase_date) values (1, date '2023-06-15')");
+        jdbcTemplate.update("insert into asset (category_id, purchase_date) values (1, null)");
+
+        String csv = runReport(YearMonth.of(2023, 6), YearMonth.of(2024, 7));
+
+        assertThat(csv).contains("2023-06,1,Laptops,1,0.0000,0.0000,1.0000\n");
+        assertThat(csv).contains("2023-07,1,Laptops,1,0.0833,0.0833,0.9167\n");
+        assertThat(csv).contains("2024-06,1,Laptops,1,0.0833,1.0000,0.0000\n");
+        assertThat(csv).contains("2024-07,1,Laptops,1,0.0000,1.0000,0.0000\n");
+    }
+
+    /**
+     * Totals over many chunks of both tables equal the sum over all assets, archived ones included.
+     */
+    @Test
+    void testRun_MergesChunks() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            jdbcTemplate.update("insert into asset (category_id, purchase_date) values (1, date '2024-01-10')");
+        }
+        for (int i = 0; i < 20; i++) {
+            jdbcTemplate.update("insert into asset_archive (id, category_id, purchase_date) values (?, 1, date '2024-01-10')",
+                    1000 + i);
+        }
+
+        String csv = runReport(YearMonth.of(2024, 1), YearMonth.of(2024, 2));
+
+        assertThat(csv).contains("2024-02,1,Laptops,120,10.0000,10.0000,110.0000\n");
+    }
+
+    /**
+     * A cancelled run does not execute and has no result.
+     */
+    @Test
+    void testCancel_QueuedRun() {
+        ReportProgress queued = engine.submit(YearMonth.of(2024, 1), YearMonth.of(2024, 12));
+
+        engine.cancel(queued.getId());
+        engine.run(queued.getId());
+
+        assertThat(engine.getProgress(queued.getId()).getStatus()).isEqualTo(ReportProgress.Status.CANCELLED);
+        assertThatThrownBy(() -> engine.writeCsv(queued.getId(), new StringWriter()))
+                .isInstanceOf(RuntimeException.class);
+    }
+
+    /**
+     * Only finished runs are evicted beyond the retained number; queued runs stay reachable.
+     */
+    @Test
+    void testSubmit_EvictsOnlyFinishedRuns() {
+        ReportProgress done = engine.submit(YearMonth.of(2024, 1), YearMonth.of(2024, 1));
+        engine.run(done.getId());
+        List<String> queued = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            queued.add(engine.submit(YearMonth.of(2024, 1), YearMonth.of(2024, 1)).getId());
+        }
+
+        assertThatThrownBy(() -> engine.getProgress(done.getId())).isInstanceOf(RuntimeException.class);
+        for (String id : queued) {
+            assertThat(engine.getProgress(id).getStatus()).isEqualTo(ReportProgress.Status.QUEUED);
+        }
+    }
+
+    private String runReport(YearMonth from, YearMonth to) throws Exception {
+        String id = engine.submit(from, to).getId();
+        engine.run(id);
+        ReportProgress progress = engine.getProgress(id);
+        assertThat(progress.getStatus()).isEqualTo(ReportProgress.Status.DONE);
+        assertThat(progress.getPercent()).isEqualTo(100);
+        StringWriter csv = new StringWriter();
+        engine.writeCsv(id, csv);
+        return csv.toString();
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.demo.service;
+
+import com.example.demo.event.AssetChangedEvent;
+import com.example.demo.model.Asset;
+import com.example.demo.model.Category;
+import com.example.demo.model.Employee;
+import com.example.demo.repository.AssetRepository;
+import com.example.demo.repository.EmployeeRepository;
+import com.example.demo.tenant.TenancyProperties;
+import com.example.demo.tenant.TenantRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AssetAllocationService class.
+ * Uses Mockito to mock the repositories; the free-lists are filled through asset change events.
+ */
+@ExtendWith(MockitoExtension.class)
+public class AssetAllocationServiceTest {
+
+    @Mock
+    private AssetRepository assetRepository;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private AssetChangeFeed assetChangeFeed;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AssetAllocationService allocationService;
+
+    private final Category category = new Category(1L, "Laptops", null);
+    private final Employee employee = new Employee(5L, "Alice", "Engineer");
+
+    /**
+     * Create the service and queue assets 10 and 11 as available in category 1.
+     */
+    @BeforeEach
+    void setup() {
+        allocationService = new AssetAllocationService(assetRepository, employeeRepository, assetChangeFeed, eventPublisher,
+                transactionManager, new TenantRegistry(new TenancyProperties()));
+        allocationService.onAssetChanged(AssetChangedEvent.of(AssetChangedEvent.Type.CREATED, asset(10L)));
+        allocationService.onAssetChanged(AssetChangedEvent.of(AssetChangedEvent.Type.CREATED, asset(11L)));
+        lenient().when(employeeRepository.findById(5L)).thenReturn(Optional.of(employee));
+        lenient().when(assetChangeFeed.nextSequence()).thenReturn(42L);
+    }
+
+    private Asset asset(Long id) {
+        Asset asset = new Asset();
+        asset.setId(id);
+        asset.setCategory(category);
+        asset.setAssignmentStatus(Asset.AssignmentStatus.AVAILABLE);
+        return asset;
+    }
+
+    /**
+     * Test that a candidate already taken elsewhere is skipped and the next one is claimed.
+     */
+    @Test
+    void testAllocate_SkipsStaleCandidates() {
+        when(assetRepository.assignIfMatches(10L, 1L, Asset.AssignmentStatus.AVAILABLE,
+                Asset.AssignmentStatus.ASSIGNED, employee, 42L)).thenReturn(0);
+        when(assetRepository.assignIfMatches(11L, 1L, Asset.AssignmentStatus.AVAILABLE,
+                Asset.AssignmentStatus.ASSIGNED, employee, 42L)).thenReturn(1);
+        Asset claimed = asset(11L);
+        claimed.setAssignmentStatus(Asset.AssignmentStatus.ASSIGNED);
+        claimed.setAssignedTo(employee);
+        when(assetRepository.findById(11L)).thenReturn(Optional.of(claimed));
+
+        Asset allocated = allocationService.allocate(1L, 5L);
+
+        assertThat(allocated.getId()).isEqualTo(11L);
+        verify(eventPublisher).publishEvent(AssetChangedEvent.of(AssetChangedEvent.Type.ASSIGNED, claimed));
+        assertThatThrownBy(() -> allocationService.allocate(1L, 5L))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("No available asset in category 1");
+    }
+
+    /**
+     * Test that a candidate whose claim failed is queued again.
+     */
+    @Test
+    void testAllocate_RequeuesCandidateWhenClaimFails() {
+        when(assetRepository.assignIfMatches(anyLong(), anyLong(), any(), any(), any(), anyLong()))
+                .thenThrow(new RuntimeException("Connection lost"))
+                .thenReturn(1);
+        when(assetRepository.findById(anyLong())).thenAnswer(i -> Optional.of(asset(i.getArgument(0))));
+
+        assertThatThrownBy(() -> allocationService.allocate(1L, 5L)).hasMessage("Connection lost");
+
+        assertThat(allocationService.allocate(1L, 5L).getId()).isEqualTo(11L);
+        assertThat(allocationService.allocate(1L, 5L).getId()).isEqualTo(10L);
+    }
+
+    /**
+     * Test that allocation fails for an unknown employee without touching the free-list.
+     */
+    @Test
+    void testAllocate_UnknownEmployee() {
+        when(employeeRepository.findById(6L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> allocationService.allocate(1L, 6L))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Employee not found with id 6");
+        verify(assetRepository, never()).assignIfMatches(any(), any(), any(), any(), any(), anyLong());
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Asset;
+import com.example.demo.repository.AssetRepository;
+import com.example.demo.tenant.TenantContext;
+import com.example.demo.tenant.TenancyProperties;
+import com.example.demo.tenant.TenantRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AssetBatchLoader class.
+ * Uses Mockito to mock the repository so that the number of issued queries can be counted.
+ */
+@ExtendWith(MockitoExtension.class)
+public class AssetBatchLoaderTest {
+
+    @Mock
+    private AssetRepository assetRepository;
+
+    @Mock
+    private AssetNoteService assetNoteService;
+
+    private AssetBatchLoader loader;
+
+    @AfterEach
+    void tearDown() {
+        loader.destroy();
+    }
+
+    private AssetBatchLoader loader(Duration window, int maxBatchSize) {
+        loader = new AssetBatchLoader(assetRepository, assetNoteService, new TenantRegistry(new TenancyProperties()),
+                new SimpleMeterRegistry(), window, maxBatchSize, 2, 10);
+        return loader;
+    }
+
+    private void answerExistingIds() {
+        when(assetRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            Iterable<Long> ids = invocation.getArgument(0);
+            return StreamSupport.stream(ids.spliterator(), false)
+                    .filter(id -> id < 100)
+                    .map(id -> {
+                        Asset asset = new Asset();
+                        asset.setId(id);
+                        return asset;
+                    })
+                    .collect(Collectors.toList());
+        });
+    }
+
+    /**
+     * Test that lookups within one window share a single query and each gets its own asset.
+     */
+    @Test
+    void testLoad_CoalescesLookupsWithinWindow() throws Exception {
+        answerExistingIds();
+        loader(Duration.ofMillis(200), 100);
+
+        List<CompletableFuture<Optional<Asset>>> results = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            results.add(loader.load(id));
+        }
+        CompletableFuture<Optional<Asset>> duplicate = loader.load(3L);
+        CompletableFuture<Optional<Asset>> missing = loader.load(500L);
+
+        for (int i = 0; i < results.size(); i++) {
+            assertThat(results.get(i).get(5, TimeUnit.SECONDS)).get().extracting(Asset::getId).isEqualTo(i + 1L);
+        }
+        assertThat(duplicate.get(5, TimeUnit.SECONDS)).get().extracting(Asset::getId).isEqualTo(3L);
+        assertThat(missing.get(5, TimeUnit.SECONDS)).isEmpty();
+        verify(assetRepository, times(1)).findAllById(argThat((Collection<Long> ids) -> ids.size() == 6));
+    }
+
+    /**
+     * Test that a batch reaching the maximum size is queried at once by the caller that filled it.
+     */
+    @Test
+    void testLoad_FlushesFullBatchImmediately() {
+        answerExistingIds();
+        loader(Duration.ofHours(1), 3);
+
+        CompletableFuture<Optional<Asset>> first = loader.load(1L);
+        loader.load(2L);
+        assertThat(first).isNotDone();
+        loader.load(3L);
+
+        assertThat(first).isCompletedWithValueMatching(asset -> asset.get().getId() == 1L);
+        verify(assetRepository, times(1)).findAllById(anyIterable());
+    }
+
+    /**
+     * Test that batches of two tenants flushed by the window are queried at the same time on different workers.
+     */
+    @Test
+    void testLoad_TenantBatchesOverlap() throws Exception {
+        CountDownLatch bothQuerying = new CountDownLatch(2);
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        when(assetRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            threads.add(Thread.currentThread().getName());
+            bothQuerying.countDown();
+            if (!bothQuerying.await(5, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Batches did not overlap");
+            }
+            Asset asset = new Asset();
+            asset.setId(((Iterable<Long>) invocation.getArgument(0)).iterator().next());
+            return Collections.singletonList(asset);
+        });
+        loader(Duration.ofMillis(50), 100);
+
+        CompletableFuture<Optional<Asset>> first = TenantContext.callAs("tenant-a", () -> loader.load(1L));
+        CompletableFuture<Optional<Asset>> second = TenantContext.callAs("tenant-b", () -> loader.load(2L));
+
+        assertThat(first.get(10, TimeUnit.SECONDS)).get().extracting(Asset::getId).isEqualTo(1L);
+        assertThat(second.get(10, TimeUnit.SECONDS)).get().extracting(Asset::getId).isEqualTo(2L);
+        assertThat(threads).hasSize(2).allMatch(name -> name.startsWith("asset-batch-loader-"));
+    }
+
+    /**
+     * Test that a failed query fails every lookup of its batch.
+     */
+    @Test
+    void testLoad_PropagatesQueryFailure() {
+        when(assetRepository.findAllById(anyIterable())).thenThrow(new RuntimeException("Database unavailable"));
+        loader(Duration.ZERO, 100);
+
+        CompletableFuture<Optional<Asset>> result = loader.load(1L);
+
+        assertThatThrownBy(result::get).isInstanceOf(ExecutionException.class)
+                .hasMessageContaining("Database unavailable");
+    }
+}
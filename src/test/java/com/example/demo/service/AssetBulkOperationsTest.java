@@ -0,0 +1,118 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.BulkJobSummary;
+import com.example.demo.job.BulkJob;
+import com.example.demo.job.BulkJobService;
+import com.example.demo.job.JobContext;
+import com.example.demo.model.Asset;
+import com.example.demo.repository.ArchivedAssetRepository;
+import com.example.demo.repository.AssetRepository;
+import com.example.demo.repository.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AssetBulkOperations class.
+ * The job service is mocked to run each submitted job immediately against a mocked context.
+ */
+@ExtendWith(MockitoExtension.class)
+public class AssetBulkOperationsTest {
+
+    @Mock
+    private BulkJobService bulkJobService;
+
+    @Mock
+    private AssetService assetService;
+
+    @Mock
+    private AssetRepository assetRepository;
+
+    @Mock
+    private ArchivedAssetRepository archivedAssetRepository;
+
+    @Mock
+    private AssetNoteService assetNoteService;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private JobContext context;
+
+    private AssetBulkOperations operations;
+
+    private final AtomicReference<Object> result = new AtomicReference<>();
+
+    /**
+     * Create the operations with a job service that runs jobs in the calling thread.
+     */
+    @BeforeEach
+    void setup() {
+        operations = new AssetBulkOperations(bulkJobService, assetService, assetRepository, archivedAssetRepository,
+                assetNoteService, employeeRepository, transactionManager);
+        lenient().when(bulkJobService.submit(anyString(), any())).thenAnswer(invocation -> {
+            result.set(invocation.<BulkJob>getArgument(1).run(context));
+            return null;
+        });
+    }
+
+    /**
+     * Test that an import reports failed assets and carries on with the next ones.
+     */
+    @Test
+    void testImportAssets_SkipsFailedItems() {
+        Asset good = new Asset();
+        good.setName("Laptop");
+        Asset bad = new Asset();
+        bad.setName("Dock");
+        lenient().when(assetService.addAsset(bad)).thenThrow(new RuntimeException("Category is required with a valid ID"));
+
+        operations.importAssets(Arrays.asList(good, bad, good));
+
+        assertThat(result.get()).isEqualTo(new BulkJobSummary(2, 1));
+        verify(context).setTotal(3);
+        verify(context, times(2)).itemDone();
+        verify(context).itemFailed("Asset 1: Category is required with a valid ID");
+    }
+
+    /**
+     * Test that a reassignment recovers and assigns every asset of the employee, one transaction each.
+     */
+    @Test
+    void testReassignAssets_RecoversAndAssignsEachAsset() {
+        when(employeeRepository.existsById(2L)).thenReturn(true);
+        when(assetRepository.findIdsByAssignedTo(1L)).thenReturn(Arrays.asList(10L, 11L));
+
+        operations.reassignAssets(1L, 2L);
+
+        assertThat(result.get()).isEqualTo(new BulkJobSummary(2, 0));
+        verify(assetService).recoverAsset(10L);
+        verify(assetService).assignAssetToEmployee(11L, 2L);
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    /**
+     * Test that a reassignment to an unknown employee is rejected before any job is queued.
+     */
+    @Test
+    void testReassignAssets_UnknownEmployee() {
+        assertThatThrownBy(() -> operations.reassignAssets(1L, 2L))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Employee not found");
+        verifyNoInteractions(bulkJobService);
+    }
+}
@@ -0,0 +1,254 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.AssetChanges;
+import com.example.demo.event.AssetChangedEvent;
+import com.example.demo.model.Asset;
+import com.example.demo.model.AssetTombstone;
+import com.example.demo.repository.AssetRepository;
+import com.example.demo.repository.AssetTombstoneRepository;
+import com.example.demo.tenant.TenancyProperties;
+import com.example.demo.tenant.TenantRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AssetChangeFeed class.
+ * Transactions are simulated by registering synchronizations directly and completing them by hand.
+ */
+@ExtendWith(MockitoExtension.class)
+public class AssetChangeFeedTest {
+
+    @Mock
+    private AssetRepository assetRepository;
+
+    @Mock
+    private AssetTombstoneRepository assetTombstoneRepository;
+
+    private AssetChangeFeed feed;
+
+    /**
+     * Create a feed whose counter resumes after number 10.
+     */
+    @BeforeEach
+    void setup() {
+        when(assetRepository.findMaxChangeSeq()).thenReturn(10L);
+        when(assetTombstoneRepository.findMaxChangeSeq()).thenReturn(4L);
+        feed = new AssetChangeFeed(assetRepository, assetTombstoneRepository, new TenantRegistry(new TenancyProperties()));
+        feed.load();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    /**
+     * Test that a sync without a valid token lists every asset and asks the client to reset.
+     */
+    @Test
+    void testGetChanges_FullSyncWithoutValidToken() {
+        List<Asset> all = Arrays.asList(asset(1L, 3L), asset(2L, 10L));
+        when(assetRepository.findByIdGreaterThanOrderById(eq(0L), any())).thenReturn(all);
+
+        AssetChanges first = feed.getChanges(null, 100);
+        AssetChanges stale = feed.getChanges("abc:3", 100);
+
+        assertThat(first.isReset()).isTrue();
+        assertThat(first.isHasMore()).isFalse();
+        assertThat(first.getChanged()).isEqualTo(all);
+        assertThat(first.getToken()).endsWith(":10");
+        assertThat(stale.isReset()).isTrue();
+        assertThatThrownBy(() -> feed.getChanges(null, AssetChangeFeed.MAX_CHANGES_PER_SYNC + 1))
+                .hasMessageContaining("Limit must be between");
+    }
+
+    /**
+     * Test that a full sync is paged by ID and holds the number committed when it started,
+     * so a change made meanwhile is left to the following delta sync.
+     */
+    @Test
+    void testGetChanges_FullSyncPagedWithHeldWatermark() {
+        when(assetRepository.findByIdGreaterThanOrderById(eq(0L), any()))
+                .thenReturn(Arrays.asList(asset(1L, 3L), asset(2L, 10L), asset(3L, 7L)));
+        AssetChanges first = feed.getChanges(null, 2);
+
+        TransactionSynchronizationManager.initSynchronization();
+        feed.nextSequence();
+        complete();
+        when(assetRepository.findByIdGreaterThanOrderById(eq(2L), any())).thenReturn(Collections.singletonList(asset(3L, 11L)));
+        AssetChanges second = feed.getChanges(first.getToken(), 2);
+
+        assertThat(first.isReset()).isTrue();
+        assertThat(first.isHasMore()).isTrue();
+        assertThat(first.getChanged()).extracting(Asset::getId).containsExactly(1L, 2L);
+        assertThat(first.getToken()).endsWith(":10:full:2");
+        assertThat(second.isReset()).isFalse();
+        assertThat(second.isHasMore()).isFalse();
+        assertThat(second.getChanged()).extracting(Asset::getId).containsExactly(3L);
+        assertThat(second.getToken()).endsWith(":10");
+        verify(assetRepository, never()).findAll();
+    }
+
+    /**
+     * Test that the token stops before a number whose transaction is still open, even if later ones committed,
+     * and that removals are recorded with their own number.
+     */
+    @Test
+    void testGetChanges_TokenStopsBeforeOpenTransaction() {
+        String token = fullSyncToken();
+
+        TransactionSynchronizationManager.initSynchronization();
+        long open = feed.nextSequence();
+        List<TransactionSynchronization> openTransaction = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        TransactionSynchronizationManager.initSynchronization();
+        feed.onAssetChanged(AssetChangedEvent.deleted(5L));
+        complete();
+
+        ArgumentCaptor<AssetTombstone> tombstone = ArgumentCaptor.forClass(AssetTombstone.class);
+        verify(assetTombstoneRepository).save(tombstone.capture());
+        assertThat(open).isEqualTo(11L);
+        assertThat(tombstone.getValue().getChangeSeq()).isEqualTo(12L);
+        assertThat(feed.getChanges(token, 100).getToken()).isEqualTo(token);
+
+        openTransaction.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        when(assetTombstoneRepository.findRemovedAfter(eq(10L), eq(Long.MAX_VALUE), eq(12L), any()))
+                .thenReturn(Collections.singletonList(tombstone(1L, 5L, 12L)));
+
+        AssetChanges changes = feed.getChanges(token, 100);
+
+        assertThat(changes.isReset()).isFalse();
+        assertThat(changes.getToken()).endsWith(":12");
+        assertThat(changes.getRemoved()).containsExactly(5L);
+    }
+
+    /**
+     * Test that a bulk change sharing one number is split across pages by asset ID, and that removals
+     * count towards the same limit, after the changes of their number.
+     */
+    @Test
+    void testGetChanges_PagesSplitBulkChangeAndRemovals() {
+        String token = fullSyncToken();
+        TransactionSynchronizationManager.initSynchronization();
+        for (int i = 0; i < 4; i++) {
+            feed.nextSequence();
+        }
+        complete();
+        Asset a = asset(1L, 11L);
+        Asset b = asset(2L, 12L);
+        Asset c = asset(3L, 12L);
+        Asset d = asset(4L, 12L);
+        List<AssetTombstone> removals = Arrays.asList(tombstone(7L, 8L, 13L), tombstone(9L, 6L, 14L));
+        when(assetRepository.findChangedAfter(eq(10L), eq(Long.MAX_VALUE), eq(14L), any())).thenReturn(Arrays.asList(a, b, c));
+        when(assetRepository.findChangedAfter(eq(12L), eq(2L), eq(14L), any())).thenReturn(Arrays.asList(c, d));
+        when(assetRepository.findChangedAfter(eq(12L), eq(4L), eq(14L), any())).thenReturn(Collections.emptyList());
+        when(assetTombstoneRepository.findRemovedAfter(eq(10L), eq(Long.MAX_VALUE), eq(14L), any())).thenReturn(removals);
+        when(assetTombstoneRepository.findRemovedAfter(eq(12L), eq(0L), eq(14L), any())).thenReturn(removals);
+
+        AssetChanges first = feed.getChanges(token, 2);
+        AssetChanges second = feed.getChanges(first.getToken(), 2);
+        AssetChanges third = feed.getChanges(second.getToken(), 2);
+
+        assertThat(first.isHasMore()).isTrue();
+        assertThat(first.getChanged()).containsExactly(a, b);
+        assertThat(first.getRemoved()).isEmpty();
+        assertThat(first.getToken()).endsWith(":12:asset:2");
+        assertThat(second.isHasMore()).isTrue();
+        assertThat(second.getChanged()).containsExactly(c, d);
+        assertThat(second.getToken()).endsWith(":12:asset:4");
+        assertThat(third.isHasMore()).isFalse();
+        assertThat(third.getChanged()).isEmpty();
+        assertThat(third.getRemoved()).containsExactly(8L, 6L);
+        assertThat(third.getToken()).endsWith(":14");
+    }
+
+    /**
+     * Test that pruning tombstones makes tokens older than the newest pruned one start a full sync,
+     * while newer tokens keep syncing deltas.
+     */
+    @Test
+    void testPruneTombstones_OlderTokenForcesReset() {
+        String token = fullSyncToken();
+        TransactionSynchronizationManager.initSynchronization();
+        feed.nextSequence();
+        feed.nextSequence();
+        complete();
+        LocalDateTime cutoff = LocalDateTime.now();
+        when(assetTombstoneRepository.findMaxChangeSeqRemovedBefore(cutoff)).thenReturn(12L);
+        when(assetTombstoneRepository.deleteUpTo(12L)).thenReturn(3);
+
+        int pruned = feed.pruneTombstones(cutoff);
+        AssetChanges old = feed.getChanges(token, 100);
+        AssetChanges current = feed.getChanges(old.getToken(), 100);
+
+        assertThat(pruned).isEqualTo(3);
+        assertThat(old.isReset()).isTrue();
+        assertThat(old.getToken()).endsWith(":12");
+        assertThat(current.isReset()).isFalse();
+        assertThat(current.getToken()).isEqualTo(old.getToken());
+    }
+
+    /**
+     * Test that nothing is deleted and no token is invalidated when no tombstone is old enough.
+     */
+    @Test
+    void testPruneTombstones_NothingOldEnough() {
+        String token = fullSyncToken();
+        LocalDateTime cutoff = LocalDateTime.now();
+        when(assetTombstoneRepository.findMaxChangeSeqRemovedBefore(cutoff)).thenReturn(0L);
+
+        assertThat(feed.pruneTombstones(cutoff)).isZero();
+        assertThat(feed.getChanges(token, 100).isReset()).isFalse();
+        verify(assetTombstoneRepository, never()).deleteUpTo(anyLong());
+    }
+
+    /**
+     * Test that numbers cannot be allocated outside a transaction.
+     */
+    @Test
+    void testNextSequence_RequiresTransaction() {
+        assertThatThrownBy(() -> feed.nextSequence()).isInstanceOf(IllegalStateException.class);
+    }
+
+    private String fullSyncToken() {
+        when(assetRepository.findByIdGreaterThanOrderById(eq(0L), any())).thenReturn(Collections.emptyList());
+        return feed.getChanges(null, 100).getToken();
+    }
+
+    private static void complete() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    }
+
+    private static AssetTombstone tombstone(Long id, Long assetId, Long changeSeq) {
+        return new AssetTombstone(id, assetId, changeSeq, LocalDateTime.now());
+    }
+
+    private static Asset asset(Long id, Long changeSeq) {
+        Asset asset = new Asset();
+        asset.setId(id);
+        asset.setName("Asset " + id);
+        asset.setChangeSeq(changeSeq);
+        return asset;
+    }
+}
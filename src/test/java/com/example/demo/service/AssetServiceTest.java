@@ -1,8 +1,11 @@
 package com.example.demo.service;
 
+import com.example.demo.event.AssetChangedEvent;
+import com.example.demo.model.ArchivedAsset;
 import com.example.demo.model.Asset;
 import com.example.demo.model.Category;
 import com.example.demo.model.Employee;
+import com.example.demo.repository.ArchivedAssetRepository;
 import com.example.demo.repository.AssetRepository;
 import com.example.demo.repository.CategoryRepository;
 import com.example.demo.repository.EmployeeRepository;
@@ -10,16 +13,21 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 
+import static org.mockito.ArgumentMatchers.anyIterable;
 import static org.mockito.Mockito.*;
 import static org.assertj.core.api.Assertions.*;
 
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -38,6 +46,18 @@ public class AssetServiceTest {
     @Mock
     private EmployeeRepository employeeRepository; // Mock Employee repository
 
+    @Mock
+    private ArchivedAssetRepository archivedAssetRepository; // Mock archive repository for includeArchived reads
+
+    @Mock
+    private AssetChangeFeed assetChangeFeed; // Mock change feed allocating change sequence numbers
+
+    @Mock
+    private AssetNoteService assetNoteService; // Mock store of the condition notes
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher; // Mock publisher for change events
+
     @InjectMocks
     private AssetService assetService; // Service instance with mocked dependencies injected
 
@@ -76,6 +96,7 @@ public class AssetServiceTest {
     void testAddAsset_Success() {
         when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
         when(assetRepository.save(any(Asset.class))).thenAnswer(i -> i.getArgument(0));
+        when(assetChangeFeed.nextSequence()).thenReturn(7L);
 
         Asset newAsset = new Asset();
         newAsset.setName("Laptop");
@@ -86,10 +107,12 @@ public class AssetServiceTest {
         assertThat(savedAsset).isNotNull();
         assertThat(savedAsset.getCategory()).isEqualTo(category);
         assertThat(savedAsset.getAssignmentStatus()).isEqualTo(Asset.AssignmentStatus.AVAILABLE);
+        assertThat(savedAsset.getChangeSeq()).isEqualTo(7L);
 
         // Verify that mocks were called as expected
         verify(categoryRepository).findById(1L);
         verify(assetRepository).save(newAsset);
+        verify(eventPublisher).publishEvent(AssetChangedEvent.of(AssetChangedEvent.Type.CREATED, savedAsset));
     }
 
     /**
@@ -138,6 +161,24 @@ public class AssetServiceTest {
         assertThat(assets).isNotEmpty();
 
         verify(assetRepository).findAll();
+        verifyNoInteractions(archivedAssetRepository);
+    }
+
+    /**
+     * Test that archived assets are appended as RECOVERED assets when requested.
+     */
+    @Test
+    void testGetAllAssets_IncludeArchived() {
+        ArchivedAsset archived = new ArchivedAsset(7L, "Old dock", null, category,
+                LocalDateTime.of(2020, 1, 1, 0, 0), LocalDateTime.of(2021, 1, 2, 0, 0));
+        when(assetRepository.findAll()).thenReturn(Arrays.asList(asset));
+        when(archivedAssetRepository.findAll()).thenReturn(Arrays.asList(archived));
+
+        List<Asset> assets = assetService.getAllAssets(true);
+
+        assertThat(assets).extracting(Asset::getId).containsExactly(1L, 7L);
+        assertThat(assets.get(1).getAssignmentStatus()).isEqualTo(Asset.AssignmentStatus.RECOVERED);
+        assertThat(assets.get(1).getRecoveredAt()).isEqualTo(archived.getRecoveredAt());
     }
 
     /**
@@ -168,6 +209,7 @@ public class AssetServiceTest {
 
         assertThat(assigned.getAssignmentStatus()).isEqualTo(Asset.AssignmentStatus.ASSIGNED);
         assertThat(assigned.getAssignedTo()).isEqualTo(employee);
+        assertThat(assigned.getRecoveredAt()).isNull();
     }
 
     /**
@@ -228,6 +270,7 @@ public class AssetServiceTest {
 
         assertThat(recovered.getAssignmentStatus()).isEqualTo(Asset.AssignmentStatus.RECOVERED);
         assertThat(recovered.getAssignedTo()).isNull();
+        assertThat(recovered.getRecoveredAt()).isNotNull();
     }
 
     /**
@@ -283,6 +326,26 @@ public class AssetServiceTest {
         verify(assetRepository).save(any(Asset.class));
     }
 
+    /**
+     * Test that an update cannot change the assignment status, which only assign and recover record in the history.
+     */
+    @Test
+    void testUpdateAsset_RejectsStatusChange() {
+        Asset updatedAsset = new Asset();
+        updatedAsset.setName("Laptop");
+        updatedAsset.setCategory(category);
+        updatedAsset.setAssignmentStatus(Asset.AssignmentStatus.ASSIGNED);
+
+        when(assetRepository.findById(1L)).thenReturn(Optional.of(asset));
+
+        assertThatThrownBy(() -> assetService.updateAsset(1L, updatedAsset))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessageContaining("Assignment status cannot be updated");
+        assertThat(asset.getAssignmentStatus()).isEqualTo(Asset.AssignmentStatus.AVAILABLE);
+        verify(assetRepository, never()).save(any());
+        verifyNoInteractions(assetNoteService, eventPublisher);
+    }
+
     /**
      * Test updating an asset that does not exist.
      * Expects exception.
@@ -299,6 +362,65 @@ public class AssetServiceTest {
             .hasMessageContaining("Asset not found");
     }
 
+    /**
+     * Test patching only the condition notes.
+     * The category must not be looked up when the patch does not change it.
+     */
+    @Test
+    void testPatchAsset_NotesOnly() {
+        when(assetRepository.findById(1L)).thenReturn(Optional.of(asset));
+        when(assetRepository.save(any(Asset.class))).thenAnswer(i -> i.getArgument(0));
+        when(assetNoteService.setNotes(1L, "Scratched")).thenReturn(true);
+
+        Asset result = assetService.patchAsset(1L, Map.of("conditionNotes", "Scratched", "category", Map.of("id", 1)));
+
+        assertThat(result.getConditionNotes()).isEqualTo("Scratched");
+        assertThat(result.getName()).isEqualTo("Laptop");
+        verifyNoInteractions(categoryRepository);
+        verify(eventPublisher).publishEvent(AssetChangedEvent.of(AssetChangedEvent.Type.UPDATED, asset));
+    }
+
+    /**
+     * Test patching the category to another existing category.
+     */
+    @Test
+    void testPatchAsset_ChangeCategory() {
+        Category other = new Category(2L, "Furniture", "Desks and chairs");
+        when(assetRepository.findById(1L)).thenReturn(Optional.of(asset));
+        when(categoryRepository.findById(2L)).thenReturn(Optional.of(other));
+        when(assetRepository.save(any(Asset.class))).thenAnswer(i -> i.getArgument(0));
+
+        Asset result = assetService.patchAsset(1L, Map.of("category", Map.of("id", 2)));
+
+        assertThat(result.getCategory()).isEqualTo(other);
+    }
+
+    /**
+     * Test that a patch changing nothing does not write the asset.
+     */
+    @Test
+    void testPatchAsset_NoChange() {
+        when(assetRepository.findById(1L)).thenReturn(Optional.of(asset));
+
+        assetService.patchAsset(1L, Map.of("name", "Laptop"));
+
+        verify(assetRepository, never()).save(any(Asset.class));
+        verify(assetChangeFeed, never()).nextSequence();
+        verifyNoInteractions(eventPublisher);
+    }
+
+    /**
+     * Test that assignment state cannot be patched.
+     */
+    @Test
+    void testPatchAsset_StatusRejected() {
+        when(assetRepository.findById(1L)).thenReturn(Optional.of(asset));
+
+        assertThatThrownBy(() -> assetService.patchAsset(1L, Map.of("assignmentStatus", "ASSIGNED")))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessageContaining("cannot be patched");
+    }
+
     /**
      * Test successful deletion of an asset.
      * Asset must be AVAILABLE for deletion.
@@ -313,6 +435,7 @@ public class AssetServiceTest {
         assetService.deleteAsset(1L);
 
         verify(assetRepository).delete(asset);
+        verify(eventPublisher).publishEvent(AssetChangedEvent.deleted(1L));
     }
 
     /**
@@ -342,4 +465,50 @@ public class AssetServiceTest {
             .isInstanceOf(RuntimeException.class)
             .hasMessageContaining("Asset not found");
     }
+
+    /**
+     * Test that a multi-get queries once and returns assets in request order without duplicates or unknown IDs.
+     */
+    @Test
+    void testGetAssetsByIds_KeepsRequestOrder() {
+        Asset other = new Asset();
+        other.setId(2L);
+        other.setName("Monitor");
+        other.setCategory(category);
+        when(assetRepository.findAllById(anyIterable())).thenReturn(Arrays.asList(asset, other));
+
+        List<Asset> assets = assetService.getAssetsByIds(Arrays.asList(2L, 9L, 1L, 2L));
+
+        assertThat(assets).extracting(Asset::getId).containsExactly(2L, 1L);
+        verify(assetRepository, times(1)).findAllById(anyIterable());
+    }
+
+    /**
+     * Test that a multi-get including the archive only looks up the IDs missing from the asset table there.
+     */
+    @Test
+    void testGetAssetsByIds_IncludeArchived_LooksUpMissingIds() {
+        ArchivedAsset archived = new ArchivedAsset(7L, "Old dock", null, category, null, LocalDateTime.now());
+        when(assetRepository.findAllById(anyIterable())).thenReturn(Arrays.asList(asset));
+        when(archivedAssetRepository.findAllById(anyIterable())).thenReturn(Arrays.asList(archived));
+
+        List<Asset> assets = assetService.getAssetsByIds(Arrays.asList(7L, 1L, 9L), true);
+
+        assertThat(assets).extracting(Asset::getId).containsExactly(7L, 1L);
+        verify(archivedAssetRepository).findAllById(new LinkedHashSet<>(Arrays.asList(7L, 9L)));
+    }
+
+    /**
+     * Test that a lookup by ID falls back to the archive only when requested.
+     */
+    @Test
+    void testGetAssetById_FallsBackToArchive() {
+        ArchivedAsset archived = new ArchivedAsset(7L, "Old dock", null, category, null, LocalDateTime.now());
+        when(assetRepository.findById(7L)).thenReturn(Optional.empty());
+        when(archivedAssetRepository.findById(7L)).thenReturn(Optional.of(archived));
+
+        assertThat(assetService.getAssetById(7L)).isEmpty();
+        assertThat(assetService.getAssetById(7L, true)).map(Asset::getName).contains("Old dock");
+        verify(archivedAssetRepository, times(1)).findById(7L);
+    }
 }
@@ -0,0 +1,88 @@
+package com.example.demo.service;
+
+import com.example.demo.model.AssignmentHistory;
+import com.example.demo.repository.AssignmentHistoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests of the employee history lookups against the real database.
+ * An employee with a long history is looked up over a narrow range, which must be answered from the
+ * (employeeId, validTo) index and return exactly the periods overlapping the range.
+ */
+@SpringBootTest(properties = "app.outbox.enabled=false")
+public class AssignmentHistoryQueryTest {
+
+    private static final long EMPLOYEE = 900_007L;
+    private static final LocalDateTime START = LocalDateTime.of(2020, 1, 1, 0, 0);
+
+    @Autowired
+    private AssignmentHistoryService historyService;
+
+    @Autowired
+    private AssignmentHistoryRepository historyRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private AssignmentHistory spanning;
+    private AssignmentHistory open;
+
+    /**
+     * Give the employee 300 one-day periods every other day, one closed period spanning all of them and one
+     * open period, next to a period of another employee.
+     */
+    @BeforeEach
+    void seed() {
+        historyRepository.deleteAllInBatch();
+        List<AssignmentHistory> periods = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            periods.add(new AssignmentHistory(null, (long) i, EMPLOYEE, day(2 * i), day(2 * i + 1)));
+        }
+        periods.add(new AssignmentHistory(null, 1000L, EMPLOYEE + 1, day(401), null));
+        historyRepository.saveAll(periods);
+        spanning = historyRepository.save(new AssignmentHistory(null, 1001L, EMPLOYEE, day(-30), day(1000)));
+        open = historyRepository.save(new AssignmentHistory(null, 1002L, EMPLOYEE, day(-15), null));
+    }
+
+    /**
+     * Test that a narrow range returns the periods overlapping it, but not those ending at its start
+     * or starting at its end, in start order.
+     */
+    @Test
+    void testFindEmployeeHistory_NarrowRangeOfLongHistory() {
+        List<AssignmentHistory> history = historyService.findEmployeeHistory(EMPLOYEE, day(401), day(404));
+
+        assertThat(history).extracting(AssignmentHistory::getAssetId).containsExactly(1001L, 1002L, 201L);
+        assertThat(historyService.findEmployeeHoldingsAt(EMPLOYEE, day(401).plusHours(12)))
+                .extracting(AssignmentHistory::getId)
+                .containsExactly(spanning.getId(), open.getId());
+    }
+
+    /**
+     * Test that both employee lookups seek the (employeeId, validTo) index.
+     */
+    @Test
+    void testEmployeeLookups_UseValidToIndex() {
+        String closed = jdbcTemplate.queryForObject("explain select id from assignment_history"
+                + " where employee_id = ? and valid_to > ? and valid_from < ?", String.class, EMPLOYEE, day(401), day(404));
+        String opened = jdbcTemplate.queryForObject("explain select id from assignment_history"
+                + " where employee_id = ? and valid_to is null and valid_from < ?", String.class, EMPLOYEE, day(404));
+
+        assertThat(closed).containsIgnoringCase("idx_history_employee_valid_to");
+        assertThat(opened).containsIgnoringCase("idx_history_employee_valid_to");
+    }
+
+    private static LocalDateTime day(int day) {
+        return START.plusDays(day);
+    }
+}
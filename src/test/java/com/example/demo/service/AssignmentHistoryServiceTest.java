@@ -0,0 +1,118 @@
+package com.example.demo.service;
+
+import com.example.demo.event.AssetChangedEvent;
+import com.example.demo.model.Asset;
+import com.example.demo.model.AssignmentHistory;
+import com.example.demo.model.Employee;
+import com.example.demo.repository.AssignmentHistoryRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for AssignmentHistoryService class.
+ */
+@ExtendWith(MockitoExtension.class)
+public class AssignmentHistoryServiceTest {
+
+    private static final LocalDateTime JUL_1 = LocalDateTime.of(2024, 7, 1, 0, 0);
+    private static final LocalDateTime AUG_1 = LocalDateTime.of(2024, 8, 1, 0, 0);
+    private static final LocalDateTime OCT_1 = LocalDateTime.of(2024, 10, 1, 0, 0);
+
+    @Mock
+    private AssignmentHistoryRepository historyRepository; // Mock history repository
+
+    @InjectMocks
+    private AssignmentHistoryService historyService;
+
+    /**
+     * Assigning an asset opens a period for the new holder.
+     */
+    @Test
+    void testAssignedEvent_OpensPeriod() {
+        Asset asset = new Asset();
+        asset.setId(5L);
+        asset.setAssignedTo(new Employee(7L, "Alice", "Engineer"));
+
+        historyService.onAssetChanged(AssetChangedEvent.of(AssetChangedEvent.Type.ASSIGNED, asset));
+
+        ArgumentCaptor<AssignmentHistory> saved = ArgumentCaptor.forClass(AssignmentHistory.class);
+        verify(historyRepository).save(saved.capture());
+        assertThat(saved.getValue().getAssetId()).isEqualTo(5L);
+        assertThat(saved.getValue().getEmployeeId()).isEqualTo(7L);
+        assertThat(saved.getValue().getValidTo()).isNull();
+    }
+
+    /**
+     * Recovering an asset closes its open period at the recovery time.
+     */
+    @Test
+    void testRecoveredEvent_ClosesPeriod() {
+        Asset asset = new Asset();
+        asset.setId(5L);
+        asset.setRecoveredAt(AUG_1);
+
+        historyService.onAssetChanged(AssetChangedEvent.of(AssetChangedEvent.Type.RECOVERED, asset));
+
+        verify(historyRepository).closeOpenPeriod(5L, AUG_1);
+    }
+
+    /**
+     * An as-of lookup returns nothing when the latest earlier period had already ended.
+     */
+    @Test
+    void testFindAssetHolderAt_PeriodEndedBefore() {
+        when(historyRepository.findFirstByAssetIdAndValidFromLessThanEqualOrderByValidFromDesc(5L, OCT_1))
+                .thenReturn(Optional.of(new AssignmentHistory(1L, 5L, 7L, JUL_1, AUG_1)));
+
+        assertThat(historyService.findAssetHolderAt(5L, OCT_1)).isEmpty();
+    }
+
+    /**
+     * A range lookup combines the period covering the range start with the periods starting inside it.
+     */
+    @Test
+    void testFindAssetHistory_IncludesPeriodCoveringStart() {
+        AssignmentHistory before = new AssignmentHistory(1L, 5L, 7L, JUL_1.minusMonths(1), AUG_1);
+        AssignmentHistory inside = new AssignmentHistory(2L, 5L, 8L, AUG_1.plusDays(3), null);
+        when(historyRepository.findFirstByAssetIdAndValidFromLessThanEqualOrderByValidFromDesc(5L, JUL_1))
+                .thenReturn(Optional.of(before));
+        when(historyRepository.findAssetPeriodsStartingBetween(5L, JUL_1, OCT_1)).thenReturn(List.of(inside));
+
+        assertThat(historyService.findAssetHistory(5L, JUL_1, OCT_1)).containsExactly(before, inside);
+    }
+
+    /**
+     * An employee range lookup merges the closed and the open overlapping periods in start order.
+     */
+    @Test
+    void testFindEmployeeHistory_MergesClosedAndOpenPeriods() {
+        AssignmentHistory early = new AssignmentHistory(1L, 5L, 7L, JUL_1.minusMonths(1), AUG_1);
+        AssignmentHistory held = new AssignmentHistory(2L, 6L, 7L, JUL_1.plusDays(3), null);
+        AssignmentHistory late = new AssignmentHistory(3L, 8L, 7L, AUG_1.plusDays(3), OCT_1);
+        when(historyRepository.findEmployeeClosedPeriodsOverlapping(7L, JUL_1, OCT_1)).thenReturn(List.of(early, late));
+        when(historyRepository.findEmployeeOpenPeriodsStartingBefore(7L, OCT_1)).thenReturn(List.of(held));
+
+        assertThat(historyService.findEmployeeHistory(7L, JUL_1, OCT_1)).containsExactly(early, held, late);
+    }
+
+    /**
+     * A range whose end is not after its start is rejected.
+     */
+    @Test
+    void testFindEmployeeHistory_EmptyRange() {
+        assertThatThrownBy(() -> historyService.findEmployeeHistory(7L, OCT_1, JUL_1))
+                .isInstanceOf(RuntimeException.class);
+        verifyNoInteractions(historyRepository);
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.BatchOperation;
+import com.example.demo.dto.BatchOperationResult;
+import com.example.demo.dto.BatchRequest;
+import com.example.demo.dto.BatchResult;
+import com.example.demo.model.Asset;
+import com.example.demo.model.Category;
+import com.example.demo.model.Employee;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BatchService class.
+ * Uses Mockito to mock the entity services and the transaction manager so only the batch logic is exercised.
+ */
+@ExtendWith(MockitoExtension.class)
+public class BatchServiceTest {
+
+    @Mock
+    private EmployeeService employeeService;
+
+    @Mock
+    private CategoryService categoryService;
+
+    @Mock
+    private AssetService assetService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final List<SimpleTransactionStatus> transactions = new ArrayList<>();
+
+    private BatchService batchService;
+
+    /**
+     * Create the service with a transaction manager recording every transaction it starts.
+     */
+    @BeforeEach
+    void setup() {
+        lenient().when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            SimpleTransactionStatus status = new SimpleTransactionStatus();
+            transactions.add(status);
+            return status;
+        });
+        batchService = new BatchService(employeeService, categoryService, assetService, transactionManager,
+                new ObjectMapper().findAndRegisterModules(), 100);
+    }
+
+    private static BatchRequest request(boolean atomic, BatchOperation... operations) {
+        BatchRequest request = new BatchRequest();
+        request.setAtomic(atomic);
+        request.setOperations(Arrays.asList(operations));
+        return request;
+    }
+
+    private static Asset asset(long id) {
+        Asset asset = new Asset();
+        asset.setId(id);
+        return asset;
+    }
+
+    /**
+     * Test that later operations receive the IDs produced by earlier ones and everything runs in one transaction.
+     */
+    @Test
+    void testExecute_ResolvesReferencesInOneTransaction() {
+        when(employeeService.createEmployee(any())).thenAnswer(i -> i.getArgument(0));
+        when(categoryService.addCategory(any())).thenReturn(new Category(5L, "Laptops", null));
+        when(assetService.addAsset(any())).thenReturn(asset(9L));
+        when(assetService.assignAssetToEmployee(9L, 42L)).thenReturn(asset(9L));
+
+        BatchResult result = batchService.execute(request(true,
+                new BatchOperation(BatchOperation.Type.CREATE_EMPLOYEE, null, null, null,
+                        Map.of("id", 42, "fullName", "Alice", "designation", "Engineer")),
+                new BatchOperation(BatchOperation.Type.CREATE_CATEGORY, null, null, null, Map.of("name", "Laptops")),
+                new BatchOperation(BatchOperation.Type.CREATE_ASSET, null, null, null,
+                        Map.of("name", "MacBook", "category", Map.of("id", "$1"))),
+                new BatchOperation(BatchOperation.Type.ASSIGN_ASSET, "$2", "$0", null, null)));
+
+        assertThat(result.isSucceeded()).isTrue();
+        assertThat(result.getResults()).extracting(BatchOperationResult::getId).containsExactly(42L, 5L, 9L, 9L);
+        ArgumentCaptor<Asset> created = ArgumentCaptor.forClass(Asset.class);
+        verify(assetService).addAsset(created.capture());
+        assertThat(created.getValue().getCategory().getId()).isEqualTo(5L);
+        assertThat(transactions).hasSize(1);
+        assertThat(transactions.get(0).isRollbackOnly()).isFalse();
+    }
+
+    /**
+     * Test that a failure in an atomic batch rolls back earlier operations and skips later ones.
+     */
+    @Test
+    void testExecute_AtomicFailureRollsBackEverything() {
+        when(categoryService.addCategory(any())).thenReturn(new Category(5L, "Laptops", null));
+        when(assetService.addAsset(any())).thenThrow(new RuntimeException("Category not found with id 7"));
+
+        BatchResult result = batchService.execute(request(true,
+                new BatchOperation(BatchOperation.Type.CREATE_CATEGORY, null, null, null, Map.of("name", "Laptops")),
+                new BatchOperation(BatchOperation.Type.CREATE_ASSET, null, null, null,
+                        Map.of("name", "MacBook", "category", Map.of("id", 7))),
+                new BatchOperation(BatchOperation.Type.RECOVER_ASSET, "$1", null, null, null)));
+
+        assertThat(result.isSucceeded()).isFalse();
+        assertThat(result.getResults()).extracting(BatchOperationResult::getStatus).containsExactly(
+                BatchOperationResult.Status.ROLLED_BACK, BatchOperationResult.Status.FAILED,
+                BatchOperationResult.Status.SKIPPED);
+        assertThat(result.getResults().get(1).getError()).isEqualTo("Category not found with id 7");
+        assertThat(transactions.get(0).isRollbackOnly()).isTrue();
+        verify(assetService, never()).recoverAsset(anyLong());
+    }
+
+    /**
+     * Test that independent operations keep running after a failure and references to failed operations fail.
+     */
+    @Test
+    void testExecute_IndependentOperationsCommitSeparately() {
+        when(assetService.recoverAsset(1L)).thenThrow(new RuntimeException("Asset is not currently assigned"));
+        when(assetService.recoverAsset(2L)).thenReturn(asset(2L));
+
+        BatchResult result = batchService.execute(request(false,
+                new BatchOperation(BatchOperation.Type.RECOVER_ASSET, "1", null, null, null),
+                new BatchOperation(BatchOperation.Type.RECOVER_ASSET, "2", null, null, null),
+                new BatchOperation(BatchOperation.Type.DELETE_ASSET, "$0", null, null, null)));
+
+        assertThat(result.isSucceeded()).isFalse();
+        assertThat(result.getResults()).extracting(BatchOperationResult::getStatus).containsExactly(
+                BatchOperationResult.Status.FAILED, BatchOperationResult.Status.OK, BatchOperationResult.Status.FAILED);
+        assertThat(result.getResults().get(2).getError()).contains("refers to operation 0");
+        assertThat(transactions).hasSize(3);
+        verify(assetService, never()).deleteAsset(anyLong());
+    }
+
+    /**
+     * Test that an empty batch is rejected.
+     */
+    @Test
+    void testExecute_RejectsEmptyBatch() {
+        BatchRequest request = request(true);
+        request.setOperations(Collections.emptyList());
+
+        assertThatThrownBy(() -> batchService.execute(request))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("1 to 100 operations");
+    }
+}
@@ -1,6 +1,10 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.CategoryMergeResult;
+import com.example.demo.event.CategoriesMergedEvent;
 import com.example.demo.model.Category;
+import com.example.demo.repository.ArchivedAssetRepository;
+import com.example.demo.repository.AssetRepository;
 import com.example.demo.repository.CategoryRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,8 +15,10 @@ import static org.assertj.core.api.Assertions.*;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -29,6 +35,18 @@ public class CategoryServiceTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private AssetRepository assetRepository; // Mock Asset repository for in-use checks and merges
+
+    @Mock
+    private ArchivedAssetRepository archivedAssetRepository; // Mock archive repository for in-use checks and merges
+
+    @Mock
+    private AssetChangeFeed assetChangeFeed; // Mock change feed stamping moved assets
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher; // Mock publisher for change events
+
     // Inject mocks into the CategoryService instance under test
     @InjectMocks
     private CategoryService categoryService;
@@ -147,4 +165,64 @@ public class CategoryServiceTest {
         // Verify repository deleteById was called exactly once with the given ID
         verify(categoryRepository, times(1)).deleteById(1L);
     }
+
+    /**
+     * Test deleting a category that still has assets.
+     * The existence check must prevent the delete.
+     */
+    @Test
+    void testDeleteCategory_InUse() {
+        when(assetRepository.existsByCategoryId(1L)).thenReturn(true);
+
+        assertThatThrownBy(() -> categoryService.deleteCategory(1L))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessageContaining("Cannot delete category that has assets");
+        verify(categoryRepository, never()).deleteById(1L);
+    }
+
+    /**
+     * Test deleting a category whose only assets are archived.
+     * The archive must be checked as well.
+     */
+    @Test
+    void testDeleteCategory_InUseByArchivedAssets() {
+        when(archivedAssetRepository.existsByCategoryId(1L)).thenReturn(true);
+
+        assertThatThrownBy(() -> categoryService.deleteCategory(1L))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessageContaining("Cannot delete category that has assets");
+        verify(categoryRepository, never()).deleteById(1L);
+    }
+
+    /**
+     * Test merging a category into another.
+     * Assets are moved with one bulk update per table and the source category is deleted.
+     */
+    @Test
+    void testMergeCategory() {
+        Category source = new Category(1L, "Laptops", "Portable computers");
+        Category target = new Category(2L, "Computers", "All computers");
+        when(categoryRepository.findById(1L)).thenReturn(Optional.of(source));
+        when(categoryRepository.findById(2L)).thenReturn(Optional.of(target));
+        when(assetChangeFeed.nextSequence()).thenReturn(7L);
+        when(assetRepository.moveToCategory(source, target, 7L)).thenReturn(3);
+        when(archivedAssetRepository.moveToCategory(source, target)).thenReturn(2);
+
+        CategoryMergeResult result = categoryService.mergeCategory(1L, 2L);
+
+        assertThat(result.getMovedAssets()).isEqualTo(5);
+        verify(categoryRepository).deleteInBatch(Collections.singletonList(source));
+        verify(eventPublisher).publishEvent(new CategoriesMergedEvent(1L, 2L, 3));
+    }
+
+    /**
+     * Test merging a category into itself.
+     * Expects exception and no changes.
+     */
+    @Test
+    void testMergeCategory_SameCategory() {
+        assertThatThrownBy(() -> categoryService.mergeCategory(1L, 1L))
+            .isInstanceOf(RuntimeException.class);
+        verifyNoInteractions(assetRepository);
+    }
 }
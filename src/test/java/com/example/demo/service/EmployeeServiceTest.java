@@ -11,6 +11,7 @@ import static org.assertj.core.api.Assertions.*;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.Arrays;
 import java.util.List;
@@ -28,6 +29,9 @@ public class EmployeeServiceTest {
     @Mock
     private EmployeeRepository employeeRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher; // Mock publisher for change events
+
     // Inject mocks into EmployeeService instance
     @InjectMocks
     private EmployeeService employeeService;
@@ -42,7 +46,7 @@ public class EmployeeServiceTest {
         Employee emp = new Employee(1L, "John Doe", "Developer");
 
         // Simulate repository saving the employee and returning it
-        when(employeeRepository.save(emp)).thenReturn(emp);
+        when(employeeRepository.saveAndFlush(emp)).thenReturn(emp);
 
         // Call the service method
         Employee savedEmployee = employeeService.createEmployee(emp);
@@ -51,8 +55,9 @@ public class EmployeeServiceTest {
         assertThat(savedEmployee).isNotNull();
         assertThat(savedEmployee.getFullName()).isEqualTo("John Doe");
 
-        // Verify that save was called exactly once with the employee
-        verify(employeeRepository, times(1)).save(emp);
+        // Verify that the employee was inserted exactly once, marked as new to skip the SELECT
+        verify(employeeRepository, times(1)).saveAndFlush(emp);
+        assertThat(emp.isNew()).isTrue();
     }
 
     /**
@@ -0,0 +1,104 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.EmployeeSyncResult;
+import com.example.demo.event.EmployeeChangedEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for EmployeeSyncService class.
+ * Runs against an embedded H2 database so that the generated SQL is exercised.
+ */
+public class EmployeeSyncServiceTest {
+
+    private EmbeddedDatabase database;
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private ApplicationEventPublisher eventPublisher;
+    private EmployeeSyncService syncService;
+
+    @BeforeEach
+    void setup() {
+        database = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        jdbcTemplate = new NamedParameterJdbcTemplate(database);
+        jdbcTemplate.getJdbcTemplate().execute(
+                "create table employee (id bigint primary key, full_name varchar(255) not null, designation varchar(255))");
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        // Small batches so that the tests span several of them
+        syncService = new EmployeeSyncService(jdbcTemplate, new DataSourceTransactionManager(database),
+                eventPublisher, new ObjectMapper(), 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    /**
+     * A second sync inserts new employees, updates changed ones and skips the rest.
+     */
+    @Test
+    void testSyncCsv_DetectsChanges() throws Exception {
+        syncService.syncCsv(new StringReader("id,fullName,designation\n1,Ann,Engineer\n2,\"Doe, John\",Manager\n3,Bob,\n"));
+        reset(eventPublisher);
+
+        EmployeeSyncResult result = syncService.syncCsv(
+                new StringReader("id,fullName,designation\n1,Ann,Engineer\n2,\"Doe, John\",Director\n3,Bob,\n4,Eve,QA\n"));
+
+        assertThat(result).isEqualTo(new EmployeeSyncResult(4, 1, 1, 2));
+        assertThat(jdbcTemplate.getJdbcTemplate().queryForObject(
+                "select designation from employee where id = 2", String.class)).isEqualTo("Director");
+        assertThat(jdbcTemplate.getJdbcTemplate().queryForObject("select count(*) from employee", Integer.class))
+                .isEqualTo(4);
+        verify(eventPublisher, times(2)).publishEvent(any(EmployeeChangedEvent.class));
+    }
+
+    /**
+     * Columns may come in any order; missing optional columns are stored as null.
+     */
+    @Test
+    void testSyncCsv_ColumnOrder() throws Exception {
+        EmployeeSyncResult result = syncService.syncCsv(new StringReader("fullName,id\nAnn,7\n"));
+
+        assertThat(result.getInserted()).isEqualTo(1);
+        assertThat(jdbcTemplate.getJdbcTemplate().queryForObject(
+                "select full_name from employee where id = 7", String.class)).isEqualTo("Ann");
+    }
+
+    /**
+     * JSON arrays are synchronised the same way.
+     */
+    @Test
+    void testSyncJson() throws Exception {
+        String json = "[{\"id\":1,\"fullName\":\"Ann\",\"designation\":\"Engineer\"},"
+                + "{\"id\":2,\"fullName\":\"Bob\"},{\"id\":3,\"fullName\":\"Eve\"}]";
+
+        EmployeeSyncResult result = syncService.syncJson(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(result).isEqualTo(new EmployeeSyncResult(3, 3, 0, 0));
+    }
+
+    /**
+     * Records without a full name are rejected.
+     */
+    @Test
+    void testSyncCsv_MissingName() {
+        assertThatThrownBy(() -> syncService.syncCsv(new StringReader("id,fullName\n1,\n")))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("requires id and fullName");
+    }
+}
@@ -0,0 +1,420 @@
+package com.example.demo.service;
+
+import com.example.demo.model.ArchivedAsset;
+import com.example.demo.model.Asset;
+import com.example.demo.model.Category;
+import com.example.demo.model.Employee;
+import com.example.demo.repository.ArchivedAssetRepository;
+import com.example.demo.repository.AssetRepository;
+import com.example.demo.repository.AssignmentHistoryRepository;
+import com.example.demo.repository.CategoryRepository;
+import com.example.demo.repository.EmployeeRepository;
+import com.example.demo.repository.OutboxEventRepository;
+import com.example.demo.sql.QueryCount;
+import com.example.demo.sql.QueryCounter;
+import com.example.demo.sql.QueryCountingConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * SQL statement budgets for every AssetService, CategoryService and EmployeeService method.
+ * The application runs against the real database through a counting datasource, so N+1 loads and
+ * redundant selects fail the build. Reads are measured over a small and a large data set and must
+ * execute the same number of statements at both sizes.
+ */
+@SpringBootTest(properties = "app.outbox.enabled=false")
+@Import(QueryCountingConfig.class)
+public class ServiceQueryCountTest {
+
+    private static final AtomicLong IDS = new AtomicLong(1000);
+
+    @Autowired
+    private QueryCounter queryCounter;
+
+    @Autowired
+    private AssetService assetService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private ArchivedAssetRepository archivedAssetRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private AssignmentHistoryRepository historyRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    /**
+     * Start every test from empty tables.
+     */
+    @BeforeEach
+    void cleanup() {
+        historyRepository.deleteAllInBatch();
+        outboxEventRepository.deleteAllInBatch();
+        assetRepository.deleteAllInBatch();
+        archivedAssetRepository.deleteAllInBatch();
+        employeeRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+    }
+
+    /**
+     * Creates assets, each in its own category and assigned to its own employee, so that any
+     * per-row load of an association shows up as extra statements.
+     */
+    private List<Asset> seed(int count) {
+        List<Asset> assets = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Category category = category();
+            Employee employee = employeeRepository.save(employee().markNew());
+            Asset asset = new Asset();
+            asset.setName("Laptop " + i);
+            asset.setCategory(category);
+            asset.setAssignmentStatus(Asset.AssignmentStatus.ASSIGNED);
+            asset.setAssignedTo(employee);
+            assets.add(assetRepository.save(asset));
+        }
+        return assets;
+    }
+
+    /**
+     * Creates archived assets, each in its own category.
+     */
+    private List<Long> seedArchived(int count) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ArchivedAsset archived = new ArchivedAsset(IDS.incrementAndGet() + 1_000_000, "Laptop archived " + i,
+                    null, category(), LocalDateTime.now().minusYears(2), LocalDateTime.now());
+            ids.add(archivedAssetRepository.save(archived).getId());
+        }
+        return ids;
+    }
+
+    private Category category() {
+        return categoryRepository.save(new Category(null, "Category " + IDS.incrementAndGet(), null));
+    }
+
+    private Asset availableAsset(Category category) {
+        Asset asset = new Asset();
+        asset.setName("Monitor");
+        asset.setCategory(category);
+        return assetRepository.save(asset);
+    }
+
+    private Employee employee() {
+        Employee employee = new Employee();
+        employee.setId(IDS.incrementAndGet());
+        employee.setFullName("Employee " + employee.getId());
+        return employee;
+    }
+
+    private List<Long> ids(List<Asset> assets) {
+        List<Long> ids = new ArrayList<>();
+        for (Asset asset : assets) {
+            ids.add(asset.getId());
+        }
+        return ids;
+    }
+
+    /**
+     * Test that listing assets loads their categories and holders in the same query at any size.
+     */
+    @Test
+    void testGetAllAssets_OneQueryAtAnySize() {
+        seed(2);
+        QueryCount small = queryCounter.record(() -> assetService.getAllAssets()).assertTotalAtMost(1);
+        seed(10);
+        QueryCount large = queryCounter.record(() -> assetService.getAllAssets());
+
+        large.assertSameTotalAs(small);
+    }
+
+    /**
+     * Test that searching assets by name loads their categories and holders in the same query at any size.
+     */
+    @Test
+    void testSearchAssetsByName_OneQueryAtAnySize() {
+        seed(2);
+        QueryCount small = queryCounter.record(() -> assetService.searchAssetsByName("laptop")).assertTotalAtMost(1);
+        seed(10);
+        QueryCount large = queryCounter.record(() -> assetService.searchAssetsByName("laptop"));
+
+        large.assertSameTotalAs(small);
+    }
+
+    /**
+     * Test that a multi-get loads the assets with their categories and holders in one query at any size.
+     */
+    @Test
+    void testGetAssetsByIds_OneQueryAtAnySize() {
+        List<Long> few = ids(seed(2));
+        QueryCount small = queryCounter.record(() -> assetService.getAssetsByIds(few)).assertTotalAtMost(1);
+        List<Long> many = ids(seed(10));
+        QueryCount large = queryCounter.record(() -> assetService.getAssetsByIds(many));
+
+        large.assertSameTotalAs(small);
+    }
+
+    /**
+     * Test that listing and searching assets with the archive adds one query for the archive at any size.
+     */
+    @Test
+    void testIncludeArchived_OneQueryPerTableAtAnySize() {
+        seed(2);
+        seedArchived(2);
+        QueryCount smallList = queryCounter.record(() -> assetService.getAllAssets(true)).assertTotalAtMost(2);
+        QueryCount smallSearch = queryCounter.record(() -> assetService.searchAssetsByName("laptop", true))
+                .assertTotalAtMost(2);
+        seed(10);
+        seedArchived(10);
+        QueryCount largeList = queryCounter.record(() -> assetService.getAllAssets(true));
+        QueryCount largeSearch = queryCounter.record(() -> assetService.searchAssetsByName("laptop", true));
+
+        largeList.assertSameTotalAs(smallList);
+        largeSearch.assertSameTotalAs(smallSearch);
+        assertThat(assetService.getAllAssets(true)).hasSize(24);
+    }
+
+    /**
+     * Test that a multi-get with the archive queries the archive once, and not at all when every asset is hot.
+     */
+    @Test
+    void testGetAssetsByIds_IncludeArchived_OneQueryPerTable() {
+        List<Long> ids = ids(seed(3));
+        queryCounter.record(() -> assetService.getAssetsByIds(ids, true)).assertTotalAtMost(1);
+        ids.addAll(seedArchived(5));
+
+        QueryCount count = queryCounter.record(() -> assetService.getAssetsByIds(ids, true)).assertTotalAtMost(2);
+
+        assertThat(assetService.getAssetsByIds(ids, true)).hasSize(8);
+        assertThat(count.getSelects()).isEqualTo(2);
+    }
+
+    /**
+     * Test that a keyset page of the query stream, filtered by name or not, loads its assets with their
+     * categories and holders in one query at any page size.
+     */
+    @Test
+    void testGetAssetsAfter_OneQueryAtAnySize() {
+        seed(12);
+        QueryCount small = queryCounter.record(() -> assetService.getAssetsAfter(0, null, 2)).assertTotalAtMost(1);
+        QueryCount smallByName = queryCounter.record(() -> assetService.getAssetsAfter(0, "laptop", 2))
+                .assertTotalAtMost(1);
+        QueryCount large = queryCounter.record(() -> assetService.getAssetsAfter(0, null, 10));
+        QueryCount largeByName = queryCounter.record(() -> assetService.getAssetsAfter(0, "laptop", 10));
+
+        large.assertSameTotalAs(small);
+        largeByName.assertSameTotalAs(smallByName);
+        assertThat(assetService.getAssetsAfter(0, "laptop", 10)).hasSize(10);
+    }
+
+    /**
+     * Test that a lookup by ID is one query for the asset and one for its condition notes.
+     */
+    @Test
+    void testGetAssetById_OneQueryAndNotes() {
+        Long id = seed(1).get(0).getId();
+
+        queryCounter.record(() -> assetService.getAssetById(id)).assertTotalAtMost(2);
+    }
+
+    /**
+     * Test that adding an asset loads its category once and writes the asset and its outbox event.
+     */
+    @Test
+    void testAddAsset() {
+        Category category = category();
+        Asset asset = new Asset();
+        asset.setName("Monitor");
+        asset.setCategory(new Category(category.getId(), null, null));
+
+        QueryCount count = queryCounter.record(() -> assetService.addAsset(asset)).assertTotalAtMost(3);
+
+        assertThat(count.getSelects()).isEqualTo(1);
+    }
+
+    /**
+     * Test that assigning an asset loads the asset and employee once and writes the asset, history and outbox event.
+     */
+    @Test
+    void testAssignAssetToEmployee() {
+        Long assetId = availableAsset(category()).getId();
+        Employee employee = employeeRepository.save(employee().markNew());
+
+        queryCounter.record(() -> assetService.assignAssetToEmployee(assetId, employee.getId()))
+                .assertSelectsAtMost(2)
+                .assertTotalAtMost(5);
+    }
+
+    /**
+     * Test that recovering an asset loads it once and writes the asset, history and outbox event.
+     */
+    @Test
+    void testRecoverAsset() {
+        Long assetId = seed(1).get(0).getId();
+
+        queryCounter.record(() -> assetService.recoverAsset(assetId))
+                .assertSelectsAtMost(1)
+                .assertTotalAtMost(4);
+    }
+
+    /**
+     * Test that updating an asset loads it and its notes once and does not reload it to save it.
+     */
+    @Test
+    void testUpdateAsset() {
+        Asset asset = availableAsset(category());
+        Asset update = new Asset();
+        update.setName("Renamed");
+        update.setCategory(category());
+        update.setAssignmentStatus(Asset.AssignmentStatus.AVAILABLE);
+
+        queryCounter.record(() -> assetService.updateAsset(asset.getId(), update))
+                .assertSelectsAtMost(3)
+                .assertTotalAtMost(4);
+    }
+
+    /**
+     * Test that patching an asset loads it once and writes only the changed row.
+     */
+    @Test
+    void testPatchAsset() {
+        Long assetId = availableAsset(category()).getId();
+
+        queryCounter.record(() -> assetService.patchAsset(assetId, Collections.singletonMap("name", "Renamed")))
+                .assertTotalAtMost(2);
+    }
+
+    /**
+     * Test that deleting an asset loads it once, deletes its notes and writes its tombstone with one insert.
+     */
+    @Test
+    void testDeleteAsset() {
+        Long assetId = availableAsset(category()).getId();
+
+        queryCounter.record(() -> assetService.deleteAsset(assetId))
+                .assertSelectsAtMost(1)
+                .assertTotalAtMost(4);
+    }
+
+    /**
+     * Test that listing categories is one query at any size.
+     */
+    @Test
+    void testGetAllCategories_OneQueryAtAnySize() {
+        seed(2);
+        QueryCount small = queryCounter.record(() -> categoryService.getAllCategories()).assertTotalAtMost(1);
+        seed(10);
+        QueryCount large = queryCounter.record(() -> categoryService.getAllCategories());
+
+        large.assertSameTotalAs(small);
+    }
+
+    /**
+     * Test that a category lookup by ID is a single query.
+     */
+    @Test
+    void testGetCategoryById_OneQuery() {
+        Long id = category().getId();
+
+        queryCounter.record(() -> categoryService.getCategoryById(id)).assertTotalAtMost(1);
+    }
+
+    /**
+     * Test that adding a category is a single insert.
+     */
+    @Test
+    void testAddCategory() {
+        queryCounter.record(() -> categoryService.addCategory(new Category(null, "Docks", null)))
+                .assertTotalAtMost(1);
+    }
+
+    /**
+     * Test that updating a category loads it once and does not reload it to save it.
+     */
+    @Test
+    void testUpdateCategory() {
+        Long id = category().getId();
+
+        queryCounter.record(() -> categoryService.updateCategory(id, new Category(null, "Renamed", "New")))
+                .assertSelectsAtMost(1)
+                .assertTotalAtMost(2);
+    }
+
+    /**
+     * Test that deleting an empty category checks for assets and archived assets without loading them.
+     */
+    @Test
+    void testDeleteCategory() {
+        Long id = category().getId();
+
+        queryCounter.record(() -> categoryService.deleteCategory(id)).assertTotalAtMost(4);
+    }
+
+    /**
+     * Test that merging categories moves the assets with one statement per table whatever their number.
+     */
+    @Test
+    void testMergeCategory_SameStatementsAtAnySize() {
+        Category small = category();
+        Category target = category();
+        availableAsset(small);
+        QueryCount few = queryCounter.record(() -> categoryService.mergeCategory(small.getId(), target.getId()))
+                .assertTotalAtMost(5);
+
+        Category large = category();
+        for (int i = 0; i < 10; i++) {
+            availableAsset(large);
+        }
+        QueryCount many = queryCounter.record(() -> categoryService.mergeCategory(large.getId(), target.getId()));
+
+        many.assertSameTotalAs(few);
+    }
+
+    /**
+     * Test that creating an employee is a single insert.
+     */
+    @Test
+    void testCreateEmployee() {
+        Employee employee = employee();
+
+        queryCounter.record(() -> employeeService.createEmployee(employee)).assertTotalAtMost(1);
+    }
+
+    /**
+     * Test that listing employees is one query at any size.
+     */
+    @Test
+    void testGetAllEmployees_OneQueryAtAnySize() {
+        seed(2);
+        QueryCount small = queryCounter.record(() -> employeeService.getAllEmployees()).assertTotalAtMost(1);
+        seed(10);
+        QueryCount large = queryCounter.record(() -> employeeService.getAllEmployees());
+
+        large.assertSameTotalAs(small);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for the transaction boundaries of the entity services.
+ * A write method left in the class-level read-only transaction would have its changes to loaded
+ * entities silently dropped, so every public method is checked by name: lookups are read-only, all
+ * other methods read-write.
+ */
+public class TransactionBoundaryTest {
+
+    private final AnnotationTransactionAttributeSource attributes = new AnnotationTransactionAttributeSource();
+
+    /**
+     * Test that the lookups of the services run read-only and their writes read-write.
+     */
+    @Test
+    void testReadsAreReadOnlyAndWritesAreNot() {
+        for (Class<?> service : new Class<?>[]{AssetService.class, CategoryService.class, EmployeeService.class}) {
+            for (Method method : service.getDeclaredMethods()) {
+                if (!Modifier.isPublic(method.getModifiers()) || Modifier.isStatic(method.getModifiers())) {
+                    continue;
+                }
+                TransactionAttribute attribute = attributes.getTransactionAttribute(method, service);
+                boolean read = method.getName().startsWith("get") || method.getName().startsWith("search");
+                assertThat(attribute).as(method.toString()).isNotNull();
+                assertThat(attribute.isReadOnly()).as(method.toString()).isEqualTo(read);
+            }
+        }
+    }
+}
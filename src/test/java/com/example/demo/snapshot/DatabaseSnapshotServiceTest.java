@@ -0,0 +1,200 @@
+package com.example.demo.snapshot;
+
+import com.example.demo.dto.SnapshotResult;
+import com.example.demo.model.ArchivedAsset;
+import com.example.demo.model.Asset;
+import com.example.demo.model.Category;
+import com.example.demo.model.Employee;
+import com.example.demo.repository.ArchivedAssetRepository;
+import com.example.demo.repository.AssetNoteRepository;
+import com.example.demo.repository.AssetRepository;
+import com.example.demo.repository.AssignmentHistoryRepository;
+import com.example.demo.repository.CategoryRepository;
+import com.example.demo.repository.EmployeeRepository;
+import com.example.demo.repository.OutboxEventRepository;
+import com.example.demo.service.AssetNoteService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Tests writing a snapshot of the embedded database and restoring it into empty tables.
+ */
+@SpringBootTest(properties = {"app.snapshot.dir=target/snapshot-test", "app.outbox.enabled=false"})
+public class DatabaseSnapshotServiceTest {
+
+    @Autowired
+    private DatabaseSnapshotService snapshotService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AssetRepository assetRepository;
+
+    @Autowired
+    private ArchivedAssetRepository archivedAssetRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private AssignmentHistoryRepository historyRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private AssetNoteRepository assetNoteRepository;
+
+    @Autowired
+    private AssetNoteService assetNoteService;
+
+    /**
+     * Test that every column of every row survives a snapshot and restore, and that new rows get fresh IDs.
+     */
+    @Test
+    void testSnapshotAndRestore_RoundTrip() {
+        clear();
+        Category laptops = categoryRepository.save(new Category(null, "Laptops", "Portable computers"));
+        Category docks = categoryRepository.save(new Category(null, "Docks", null));
+        Employee alice = new Employee();
+        alice.setId(7L);
+        alice.setFullName("Alice Smith");
+        alice.setDesignation("Engineer");
+        employeeRepository.save(alice.markNew());
+        Asset assigned = new Asset(null, "MacBook Pro", LocalDate.of(2021, 3, 14), "Scratched lid", laptops,
+                Asset.AssignmentStatus.ASSIGNED, alice, null, null);
+        Asset recovered = new Asset(null, "USB-C dock", LocalDate.of(1969, 12, 31), null, docks,
+                Asset.AssignmentStatus.RECOVERED, null, LocalDateTime.of(2024, 5, 1, 9, 30, 15, 123_456_000), null);
+        assetRepository.save(assigned);
+        assetRepository.save(recovered);
+        archivedAssetRepository.save(new ArchivedAsset(recovered.getId() + 100, "Old dock", null, docks,
+                LocalDateTime.of(2019, 1, 2, 3, 4, 5), LocalDateTime.of(2020, 1, 2, 3, 4, 5, 6_000)));
+        assetNoteService.addNotes(assigned.getId(), "Scratched lid");
+        assetNoteService.addNotes(recovered.getId() + 100, "Broken hinge. ".repeat(100));
+        List<Map<String, Object>> assetsBefore = jdbcTemplate.queryForList("select * from asset order by id");
+        List<Map<String, Object>> categoriesBefore = jdbcTemplate.queryForList("select * from category order by id");
+        List<Map<String, Object>> employeesBefore = jdbcTemplate.queryForList("select * from employee order by id");
+        List<Map<String, Object>> archiveBefore = jdbcTemplate.queryForList("select * from asset_archive order by id");
+        List<String> notesBefore = notes();
+
+        SnapshotResult written = snapshotService.snapshot();
+        assertThat(written.getCategories()).isEqualTo(2);
+        assertThat(written.getEmployees()).isEqualTo(1);
+        assertThat(written.getAssets()).isEqualTo(2);
+        assertThat(written.getArchivedAssets()).isEqualTo(1);
+        assertThat(written.getAssetNotes()).isEqualTo(2);
+        assertThat(Files.exists(Path.of(written.getFile()))).isTrue();
+
+        clear();
+
+        SnapshotResult restored = snapshotService.restore(Path.of(written.getFile()));
+
+        assertThat(restored.getAssets()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForList("select * from asset order by id")).isEqualTo(assetsBefore);
+        assertThat(jdbcTemplate.queryForList("select * from category order by id")).isEqualTo(categoriesBefore);
+        assertThat(jdbcTemplate.queryForList("select * from employee order by id")).isEqualTo(employeesBefore);
+        assertThat(jdbcTemplate.queryForList("select * from asset_archive order by id")).isEqualTo(archiveBefore);
+        assertThat(notes()).isEqualTo(notesBefore);
+        assertThat(assetNoteService.getNotes(recovered.getId() + 100)).isEqualTo("Broken hinge. ".repeat(100));
+        Category added = categoryRepository.save(new Category(null, "Monitors", null));
+        assertThat(added.getId()).isGreaterThan(docks.getId());
+        Asset addedAsset = assetRepository.save(new Asset(null, "Monitor", null, null, added,
+                Asset.AssignmentStatus.AVAILABLE, null, null, null));
+        assertThat(addedAsset.getId()).isGreaterThan(recovered.getId() + 100);
+    }
+
+    /**
+     * Test that the condition notes held in the asset rows of a version 2 file are moved to the notes table.
+     */
+    @Test
+    void testRestore_MovesNotesOfVersion2Files() throws Exception {
+        clear();
+        String longNotes = "Cracked screen, replaced battery. ".repeat(50);
+        Path file = Files.createTempFile("snapshot-v2", ".bin.gz");
+        try (SnapshotOutput out = new SnapshotOutput(new GZIPOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(DatabaseSnapshotService.MAGIC);
+            out.writeByte(2);
+            out.writeByte(1);
+            out.writeByte(1);
+            out.writeVarLong(900);
+            out.writeString("Legacy laptops");
+            out.writeString(null);
+            out.writeByte(0);
+            out.writeByte(2);
+            out.writeByte(0);
+            out.writeByte(3);
+            for (long id : new long[]{901, 902}) {
+                out.writeByte(1);
+                out.writeVarLong(id == 901 ? 901 : 1);
+                out.writeString("Laptop " + id);
+                out.writeNullableZigZag(null);
+                out.writeString(id == 901 ? longNotes : null);
+                out.writeVarLong(900);
+                out.writeByte(Asset.AssignmentStatus.AVAILABLE.ordinal() + 1);
+                out.writeNullableVarLong(null);
+                out.writeNullableZigZag(null);
+            }
+            out.writeByte(0);
+            out.writeByte(4);
+            out.writeByte(0);
+            out.writeByte(0);
+        }
+
+        SnapshotResult restored = snapshotService.restore(file);
+
+        assertThat(restored.getAssets()).isEqualTo(2);
+        assertThat(restored.getAssetNotes()).isEqualTo(1);
+        assertThat(assetNoteService.getNotes(901L)).isEqualTo(longNotes);
+        assertThat(assetNoteService.getNotes(902L)).isNull();
+        assertThat(assetNoteRepository.findById(901L).orElseThrow().isCompressed()).isTrue();
+    }
+
+    /**
+     * Test that a file that is not a snapshot is rejected without touching the tables.
+     */
+    @Test
+    void testRestore_RejectsOtherFiles() throws Exception {
+        Path file = Files.createTempFile("not-a-snapshot", ".gz");
+        try (GZIPOutputStream out = new GZIPOutputStream(Files.newOutputStream(file))) {
+            out.write("hello".getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertThatThrownBy(() -> snapshotService.restore(file))
+                .isInstanceOf(UncheckedIOException.class)
+                .hasMessageContaining("Could not restore snapshot");
+    }
+
+    private List<String> notes() {
+        return jdbcTemplate.query("select * from asset_note order by asset_id", (rs, row) ->
+                rs.getLong("asset_id") + ":" + rs.getBoolean("compressed") + ":" + Arrays.toString(rs.getBytes("content")));
+    }
+
+    private void clear() {
+        historyRepository.deleteAllInBatch();
+        outboxEventRepository.deleteAllInBatch();
+        assetRepository.deleteAllInBatch();
+        archivedAssetRepository.deleteAllInBatch();
+        assetNoteRepository.deleteAllInBatch();
+        employeeRepository.deleteAllInBatch();
+        categoryRepository.deleteAllInBatch();
+    }
+}
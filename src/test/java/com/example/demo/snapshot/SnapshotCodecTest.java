@@ -0,0 +1,70 @@
+package com.example.demo.snapshot;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for the SnapshotOutput and SnapshotInput encodings.
+ */
+public class SnapshotCodecTest {
+
+    /**
+     * Test that every encoding reads back the value written, including boundaries and nulls.
+     */
+    @Test
+    void testRoundTrip() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (SnapshotOutput out = new SnapshotOutput(bytes)) {
+            out.writeVarLong(0);
+            out.writeVarLong(127);
+            out.writeVarLong(128);
+            out.writeVarLong(Long.MAX_VALUE);
+            out.writeZigZag(-1);
+            out.writeZigZag(Long.MIN_VALUE);
+            out.writeNullableVarLong(null);
+            out.writeNullableVarLong(0L);
+            out.writeNullableZigZag(null);
+            out.writeNullableZigZag(-719_528L);
+            out.writeString(null);
+            out.writeString("");
+            out.writeString("Écran 27\" – réf. 42");
+        }
+
+        try (SnapshotInput in = new SnapshotInput(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertThat(in.readVarLong()).isZero();
+            assertThat(in.readVarLong()).isEqualTo(127);
+            assertThat(in.readVarLong()).isEqualTo(128);
+            assertThat(in.readVarLong()).isEqualTo(Long.MAX_VALUE);
+            assertThat(in.readZigZag()).isEqualTo(-1);
+            assertThat(in.readZigZag()).isEqualTo(Long.MIN_VALUE);
+            assertThat(in.readNullableVarLong()).isNull();
+            assertThat(in.readNullableVarLong()).isZero();
+            assertThat(in.readNullableZigZag()).isNull();
+            assertThat(in.readNullableZigZag()).isEqualTo(-719_528L);
+            assertThat(in.readString()).isNull();
+            assertThat(in.readString()).isEmpty();
+            assertThat(in.readString()).isEqualTo("Écran 27\" – réf. 42");
+            assertThat(in.read()).isEqualTo(-1);
+        }
+    }
+
+    /**
+     * Test that small values take a single byte.
+     */
+    @Test
+    void testSmallValues_TakeOneByte() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (SnapshotOutput out = new SnapshotOutput(bytes)) {
+            out.writeVarLong(1);
+            out.writeZigZag(-3);
+            out.writeNullableVarLong(41L);
+        }
+
+        assertThat(bytes.size()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.demo.sql;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Datasource proxy reporting every executed statement to a {@link QueryCounter}.
+ * A JDBC batch counts as one statement, since it is sent to the database in one round trip.
+ */
+public class CountingDataSource extends DelegatingDataSource {
+
+    private final QueryCounter counter;
+
+    /**
+     * @param target the datasource to proxy
+     * @param counter the counter receiving the executed statements
+     */
+    public CountingDataSource(DataSource target, QueryCounter counter) {
+        super(target);
+        this.counter = counter;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, super.getConnection(), this::connectionCall);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, super.getConnection(username, password), this::connectionCall);
+    }
+
+    private Object connectionCall(Object connection, Method method, Object[] args) throws Throwable {
+        Object result = invoke(connection, method, args);
+        switch (method.getName()) {
+            case "createStatement":
+                return proxy(Statement.class, (Statement) result, statementHandler(null));
+            case "prepareStatement":
+                return proxy(PreparedStatement.class, (PreparedStatement) result, statementHandler((String) args[0]));
+            case "prepareCall":
+                return proxy(CallableStatement.class, (CallableStatement) result, statementHandler((String) args[0]));
+            default:
+                return result;
+        }
+    }
+
+    private StatementHandler statementHandler(String preparedSql) {
+        return (statement, method, args) -> {
+            if (method.getName().startsWith("execute")) {
+                if (args != null && args.length > 0 && args[0] instanceof String) {
+                    counter.executed((String) args[0]);
+                } else {
+                    counter.executed(preparedSql != null ? preparedSql : "batch");
+                }
+            }
+            return invoke(statement, method, args);
+        };
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, StatementHandler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> handler.call(target, method, args);
+        return (T) Proxy.newProxyInstance(CountingDataSource.class.getClassLoader(), new Class<?>[]{type}, invocationHandler);
+    }
+
+    /**
+     * Call on a proxied JDBC object.
+     */
+    @FunctionalInterface
+    private interface StatementHandler {
+        Object call(Object target, Method method, Object[] args) throws Throwable;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.demo.sql;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * SQL statements executed by one recorded operation, with assertion helpers whose failure message
+ * lists the statements.
+ */
+public class QueryCount {
+
+    private final List<String> statements;
+
+    /**
+     * @param statements SQL of the executed statements, in execution order
+     */
+    QueryCount(List<String> statements) {
+        this.statements = Collections.unmodifiableList(statements);
+    }
+
+    /**
+     * @return SQL of the executed statements, in execution order
+     */
+    public List<String> getStatements() {
+        return statements;
+    }
+
+    /**
+     * @return number of executed statements
+     */
+    public int getTotal() {
+        return statements.size();
+    }
+
+    /**
+     * @return number of executed SELECT statements
+     */
+    public int getSelects() {
+        return count("select");
+    }
+
+    /**
+     * @return number of executed INSERT statements
+     */
+    public int getInserts() {
+        return count("insert");
+    }
+
+    /**
+     * @return number of executed UPDATE statements
+     */
+    public int getUpdates() {
+        return count("update");
+    }
+
+    /**
+     * @return number of executed DELETE statements
+     */
+    public int getDeletes() {
+        return count("delete");
+    }
+
+    /**
+     * Fails unless at most the given number of statements were executed.
+     *
+     * @param max the budget
+     * @return this count
+     */
+    public QueryCount assertTotalAtMost(int max) {
+        return check(getTotal() <= max, "at most " + max + " statements");
+    }
+
+    /**
+     * Fails unless at most the given number of SELECT statements were executed.
+     *
+     * @param max the budget
+     * @return this count
+     */
+    public QueryCount assertSelectsAtMost(int max) {
+        return check(getSelects() <= max, "at most " + max + " selects");
+    }
+
+    /**
+     * Fails unless exactly as many statements as in another recording were executed, e.g. the same
+     * operation over a larger data set.
+     *
+     * @param other the other recording
+     * @return this count
+     */
+    public QueryCount assertSameTotalAs(QueryCount other) {
+        return check(getTotal() == other.getTotal(), "the same " + other.getTotal() + " statements as " + other.statements);
+    }
+
+    private int count(String verb) {
+        int count = 0;
+        for (String sql : statements) {
+            if (sql.trim().toLowerCase(Locale.ROOT).startsWith(verb)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private QueryCount check(boolean ok, String expectation) {
+        if (!ok) {
+            StringBuilder message = new StringBuilder("Expected ").append(expectation)
+                    .append(" but ").append(getTotal()).append(" were executed:");
+            for (String sql : statements) {
+                message.append("\n  ").append(sql);
+            }
+            throw new AssertionError(message.toString());
+        }
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return getTotal() + " statements " + statements;
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.demo.sql;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Records the SQL statements executed by the current thread while an operation runs.
+ * Statements of background threads (schedulers, batch loaders) are not recorded.
+ */
+public class QueryCounter {
+
+    private final ThreadLocal<List<String>> recording = new ThreadLocal<>();
+
+    /**
+     * Runs an operation and records the statements it executes.
+     *
+     * @param operation the operation
+     * @return the executed statements
+     */
+    public QueryCount record(Runnable operation) {
+        return recordCall(() -> {
+            operation.run();
+            return null;
+        }).count;
+    }
+
+    /**
+     * Runs an operation returning a value and records the statements it executes.
+     *
+     * @param operation the operation
+     * @param <T> type of the value
+     * @return the value with the executed statements
+     */
+    public <T> Recorded<T> recordCall(Supplier<T> operation) {
+        List<String> statements = new ArrayList<>();
+        List<String> previous = recording.get();
+        recording.set(statements);
+        try {
+            T value = operation.get();
+            return new Recorded<>(value, new QueryCount(statements));
+        } finally {
+            if (previous == null) {
+                recording.remove();
+            } else {
+                recording.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Called by the counting datasource for every executed statement.
+     *
+     * @param sql the SQL of the statement
+     */
+    void executed(String sql) {
+        List<String> statements = recording.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+    }
+
+    /**
+     * Value of a recorded operation with the statements it executed.
+     *
+     * @param <T> type of the value
+     */
+    public static class Recorded<T> {
+        private final T value;
+        private final QueryCount count;
+
+        Recorded(T value, QueryCount count) {
+            this.value = value;
+            this.count = count;
+        }
+
+        /**
+         * @return the value returned by the operation
+         */
+        public T getValue() {
+            return value;
+        }
+
+        /**
+         * @return the statements executed by the operation
+         */
+        public QueryCount getCount() {
+            return count;
+        }
+    }
+}
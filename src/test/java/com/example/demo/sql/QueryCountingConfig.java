@@ -0,0 +1,38 @@
+package com.example.demo.sql;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/**
+ * Test configuration wrapping the application datasource in a {@link CountingDataSource}.
+ * Import it into a Spring Boot test and autowire the {@link QueryCounter}.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class QueryCountingConfig {
+
+    /**
+     * @return the counter receiving the statements of every connection
+     */
+    @Bean
+    public static QueryCounter queryCounter() {
+        return new QueryCounter();
+    }
+
+    /**
+     * @param counter the counter
+     * @return post-processor wrapping every datasource bean
+     */
+    @Bean
+    public static BeanPostProcessor countingDataSourcePostProcessor(QueryCounter counter) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource && !(bean instanceof CountingDataSource)
+                        ? new CountingDataSource((DataSource) bean, counter) : bean;
+            }
+        };
+    }
+}
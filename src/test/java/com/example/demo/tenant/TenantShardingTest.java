@@ -0,0 +1,82 @@
+package com.example.demo.tenant;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Tests for tenant sharding over two embedded H2 shards.
+ * Each request is routed by the tenant header, so data written for one tenant is invisible to the other.
+ */
+@SpringBootTest(properties = {
+        "app.tenancy.enabled=true",
+        "app.tenancy.default-tenant=alpha",
+        "app.tenancy.shards.alpha.url=jdbc:h2:mem:shard-alpha;DB_CLOSE_DELAY=-1",
+        "app.tenancy.shards.beta.url=jdbc:h2:mem:shard-beta;DB_CLOSE_DELAY=-1",
+        "app.rate-limit.enabled=false"
+})
+@AutoConfigureMockMvc
+public class TenantShardingTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    /**
+     * Test that rows created for one tenant are stored on its shard only.
+     */
+    @Test
+    void testRequests_AreIsolatedPerTenant() throws Exception {
+        mockMvc.perform(post("/api/categories").header("X-Tenant-Id", "beta")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Beta laptops\",\"description\":\"Only in beta\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/categories").header("X-Tenant-Id", "beta"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", hasItem("Beta laptops")));
+        mockMvc.perform(get("/api/categories").header("X-Tenant-Id", "alpha"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", not(hasItem("Beta laptops"))));
+        mockMvc.perform(get("/api/categories"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].name", not(hasItem("Beta laptops"))));
+        mockMvc.perform(get("/api/autocomplete").param("prefix", "beta").param("type", "CATEGORY")
+                        .header("X-Tenant-Id", "alpha"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    /**
+     * Test that unknown tenants are rejected before reaching the controllers.
+     */
+    @Test
+    void testUnknownTenant_IsRejected() throws Exception {
+        mockMvc.perform(get("/api/categories").header("X-Tenant-Id", "gamma"))
+                .andExpect(status().isBadRequest());
+    }
+
+    /**
+     * Test that the shard statistics list every shard with its own row counts and pool.
+     */
+    @Test
+    void testShardStats_ReportEveryShard() throws Exception {
+        mockMvc.perform(post("/api/categories").header("X-Tenant-Id", "alpha")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\":\"Alpha monitors\"}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/admin/shards"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].tenantId", contains("alpha", "beta")))
+                .andExpect(jsonPath("$[0].url", is("jdbc:h2:mem:shard-alpha;DB_CLOSE_DELAY=-1")))
+                .andExpect(jsonPath("$[0].categories", greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$[0].totalConnections", greaterThanOrEqualTo(1)));
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.demo.timing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for RequestTiming class, its statement inspector and the timed JSON converter.
+ */
+public class RequestTimingTest {
+
+    /**
+     * Unbind any recorder left by a test.
+     */
+    @AfterEach
+    void cleanup() {
+        RequestTiming.bind(null);
+    }
+
+    /**
+     * Test that nested entries into the same phase are timed once, from the outermost entry.
+     */
+    @Test
+    void testNestedEntries_TimedOnce() throws InterruptedException {
+        RequestTiming timing = new RequestTiming();
+
+        timing.enter(RequestTiming.Phase.SERVICE);
+        timing.enter(RequestTiming.Phase.SERVICE);
+        Thread.sleep(5);
+        timing.exit(RequestTiming.Phase.SERVICE);
+        assertThat(timing.getNanos(RequestTiming.Phase.SERVICE)).isZero();
+        timing.exit(RequestTiming.Phase.SERVICE);
+
+        assertThat(timing.getNanos(RequestTiming.Phase.SERVICE)).isGreaterThanOrEqualTo(5_000_000L);
+        assertThat(timing.getNanos(RequestTiming.Phase.SERVICE)).isLessThanOrEqualTo(timing.elapsedNanos());
+    }
+
+    /**
+     * Test that the header lists every phase, the statement count and the total.
+     */
+    @Test
+    void testHeaderValue_ListsPhasesAndStatements() {
+        RequestTiming timing = new RequestTiming();
+        timing.statementPrepared();
+        timing.statementPrepared();
+
+        assertThat(timing.toHeaderValue())
+                .matches("ctrl;dur=\\d+\\.\\d{3}, svc;dur=\\d+\\.\\d{3}, db;dur=\\d+\\.\\d{3};desc=\"2 statements\", "
+                        + "ser;dur=\\d+\\.\\d{3}, total;dur=\\d+\\.\\d{3}");
+    }
+
+    /**
+     * Test the millisecond formatting with microsecond precision.
+     */
+    @Test
+    void testAppendMillis() {
+        assertThat(RequestTiming.appendMillis(new StringBuilder(), 1_234_567L).toString()).isEqualTo("1.234");
+        assertThat(RequestTiming.appendMillis(new StringBuilder(), 5_000L).toString()).isEqualTo("0.005");
+        assertThat(RequestTiming.appendMillis(new StringBuilder(), 42_070_000L).toString()).isEqualTo("42.070");
+    }
+
+    /**
+     * Test that the statement inspector counts statements only for the bound request and leaves them unchanged.
+     */
+    @Test
+    void testStatementInspector_CountsForBoundRequest() {
+        TimingStatementInspector inspector = new TimingStatementInspector();
+        assertThat(inspector.inspect("select 1")).isEqualTo("select 1");
+
+        RequestTiming timing = new RequestTiming();
+        RequestTiming.bind(timing);
+        inspector.inspect("select 1");
+        inspector.inspect("select 2");
+
+        assertThat(timing.getStatements()).isEqualTo(2);
+    }
+
+    /**
+     * Test that a small JSON body is buffered so that its header includes serialization and a content length.
+     */
+    @Test
+    void testConverter_BuffersSmallBody() throws Exception {
+        RequestTiming.bind(new RequestTiming());
+        TimedJacksonHttpMessageConverter converter = new TimedJacksonHttpMessageConverter(new ObjectMapper(), 64);
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+
+        converter.write(Collections.singletonMap("name", "Laptop"), MediaType.APPLICATION_JSON, message);
+
+        assertThat(message.getBodyAsString()).isEqualTo("{\"name\":\"Laptop\"}");
+        assertThat(message.getHeaders().getFirst(TimedJacksonHttpMessageConverter.HEADER)).contains("ser;dur=");
+        assertThat(message.getHeaders().getContentLength()).isEqualTo(17);
+    }
+
+    /**
+     * Test that a body larger than the buffer is streamed with the header set before the first bytes go out.
+     */
+    @Test
+    void testConverter_StreamsLargeBody() throws Exception {
+        RequestTiming.bind(new RequestTiming());
+        TimedJacksonHttpMessageConverter converter = new TimedJacksonHttpMessageConverter(new ObjectMapper(), 16);
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        String name = String.join("", Collections.nCopies(100, "x"));
+
+        converter.write(Collections.singletonMap("name", name), MediaType.APPLICATION_JSON, message);
+
+        assertThat(message.getBodyAsString()).isEqualTo("{\"name\":\"" + name + "\"}");
+        assertThat(message.getHeaders().getFirst(TimedJacksonHttpMessageConverter.HEADER)).contains("total;dur=");
+        assertThat(message.getHeaders().getContentLength()).isEqualTo(-1);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.demo.web;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for AdaptiveConcurrencyLimiter class.
+ */
+public class AdaptiveConcurrencyLimiterTest {
+
+    private static final long TARGET = 100;
+
+    private long now;
+
+    /**
+     * Test that requests beyond the limit are rejected until a slot is released.
+     */
+    @Test
+    void testTryAcquire_RespectsLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(TARGET, 2, 1, 10);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+
+        limiter.release(TARGET);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+    }
+
+    /**
+     * Test that requests waiting longer than the target over the fastest one shrink the limit down to the
+     * minimum, once per round trip.
+     */
+    @Test
+    void testRelease_SlowRequestsShrinkLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(TARGET, 10, 3, 20, () -> now);
+        limiter.tryAcquire();
+        limiter.release(TARGET / 2);
+
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire();
+            limiter.release(TARGET * 2);
+            now += TARGET * 2;
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(3);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    /**
+     * Test that a burst of slow requests completing within one round trip shrinks the limit only once.
+     */
+    @Test
+    void testRelease_SlowBurstShrinksLimitOnce() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(TARGET, 100, 3, 200, () -> now);
+        limiter.tryAcquire();
+        limiter.release(TARGET / 2);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire();
+        }
+        for (int i = 0; i < 50; i++) {
+            now += 1;
+            limiter.release(TARGET * 3);
+        }
+        int afterBurst = limiter.getLimit();
+        now += TARGET * 3;
+        limiter.tryAcquire();
+        limiter.release(TARGET * 3);
+
+        assertThat(afterBurst).isEqualTo(90);
+        assertThat(limiter.getLimit()).isEqualTo(81);
+    }
+
+    /**
+     * Test that uniformly slow requests do not shrink the limit, as they do not wait longer than the fastest one.
+     */
+    @Test
+    void testRelease_SteadyLatencyKeepsLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(TARGET, 10, 3, 20, () -> now);
+
+        for (int i = 0; i < 20; i++) {
+            limiter.tryAcquire();
+            limiter.release(TARGET * 5);
+            now += TARGET * 5;
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+
+    /**
+     * Test that fast requests grow the limit while it is being used, up to the maximum.
+     */
+    @Test
+    void testRelease_FastRequestsGrowLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(TARGET, 2, 1, 4);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire();
+            limiter.tryAcquire();
+            limiter.release(TARGET / 2);
+            limiter.release(TARGET / 2);
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(4);
+    }
+}
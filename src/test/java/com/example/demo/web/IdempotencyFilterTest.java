@@ -0,0 +1,222 @@
+package com.example.demo.web;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for IdempotencyFilter and IdempotencyStore.
+ * Uses Spring's mock servlet objects and a counting filter chain in place of the controllers.
+ */
+public class IdempotencyFilterTest {
+
+    private IdempotencyStore store;
+    private IdempotencyFilter filter;
+    private AtomicInteger executions;
+
+    /**
+     * Initialize a filter with a fresh store before each test.
+     */
+    @BeforeEach
+    void setup() {
+        store = new IdempotencyStore(Duration.ofHours(1), 100);
+        filter = new IdempotencyFilter(store, Arrays.asList("/api/assets"), Duration.ofSeconds(5));
+        executions = new AtomicInteger();
+    }
+
+    /**
+     * Test that a retry with the same key and body is replayed without executing again.
+     */
+    @Test
+    void testRetry_ReplaysFirstResponse() throws Exception {
+        MockHttpServletResponse first = send("key-1", "{\"name\":\"Laptop\"}", countingChain(null));
+        MockHttpServletResponse retry = send("key-1", "{\"name\":\"Laptop\"}", countingChain(null));
+
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(retry.getStatus()).isEqualTo(200);
+        assertThat(retry.getContentAsString()).isEqualTo(first.getContentAsString()).isEqualTo("{\"id\":1}");
+        assertThat(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER)).isEqualTo("true");
+    }
+
+    /**
+     * Test that reusing a key with a different body is rejected.
+     */
+    @Test
+    void testRetry_DifferentBodyRejected() throws Exception {
+        send("key-1", "{\"name\":\"Laptop\"}", countingChain(null));
+        MockHttpServletResponse retry = send("key-1", "{\"name\":\"Phone\"}", countingChain(null));
+
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(retry.getStatus()).isEqualTo(422);
+    }
+
+    /**
+     * Test that concurrent duplicates wait for the first request and execute only once.
+     */
+    @Test
+    void testConcurrentDuplicates_Coalesced() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            Future<MockHttpServletResponse> first = pool.submit(() -> send("key-1", "{}", countingChain(release)));
+            while (store.size() == 0) {
+                Thread.sleep(1);
+            }
+            Future<MockHttpServletResponse> second = pool.submit(() -> send("key-1", "{}", countingChain(release)));
+            Future<MockHttpServletResponse> third = pool.submit(() -> send("key-1", "{}", countingChain(release)));
+            Thread.sleep(50);
+            release.countDown();
+
+            assertThat(first.get(5, TimeUnit.SECONDS).getContentAsString()).isEqualTo("{\"id\":1}");
+            assertThat(second.get(5, TimeUnit.SECONDS).getContentAsString()).isEqualTo("{\"id\":1}");
+            assertThat(third.get(5, TimeUnit.SECONDS).getContentAsString()).isEqualTo("{\"id\":1}");
+            assertThat(executions.get()).isEqualTo(1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Test that a failed first request releases the key so the retry executes.
+     */
+    @Test
+    void testFailedRequest_NotStored() throws Exception {
+        FilterChain failing = (request, response) -> {
+            executions.incrementAndGet();
+            ((javax.servlet.http.HttpServletResponse) response).setStatus(503);
+        };
+        send("key-1", "{}", failing);
+        send("key-1", "{}", countingChain(null));
+
+        assertThat(executions.get()).isEqualTo(2);
+    }
+
+    /**
+     * Test that expired entries are evicted and the store stays within its capacity.
+     */
+    @Test
+    void testStore_TtlAndCapacity() {
+        long[] now = {0};
+        IdempotencyStore bounded = new IdempotencyStore(Duration.ofNanos(100), 2, () -> now[0]);
+        completed(bounded, "a");
+        completed(bounded, "b");
+        completed(bounded, "c");
+        assertThat(bounded.size()).isEqualTo(2);
+
+        now[0] = 1_000;
+        assertThat(bounded.claim("a", "x").isOwner()).isTrue();
+        assertThat(bounded.size()).isEqualTo(1);
+    }
+
+    /**
+     * Test that in-flight entries are never evicted and new keys are refused while all are in flight.
+     */
+    @Test
+    void testStore_KeepsInFlightEntries() {
+        long[] now = {0};
+        IdempotencyStore bounded = new IdempotencyStore(Duration.ofNanos(100), 2, () -> now[0]);
+        IdempotencyStore.Entry a = bounded.claim("a", "x").getEntry();
+        completed(bounded, "b");
+        assertThat(bounded.claim("c", "x").isOwner()).isTrue();
+        assertThat(bounded.claim("a", "x").isOwner()).isFalse();
+        assertThat(bounded.claim("d", "x")).isNull();
+
+        now[0] = 1_000;
+        assertThat(bounded.claim("a", "x").isOwner()).isFalse();
+        bounded.complete(a, new IdempotencyStore.CachedResponse(200, null, new byte[0]));
+        assertThat(bounded.claim("d", "x").isOwner()).isTrue();
+    }
+
+    /**
+     * Test that a new key is answered with 503 while the store is full of requests in flight.
+     */
+    @Test
+    void testStoreFullOfInFlight_Returns503() throws Exception {
+        store = new IdempotencyStore(Duration.ofHours(1), 1);
+        filter = new IdempotencyFilter(store, Arrays.asList("/api/assets"), Duration.ofSeconds(5));
+        store.claim("in-flight", "x");
+
+        MockHttpServletResponse response = send("key-1", "{}", countingChain(null));
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(executions.get()).isZero();
+    }
+
+    /**
+     * Test that the replayed request body supports non-blocking reads.
+     */
+    @Test
+    void testCachedBody_ReadListener() throws Exception {
+        StringBuilder read = new StringBuilder();
+        FilterChain chain = (request, response) -> {
+            ServletInputStream in = request.getInputStream();
+            in.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    while (in.isReady() && !in.isFinished()) {
+                        read.append((char) in.read());
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() {
+                    read.append('|');
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    read.append("error");
+                }
+            });
+        };
+        send("key-1", "{\"a\":1}", chain);
+
+        assertThat(read.toString()).isEqualTo("{\"a\":1}|");
+    }
+
+    private static void completed(IdempotencyStore store, String key) {
+        IdempotencyStore.Claim claim = store.claim(key, "x");
+        store.complete(claim.getEntry(), new IdempotencyStore.CachedResponse(200, null, new byte[0]));
+    }
+
+    private MockHttpServletResponse send(String key, String body, FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/assets");
+        request.addHeader(IdempotencyFilter.HEADER, key);
+        request.setContent(body.getBytes());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private FilterChain countingChain(CountDownLatch release) {
+        return (request, response) -> {
+            int id = executions.incrementAndGet();
+            if (release != null) {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            response.setContentType("application/json");
+            response.getWriter().write("{\"id\":" + id + "}");
+        };
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.demo.web;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.security.Principal;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for the per-client rate limit of LoadSheddingFilter.
+ * Each client may send one write and then gets one token per hour, so a second write is always limited.
+ */
+public class LoadSheddingFilterTest {
+
+    private LoadSheddingFilter filter;
+
+    /**
+     * Create a filter with a burst of one and load shedding disabled.
+     */
+    @BeforeEach
+    void setup() {
+        filter = new LoadSheddingFilter(new SimpleMeterRegistry(), true, "X-Api-Client", 1.0 / 3600, 1, 100,
+                false, Duration.ofMillis(250), 32, 4, 200);
+    }
+
+    /**
+     * Test that rotating the client header does not give a caller a fresh bucket.
+     */
+    @Test
+    void testRateLimit_KeyedOnRemoteAddressNotHeader() throws Exception {
+        assertThat(send("10.0.0.1", "client-a", null).getStatus()).isEqualTo(200);
+        assertThat(send("10.0.0.1", "client-b", null).getStatus()).isEqualTo(429);
+        assertThat(send("10.0.0.2", "client-a", null).getStatus()).isEqualTo(200);
+    }
+
+    /**
+     * Test that authenticated callers are limited per principal, whatever their address.
+     */
+    @Test
+    void testRateLimit_KeyedOnPrincipal() throws Exception {
+        assertThat(send("10.0.0.1", null, () -> "alice").getStatus()).isEqualTo(200);
+        assertThat(send("10.0.0.2", null, () -> "alice").getStatus()).isEqualTo(429);
+        assertThat(send("10.0.0.1", null, () -> "bob").getStatus()).isEqualTo(200);
+    }
+
+    private MockHttpServletResponse send(String remoteAddr, String client, Principal principal) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/assets");
+        request.setRemoteAddr(remoteAddr);
+        request.setUserPrincipal(principal);
+        if (client != null) {
+            request.addHeader("X-Api-Client", client);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
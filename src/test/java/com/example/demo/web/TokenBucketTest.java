@@ -0,0 +1,67 @@
+package com.example.demo.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Unit tests for TokenBucket class.
+ * Uses explicit timestamps so that refill behaviour is deterministic.
+ */
+public class TokenBucketTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    /**
+     * Test that a full bucket allows a burst and then rejects with the time until the next token.
+     */
+    @Test
+    void testTryAcquire_BurstThenReject() {
+        TokenBucket bucket = new TokenBucket(10, 3, 0);
+
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isEqualTo(SECOND / 10);
+    }
+
+    /**
+     * Test that tokens refill at the configured rate and the bucket becomes idle once full.
+     */
+    @Test
+    void testTryAcquire_Refill() {
+        TokenBucket bucket = new TokenBucket(10, 1, 0);
+
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(SECOND / 20)).isPositive();
+        assertThat(bucket.tryAcquire(SECOND / 10)).isZero();
+        assertThat(bucket.isIdle(SECOND / 10)).isFalse();
+        assertThat(bucket.isIdle(SECOND)).isTrue();
+    }
+
+    /**
+     * Test that concurrent callers never take more tokens than the burst size.
+     */
+    @Test
+    void testTryAcquire_Concurrent() throws Exception {
+        TokenBucket bucket = new TokenBucket(1, 100, 0);
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            pool.execute(() -> {
+                if (bucket.tryAcquire(0) == 0) {
+                    granted.incrementAndGet();
+                }
+            });
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(granted.get()).isEqualTo(100);
+    }
+}